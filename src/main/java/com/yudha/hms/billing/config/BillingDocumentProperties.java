@@ -0,0 +1,53 @@
+package com.yudha.hms.billing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Billing Document Configuration Properties.
+ *
+ * Binds invoice/receipt PDF settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.billing.documents")
+@Data
+public class BillingDocumentProperties {
+
+    /**
+     * Letterhead: hospital name
+     */
+    private String hospitalName = "Hospital Management System";
+
+    /**
+     * Letterhead: address line
+     */
+    private String hospitalAddress = "";
+
+    /**
+     * Letterhead: phone/contact line
+     */
+    private String hospitalPhone = "";
+
+    /**
+     * Number of invoices rendered in parallel by a batch print.
+     * Default: 4
+     */
+    private int batchConcurrency = 4;
+
+    /**
+     * Maximum number of invoices in one batch print.
+     * Default: 500
+     */
+    private int batchMaxDocuments = 500;
+
+    /**
+     * Maximum number of documents rendered by one throughput benchmark run.
+     * Default: 1000
+     */
+    private int benchmarkMaxDocuments = 1000;
+}
@@ -0,0 +1,84 @@
+package com.yudha.hms.billing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Charge Capture Configuration Properties.
+ *
+ * Binds running bill, charge outbox and bed-day charge settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.billing.charge-capture")
+@Data
+public class ChargeCaptureProperties {
+
+    /**
+     * Enable/disable capture of billable events into running bills
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tariff code of a bed day is this prefix plus the room class, e.g. "ROOM-KELAS_1".
+     * The admission's room rate is charged when no tariff has the code.
+     */
+    private String roomTariffPrefix = "ROOM-";
+
+    /**
+     * Interval of the bed-day charge run in milliseconds.
+     * Default: 3600000 (1 hour)
+     */
+    private long bedDayIntervalMs = 3600000L;
+
+    /**
+     * Bed days up to this many days back are charged if missing, e.g. after downtime
+     */
+    private int bedDayLookbackDays = 3;
+
+    /**
+     * Interval of the charge outbox poll in milliseconds.
+     * Default: 1000 (1 second)
+     */
+    private long outboxPollIntervalMs = 1000L;
+
+    /**
+     * Maximum charge events captured per outbox round
+     */
+    private int outboxBatchSize = 100;
+
+    /**
+     * Lease on claimed charge events (seconds); another node takes over after it expires
+     */
+    private int outboxLeaseSeconds = 120;
+
+    /**
+     * Delay before the first retry of a failed capture (seconds); doubles per attempt
+     */
+    private int outboxInitialBackoffSeconds = 30;
+
+    /**
+     * Maximum delay between capture retries (seconds)
+     */
+    private int outboxMaxBackoffSeconds = 3600;
+
+    /**
+     * Attempts before a charge event is marked FAILED
+     */
+    private int outboxMaxAttempts = 10;
+
+    /**
+     * Backoff before the next capture attempt.
+     *
+     * @param attempt Number of attempts made so far (1-based)
+     * @return Delay in seconds
+     */
+    public long outboxBackoffSeconds(int attempt) {
+        int exponent = Math.max(0, Math.min(attempt - 1, 20));
+        return Math.min((long) outboxInitialBackoffSeconds << exponent, outboxMaxBackoffSeconds);
+    }
+}
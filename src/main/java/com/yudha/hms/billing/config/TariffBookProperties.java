@@ -0,0 +1,28 @@
+package com.yudha.hms.billing.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tariff Book Configuration Properties.
+ *
+ * Binds refresh settings of the in-memory tariff book from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.billing.tariff-book")
+@Data
+public class TariffBookProperties {
+
+    /**
+     * Interval of the tariff change check in milliseconds.
+     * The check is one aggregate query per table; the book is rebuilt only
+     * when tariffs or package deals changed.
+     * Default: 60000 (1 minute)
+     */
+    private long refreshIntervalMs = 60000L;
+}
@@ -0,0 +1,86 @@
+package com.yudha.hms.billing.constant;
+
+import com.yudha.hms.shared.exception.BusinessException;
+import lombok.Getter;
+
+/**
+ * Payer Class enumeration for tariff pricing.
+ *
+ * Selects which price column of a tariff applies to an invoice:
+ * - BASE: Standard/cash price
+ * - BPJS_CLASS1, BPJS_CLASS2, BPJS_CLASS3: BPJS price by care class
+ * - INSURANCE: Private insurance price
+ * - COMPANY: Corporate agreement price
+ *
+ * Payer-specific prices fall back to the base price when a tariff does not set them.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Getter
+public enum PayerClass {
+    BASE("Umum/Tunai", "CASH"),
+    BPJS_CLASS1("BPJS Kelas 1", "BPJS_CLASS1"),
+    BPJS_CLASS2("BPJS Kelas 2", "BPJS_CLASS2"),
+    BPJS_CLASS3("BPJS Kelas 3", "BPJS_CLASS3"),
+    INSURANCE("Asuransi", "INSURANCE"),
+    COMPANY("Perusahaan", "COMPANY");
+
+    private final String displayName;
+    private final String paymentType;
+
+    PayerClass(String displayName, String paymentType) {
+        this.displayName = displayName;
+        this.paymentType = paymentType;
+    }
+
+    /**
+     * Get PayerClass from an invoice payment type
+     *
+     * @param paymentType payment type (CASH, BPJS_CLASS1, BPJS_CLASS2, BPJS_CLASS3, INSURANCE, COMPANY)
+     * @return PayerClass enum, BASE for an empty payment type
+     * @throws BusinessException for an unknown payment type, or plain "BPJS" (its care class decides the price)
+     */
+    public static PayerClass fromPaymentType(String paymentType) {
+        if (paymentType == null || paymentType.isBlank()) {
+            return BASE;
+        }
+        for (PayerClass payerClass : values()) {
+            if (payerClass.paymentType.equalsIgnoreCase(paymentType.trim())) {
+                return payerClass;
+            }
+        }
+        if (isUnclassifiedBpjs(paymentType)) {
+            throw new BusinessException("Payment type BPJS needs a care class: use BPJS_CLASS1, BPJS_CLASS2 or BPJS_CLASS3");
+        }
+        throw new BusinessException("Unknown payment type: " + paymentType);
+    }
+
+    /**
+     * Get the BPJS PayerClass of a care class as written on a BPJS card or admission
+     *
+     * @param bpjsClass care class ("1", "KELAS_1", "Kelas 2", ...)
+     * @return BPJS_CLASS1, BPJS_CLASS2 or BPJS_CLASS3; null if the class is unknown
+     */
+    public static PayerClass fromBpjsClass(String bpjsClass) {
+        if (bpjsClass != null) {
+            for (int i = 0; i < bpjsClass.length(); i++) {
+                switch (bpjsClass.charAt(i)) {
+                    case '1': return BPJS_CLASS1;
+                    case '2': return BPJS_CLASS2;
+                    case '3': return BPJS_CLASS3;
+                    default: break;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Whether a payment type is BPJS without a care class
+     */
+    public static boolean isUnclassifiedBpjs(String paymentType) {
+        return paymentType != null && paymentType.trim().equalsIgnoreCase("BPJS");
+    }
+}
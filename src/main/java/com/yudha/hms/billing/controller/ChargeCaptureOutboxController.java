@@ -0,0 +1,72 @@
+package com.yudha.hms.billing.controller;
+
+import com.yudha.hms.billing.entity.ChargeOutboxEvent;
+import com.yudha.hms.billing.service.ChargeCaptureOutbox;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for administering the charge event outbox.
+ *
+ * Charges that still fail after the maximum number of capture attempts (missing tariff,
+ * unknown payer class) stay FAILED; once the cause is fixed they are queued again here.
+ *
+ * Endpoints:
+ * - GET /api/v1/billing/charge-outbox/status - Event count per status
+ * - GET /api/v1/billing/charge-outbox/failed - Most recent failed events
+ * - POST /api/v1/billing/charge-outbox/failed/requeue - Queue failed events for capture again
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@RestController
+@RequestMapping("/api/v1/billing/charge-outbox")
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeCaptureOutboxController {
+
+    private final ChargeCaptureOutbox chargeCaptureOutbox;
+
+    /**
+     * Count outbox events per status.
+     *
+     * @return event count by status
+     */
+    @GetMapping("/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BILLING_ADMIN')")
+    public ResponseEntity<Map<ChargeOutboxEvent.Status, Long>> getStatusCounts() {
+        return ResponseEntity.ok(chargeCaptureOutbox.getStatusCounts());
+    }
+
+    /**
+     * Most recent failed events with their last error.
+     *
+     * @return failed events, most recent first
+     */
+    @GetMapping("/failed")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BILLING_ADMIN')")
+    public ResponseEntity<List<ChargeOutboxEvent>> getFailedEvents() {
+        return ResponseEntity.ok(chargeCaptureOutbox.getFailedEvents());
+    }
+
+    /**
+     * Queue all failed events for capture again.
+     *
+     * @return number of events queued
+     */
+    @PostMapping("/failed/requeue")
+    @PreAuthorize("hasAnyRole('ADMIN', 'BILLING_ADMIN')")
+    public ResponseEntity<Map<String, Integer>> requeueFailed() {
+        log.info("POST /api/v1/billing/charge-outbox/failed/requeue");
+
+        int requeued = chargeCaptureOutbox.requeueFailed();
+        return ResponseEntity.ok(Map.of("requeued", requeued));
+    }
+}
@@ -0,0 +1,239 @@
+package com.yudha.hms.billing.controller;
+
+import com.yudha.hms.billing.constant.DocumentType;
+import com.yudha.hms.billing.dto.InsuranceClaimResponse.ClaimDocumentResponse;
+import com.yudha.hms.billing.service.ClaimDocumentService;
+import com.yudha.hms.shared.config.FileStorageProperties;
+import com.yudha.hms.shared.exception.FileStorageException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST Controller for Insurance Claim Documents.
+ *
+ * Endpoints:
+ * - POST /api/v1/billing/claims/{claimId}/documents - Upload document (multipart)
+ * - POST /api/v1/billing/claims/{claimId}/documents/stream - Upload document as raw request body
+ * - GET /api/v1/billing/claims/{claimId}/documents - Get claim documents
+ * - GET /api/v1/billing/claims/{claimId}/documents/{documentId} - Get document
+ * - GET /api/v1/billing/claims/{claimId}/documents/{documentId}/content - Download content (Range supported)
+ * - POST /api/v1/billing/claims/{claimId}/documents/{documentId}/copy - Attach document to another claim
+ * - DELETE /api/v1/billing/claims/{claimId}/documents/{documentId} - Delete document
+ *
+ * The stream endpoint is not subject to the multipart size limit; the document
+ * store enforces hms.file-storage.max-document-size while it writes the upload.
+ * Only hms.file-storage.allowed-document-types are accepted. Content is served with
+ * nosniff, and inline only for an allowed type; anything else is an attachment.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@RestController
+@RequestMapping("/api/v1/billing/claims/{claimId}/documents")
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimDocumentController {
+
+    private final ClaimDocumentService claimDocumentService;
+    private final FileStorageProperties fileStorageProperties;
+
+    /**
+     * Upload a document as multipart file.
+     *
+     * @param claimId claim ID
+     * @param file document file
+     * @param documentType document type
+     * @param documentName document name (defaults to the file name)
+     * @param uploadedBy user uploading
+     * @return created document
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ClaimDocumentResponse> uploadDocument(
+        @PathVariable UUID claimId,
+        @RequestParam("file") MultipartFile file,
+        @RequestParam DocumentType documentType,
+        @RequestParam(required = false) String documentName,
+        @RequestParam(required = false, defaultValue = "system") String uploadedBy
+    ) {
+        log.info("POST /api/v1/billing/claims/{}/documents - Uploading {} ({} bytes)",
+            claimId, documentType, file.getSize());
+
+        try (InputStream content = file.getInputStream()) {
+            ClaimDocumentResponse response = claimDocumentService.uploadDocument(
+                claimId, documentType, documentName, file.getOriginalFilename(), file.getContentType(),
+                content, uploadedBy);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IOException ex) {
+            throw new FileStorageException("Failed to read uploaded file", ex);
+        }
+    }
+
+    /**
+     * Upload a document as raw request body, streamed to storage.
+     *
+     * @param claimId claim ID
+     * @param documentType document type
+     * @param fileName original file name
+     * @param documentName document name (defaults to the file name)
+     * @param uploadedBy user uploading
+     * @param request request whose body is the document
+     * @return created document
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<ClaimDocumentResponse> uploadDocumentStream(
+        @PathVariable UUID claimId,
+        @RequestParam DocumentType documentType,
+        @RequestParam String fileName,
+        @RequestParam(required = false) String documentName,
+        @RequestParam(required = false, defaultValue = "system") String uploadedBy,
+        HttpServletRequest request
+    ) {
+        log.info("POST /api/v1/billing/claims/{}/documents/stream - Uploading {} ({} bytes)",
+            claimId, documentType, request.getContentLengthLong());
+
+        try (InputStream content = request.getInputStream()) {
+            ClaimDocumentResponse response = claimDocumentService.uploadDocument(
+                claimId, documentType, documentName, fileName, request.getContentType(), content, uploadedBy);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IOException ex) {
+            throw new FileStorageException("Failed to read uploaded document", ex);
+        }
+    }
+
+    /**
+     * Get documents of a claim.
+     *
+     * @param claimId claim ID
+     * @return documents
+     */
+    @GetMapping
+    public ResponseEntity<List<ClaimDocumentResponse>> getClaimDocuments(@PathVariable UUID claimId) {
+        log.info("GET /api/v1/billing/claims/{}/documents - Getting claim documents", claimId);
+
+        return ResponseEntity.ok(claimDocumentService.getClaimDocuments(claimId));
+    }
+
+    /**
+     * Get a document.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     * @return document
+     */
+    @GetMapping("/{documentId}")
+    public ResponseEntity<ClaimDocumentResponse> getDocument(
+        @PathVariable UUID claimId,
+        @PathVariable UUID documentId
+    ) {
+        return ResponseEntity.ok(claimDocumentService.getDocument(claimId, documentId));
+    }
+
+    /**
+     * Download document content. Range requests are answered with partial content;
+     * the content hash is the ETag, so unchanged content is not sent again.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     * @return content
+     */
+    @GetMapping("/{documentId}/content")
+    public ResponseEntity<Resource> downloadDocumentContent(
+        @PathVariable UUID claimId,
+        @PathVariable UUID documentId
+    ) {
+        log.debug("GET /api/v1/billing/claims/{}/documents/{}/content", claimId, documentId);
+
+        ClaimDocumentResponse document = claimDocumentService.getDocument(claimId, documentId);
+        Resource content = claimDocumentService.loadDocumentContent(claimId, documentId);
+
+        MediaType mediaType = viewableMediaType(document.getMimeType());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(mediaType != null ? mediaType : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDisposition((mediaType != null ? ContentDisposition.inline() : ContentDisposition.attachment())
+            .filename(document.getFileName() != null ? document.getFileName() : document.getDocumentName(),
+                StandardCharsets.UTF_8)
+            .build());
+        headers.set("X-Content-Type-Options", "nosniff");
+        headers.setETag("\"" + document.getContentHash() + "\"");
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+
+        return new ResponseEntity<>(content, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Media type a stored document may be shown inline with; null for types that are not
+     * allowed (documents stored before uploads were restricted) or cannot be parsed.
+     */
+    private MediaType viewableMediaType(String mimeType) {
+        if (mimeType == null) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(mimeType);
+            return fileStorageProperties.isAllowedDocumentType(mediaType.getType() + "/" + mediaType.getSubtype())
+                ? mediaType : null;
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Attach a document to another claim. The content is shared, not copied.
+     *
+     * @param claimId claim ID of the document
+     * @param documentId document ID
+     * @param targetClaimId claim to attach to
+     * @param uploadedBy user attaching
+     * @return created document
+     */
+    @PostMapping("/{documentId}/copy")
+    public ResponseEntity<ClaimDocumentResponse> copyDocument(
+        @PathVariable UUID claimId,
+        @PathVariable UUID documentId,
+        @RequestParam UUID targetClaimId,
+        @RequestParam(required = false, defaultValue = "system") String uploadedBy
+    ) {
+        log.info("POST /api/v1/billing/claims/{}/documents/{}/copy - Attaching to claim {}",
+            claimId, documentId, targetClaimId);
+
+        claimDocumentService.getDocument(claimId, documentId);
+        ClaimDocumentResponse response = claimDocumentService.copyDocument(documentId, targetClaimId, uploadedBy);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    /**
+     * Delete a document.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     * @return no content
+     */
+    @DeleteMapping("/{documentId}")
+    public ResponseEntity<Void> deleteDocument(
+        @PathVariable UUID claimId,
+        @PathVariable UUID documentId
+    ) {
+        log.info("DELETE /api/v1/billing/claims/{}/documents/{}", claimId, documentId);
+
+        claimDocumentService.deleteDocument(claimId, documentId);
+        return ResponseEntity.noContent().build();
+    }
+}
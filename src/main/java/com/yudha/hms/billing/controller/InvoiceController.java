@@ -3,6 +3,7 @@ package com.yudha.hms.billing.controller;
 import com.yudha.hms.billing.dto.*;
 import com.yudha.hms.billing.service.InvoiceService;
 import com.yudha.hms.billing.service.InvoicePdfService;
+import com.yudha.hms.billing.service.TariffPricingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -21,15 +23,18 @@ import java.util.UUID;
  *
  * Endpoints:
  * - POST /api/v1/billing/invoices - Create invoice
+ * - POST /api/v1/billing/invoices/price-quote - Price items from the tariff book
  * - GET /api/v1/billing/invoices/{id} - Get invoice by ID
  * - GET /api/v1/billing/invoices/number/{invoiceNumber} - Get invoice by number
  * - GET /api/v1/billing/invoices/patient/{patientId} - Get patient invoices
+ * - GET /api/v1/billing/invoices/encounter/{encounterId}/running-bill - Get encounter running bill
  * - PUT /api/v1/billing/invoices/{id} - Update invoice
  * - POST /api/v1/billing/invoices/{id}/issue - Issue invoice
  * - POST /api/v1/billing/invoices/{id}/void - Void invoice
  * - POST /api/v1/billing/invoices/{id}/discount - Apply discount
  * - POST /api/v1/billing/invoices/{id}/print - Mark as printed
  * - GET /api/v1/billing/invoices/{id}/pdf - Download invoice PDF
+ * - POST /api/v1/billing/invoices/pdf/batch - Download PDFs of several invoices as ZIP
  *
  * @author HMS Development Team
  * @version 1.0.0
@@ -43,6 +48,7 @@ public class InvoiceController {
 
     private final InvoiceService invoiceService;
     private final InvoicePdfService invoicePdfService;
+    private final TariffPricingService tariffPricingService;
 
     /**
      * Create a new invoice.
@@ -62,6 +68,21 @@ public class InvoiceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Price items from the tariff book, e.g. for order entry.
+     *
+     * @param request items, payment type and service date
+     * @return priced items
+     */
+    @PostMapping("/price-quote")
+    public ResponseEntity<PriceQuoteResponse> quotePrices(@Valid @RequestBody PriceQuoteRequest request) {
+        log.debug("POST /api/v1/billing/invoices/price-quote - Pricing {} items", request.getItems().size());
+
+        PriceQuoteResponse response = tariffPricingService.quote(request);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get invoice by ID.
      *
@@ -107,6 +128,21 @@ public class InvoiceController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Get the running bill of an encounter.
+     *
+     * @param encounterId encounter ID
+     * @return running bill with the charges captured so far
+     */
+    @GetMapping("/encounter/{encounterId}/running-bill")
+    public ResponseEntity<InvoiceResponse> getRunningBill(@PathVariable UUID encounterId) {
+        log.info("GET /api/v1/billing/invoices/encounter/{}/running-bill - Getting running bill", encounterId);
+
+        InvoiceResponse response = invoiceService.getRunningBill(encounterId);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update an existing invoice.
      *
@@ -211,30 +247,45 @@ public class InvoiceController {
     }
 
     /**
-     * Download invoice as PDF.
+     * Download invoice as PDF. The document is streamed to the client while it is rendered.
      *
      * @param id invoice ID
      * @return PDF file
      */
     @GetMapping("/{id}/pdf")
-    public ResponseEntity<byte[]> downloadInvoicePdf(@PathVariable UUID id) {
+    public ResponseEntity<StreamingResponseBody> downloadInvoicePdf(@PathVariable UUID id) {
         log.info("GET /api/v1/billing/invoices/{}/pdf - Downloading invoice PDF", id);
 
-        // Get invoice to retrieve invoice number
-        InvoiceResponse invoice = invoiceService.getInvoiceById(id);
-
-        // Generate PDF
-        byte[] pdfBytes = invoicePdfService.generateInvoicePdf(id);
+        InvoiceResponse invoice = invoicePdfService.prepareInvoicePdf(id);
 
-        // Set headers
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData(
             "attachment",
             invoicePdfService.getInvoicePdfFileName(invoice.getInvoiceNumber())
         );
-        headers.setContentLength(pdfBytes.length);
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        StreamingResponseBody body = out -> invoicePdfService.writeInvoicePdf(invoice, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Download PDFs of several invoices as one ZIP (e.g. end-of-shift or discharge printing).
+     *
+     * @param request invoice IDs
+     * @return ZIP file with one PDF per invoice
+     */
+    @PostMapping("/pdf/batch")
+    public ResponseEntity<StreamingResponseBody> downloadInvoicePdfBatch(@Valid @RequestBody InvoicePdfBatchRequest request) {
+        log.info("POST /api/v1/billing/invoices/pdf/batch - Printing {} invoices", request.getInvoiceIds().size());
+
+        invoicePdfService.validateBatch(request.getInvoiceIds());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", "invoices_" + System.currentTimeMillis() + ".zip");
+
+        StreamingResponseBody body = out -> invoicePdfService.writeInvoiceBatch(request.getInvoiceIds(), out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 }
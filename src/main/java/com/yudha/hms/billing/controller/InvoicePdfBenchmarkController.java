@@ -0,0 +1,54 @@
+package com.yudha.hms.billing.controller;
+
+import com.yudha.hms.billing.dto.PdfRenderStatsResponse;
+import com.yudha.hms.billing.service.InvoicePdfService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST Controller for measuring invoice PDF rendering throughput.
+ *
+ * Rendering hundreds of documents is a load test, so this controller only exists in
+ * the dev profile and is restricted to administrators.
+ *
+ * Endpoints:
+ * - POST /api/v1/billing/invoices/{id}/pdf/benchmark - Measure PDF rendering throughput
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@RestController
+@RequestMapping("/api/v1/billing/invoices")
+@Profile("dev")
+@RequiredArgsConstructor
+@Slf4j
+public class InvoicePdfBenchmarkController {
+
+    private final InvoicePdfService invoicePdfService;
+
+    /**
+     * Measure PDF rendering throughput with an existing invoice. The invoice is not marked as printed.
+     *
+     * @param id invoice ID
+     * @param documents number of documents to render
+     * @return documents per second and heap allocated per document
+     */
+    @PostMapping("/{id}/pdf/benchmark")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PdfRenderStatsResponse> benchmarkInvoicePdf(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "200") int documents) {
+        log.info("POST /api/v1/billing/invoices/{}/pdf/benchmark - Rendering {} documents", id, documents);
+
+        PdfRenderStatsResponse response = invoicePdfService.benchmark(id, documents);
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -163,13 +164,16 @@ public class PaymentController {
      * Generate cashier shift report.
      *
      * @param shiftId shift ID
+     * @param includePayments whether to include the individual payments
      * @return cashier shift report
      */
     @GetMapping("/shift/{shiftId}/report")
-    public ResponseEntity<CashierShiftReportResponse> getCashierShiftReport(@PathVariable UUID shiftId) {
+    public ResponseEntity<CashierShiftReportResponse> getCashierShiftReport(
+            @PathVariable UUID shiftId,
+            @RequestParam(defaultValue = "false") boolean includePayments) {
         log.info("Generating cashier shift report for shift: {}", shiftId);
 
-        CashierShiftReportResponse response = paymentService.generateCashierShiftReport(shiftId);
+        CashierShiftReportResponse response = paymentService.generateCashierShiftReport(shiftId, includePayments);
         return ResponseEntity.ok(response);
     }
 
@@ -188,24 +192,24 @@ public class PaymentController {
     }
 
     /**
-     * Download payment receipt PDF.
+     * Download payment receipt PDF. The receipt is streamed to the client while it is rendered.
      *
      * @param id payment ID
-     * @return receipt PDF bytes
+     * @return receipt PDF
      */
     @GetMapping("/{id}/receipt")
-    public ResponseEntity<byte[]> downloadReceipt(@PathVariable UUID id) {
+    public ResponseEntity<StreamingResponseBody> downloadReceipt(@PathVariable UUID id) {
         log.info("Downloading receipt for payment: {}", id);
 
-        PaymentResponse payment = paymentService.getPaymentById(id);
-        byte[] receiptBytes = paymentReceiptService.generateReceiptPdf(id);
+        PaymentResponse payment = paymentReceiptService.prepareReceipt(id);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment",
                 paymentReceiptService.getReceiptFileName(payment.getReceiptNumber()));
 
-        return new ResponseEntity<>(receiptBytes, headers, HttpStatus.OK);
+        StreamingResponseBody body = out -> paymentReceiptService.writeReceiptPdf(payment, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     /**
@@ -0,0 +1,67 @@
+package com.yudha.hms.billing.controller;
+
+import com.yudha.hms.billing.dto.RevenueSummaryResponse;
+import com.yudha.hms.billing.service.RevenueRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * REST Controller for revenue reports.
+ *
+ * Reads the daily revenue rollup maintained on payment confirm, refund and void.
+ *
+ * Endpoints:
+ * - GET /api/v1/billing/revenue/daily?startDate=&endDate= - Revenue of a date range
+ * - GET /api/v1/billing/revenue/monthly/{month} - Revenue of a month (yyyy-MM)
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@RestController
+@RequestMapping("/api/v1/billing/revenue")
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueReportController {
+
+    private final RevenueRollupService revenueRollupService;
+
+    /**
+     * Revenue of a date range with daily, department, payer type and payment
+     * method breakdowns.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive), defaults to the start date
+     * @return revenue summary
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<RevenueSummaryResponse> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("Getting revenue from {} to {}", startDate, endDate);
+
+        RevenueSummaryResponse response = revenueRollupService.getRevenueSummary(
+                startDate, endDate != null ? endDate : startDate);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Month-end revenue.
+     *
+     * @param month month as yyyy-MM
+     * @return revenue summary
+     */
+    @GetMapping("/monthly/{month}")
+    public ResponseEntity<RevenueSummaryResponse> getMonthlyRevenue(@PathVariable YearMonth month) {
+        log.info("Getting revenue for month {}", month);
+
+        RevenueSummaryResponse response = revenueRollupService.getMonthlyRevenue(month);
+        return ResponseEntity.ok(response);
+    }
+}
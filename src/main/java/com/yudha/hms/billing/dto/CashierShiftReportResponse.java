@@ -41,7 +41,7 @@ public class CashierShiftReportResponse {
     // Breakdown by payment method
     private Map<PaymentMethod, PaymentMethodSummary> paymentMethodBreakdown;
 
-    // Payment list
+    // Payment list (only when requested)
     private List<PaymentResponse> payments;
 
     @Data
@@ -52,5 +52,7 @@ public class CashierShiftReportResponse {
         private PaymentMethod method;
         private Integer count;
         private BigDecimal amount;
+        private Integer refundCount;
+        private BigDecimal refundAmount;
     }
 }
@@ -160,6 +160,7 @@ public class InsuranceClaimResponse {
         private String documentName;
         private String fileName;
         private String fileUrl;
+        private String contentHash;
         private Long fileSize;
         private String mimeType;
         private String description;
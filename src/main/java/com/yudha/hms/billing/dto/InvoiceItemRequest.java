@@ -47,7 +47,9 @@ public class InvoiceItemRequest {
 
     private String unit;
 
-    @NotNull(message = "Unit price is required")
+    /**
+     * Price shown to the caller; the invoice is always priced from the tariff book
+     */
     @DecimalMin(value = "0.0", inclusive = true, message = "Unit price must be non-negative")
     private BigDecimal unitPrice;
 
@@ -0,0 +1,27 @@
+package com.yudha.hms.billing.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for printing a batch of invoice PDFs.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePdfBatchRequest {
+
+    @NotEmpty(message = "At least one invoice is required")
+    private List<UUID> invoiceIds;
+}
@@ -0,0 +1,33 @@
+package com.yudha.hms.billing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for PDF rendering throughput statistics.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PdfRenderStatsResponse {
+
+    private int documents;
+    private int failed;
+    private int concurrency;
+    private long elapsedMillis;
+    private double documentsPerSecond;
+    private long averageDocumentBytes;
+
+    /**
+     * Heap allocated per document by the rendering thread; -1 when the JVM
+     * does not measure thread allocation
+     */
+    private long averageAllocatedBytes;
+}
@@ -0,0 +1,50 @@
+package com.yudha.hms.billing.dto;
+
+import com.yudha.hms.billing.constant.PayerClass;
+import com.yudha.hms.billing.constant.TariffType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for price quote responses.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceQuoteResponse {
+
+    private PayerClass payerClass;
+    private LocalDate serviceDate;
+    private List<Line> items;
+    private BigDecimal totalAmount;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private UUID tariffId;
+        private String tariffCode;
+        private String tariffName;
+        private TariffType tariffType;
+        private String unit;
+        private UUID packageDealId;
+        private String packageDealCode;
+        private LocalDate serviceDate;
+        private Integer quantity;
+        private BigDecimal unitPrice;
+        private BigDecimal totalPrice;
+    }
+}
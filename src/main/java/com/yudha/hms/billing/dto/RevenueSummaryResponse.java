@@ -0,0 +1,53 @@
+package com.yudha.hms.billing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for revenue reports read from the daily revenue rollup.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueSummaryResponse {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // Totals of the period
+    private RevenueLine total;
+
+    // Breakdowns
+    private List<RevenueLine> daily;
+    private List<RevenueLine> byDepartment;
+    private List<RevenueLine> byPayerType;
+    private List<RevenueLine> byPaymentMethod;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RevenueLine {
+        /**
+         * Date, department, payer type or payment method of the line
+         */
+        private String key;
+        private Long paymentCount;
+        private BigDecimal collectedAmount;
+        private Long refundCount;
+        private BigDecimal refundAmount;
+        private BigDecimal voidedAmount;
+        private BigDecimal netAmount;
+    }
+}
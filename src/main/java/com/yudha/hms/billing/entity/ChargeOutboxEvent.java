@@ -0,0 +1,206 @@
+package com.yudha.hms.billing.entity;
+
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.event.ChargeEvent;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Charge Outbox Event Entity.
+ *
+ * Outbox row for one published {@link ChargeEvent}. It is written in the transaction of
+ * the clinical action, so a committed action always has its charge; capture into the
+ * running bill happens afterwards.
+ *
+ * Status:
+ * - PENDING: Waiting for (re)capture
+ * - PROCESSED: Captured or reversed (see result)
+ * - FAILED: Gave up after the maximum number of attempts; can be queued again
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Entity
+@Table(name = "charge_event_outbox", schema = "billing_schema", indexes = {
+    @Index(name = "idx_charge_event_outbox_key", columnList = "charge_key, created_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargeOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "action", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private ChargeEvent.Action action;
+
+    @Column(name = "charge_key", nullable = false, length = 200)
+    private String chargeKey;
+
+    @Column(name = "encounter_id")
+    private UUID encounterId;
+
+    @Column(name = "tariff_code", length = 100)
+    private String tariffCode;
+
+    @Column(name = "item_type", length = 50)
+    @Enumerated(EnumType.STRING)
+    private TariffType itemType;
+
+    @Column(name = "item_name", length = 500)
+    private String itemName;
+
+    @Column(name = "quantity", nullable = false)
+    @Builder.Default
+    private Integer quantity = 1;
+
+    @Column(name = "source_unit_price", precision = 15, scale = 2)
+    private BigDecimal sourceUnitPrice;
+
+    @Column(name = "service_date")
+    private LocalDate serviceDate;
+
+    @Column(name = "source_reference_type", length = 50)
+    private String sourceReferenceType;
+
+    @Column(name = "source_reference_id")
+    private UUID sourceReferenceId;
+
+    @Column(name = "department_name", length = 200)
+    private String departmentName;
+
+    @Column(name = "practitioner_id")
+    private UUID practitionerId;
+
+    @Column(name = "practitioner_name", length = 200)
+    private String practitionerName;
+
+    @Column(name = "reason", columnDefinition = "text")
+    private String reason;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    /**
+     * Capture result (ChargeCaptureService.Result) once processed
+     */
+    @Column(name = "result", length = 20)
+    private String result;
+
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Processing status enumeration
+     */
+    public enum Status {
+        PENDING,
+        PROCESSED,
+        FAILED
+    }
+
+    /**
+     * Outbox row of a published event
+     */
+    public static ChargeOutboxEvent of(ChargeEvent event, LocalDateTime now) {
+        return ChargeOutboxEvent.builder()
+            .action(event.getAction())
+            .chargeKey(event.getChargeKey())
+            .encounterId(event.getEncounterId())
+            .tariffCode(event.getTariffCode())
+            .itemType(event.getItemType())
+            .itemName(event.getItemName())
+            .quantity(event.getQuantity())
+            .sourceUnitPrice(event.getSourceUnitPrice())
+            .serviceDate(event.getServiceDate())
+            .sourceReferenceType(event.getSourceReferenceType())
+            .sourceReferenceId(event.getSourceReferenceId())
+            .departmentName(event.getDepartmentName())
+            .practitionerId(event.getPractitionerId())
+            .practitionerName(event.getPractitionerName())
+            .reason(event.getReason())
+            .nextAttemptAt(now)
+            .createdAt(now)
+            .updatedAt(now)
+            .build();
+    }
+
+    /**
+     * The event to capture or reverse
+     */
+    public ChargeEvent toEvent() {
+        return ChargeEvent.builder()
+            .action(action)
+            .chargeKey(chargeKey)
+            .encounterId(encounterId)
+            .tariffCode(tariffCode)
+            .itemType(itemType)
+            .itemName(itemName)
+            .quantity(quantity)
+            .sourceUnitPrice(sourceUnitPrice)
+            .serviceDate(serviceDate)
+            .sourceReferenceType(sourceReferenceType)
+            .sourceReferenceId(sourceReferenceId)
+            .departmentName(departmentName)
+            .practitionerId(practitionerId)
+            .practitionerName(practitionerName)
+            .reason(reason)
+            .build();
+    }
+
+    /**
+     * Mark as captured or reversed
+     */
+    public void markAsProcessed(String result, LocalDateTime now) {
+        this.status = Status.PROCESSED;
+        this.result = result;
+        this.processedAt = now;
+        this.lastError = null;
+        this.claimedBy = null;
+        this.claimedUntil = null;
+    }
+}
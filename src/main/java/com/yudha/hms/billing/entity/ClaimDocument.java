@@ -1,7 +1,7 @@
 package com.yudha.hms.billing.entity;
 
 import com.yudha.hms.billing.constant.DocumentType;
-import com.yudha.hms.shared.entity.BaseEntity;
+import com.yudha.hms.shared.entity.AuditableEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
  * Claim Document Entity.
  *
  * Represents supporting documents attached to insurance claims.
- * Documents are stored as file paths or URLs to external storage.
+ * Documents are stored as file paths or URLs to external storage, or as
+ * content in the document store referenced by its SHA-256 (contentHash).
  *
  * @author HMS Development Team
  * @version 1.0.0
@@ -20,14 +21,15 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "claim_document", schema = "billing_schema", indexes = {
         @Index(name = "idx_claim_document_claim", columnList = "claim_id"),
-        @Index(name = "idx_claim_document_type", columnList = "document_type")
+        @Index(name = "idx_claim_document_type", columnList = "document_type"),
+        @Index(name = "idx_claim_document_content", columnList = "content_hash")
 })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
-public class ClaimDocument extends BaseEntity {
+public class ClaimDocument extends AuditableEntity {
 
     /**
      * Parent insurance claim
@@ -61,6 +63,12 @@ public class ClaimDocument extends BaseEntity {
     @Column(name = "file_path", nullable = false, length = 500)
     private String filePath;
 
+    /**
+     * SHA-256 of the content in the document store (null for external files)
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     /**
      * File URL (if stored in external storage)
      */
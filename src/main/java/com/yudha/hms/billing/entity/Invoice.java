@@ -236,7 +236,7 @@ public class Invoice extends SoftDeletableEntity {
     // ========================================================================
 
     /**
-     * Payment type (CASH, BPJS, INSURANCE, COMPANY)
+     * Payment type (CASH, BPJS_CLASS1, BPJS_CLASS2, BPJS_CLASS3, INSURANCE, COMPANY)
      */
     @Column(name = "payment_type", length = 50)
     private String paymentType;
@@ -342,6 +342,13 @@ public class Invoice extends SoftDeletableEntity {
     @Column(name = "last_printed_date")
     private LocalDateTime lastPrintedDate;
 
+    /**
+     * Running bill flag: open bill of an encounter that captured charges are appended to
+     */
+    @Column(name = "running_bill", nullable = false)
+    @Builder.Default
+    private Boolean runningBill = false;
+
     // ========================================================================
     // HELPER METHODS
     // ========================================================================
@@ -397,6 +404,18 @@ public class Invoice extends SoftDeletableEntity {
         }
     }
 
+    /**
+     * Apply a captured or reversed charge to the totals without recalculating over all items.
+     * Discount, tax, payments and deposit are amounts, so they are unaffected.
+     *
+     * @param amount item total (negative for a reversal)
+     */
+    public void applyChargeDelta(BigDecimal amount) {
+        subtotal = (subtotal != null ? subtotal : BigDecimal.ZERO).add(amount);
+        total = (total != null ? total : BigDecimal.ZERO).add(amount);
+        outstandingBalance = (outstandingBalance != null ? outstandingBalance : BigDecimal.ZERO).add(amount);
+    }
+
     /**
      * Mark as printed
      */
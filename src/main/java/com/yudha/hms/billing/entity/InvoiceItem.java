@@ -224,6 +224,12 @@ public class InvoiceItem extends SoftDeletableEntity {
     @Column(name = "notes", length = 1000)
     private String notes;
 
+    /**
+     * Idempotency key of a captured charge (e.g. "LAB:{order item id}"), null for manual items
+     */
+    @Column(name = "charge_key", length = 200, unique = true)
+    private String chargeKey;
+
     /**
      * Calculate total price
      */
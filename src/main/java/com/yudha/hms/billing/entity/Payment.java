@@ -45,7 +45,9 @@ import java.util.UUID;
     @Index(name = "idx_payment_patient", columnList = "patient_id"),
     @Index(name = "idx_payment_date", columnList = "payment_date"),
     @Index(name = "idx_payment_status", columnList = "status"),
-    @Index(name = "idx_payment_method", columnList = "payment_method")
+    @Index(name = "idx_payment_method", columnList = "payment_method"),
+    @Index(name = "idx_payment_cashier", columnList = "cashier_id"),
+    @Index(name = "idx_payment_shift", columnList = "shift_id")
 })
 @Getter
 @Setter
@@ -0,0 +1,89 @@
+package com.yudha.hms.billing.entity;
+
+import com.yudha.hms.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue Daily Rollup Entity.
+ *
+ * Revenue of one day per payment method, department and payer type. Rows are
+ * maintained incrementally by native upserts (see RevenueRollupRepository) when a
+ * payment is confirmed or refunded and when an invoice is voided; the entity is
+ * only read through JPA.
+ *
+ * Amounts of a payment are allocated to departments pro rata to the invoice's item
+ * totals; the largest department takes the rounding remainder and the count.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Entity
+@Table(name = "revenue_daily_rollup", schema = "billing_schema",
+    uniqueConstraints = @UniqueConstraint(name = "uk_revenue_daily_rollup",
+        columnNames = {"revenue_date", "payment_method", "department", "payer_type"}),
+    indexes = {
+        @Index(name = "idx_revenue_rollup_department", columnList = "department, revenue_date")
+    })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenueDailyRollup extends BaseEntity {
+
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate;
+
+    /**
+     * PaymentMethod name
+     */
+    @Column(name = "payment_method", length = 30, nullable = false)
+    private String paymentMethod;
+
+    /**
+     * Invoice item department name, UNASSIGNED when an item has none
+     */
+    @Column(name = "department", length = 200, nullable = false)
+    private String department;
+
+    /**
+     * Invoice payment type (CASH, BPJS_CLASS1, INSURANCE, ...)
+     */
+    @Column(name = "payer_type", length = 50, nullable = false)
+    private String payerType;
+
+    @Column(name = "payment_count", nullable = false)
+    @Builder.Default
+    private Integer paymentCount = 0;
+
+    @Column(name = "collected_amount", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal collectedAmount = BigDecimal.ZERO;
+
+    @Column(name = "refund_count", nullable = false)
+    @Builder.Default
+    private Integer refundCount = 0;
+
+    @Column(name = "refund_amount", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal refundAmount = BigDecimal.ZERO;
+
+    /**
+     * Net collected amount of invoices voided on this day
+     */
+    @Column(name = "voided_amount", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal voidedAmount = BigDecimal.ZERO;
+
+    /**
+     * Collected minus refunds minus voided
+     */
+    @Column(name = "net_amount", precision = 15, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal netAmount = BigDecimal.ZERO;
+}
@@ -0,0 +1,109 @@
+package com.yudha.hms.billing.event;
+
+import com.yudha.hms.billing.constant.TariffType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Billable event published by clinical modules.
+ *
+ * A CAPTURE event appends a charge to the running bill of the encounter; a REVERSE
+ * event takes it off again (e.g. a cancelled order). Charges are identified by an
+ * idempotency key built from the source, e.g. "LAB:{order item id}", so an event
+ * delivered twice is billed once.
+ *
+ * Events are written to the charge outbox in the publishing transaction and captured
+ * after it commits; publish them from inside the transaction that creates the billable
+ * fact, so the charge is kept exactly when the fact is.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Value
+@Builder
+public class ChargeEvent {
+
+    public enum Action {
+        CAPTURE,
+        REVERSE
+    }
+
+    @Builder.Default
+    Action action = Action.CAPTURE;
+
+    /**
+     * Idempotency key of the charge
+     */
+    String chargeKey;
+
+    UUID encounterId;
+
+    /**
+     * Tariff code the charge is priced by (lab test code, exam code, drug code, ...)
+     */
+    String tariffCode;
+
+    TariffType itemType;
+
+    String itemName;
+
+    @Builder.Default
+    int quantity = 1;
+
+    /**
+     * Unit price of the source (order item, drug), used when no tariff has the code
+     */
+    BigDecimal sourceUnitPrice;
+
+    LocalDate serviceDate;
+
+    String sourceReferenceType;
+
+    UUID sourceReferenceId;
+
+    String departmentName;
+
+    UUID practitionerId;
+
+    String practitionerName;
+
+    /**
+     * Reason of a reversal
+     */
+    String reason;
+
+    /**
+     * Build a charge key from a source type and source ID.
+     *
+     * @param sourceType source type, e.g. "LAB"
+     * @param parts source ID and, where one source is billed more than once, a sequence
+     * @return charge key, e.g. "LAB:3f6c..."
+     */
+    public static String key(String sourceType, Object... parts) {
+        StringBuilder key = new StringBuilder(sourceType);
+        for (Object part : parts) {
+            key.append(':').append(part);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Reversal of a captured charge.
+     *
+     * @param chargeKey idempotency key of the charge
+     * @param reason reversal reason
+     * @return reversal event
+     */
+    public static ChargeEvent reversal(String chargeKey, String reason) {
+        return ChargeEvent.builder()
+            .action(Action.REVERSE)
+            .chargeKey(chargeKey)
+            .reason(reason)
+            .build();
+    }
+}
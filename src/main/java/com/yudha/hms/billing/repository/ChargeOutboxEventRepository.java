@@ -0,0 +1,71 @@
+package com.yudha.hms.billing.repository;
+
+import com.yudha.hms.billing.entity.ChargeOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the charge event outbox.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Repository
+public interface ChargeOutboxEventRepository extends JpaRepository<ChargeOutboxEvent, UUID> {
+
+    /**
+     * Lock due events for capture. Only the oldest unprocessed (pending or failed) event of
+     * each charge key is eligible, so a reversal is never applied before the capture it
+     * reverses, also while that capture is failed and waiting to be queued again.
+     * Rows locked by another node are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM billing_schema.charge_event_outbox e
+        WHERE e.status = 'PENDING'
+          AND e.next_attempt_at <= :now
+          AND (e.claimed_until IS NULL OR e.claimed_until < :now)
+          AND NOT EXISTS (
+              SELECT 1 FROM billing_schema.charge_event_outbox p
+              WHERE p.charge_key = e.charge_key
+                AND p.status IN ('PENDING', 'FAILED')
+                AND (p.created_at < e.created_at
+                     OR (p.created_at = e.created_at AND p.id < e.id))
+          )
+        ORDER BY e.next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ChargeOutboxEvent> lockDueForCapture(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Queue failed events for capture again.
+     *
+     * @return Number of events queued
+     */
+    @Modifying
+    @Query("""
+        UPDATE ChargeOutboxEvent e
+        SET e.status = com.yudha.hms.billing.entity.ChargeOutboxEvent.Status.PENDING,
+            e.attemptCount = 0, e.nextAttemptAt = :now, e.updatedAt = :now
+        WHERE e.status = com.yudha.hms.billing.entity.ChargeOutboxEvent.Status.FAILED
+        """)
+    int requeueFailed(@Param("now") LocalDateTime now);
+
+    /**
+     * Failed events, most recent first
+     */
+    List<ChargeOutboxEvent> findTop100ByStatusOrderByUpdatedAtDesc(ChargeOutboxEvent.Status status);
+
+    /**
+     * Count events by status
+     */
+    long countByStatus(ChargeOutboxEvent.Status status);
+}
@@ -0,0 +1,82 @@
+package com.yudha.hms.billing.repository;
+
+import com.yudha.hms.billing.entity.InvoiceItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Invoice Item Repository.
+ *
+ * Data access layer for InvoiceItem entity, used by charge capture to append
+ * items to a running bill without loading its other items.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Repository
+public interface InvoiceItemRepository extends JpaRepository<InvoiceItem, UUID> {
+
+    /**
+     * Find a captured charge by its idempotency key
+     *
+     * @param chargeKey charge key
+     * @return optional item (reversed charges are excluded)
+     */
+    Optional<InvoiceItem> findByChargeKey(String chargeKey);
+
+    /**
+     * Check if a charge key was ever captured, including reversed charges
+     *
+     * @param chargeKey charge key
+     * @return true if captured
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM billing_schema.invoice_item WHERE charge_key = :chargeKey)",
+           nativeQuery = true)
+    boolean existsChargeKey(@Param("chargeKey") String chargeKey);
+
+    /**
+     * Find which of the given charge keys were ever captured, including reversed charges
+     *
+     * @param chargeKeys charge keys
+     * @return captured keys
+     */
+    @Query(value = "SELECT charge_key FROM billing_schema.invoice_item WHERE charge_key IN (:chargeKeys)",
+           nativeQuery = true)
+    List<String> findCapturedChargeKeys(@Param("chargeKeys") Collection<String> chargeKeys);
+
+    /**
+     * Highest line number of an invoice, including reversed items
+     *
+     * @param invoiceId invoice ID
+     * @return highest line number, 0 if the invoice has no items
+     */
+    @Query(value = "SELECT COALESCE(MAX(line_number), 0) FROM billing_schema.invoice_item WHERE invoice_id = :invoiceId",
+           nativeQuery = true)
+    int findMaxLineNumber(@Param("invoiceId") UUID invoiceId);
+
+    /**
+     * Billed charges of an encounter per item type, over its non-voided invoices
+     *
+     * @param encounterId encounter ID
+     * @return rows of [item type, net amount]
+     */
+    @Query(value = """
+        SELECT ii.item_type, SUM(COALESCE(ii.net_amount, ii.total_price))
+        FROM billing_schema.invoice_item ii
+        JOIN billing_schema.invoice i ON i.id = ii.invoice_id
+        WHERE i.encounter_id = :encounterId
+          AND i.deleted_at IS NULL
+          AND COALESCE(i.is_voided, FALSE) = FALSE
+          AND ii.deleted_at IS NULL
+        GROUP BY ii.item_type
+        """, nativeQuery = true)
+    List<Object[]> sumChargesByItemType(@Param("encounterId") UUID encounterId);
+}
@@ -2,8 +2,10 @@ package com.yudha.hms.billing.repository;
 
 import com.yudha.hms.billing.constant.InvoiceStatus;
 import com.yudha.hms.billing.entity.Invoice;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -118,4 +120,36 @@ public interface InvoiceRepository extends JpaRepository<Invoice, UUID>, JpaSpec
      * @return list of invoices
      */
     List<Invoice> findByPatientMrnOrderByInvoiceDateDesc(String patientMrn);
+
+    /**
+     * Find the open running bill of an encounter
+     *
+     * @param encounterId encounter ID
+     * @return optional running bill
+     */
+    @Query("SELECT i FROM Invoice i WHERE i.encounterId = :encounterId AND i.runningBill = true " +
+           "AND i.status = com.yudha.hms.billing.constant.InvoiceStatus.DRAFT")
+    Optional<Invoice> findRunningBill(@Param("encounterId") UUID encounterId);
+
+    /**
+     * Find and lock the open running bill of an encounter, so charges of one encounter
+     * are appended one at a time
+     *
+     * @param encounterId encounter ID
+     * @return optional running bill
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.encounterId = :encounterId AND i.runningBill = true " +
+           "AND i.status = com.yudha.hms.billing.constant.InvoiceStatus.DRAFT")
+    Optional<Invoice> findRunningBillForUpdate(@Param("encounterId") UUID encounterId);
+
+    /**
+     * Find and lock an invoice
+     *
+     * @param id invoice ID
+     * @return optional invoice
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Invoice i WHERE i.id = :id")
+    Optional<Invoice> findByIdForUpdate(@Param("id") UUID id);
 }
@@ -69,4 +69,33 @@ public interface PackageDealRepository extends JpaRepository<PackageDeal, UUID>,
      */
     @Query("SELECT p FROM PackageDeal p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<PackageDeal> searchByName(@Param("name") String name);
+
+    /**
+     * Find active packages with their items and tariffs
+     *
+     * @return list of packages
+     */
+    @Query("SELECT DISTINCT p FROM PackageDeal p " +
+           "LEFT JOIN FETCH p.items i " +
+           "LEFT JOIN FETCH i.tariff " +
+           "WHERE p.active = true")
+    List<PackageDeal> findActiveWithItems();
+
+    /**
+     * Change stamp of all packages
+     *
+     * @return change stamp
+     */
+    @Query("SELECT COUNT(p) AS rowCount, MAX(p.updatedAt) AS lastUpdated, SUM(p.version) AS versionSum " +
+           "FROM PackageDeal p")
+    TariffRepository.ChangeStamp findChangeStamp();
+
+    /**
+     * Change stamp of all package items
+     *
+     * @return change stamp
+     */
+    @Query("SELECT COUNT(i) AS rowCount, MAX(i.updatedAt) AS lastUpdated, SUM(i.version) AS versionSum " +
+           "FROM PackageDealItem i")
+    TariffRepository.ChangeStamp findItemChangeStamp();
 }
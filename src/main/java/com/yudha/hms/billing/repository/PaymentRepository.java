@@ -95,6 +95,51 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID>, JpaSpec
      */
     List<Payment> findByShiftIdOrderByPaymentDate(UUID shiftId);
 
+    /**
+     * Find payments by shift with their invoices
+     *
+     * @param shiftId shift ID
+     * @return list of payments
+     */
+    @Query("SELECT p FROM Payment p JOIN FETCH p.invoice WHERE p.shiftId = :shiftId ORDER BY p.paymentDate")
+    List<Payment> findByShiftIdWithInvoice(@Param("shiftId") UUID shiftId);
+
+    /**
+     * Find the first payment of a shift (cashier and register information)
+     *
+     * @param shiftId shift ID
+     * @return optional payment
+     */
+    Optional<Payment> findFirstByShiftIdOrderByPaymentDateAsc(UUID shiftId);
+
+    /**
+     * Shift totals per payment method, computed in one grouped query.
+     *
+     * Collected amounts include payments refunded later (the refund is a separate
+     * negative COMPLETED record). Each row is
+     * [paymentMethod, paymentCount, collectedAmount, refundCount, refundAmount,
+     * firstPaymentDate, lastPaymentDate].
+     *
+     * @param shiftId shift ID
+     * @return one row per payment method used in the shift
+     */
+    @Query(value = """
+        SELECT p.payment_method,
+               COUNT(*) FILTER (WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+                                  AND p.amount >= 0),
+               COALESCE(SUM(p.amount) FILTER (WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+                                                AND p.amount >= 0), 0),
+               COUNT(*) FILTER (WHERE p.status = 'COMPLETED' AND p.amount < 0),
+               COALESCE(-SUM(p.amount) FILTER (WHERE p.status = 'COMPLETED' AND p.amount < 0), 0),
+               MIN(p.payment_date),
+               MAX(p.payment_date)
+        FROM billing_schema.payment p
+        WHERE p.shift_id = :shiftId
+          AND p.deleted_at IS NULL
+        GROUP BY p.payment_method
+        """, nativeQuery = true)
+    List<Object[]> summarizeShiftByPaymentMethod(@Param("shiftId") UUID shiftId);
+
     /**
      * Calculate total payments by shift and method
      *
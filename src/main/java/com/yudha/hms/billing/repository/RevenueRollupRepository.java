@@ -0,0 +1,161 @@
+package com.yudha.hms.billing.repository;
+
+import com.yudha.hms.billing.entity.RevenueDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revenue Daily Rollup Repository.
+ *
+ * Incremental upsert of revenue movements and grouped reads for the daily and
+ * month-end revenue screens. Grouped reads return rows of
+ * [key, paymentCount, collectedAmount, refundCount, refundAmount, voidedAmount, netAmount].
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueDailyRollup, UUID> {
+
+    /**
+     * Add one revenue movement of an invoice to the rollup.
+     *
+     * The amount is allocated to the invoice's item departments pro rata to their
+     * totals (UNASSIGNED when the invoice has no priced items); the largest
+     * department takes the rounding remainder and the count. The payer type is the
+     * invoice payment type.
+     *
+     * @param invoiceId invoice the payment belongs to
+     * @param revenueDate day the movement is booked on
+     * @param paymentMethod payment method name
+     * @param kind COLLECTED, REFUND or VOIDED
+     * @param amount positive amount of the movement
+     * @return number of rollup rows inserted or updated
+     */
+    @Modifying
+    @Query(value = """
+        WITH item_share AS (
+            SELECT COALESCE(NULLIF(TRIM(ii.department_name), ''), 'UNASSIGNED') AS department,
+                   SUM(ii.total_price) AS base
+            FROM billing_schema.invoice_item ii
+            WHERE ii.invoice_id = :invoiceId
+              AND ii.deleted_at IS NULL
+              AND ii.total_price > 0
+            GROUP BY COALESCE(NULLIF(TRIM(ii.department_name), ''), 'UNASSIGNED')
+        ),
+        shares AS (
+            SELECT COALESCE(s.department, 'UNASSIGNED') AS department,
+                   s.base,
+                   SUM(s.base) OVER () AS total_base,
+                   ROW_NUMBER() OVER (ORDER BY s.base DESC NULLS LAST, s.department) AS rn,
+                   m.amount
+            FROM (SELECT CAST(:amount AS NUMERIC(15,2)) AS amount) m
+            LEFT JOIN item_share s ON TRUE
+        ),
+        rounded AS (
+            SELECT sh.*,
+                   CASE WHEN sh.total_base IS NULL OR sh.total_base = 0 THEN sh.amount
+                        ELSE ROUND(sh.amount * sh.base / sh.total_base, 2) END AS share
+            FROM shares sh
+        ),
+        allocation AS (
+            SELECT r.department,
+                   CASE WHEN r.rn = 1 THEN r.amount - (SUM(r.share) OVER () - r.share)
+                        ELSE r.share END AS amount,
+                   CASE WHEN r.rn = 1 THEN 1 ELSE 0 END AS cnt
+            FROM rounded r
+        )
+        INSERT INTO billing_schema.revenue_daily_rollup (
+            id, revenue_date, payment_method, department, payer_type,
+            payment_count, collected_amount, refund_count, refund_amount, voided_amount, net_amount,
+            created_at, updated_at
+        )
+        SELECT gen_random_uuid(), :revenueDate, :paymentMethod, a.department,
+               COALESCE((SELECT NULLIF(UPPER(TRIM(i.payment_type)), '')
+                         FROM billing_schema.invoice i WHERE i.id = :invoiceId), 'CASH'),
+               CASE WHEN :kind = 'COLLECTED' THEN a.cnt ELSE 0 END,
+               CASE WHEN :kind = 'COLLECTED' THEN a.amount ELSE 0 END,
+               CASE WHEN :kind = 'REFUND' THEN a.cnt ELSE 0 END,
+               CASE WHEN :kind = 'REFUND' THEN a.amount ELSE 0 END,
+               CASE WHEN :kind = 'VOIDED' THEN a.amount ELSE 0 END,
+               CASE WHEN :kind = 'COLLECTED' THEN a.amount ELSE -a.amount END,
+               CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        FROM allocation a
+        ON CONFLICT (revenue_date, payment_method, department, payer_type) DO UPDATE SET
+            payment_count = revenue_daily_rollup.payment_count + EXCLUDED.payment_count,
+            collected_amount = revenue_daily_rollup.collected_amount + EXCLUDED.collected_amount,
+            refund_count = revenue_daily_rollup.refund_count + EXCLUDED.refund_count,
+            refund_amount = revenue_daily_rollup.refund_amount + EXCLUDED.refund_amount,
+            voided_amount = revenue_daily_rollup.voided_amount + EXCLUDED.voided_amount,
+            net_amount = revenue_daily_rollup.net_amount + EXCLUDED.net_amount,
+            updated_at = EXCLUDED.updated_at
+        """, nativeQuery = true)
+    int upsertMovement(
+        @Param("invoiceId") UUID invoiceId,
+        @Param("revenueDate") LocalDate revenueDate,
+        @Param("paymentMethod") String paymentMethod,
+        @Param("kind") String kind,
+        @Param("amount") BigDecimal amount
+    );
+
+    /**
+     * Revenue per day
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return grouped rows keyed by revenue date
+     */
+    @Query("SELECT r.revenueDate, SUM(r.paymentCount), SUM(r.collectedAmount), SUM(r.refundCount), " +
+           "SUM(r.refundAmount), SUM(r.voidedAmount), SUM(r.netAmount) " +
+           "FROM RevenueDailyRollup r WHERE r.revenueDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.revenueDate ORDER BY r.revenueDate")
+    List<Object[]> sumByDay(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Revenue per department
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return grouped rows keyed by department
+     */
+    @Query("SELECT r.department, SUM(r.paymentCount), SUM(r.collectedAmount), SUM(r.refundCount), " +
+           "SUM(r.refundAmount), SUM(r.voidedAmount), SUM(r.netAmount) " +
+           "FROM RevenueDailyRollup r WHERE r.revenueDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.department ORDER BY SUM(r.netAmount) DESC")
+    List<Object[]> sumByDepartment(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Revenue per payer type
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return grouped rows keyed by payer type
+     */
+    @Query("SELECT r.payerType, SUM(r.paymentCount), SUM(r.collectedAmount), SUM(r.refundCount), " +
+           "SUM(r.refundAmount), SUM(r.voidedAmount), SUM(r.netAmount) " +
+           "FROM RevenueDailyRollup r WHERE r.revenueDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.payerType ORDER BY SUM(r.netAmount) DESC")
+    List<Object[]> sumByPayerType(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * Revenue per payment method
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return grouped rows keyed by payment method
+     */
+    @Query("SELECT r.paymentMethod, SUM(r.paymentCount), SUM(r.collectedAmount), SUM(r.refundCount), " +
+           "SUM(r.refundAmount), SUM(r.voidedAmount), SUM(r.netAmount) " +
+           "FROM RevenueDailyRollup r WHERE r.revenueDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.paymentMethod ORDER BY SUM(r.netAmount) DESC")
+    List<Object[]> sumByPaymentMethod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
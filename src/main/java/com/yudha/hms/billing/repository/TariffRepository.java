@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -96,4 +97,26 @@ public interface TariffRepository extends JpaRepository<Tariff, UUID>, JpaSpecif
      */
     @Query("SELECT t FROM Tariff t WHERE LOWER(t.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Tariff> searchByName(@Param("name") String name);
+
+    /**
+     * Change stamp of all tariffs: row count, latest update and sum of versions.
+     * Any insert, update or delete changes at least one of them.
+     *
+     * @return change stamp
+     */
+    @Query("SELECT COUNT(t) AS rowCount, MAX(t.updatedAt) AS lastUpdated, SUM(t.version) AS versionSum " +
+           "FROM Tariff t")
+    ChangeStamp findChangeStamp();
+
+    /**
+     * Aggregate change stamp of a table, used to detect changes without loading rows.
+     */
+    interface ChangeStamp {
+
+        Long getRowCount();
+
+        LocalDateTime getLastUpdated();
+
+        Long getVersionSum();
+    }
 }
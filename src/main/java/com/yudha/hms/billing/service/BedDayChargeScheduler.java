@@ -0,0 +1,107 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.config.ChargeCaptureProperties;
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.event.ChargeEvent;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.repository.EncounterRepository;
+import com.yudha.hms.registration.entity.InpatientAdmission;
+import com.yudha.hms.registration.repository.InpatientAdmissionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Charges room days of active inpatient admissions to their running bills.
+ *
+ * Each admission is charged one bed day per calendar day under the key
+ * {@code BED:<admissionId>:<date>}, so repeated runs (or several nodes) never bill
+ * a day twice. Days missed while the scheduler was down are caught up within the
+ * configured lookback.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BedDayChargeScheduler {
+
+    private final ChargeCaptureService chargeCaptureService;
+    private final InpatientAdmissionRepository admissionRepository;
+    private final EncounterRepository encounterRepository;
+    private final ChargeCaptureProperties properties;
+
+    @Scheduled(fixedDelayString = "${hms.billing.charge-capture.bed-day-interval-ms:3600000}",
+        initialDelayString = "${hms.billing.charge-capture.bed-day-interval-ms:3600000}")
+    public void chargeBedDays() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int charged = 0;
+        for (InpatientAdmission admission : admissionRepository.findAllActive()) {
+            try {
+                charged += chargeAdmission(admission);
+            } catch (Exception e) {
+                log.error("Bed day charge failed for admission {}: {}", admission.getAdmissionNumber(),
+                    e.getMessage(), e);
+            }
+        }
+        if (charged > 0) {
+            log.info("Charged {} bed days", charged);
+        }
+    }
+
+    private int chargeAdmission(InpatientAdmission admission) {
+        if (admission.getRoomClass() == null) {
+            return 0;
+        }
+        Encounter encounter = encounterRepository.findByInpatientAdmissionId(admission.getId()).orElse(null);
+        if (encounter == null) {
+            return 0;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(properties.getBedDayLookbackDays());
+        if (admission.getAdmissionDate() != null && admission.getAdmissionDate().toLocalDate().isAfter(from)) {
+            from = admission.getAdmissionDate().toLocalDate();
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            keys.add(ChargeEvent.key("BED", admission.getId(), day));
+        }
+        Set<String> captured = new HashSet<>(chargeCaptureService.findCapturedKeys(keys));
+
+        int charged = 0;
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            String key = ChargeEvent.key("BED", admission.getId(), day);
+            if (captured.contains(key)) {
+                continue;
+            }
+            ChargeEvent event = ChargeEvent.builder()
+                .chargeKey(key)
+                .encounterId(encounter.getId())
+                .tariffCode(properties.getRoomTariffPrefix() + admission.getRoomClass().name())
+                .itemType(TariffType.ROOM)
+                .itemName("Kamar " + admission.getRoomClass().getDisplayName())
+                .sourceUnitPrice(admission.getRoomRatePerDay())
+                .serviceDate(day)
+                .sourceReferenceType("INPATIENT_ADMISSION")
+                .sourceReferenceId(admission.getId())
+                .build();
+            if (chargeCaptureService.capture(event) == ChargeCaptureService.Result.CAPTURED) {
+                charged++;
+            }
+        }
+        return charged;
+    }
+}
@@ -0,0 +1,110 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.config.ChargeCaptureProperties;
+import com.yudha.hms.billing.entity.ChargeOutboxEvent;
+import com.yudha.hms.billing.event.ChargeEvent;
+import com.yudha.hms.billing.service.ChargeCaptureOutbox.CaptureOutcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Captures outboxed billable events into running bills.
+ *
+ * Each poll claims due events through {@link ChargeCaptureOutbox} (at most the oldest
+ * pending event of each charge key, so a reversal follows its capture) and captures or
+ * reverses them one by one, each in its own transaction, then records all outcomes in
+ * one batch. Polling repeats while full batches come back so a backlog drains quickly.
+ * Failed captures are retried with exponential backoff; capture is idempotent by charge
+ * key, so an event processed again after a lost lease is not billed twice.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeCaptureDispatcher {
+
+    private static final int MAX_ROUNDS_PER_POLL = 10;
+
+    private final ChargeCaptureOutbox outbox;
+    private final ChargeCaptureService chargeCaptureService;
+    private final ChargeCaptureProperties properties;
+
+    private final String nodeId = resolveNodeId();
+
+    @Scheduled(fixedDelayString = "${hms.billing.charge-capture.outbox-poll-interval-ms:1000}")
+    public void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int rounds = 0;
+            int captured;
+            do {
+                captured = captureDue();
+                rounds++;
+            } while (captured >= properties.getOutboxBatchSize() && rounds < MAX_ROUNDS_PER_POLL);
+        } catch (Exception e) {
+            log.error("Charge capture dispatch failed", e);
+        }
+    }
+
+    /**
+     * Claim and capture one batch of due events.
+     *
+     * @return Number of events processed
+     */
+    public int captureDue() {
+        List<ChargeOutboxEvent> claimed = outbox.claimDue(nodeId, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<CaptureOutcome> outcomes = new ArrayList<>(claimed.size());
+        for (ChargeOutboxEvent event : claimed) {
+            outcomes.add(process(event));
+        }
+        outbox.recordOutcomes(nodeId, outcomes);
+
+        long failed = outcomes.stream().filter(outcome -> outcome.result() == null).count();
+        log.debug("Processed {} charge events ({} failed)", outcomes.size(), failed);
+        return outcomes.size();
+    }
+
+    private CaptureOutcome process(ChargeOutboxEvent event) {
+        try {
+            ChargeEvent charge = event.toEvent();
+            ChargeCaptureService.Result result = charge.getAction() == ChargeEvent.Action.REVERSE
+                ? chargeCaptureService.reverse(charge)
+                : chargeCaptureService.capture(charge);
+            log.debug("Charge {} {}: {}", event.getChargeKey(), event.getAction(), result);
+            return CaptureOutcome.of(event.getId(), result);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return CaptureOutcome.failure(event.getId(), error);
+        }
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        if (host.length() > 80) {
+            host = host.substring(0, 80);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
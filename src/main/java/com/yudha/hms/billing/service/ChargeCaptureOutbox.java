@@ -0,0 +1,171 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.config.ChargeCaptureProperties;
+import com.yudha.hms.billing.entity.ChargeOutboxEvent;
+import com.yudha.hms.billing.event.ChargeEvent;
+import com.yudha.hms.billing.repository.ChargeOutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox for billable events.
+ *
+ * {@link ChargeEvent}s are written to the outbox in the transaction that publishes them,
+ * so a charge is kept exactly when the clinical action commits and never delays or fails
+ * the action itself. {@link ChargeCaptureDispatcher} captures them into running bills
+ * afterwards; failed captures are retried with backoff and, after the maximum number of
+ * attempts, kept as FAILED until they are queued again (see ChargeCaptureOutboxController).
+ * A failed event holds back the later events of its charge key, so a reversal waits for
+ * its capture.
+ *
+ * This class also holds the transactional claim and outcome steps of the dispatcher.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeCaptureOutbox {
+
+    private final ChargeOutboxEventRepository outboxRepository;
+    private final ChargeCaptureProperties properties;
+
+    /**
+     * Record a published billable event in the publishing transaction.
+     */
+    @EventListener
+    @Transactional
+    public void onChargeEvent(ChargeEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (event.getChargeKey() == null || event.getChargeKey().isBlank()) {
+            log.error("Charge event without a key ignored: {}", event);
+            return;
+        }
+        outboxRepository.save(ChargeOutboxEvent.of(event, LocalDateTime.now()));
+    }
+
+    /**
+     * Count outbox events per status.
+     *
+     * @return Event count by status
+     */
+    @Transactional(readOnly = true)
+    public Map<ChargeOutboxEvent.Status, Long> getStatusCounts() {
+        Map<ChargeOutboxEvent.Status, Long> counts = new EnumMap<>(ChargeOutboxEvent.Status.class);
+        for (ChargeOutboxEvent.Status status : ChargeOutboxEvent.Status.values()) {
+            counts.put(status, outboxRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    /**
+     * Get the most recent failed events.
+     *
+     * @return Failed events, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<ChargeOutboxEvent> getFailedEvents() {
+        return outboxRepository.findTop100ByStatusOrderByUpdatedAtDesc(ChargeOutboxEvent.Status.FAILED);
+    }
+
+    /**
+     * Queue failed events for capture again, e.g. after the missing tariff was added.
+     *
+     * @return Number of events queued
+     */
+    @Transactional
+    public int requeueFailed() {
+        int requeued = outboxRepository.requeueFailed(LocalDateTime.now());
+        if (requeued > 0) {
+            log.info("Queued {} failed charge events for capture again", requeued);
+        }
+        return requeued;
+    }
+
+    // ========== Dispatcher steps ==========
+
+    /**
+     * Claim due events: lock them, stamp a lease and count the attempt. The claim is
+     * committed before capture, so other nodes skip these events.
+     */
+    @Transactional
+    public List<ChargeOutboxEvent> claimDue(String nodeId, LocalDateTime now) {
+        List<ChargeOutboxEvent> claimed = outboxRepository.lockDueForCapture(now, properties.getOutboxBatchSize());
+        LocalDateTime leaseUntil = now.plusSeconds(properties.getOutboxLeaseSeconds());
+
+        for (ChargeOutboxEvent event : claimed) {
+            event.setAttemptCount(event.getAttemptCount() + 1);
+            event.setClaimedBy(nodeId);
+            event.setClaimedUntil(leaseUntil);
+        }
+        return claimed;
+    }
+
+    /**
+     * Record the outcomes of a capture batch.
+     */
+    @Transactional
+    public void recordOutcomes(String nodeId, List<CaptureOutcome> outcomes) {
+        Map<UUID, CaptureOutcome> outcomesById = outcomes.stream()
+            .collect(Collectors.toMap(CaptureOutcome::id, Function.identity()));
+        List<ChargeOutboxEvent> events = outboxRepository.findAllById(outcomesById.keySet());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (ChargeOutboxEvent event : events) {
+            if (!nodeId.equals(event.getClaimedBy())) {
+                log.warn("Capture lease lost for charge event {}, outcome not recorded", event.getId());
+                continue;
+            }
+            CaptureOutcome outcome = outcomesById.get(event.getId());
+
+            if (outcome.result() != null) {
+                event.markAsProcessed(outcome.result().name(), now);
+                continue;
+            }
+            event.setClaimedBy(null);
+            event.setClaimedUntil(null);
+            event.setLastError(outcome.error());
+            if (event.getAttemptCount() >= properties.getOutboxMaxAttempts()) {
+                event.setStatus(ChargeOutboxEvent.Status.FAILED);
+                log.error("Giving up charge {} ({}) after {} attempts: {}",
+                    event.getChargeKey(), event.getAction(), event.getAttemptCount(), outcome.error());
+            } else {
+                event.setNextAttemptAt(now.plusSeconds(properties.outboxBackoffSeconds(event.getAttemptCount())));
+                log.warn("Charge {} ({}) failed (attempt {}/{}): {}",
+                    event.getChargeKey(), event.getAction(), event.getAttemptCount(),
+                    properties.getOutboxMaxAttempts(), outcome.error());
+            }
+        }
+
+        outboxRepository.saveAll(events);
+    }
+
+    /**
+     * Result of one capture attempt; result is null when the attempt failed.
+     */
+    public record CaptureOutcome(UUID id, ChargeCaptureService.Result result, String error) {
+
+        public static CaptureOutcome of(UUID id, ChargeCaptureService.Result result) {
+            return new CaptureOutcome(id, result, null);
+        }
+
+        public static CaptureOutcome failure(UUID id, String error) {
+            return new CaptureOutcome(id, null, error);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.config.ChargeCaptureProperties;
+import com.yudha.hms.billing.constant.InvoiceStatus;
+import com.yudha.hms.billing.constant.PayerClass;
+import com.yudha.hms.billing.event.ChargeEvent;
+import com.yudha.hms.billing.entity.Invoice;
+import com.yudha.hms.billing.entity.InvoiceItem;
+import com.yudha.hms.billing.repository.InvoiceItemRepository;
+import com.yudha.hms.billing.repository.InvoiceRepository;
+import com.yudha.hms.billing.repository.TariffRepository;
+import com.yudha.hms.billing.util.InvoiceNumberGenerator;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.entity.InsuranceType;
+import com.yudha.hms.clinical.repository.EncounterRepository;
+import com.yudha.hms.patient.entity.Patient;
+import com.yudha.hms.patient.repository.PatientRepository;
+import com.yudha.hms.registration.entity.InpatientAdmission;
+import com.yudha.hms.registration.entity.RoomClass;
+import com.yudha.hms.registration.repository.InpatientAdmissionRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Captures billable events into the running bill of each encounter.
+ *
+ * Clinical modules publish {@link ChargeEvent}s, which {@link ChargeCaptureOutbox} keeps in
+ * the publishing transaction; {@link ChargeCaptureDispatcher} then prices each charge from
+ * the tariff book and appends it to the encounter's running bill
+ * (a DRAFT invoice created on the first charge). Totals are updated by the charge
+ * amount instead of being recalculated over all items, and only the new item is
+ * written, so the cost of a charge does not grow with the length of the stay.
+ *
+ * Charges are idempotent by their key: a key captured before (even if reversed since)
+ * is not billed again. Charges of one encounter are appended one at a time under a row
+ * lock on the running bill. A failed capture stays in the outbox and is retried.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@Slf4j
+public class ChargeCaptureService {
+
+    private static final String CAPTURED_BY = "charge-capture";
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceItemRepository invoiceItemRepository;
+    private final TariffRepository tariffRepository;
+    private final TariffPricingService tariffPricingService;
+    private final EncounterRepository encounterRepository;
+    private final InpatientAdmissionRepository admissionRepository;
+    private final PatientRepository patientRepository;
+    private final InvoiceNumberGenerator invoiceNumberGenerator;
+    private final ChargeCaptureProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChargeCaptureService(InvoiceRepository invoiceRepository,
+                                InvoiceItemRepository invoiceItemRepository,
+                                TariffRepository tariffRepository,
+                                TariffPricingService tariffPricingService,
+                                EncounterRepository encounterRepository,
+                                InpatientAdmissionRepository admissionRepository,
+                                PatientRepository patientRepository,
+                                InvoiceNumberGenerator invoiceNumberGenerator,
+                                ChargeCaptureProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceItemRepository = invoiceItemRepository;
+        this.tariffRepository = tariffRepository;
+        this.tariffPricingService = tariffPricingService;
+        this.encounterRepository = encounterRepository;
+        this.admissionRepository = admissionRepository;
+        this.patientRepository = patientRepository;
+        this.invoiceNumberGenerator = invoiceNumberGenerator;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Append a charge to the running bill of its encounter.
+     *
+     * @param event capture event
+     * @return CAPTURED, or DUPLICATE if the key was captured before
+     */
+    public Result capture(ChargeEvent event) {
+        validate(event);
+        try {
+            return transactionTemplate.execute(status -> doCapture(event));
+        } catch (DataIntegrityViolationException e) {
+            // Same key captured concurrently; any other violation fails the capture so it is retried
+            if (invoiceItemRepository.existsChargeKey(event.getChargeKey())) {
+                return Result.DUPLICATE;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Take a captured charge off its running bill.
+     *
+     * @param event reversal event
+     * @return REVERSED; NOT_FOUND if the key was never captured (or already reversed);
+     *         NOT_REVERSIBLE if its bill was issued meanwhile
+     */
+    public Result reverse(ChargeEvent event) {
+        return transactionTemplate.execute(status -> doReverse(event));
+    }
+
+    /**
+     * Find which of the given charge keys were captured before.
+     */
+    public List<String> findCapturedKeys(List<String> chargeKeys) {
+        return chargeKeys.isEmpty() ? List.of() : invoiceItemRepository.findCapturedChargeKeys(chargeKeys);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Result doCapture(ChargeEvent event) {
+        if (invoiceItemRepository.existsChargeKey(event.getChargeKey())) {
+            return Result.DUPLICATE;
+        }
+
+        Invoice bill = lockRunningBill(event.getEncounterId());
+        LocalDate serviceDate = event.getServiceDate() != null ? event.getServiceDate() : LocalDate.now();
+        TariffPricingService.PricedItem price = priceOf(event, bill.getPaymentType(), serviceDate);
+
+        InvoiceItem item = InvoiceItem.builder()
+            .invoice(bill)
+            .lineNumber(invoiceItemRepository.findMaxLineNumber(bill.getId()) + 1)
+            .serviceDate(serviceDate)
+            .tariff(price != null ? tariffRepository.getReferenceById(price.tariffId()) : null)
+            .itemType(event.getItemType() != null ? event.getItemType() : price != null ? price.tariffType() : null)
+            .itemCode(event.getTariffCode())
+            .itemName(event.getItemName() != null ? event.getItemName() : price != null ? price.tariffName() : event.getTariffCode())
+            .quantity(event.getQuantity())
+            .unit(price != null ? price.unit() : null)
+            .unitPrice(price != null ? price.unitPrice() : event.getSourceUnitPrice())
+            .departmentName(event.getDepartmentName())
+            .practitionerId(event.getPractitionerId())
+            .practitionerName(event.getPractitionerName())
+            .sourceReferenceId(event.getSourceReferenceId())
+            .sourceReferenceType(event.getSourceReferenceType())
+            .notes(price == null ? "Priced at source price: no tariff " + event.getTariffCode() : null)
+            .chargeKey(event.getChargeKey())
+            .build();
+        item.setCreatedBy(CAPTURED_BY);
+        item.setUpdatedBy(CAPTURED_BY);
+        item.calculateTotals();
+
+        invoiceItemRepository.saveAndFlush(item);
+        bill.applyChargeDelta(item.getTotalPrice());
+        bill.setServicePeriodEnd(max(bill.getServicePeriodEnd(), serviceDate));
+        bill.setUpdatedBy(CAPTURED_BY);
+        return Result.CAPTURED;
+    }
+
+    private Result doReverse(ChargeEvent event) {
+        InvoiceItem item = invoiceItemRepository.findByChargeKey(event.getChargeKey()).orElse(null);
+        if (item == null) {
+            return Result.NOT_FOUND;
+        }
+        Invoice bill = invoiceRepository.findByIdForUpdate(item.getInvoice().getId())
+            .orElseThrow(() -> new ResourceNotFoundException("Invoice", item.getInvoice().getId()));
+        if (bill.getStatus() != InvoiceStatus.DRAFT) {
+            log.warn("Charge {} is on invoice {} in status {}; correct it by voiding and replacing the invoice",
+                event.getChargeKey(), bill.getInvoiceNumber(), bill.getStatus());
+            return Result.NOT_REVERSIBLE;
+        }
+
+        item.setDeletedBy(CAPTURED_BY);
+        invoiceItemRepository.delete(item);
+        bill.applyChargeDelta(item.getTotalPrice().negate());
+        bill.setUpdatedBy(CAPTURED_BY);
+        log.info("Charge {} reversed on invoice {}: {}", event.getChargeKey(), bill.getInvoiceNumber(),
+            event.getReason());
+        return Result.REVERSED;
+    }
+
+    /**
+     * Lock the running bill of an encounter, creating it on the first charge.
+     */
+    private Invoice lockRunningBill(UUID encounterId) {
+        return invoiceRepository.findRunningBillForUpdate(encounterId).orElseGet(() -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> createRunningBill(encounterId));
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently by another charge of the same encounter
+                log.debug("Running bill of encounter {} created concurrently", encounterId);
+            }
+            return invoiceRepository.findRunningBillForUpdate(encounterId)
+                .orElseThrow(() -> new BusinessException("Running bill of encounter " + encounterId + " could not be created"));
+        });
+    }
+
+    private void createRunningBill(UUID encounterId) {
+        Encounter encounter = encounterRepository.findById(encounterId)
+            .orElseThrow(() -> new ResourceNotFoundException("Encounter", encounterId));
+        Patient patient = patientRepository.findById(encounter.getPatientId())
+            .orElseThrow(() -> new ResourceNotFoundException("Patient", encounter.getPatientId()));
+        LocalDate start = encounter.getEncounterStart() != null
+            ? encounter.getEncounterStart().toLocalDate() : LocalDate.now();
+
+        Invoice bill = Invoice.builder()
+            .invoiceNumber(invoiceNumberGenerator.generateInvoiceNumber())
+            .patientId(patient.getId())
+            .patientMrn(patient.getMrn())
+            .patientName(patient.getFullName())
+            .encounterId(encounterId)
+            .encounterType(encounter.getEncounterType() != null ? encounter.getEncounterType().name() : null)
+            .invoiceDate(LocalDate.now())
+            .servicePeriodStart(start)
+            .servicePeriodEnd(start)
+            .status(InvoiceStatus.DRAFT)
+            .paymentType(paymentTypeOf(encounter, patient))
+            .bpjsSepNumber(encounter.getSepNumber())
+            .runningBill(true)
+            .build();
+        bill.setCreatedBy(CAPTURED_BY);
+        bill.setUpdatedBy(CAPTURED_BY);
+        invoiceRepository.saveAndFlush(bill);
+        log.info("Running bill {} opened for encounter {}", bill.getInvoiceNumber(), encounterId);
+    }
+
+    /**
+     * Payment type of an encounter's bill. BPJS inpatients are priced by the class of their room,
+     * other BPJS patients by the class on their BPJS card.
+     *
+     * @throws BusinessException if the BPJS class of the patient is unknown
+     */
+    private String paymentTypeOf(Encounter encounter, Patient patient) {
+        InsuranceType insuranceType = encounter.getInsuranceType();
+        if (insuranceType == null) {
+            return "CASH";
+        }
+        return switch (insuranceType) {
+            case BPJS -> bpjsPaymentType(encounter.getInpatientAdmissionId(), patient);
+            case PRIVATE_INSURANCE -> "INSURANCE";
+            case CORPORATE -> "COMPANY";
+            default -> "CASH";
+        };
+    }
+
+    private String bpjsPaymentType(UUID admissionId, Patient patient) {
+        RoomClass roomClass = admissionId == null ? null : admissionRepository.findById(admissionId)
+            .map(InpatientAdmission::getRoomClass)
+            .orElse(null);
+        if (roomClass == RoomClass.KELAS_1) {
+            return "BPJS_CLASS1";
+        } else if (roomClass == RoomClass.KELAS_2) {
+            return "BPJS_CLASS2";
+        } else if (roomClass == RoomClass.KELAS_3) {
+            return "BPJS_CLASS3";
+        }
+
+        PayerClass cardClass = PayerClass.fromBpjsClass(patient.getBpjsClass());
+        if (cardClass != null) {
+            return cardClass.getPaymentType();
+        }
+        throw new BusinessException("BPJS class of patient " + patient.getMrn()
+            + " is unknown; set it before charges can be priced");
+    }
+
+    /**
+     * Price a charge from the tariff book; null when no tariff has its code and the
+     * source price is used.
+     */
+    private TariffPricingService.PricedItem priceOf(ChargeEvent event, String paymentType, LocalDate serviceDate) {
+        if (event.getTariffCode() != null && !event.getTariffCode().isBlank()) {
+            try {
+                return tariffPricingService.priceItems(
+                    List.of(new TariffPricingService.PriceLine(null, event.getTariffCode(), null,
+                        event.getQuantity(), serviceDate)),
+                    paymentType, serviceDate).get(0);
+            } catch (ResourceNotFoundException e) {
+                if (event.getSourceUnitPrice() == null) {
+                    throw e;
+                }
+            }
+        }
+        if (event.getSourceUnitPrice() == null) {
+            throw new BusinessException("Charge " + event.getChargeKey() + " has neither a tariff nor a source price");
+        }
+        return null;
+    }
+
+    private static void validate(ChargeEvent event) {
+        if (event.getChargeKey() == null || event.getChargeKey().isBlank()) {
+            throw new BusinessException("Charge key is required");
+        }
+        if (event.getEncounterId() == null) {
+            throw new BusinessException("Charge " + event.getChargeKey() + " has no encounter");
+        }
+        if (event.getQuantity() < 1) {
+            throw new BusinessException("Charge " + event.getChargeKey() + " quantity must be at least 1");
+        }
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a == null || b.isAfter(a) ? b : a;
+    }
+
+    /**
+     * Outcome of a capture or reversal.
+     */
+    public enum Result {
+        CAPTURED,
+        DUPLICATE,
+        REVERSED,
+        NOT_FOUND,
+        NOT_REVERSIBLE
+    }
+}
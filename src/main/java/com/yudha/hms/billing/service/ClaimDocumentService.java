@@ -0,0 +1,241 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.constant.DocumentType;
+import com.yudha.hms.billing.dto.InsuranceClaimResponse.ClaimDocumentResponse;
+import com.yudha.hms.billing.entity.ClaimDocument;
+import com.yudha.hms.billing.entity.InsuranceClaim;
+import com.yudha.hms.billing.repository.ClaimDocumentRepository;
+import com.yudha.hms.billing.repository.InsuranceClaimRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.exception.ResourceNotFoundException;
+import com.yudha.hms.shared.service.DocumentStorageService;
+import com.yudha.hms.shared.service.DocumentStorageService.StagedDocument;
+import com.yudha.hms.shared.service.DocumentStorageService.StoredDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for insurance claim supporting documents.
+ *
+ * Document content lives in the content-addressed {@link DocumentStorageService}:
+ * an upload is streamed to disk and stored once per SHA-256, and copying a document
+ * to another claim (the same lab report or SEP scan on several claims) only adds a
+ * reference to the stored content. Uploads are staged before the transaction that
+ * stores them opens, so a slow or large upload holds no database connection.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimDocumentService {
+
+    private static final String STORAGE_KEY_PREFIX = "sha256:";
+
+    private final ClaimDocumentRepository documentRepository;
+    private final InsuranceClaimRepository claimRepository;
+    private final DocumentStorageService documentStorageService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Upload a document to a claim.
+     *
+     * @param claimId claim ID
+     * @param documentType document type
+     * @param documentName document name (defaults to the file name)
+     * @param fileName original file name
+     * @param contentType MIME type
+     * @param content content stream
+     * @param uploadedBy user uploading
+     * @return created document
+     */
+    public ClaimDocumentResponse uploadDocument(UUID claimId, DocumentType documentType, String documentName,
+                                                String fileName, String contentType, InputStream content,
+                                                String uploadedBy) {
+        // Fail before reading the upload when the claim does not exist
+        getClaim(claimId);
+
+        try (StagedDocument staged = documentStorageService.stage(content, contentType)) {
+            return transactionTemplate.execute(status ->
+                saveDocument(claimId, documentType, documentName, fileName, staged, uploadedBy));
+        }
+    }
+
+    private ClaimDocumentResponse saveDocument(UUID claimId, DocumentType documentType, String documentName,
+                                               String fileName, StagedDocument staged, String uploadedBy) {
+        InsuranceClaim claim = getClaim(claimId);
+        StoredDocument stored = documentStorageService.store(staged);
+
+        ClaimDocument document = ClaimDocument.builder()
+            .documentType(documentType)
+            .documentName(StringUtils.hasText(documentName) ? documentName : defaultName(fileName, documentType))
+            .fileName(fileName)
+            .filePath(STORAGE_KEY_PREFIX + stored.contentHash())
+            .contentHash(stored.contentHash())
+            .fileSize(stored.sizeBytes())
+            .mimeType(stored.mimeType())
+            .uploadDate(LocalDateTime.now())
+            .uploadedBy(uploadedBy)
+            .verified(false)
+            .build();
+        claim.addDocument(document);
+        document = documentRepository.save(document);
+
+        log.info("Document {} ({}) uploaded to claim {}{}", document.getId(), documentType,
+            claim.getClaimNumber(), stored.deduplicated() ? ", content already stored" : "");
+        return toResponse(document);
+    }
+
+    /**
+     * Attach an existing document to another claim without copying its content.
+     *
+     * @param documentId source document ID
+     * @param targetClaimId claim to attach to
+     * @param uploadedBy user attaching
+     * @return created document
+     */
+    @Transactional
+    public ClaimDocumentResponse copyDocument(UUID documentId, UUID targetClaimId, String uploadedBy) {
+        ClaimDocument source = getDocument(documentId);
+        if (source.getContentHash() == null) {
+            throw new BusinessException("Document %s is stored externally and cannot be copied", documentId);
+        }
+        InsuranceClaim target = getClaim(targetClaimId);
+        documentStorageService.retain(source.getContentHash());
+
+        ClaimDocument copy = ClaimDocument.builder()
+            .documentType(source.getDocumentType())
+            .documentName(source.getDocumentName())
+            .fileName(source.getFileName())
+            .filePath(source.getFilePath())
+            .contentHash(source.getContentHash())
+            .fileSize(source.getFileSize())
+            .mimeType(source.getMimeType())
+            .description(source.getDescription())
+            .uploadDate(LocalDateTime.now())
+            .uploadedBy(uploadedBy)
+            .verified(false)
+            .build();
+        target.addDocument(copy);
+        copy = documentRepository.save(copy);
+
+        log.info("Document {} copied to claim {} as {}", documentId, target.getClaimNumber(), copy.getId());
+        return toResponse(copy);
+    }
+
+    /**
+     * Get documents of a claim.
+     *
+     * @param claimId claim ID
+     * @return documents in upload order
+     */
+    @Transactional(readOnly = true)
+    public List<ClaimDocumentResponse> getClaimDocuments(UUID claimId) {
+        InsuranceClaim claim = getClaim(claimId);
+        return documentRepository.findByClaimOrderByUploadDate(claim).stream()
+            .map(this::toResponse)
+            .toList();
+    }
+
+    /**
+     * Get a document of a claim.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     * @return document
+     */
+    @Transactional(readOnly = true)
+    public ClaimDocumentResponse getDocument(UUID claimId, UUID documentId) {
+        return toResponse(getClaimDocument(claimId, documentId));
+    }
+
+    /**
+     * Load the content of a document.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     * @return content resource
+     */
+    @Transactional(readOnly = true)
+    public Resource loadDocumentContent(UUID claimId, UUID documentId) {
+        ClaimDocument document = getClaimDocument(claimId, documentId);
+        if (document.getContentHash() == null) {
+            throw new BusinessException("Document %s is stored externally: %s", documentId, document.getFileUrl());
+        }
+        return documentStorageService.loadAsResource(document.getContentHash());
+    }
+
+    /**
+     * Delete a document and release its content.
+     *
+     * @param claimId claim ID
+     * @param documentId document ID
+     */
+    @Transactional
+    public void deleteDocument(UUID claimId, UUID documentId) {
+        ClaimDocument document = getClaimDocument(claimId, documentId);
+        InsuranceClaim claim = document.getClaim();
+        String contentHash = document.getContentHash();
+
+        claim.removeDocument(document);
+        documentRepository.delete(document);
+        documentStorageService.release(contentHash);
+
+        log.info("Document {} deleted from claim {}", documentId, claim.getClaimNumber());
+    }
+
+    private InsuranceClaim getClaim(UUID claimId) {
+        return claimRepository.findById(claimId)
+            .orElseThrow(() -> new ResourceNotFoundException("Insurance claim", claimId));
+    }
+
+    private ClaimDocument getDocument(UUID documentId) {
+        return documentRepository.findById(documentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Claim document", documentId));
+    }
+
+    private ClaimDocument getClaimDocument(UUID claimId, UUID documentId) {
+        ClaimDocument document = getDocument(documentId);
+        if (!document.getClaim().getId().equals(claimId)) {
+            throw new ResourceNotFoundException("Claim document", documentId);
+        }
+        return document;
+    }
+
+    private static String defaultName(String fileName, DocumentType documentType) {
+        return StringUtils.hasText(fileName) ? fileName : documentType.getDisplayName();
+    }
+
+    private ClaimDocumentResponse toResponse(ClaimDocument document) {
+        return ClaimDocumentResponse.builder()
+            .id(document.getId())
+            .documentType(document.getDocumentType())
+            .documentName(document.getDocumentName())
+            .fileName(document.getFileName())
+            .fileUrl(document.getContentHash() != null
+                ? "/api/v1/billing/claims/" + document.getClaim().getId() + "/documents/" + document.getId() + "/content"
+                : document.getFileUrl())
+            .contentHash(document.getContentHash())
+            .fileSize(document.getFileSize())
+            .mimeType(document.getMimeType())
+            .description(document.getDescription())
+            .uploadDate(document.getUploadDate())
+            .uploadedBy(document.getUploadedBy())
+            .verified(document.getVerified())
+            .verifiedBy(document.getVerifiedBy())
+            .verificationDate(document.getVerificationDate())
+            .build();
+    }
+}
@@ -1,30 +1,49 @@
 package com.yudha.hms.billing.service;
 
+import com.yudha.hms.billing.config.BillingDocumentProperties;
 import com.yudha.hms.billing.dto.InvoiceResponse;
+import com.yudha.hms.billing.dto.PdfRenderStatsResponse;
+import com.yudha.hms.billing.util.BillingPdfLayout;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.util.PdfStreamWriter;
+import com.yudha.hms.shared.util.PdfStreamWriter.Font;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Service for generating invoice PDFs.
  *
- * This is a placeholder service that provides the structure for PDF generation.
- * In production, this should be implemented with a PDF library such as:
- * - iText (https://itextpdf.com/)
- * - Apache PDFBox (https://pdfbox.apache.org/)
- * - Flying Saucer (https://github.com/flyingsaucerproject/flyingsaucer)
+ * Invoices are rendered with {@link PdfStreamWriter} straight to the response stream, page
+ * by page. The static parts of the layout (letterhead, field labels, table header) are
+ * compiled once at startup and placed on each page as a form, so a document only renders
+ * its own values.
  *
- * Features to implement:
- * - Hospital letterhead
- * - Invoice header (invoice number, date, patient info)
- * - Itemized billing table
- * - Subtotal, discount, tax, total
- * - Payment terms
- * - Footer with hospital contact info
- * - Barcode/QR code for invoice tracking
+ * Batch printing (end of shift, discharge rush) renders invoices on a bounded pool and
+ * streams them into a ZIP in request order, holding at most a small window of finished
+ * documents in memory.
  *
  * @author HMS Development Team
  * @version 1.0.0
@@ -35,7 +54,73 @@ import java.util.UUID;
 @Slf4j
 public class InvoicePdfService {
 
+    private static final float PAGE_WIDTH = PdfStreamWriter.A4_WIDTH;
+    private static final float PAGE_HEIGHT = PdfStreamWriter.A4_HEIGHT;
+    private static final float MARGIN = BillingPdfLayout.MARGIN;
+    private static final float RIGHT = PAGE_WIDTH - MARGIN;
+
+    private static final float FONT_SIZE = 8.5f;
+    private static final float LINE = 13f;
+    private static final float ROWS_BOTTOM = 60f;
+
+    // Item table columns
+    private static final float COL_NO = MARGIN + 2f;
+    private static final float COL_DATE = MARGIN + 22f;
+    private static final float COL_NAME = MARGIN + 72f;
+    private static final float NAME_WIDTH = 232f;
+    private static final float COL_QTY = 400f;
+    private static final float COL_PRICE = 475f;
+    private static final float COL_TOTAL = RIGHT - 2f;
+
+    // Header fields: label column, value column
+    private static final float LEFT_VALUE = MARGIN + 80f;
+    private static final float RIGHT_LABEL = 305f;
+    private static final float RIGHT_VALUE = 385f;
+    private static final String[] LEFT_LABELS = {"No. Invoice", "Tanggal", "Jatuh Tempo", "Periode Layanan", "Status"};
+    private static final String[] RIGHT_LABELS = {"Pasien", "No. RM", "Jenis Kunjungan", "Penjamin", "No. SEP"};
+
+    private static final com.sun.management.ThreadMXBean THREADS = allocationBean();
+
     private final InvoiceService invoiceService;
+    private final BillingDocumentProperties properties;
+
+    private byte[] firstPageTemplate;
+    private byte[] nextPageTemplate;
+    private float headerTop;
+    private float firstTableTop;
+    private float nextTableTop;
+    private ExecutorService batchExecutor;
+
+    /**
+     * Compile the page templates and create the batch pool.
+     */
+    @PostConstruct
+    public void init() {
+        PdfStreamWriter.Canvas first = new PdfStreamWriter.Canvas();
+        headerTop = BillingPdfLayout.letterhead(first, properties, PAGE_WIDTH, PAGE_HEIGHT, "INVOICE");
+        for (int i = 0; i < LEFT_LABELS.length; i++) {
+            first.text(Font.REGULAR, FONT_SIZE, MARGIN, headerTop - i * LINE, LEFT_LABELS[i]);
+            first.text(Font.REGULAR, FONT_SIZE, RIGHT_LABEL, headerTop - i * LINE, RIGHT_LABELS[i]);
+        }
+        float tableHeader = headerTop - LEFT_LABELS.length * LINE - 10f;
+        drawTableHeader(first, tableHeader);
+        firstTableTop = tableHeader - 17f;
+        firstPageTemplate = first.compile();
+
+        PdfStreamWriter.Canvas next = new PdfStreamWriter.Canvas();
+        float nextTop = BillingPdfLayout.letterhead(next, properties, PAGE_WIDTH, PAGE_HEIGHT, "INVOICE");
+        drawTableHeader(next, nextTop - LINE - 6f);
+        nextTableTop = nextTop - LINE - 23f;
+        nextPageTemplate = next.compile();
+
+        batchExecutor = Executors.newFixedThreadPool(Math.max(1, properties.getBatchConcurrency()),
+            Thread.ofPlatform().name("invoice-pdf-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
 
     /**
      * Generate PDF for an invoice.
@@ -44,82 +129,128 @@ public class InvoicePdfService {
      * @return PDF as byte array
      */
     public byte[] generateInvoicePdf(UUID invoiceId) {
+        InvoiceResponse invoice = prepareInvoicePdf(invoiceId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        writeInvoicePdf(invoice, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Load an invoice for printing and mark it as printed. Done before streaming starts,
+     * so a missing invoice is reported as an error response instead of a broken download.
+     *
+     * @param invoiceId invoice ID
+     * @return invoice data
+     */
+    public InvoiceResponse prepareInvoicePdf(UUID invoiceId) {
         log.info("Generating PDF for invoice: {}", invoiceId);
 
-        // Fetch invoice data
         InvoiceResponse invoice = invoiceService.getInvoiceById(invoiceId);
-
-        // Mark as printed
         invoiceService.markAsPrinted(invoiceId);
-
-        // TODO: Implement actual PDF generation
-        // For now, return a placeholder
-        return generatePlaceholderPdf(invoice);
+        return invoice;
     }
 
     /**
-     * Placeholder PDF generation.
-     * Replace this with actual PDF generation logic.
+     * Render an invoice to a stream.
      *
      * @param invoice invoice data
-     * @return PDF bytes
+     * @param out target stream (not closed)
      */
-    private byte[] generatePlaceholderPdf(InvoiceResponse invoice) {
-        // This is a placeholder that returns a simple text representation
-        // In production, implement actual PDF generation here
-
-        StringBuilder content = new StringBuilder();
-        content.append("=".repeat(60)).append("\n");
-        content.append("HOSPITAL INVOICE\n");
-        content.append("=".repeat(60)).append("\n\n");
-
-        content.append("Invoice Number: ").append(invoice.getInvoiceNumber()).append("\n");
-        content.append("Date: ").append(invoice.getInvoiceDate()).append("\n");
-        content.append("Patient: ").append(invoice.getPatientName()).append("\n");
-        content.append("MRN: ").append(invoice.getPatientMrn()).append("\n\n");
-
-        content.append("-".repeat(60)).append("\n");
-        content.append("BILLING DETAILS\n");
-        content.append("-".repeat(60)).append("\n\n");
-
-        if (invoice.getItems() != null) {
-            for (InvoiceResponse.InvoiceItemResponse item : invoice.getItems()) {
-                content.append(String.format("%-40s %10s x %,15.2f\n",
-                    item.getItemName(),
-                    item.getQuantity(),
-                    item.getUnitPrice()
-                ));
-            }
+    public void writeInvoicePdf(InvoiceResponse invoice, OutputStream out) {
+        try {
+            render(invoice, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write PDF of invoice " + invoice.getInvoiceNumber(), e);
         }
+    }
 
-        content.append("\n").append("-".repeat(60)).append("\n");
-        content.append(String.format("Subtotal:         %,20.2f\n", invoice.getSubtotal()));
-
-        if (invoice.getDiscountAmount() != null && invoice.getDiscountAmount().doubleValue() > 0) {
-            content.append(String.format("Discount:        -%,20.2f\n", invoice.getDiscountAmount()));
-        }
+    /**
+     * Render invoices into a ZIP stream, one PDF per invoice in request order. Invoices that
+     * fail are listed in an errors.txt entry instead of failing the batch.
+     *
+     * @param invoiceIds invoice IDs
+     * @param out target stream (not closed)
+     * @return throughput statistics of the batch
+     */
+    public PdfRenderStatsResponse writeInvoiceBatch(List<UUID> invoiceIds, OutputStream out) throws IOException {
+        validateBatch(invoiceIds);
+        log.info("Batch printing {} invoices", invoiceIds.size());
 
-        if (invoice.getTaxAmount() != null && invoice.getTaxAmount().doubleValue() > 0) {
-            content.append(String.format("Tax:             +%,20.2f\n", invoice.getTaxAmount()));
+        Stats stats = new Stats();
+        List<String> errors = new ArrayList<>();
+        Deque<Future<RenderedDocument>> pending = new ArrayDeque<>();
+        int window = Math.max(1, properties.getBatchConcurrency()) * 2;
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            for (UUID invoiceId : invoiceIds) {
+                pending.add(batchExecutor.submit(() -> renderDocument(invoiceId)));
+                if (pending.size() >= window) {
+                    writeEntry(zip, await(pending.poll()), stats, errors);
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeEntry(zip, await(pending.poll()), stats, errors);
+            }
+            if (!errors.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("errors.txt"));
+                zip.write(String.join("\n", errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+        } finally {
+            pending.forEach(future -> future.cancel(true));
         }
 
-        content.append("-".repeat(60)).append("\n");
-        content.append(String.format("TOTAL:            %,20.2f\n", invoice.getTotal()));
-        content.append("=".repeat(60)).append("\n\n");
-
-        content.append("Status: ").append(invoice.getStatus()).append("\n");
+        PdfRenderStatsResponse result = stats.toResponse(properties.getBatchConcurrency());
+        log.info("Batch printed {} invoices ({} failed) in {} ms: {} documents/s, {} bytes and {} bytes allocated per document",
+            result.getDocuments(), result.getFailed(), result.getElapsedMillis(),
+            String.format("%.1f", result.getDocumentsPerSecond()), result.getAverageDocumentBytes(),
+            result.getAverageAllocatedBytes());
+        return result;
+    }
 
-        if (invoice.getOutstandingBalance() != null && invoice.getOutstandingBalance().doubleValue() > 0) {
-            content.append(String.format("Outstanding:      %,20.2f\n", invoice.getOutstandingBalance()));
+    /**
+     * Check a batch before its response starts streaming.
+     *
+     * @param invoiceIds invoice IDs
+     */
+    public void validateBatch(List<UUID> invoiceIds) {
+        if (invoiceIds.size() > properties.getBatchMaxDocuments()) {
+            throw new BusinessException("A batch can print at most " + properties.getBatchMaxDocuments() + " invoices");
         }
+    }
 
-        content.append("\n").append("-".repeat(60)).append("\n");
-        content.append("Thank you for choosing our hospital\n");
-        content.append("=".repeat(60)).append("\n");
+    /**
+     * Measure rendering throughput: render one invoice repeatedly on the batch pool,
+     * without marking it printed, after a short warm-up.
+     *
+     * @param invoiceId invoice to render
+     * @param documents number of documents to render
+     * @return throughput statistics
+     */
+    public PdfRenderStatsResponse benchmark(UUID invoiceId, int documents) {
+        if (documents < 1 || documents > properties.getBenchmarkMaxDocuments()) {
+            throw new BusinessException("Benchmark documents must be between 1 and " + properties.getBenchmarkMaxDocuments());
+        }
+        InvoiceResponse invoice = invoiceService.getInvoiceById(invoiceId);
+        for (int i = 0; i < Math.min(documents, 50); i++) {
+            writeInvoicePdf(invoice, OutputStream.nullOutputStream());
+        }
 
-        log.warn("Using placeholder PDF generation. Implement actual PDF library for production.");
+        Stats stats = new Stats();
+        List<Future<RenderedDocument>> futures = new ArrayList<>(documents);
+        for (int i = 0; i < documents; i++) {
+            futures.add(batchExecutor.submit(() -> renderDocument(invoice)));
+        }
+        for (Future<RenderedDocument> future : futures) {
+            stats.add(await(future));
+        }
 
-        return content.toString().getBytes();
+        PdfRenderStatsResponse result = stats.toResponse(properties.getBatchConcurrency());
+        log.info("PDF benchmark: {} invoices in {} ms, {} documents/s, {} bytes allocated per document",
+            result.getDocuments(), result.getElapsedMillis(), String.format("%.1f", result.getDocumentsPerSecond()),
+            result.getAverageAllocatedBytes());
+        return result;
     }
 
     /**
@@ -131,4 +262,245 @@ public class InvoicePdfService {
     public String getInvoicePdfFileName(String invoiceNumber) {
         return "invoice_" + invoiceNumber.replace("-", "_") + ".pdf";
     }
+
+    // ========== Private Helper Methods ==========
+
+    private void render(InvoiceResponse invoice, OutputStream out) throws IOException {
+        PdfStreamWriter pdf = new PdfStreamWriter(out, PAGE_WIDTH, PAGE_HEIGHT);
+        PdfStreamWriter.Canvas page = pdf.beginPage();
+        pdf.drawForm(firstPageTemplate);
+        drawHeaderValues(page, invoice);
+
+        float y = firstTableTop;
+        List<InvoiceResponse.InvoiceItemResponse> items = invoice.getItems() != null ? invoice.getItems() : List.of();
+        for (InvoiceResponse.InvoiceItemResponse item : items) {
+            if (y < ROWS_BOTTOM) {
+                page = nextPage(pdf, page, invoice);
+                y = nextTableTop;
+            }
+            drawItem(page, item, y);
+            y -= LINE;
+        }
+
+        float totalsHeight = (totalRows(invoice) + 2) * LINE + notesHeight(invoice);
+        if (y - totalsHeight < ROWS_BOTTOM) {
+            page = nextPage(pdf, page, invoice);
+            y = nextTableTop;
+        }
+        drawTotals(page, invoice, y);
+        drawFooter(page, pdf.getPageCount());
+        pdf.finish();
+    }
+
+    private PdfStreamWriter.Canvas nextPage(PdfStreamWriter pdf, PdfStreamWriter.Canvas page,
+                                            InvoiceResponse invoice) throws IOException {
+        drawFooter(page, pdf.getPageCount());
+        pdf.endPage();
+        PdfStreamWriter.Canvas next = pdf.beginPage();
+        pdf.drawForm(nextPageTemplate);
+        next.text(Font.REGULAR, FONT_SIZE, MARGIN, headerTop,
+            "No. Invoice " + invoice.getInvoiceNumber() + " - " + invoice.getPatientName() + " (lanjutan)");
+        return next;
+    }
+
+    private static void drawTableHeader(PdfStreamWriter.Canvas canvas, float y) {
+        canvas.fillRect(MARGIN, y - 4f, RIGHT - MARGIN, LINE + 3f, 0.9f);
+        canvas.text(Font.BOLD, FONT_SIZE, COL_NO, y, "No");
+        canvas.text(Font.BOLD, FONT_SIZE, COL_DATE, y, "Tanggal");
+        canvas.text(Font.BOLD, FONT_SIZE, COL_NAME, y, "Uraian");
+        canvas.textRight(Font.BOLD, FONT_SIZE, COL_QTY, y, "Jumlah");
+        canvas.textRight(Font.BOLD, FONT_SIZE, COL_PRICE, y, "Harga");
+        canvas.textRight(Font.BOLD, FONT_SIZE, COL_TOTAL, y, "Total (Rp)");
+    }
+
+    private void drawHeaderValues(PdfStreamWriter.Canvas page, InvoiceResponse invoice) {
+        String period = invoice.getServicePeriodStart() == null ? "-"
+            : BillingPdfLayout.date(invoice.getServicePeriodStart()) + " - " + BillingPdfLayout.date(invoice.getServicePeriodEnd());
+        String[] left = {
+            invoice.getInvoiceNumber(),
+            BillingPdfLayout.date(invoice.getInvoiceDate()),
+            BillingPdfLayout.date(invoice.getDueDate()),
+            period,
+            invoice.getStatus() != null ? invoice.getStatus().name() : "-"
+        };
+        String[] right = {
+            invoice.getPatientName(),
+            invoice.getPatientMrn(),
+            invoice.getEncounterType(),
+            invoice.getPaymentType(),
+            invoice.getBpjsSepNumber()
+        };
+        float valueWidth = RIGHT_LABEL - LEFT_VALUE - 10f;
+        for (int i = 0; i < left.length; i++) {
+            float y = headerTop - i * LINE;
+            page.text(Font.BOLD, FONT_SIZE, LEFT_VALUE, y, Font.BOLD.fit(": " + BillingPdfLayout.orDash(left[i]), FONT_SIZE, valueWidth));
+            page.text(Font.BOLD, FONT_SIZE, RIGHT_VALUE, y, Font.BOLD.fit(": " + BillingPdfLayout.orDash(right[i]), FONT_SIZE, RIGHT - RIGHT_VALUE));
+        }
+    }
+
+    private static void drawItem(PdfStreamWriter.Canvas page, InvoiceResponse.InvoiceItemResponse item, float y) {
+        String quantity = item.getQuantity() == null ? "" : item.getUnit() == null
+            ? item.getQuantity().toString() : item.getQuantity() + " " + item.getUnit();
+        page.text(Font.REGULAR, FONT_SIZE, COL_NO, y, item.getLineNumber() != null ? item.getLineNumber().toString() : "");
+        page.text(Font.REGULAR, FONT_SIZE, COL_DATE, y, BillingPdfLayout.date(item.getServiceDate()));
+        page.text(Font.REGULAR, FONT_SIZE, COL_NAME, y, Font.REGULAR.fit(item.getItemName(), FONT_SIZE, NAME_WIDTH));
+        page.textRight(Font.REGULAR, FONT_SIZE, COL_QTY, y, quantity);
+        page.textRight(Font.REGULAR, FONT_SIZE, COL_PRICE, y, BillingPdfLayout.amount(item.getUnitPrice()));
+        page.textRight(Font.REGULAR, FONT_SIZE, COL_TOTAL, y, BillingPdfLayout.amount(item.getTotalPrice()));
+    }
+
+    private static int totalRows(InvoiceResponse invoice) {
+        int rows = 4;
+        rows += isPositive(invoice.getDiscountAmount()) ? 1 : 0;
+        rows += isPositive(invoice.getTaxAmount()) ? 1 : 0;
+        rows += isPositive(invoice.getDepositDeduction()) ? 1 : 0;
+        return rows;
+    }
+
+    private static float notesHeight(InvoiceResponse invoice) {
+        int lines = (invoice.getPaymentTerms() != null ? 1 : 0) + (invoice.getNotes() != null ? 1 : 0);
+        return lines * LINE;
+    }
+
+    private static void drawTotals(PdfStreamWriter.Canvas page, InvoiceResponse invoice, float y) {
+        page.line(MARGIN, y + LINE - 3f, RIGHT, y + LINE - 3f, 0.5f);
+        y = totalRow(page, y, Font.REGULAR, "Subtotal", invoice.getSubtotal());
+        if (isPositive(invoice.getDiscountAmount())) {
+            y = totalRow(page, y, Font.REGULAR, "Diskon", invoice.getDiscountAmount().negate());
+        }
+        if (isPositive(invoice.getTaxAmount())) {
+            y = totalRow(page, y, Font.REGULAR, "Pajak", invoice.getTaxAmount());
+        }
+        y = totalRow(page, y, Font.BOLD, "Total", invoice.getTotal());
+        if (isPositive(invoice.getDepositDeduction())) {
+            y = totalRow(page, y, Font.REGULAR, "Deposit", invoice.getDepositDeduction().negate());
+        }
+        y = totalRow(page, y, Font.REGULAR, "Dibayar", invoice.getPaidAmount());
+        y = totalRow(page, y, Font.BOLD, "Sisa Tagihan", invoice.getOutstandingBalance());
+
+        y -= LINE;
+        float width = RIGHT - MARGIN;
+        if (invoice.getPaymentTerms() != null) {
+            page.text(Font.REGULAR, FONT_SIZE, MARGIN, y,
+                Font.REGULAR.fit("Syarat pembayaran: " + invoice.getPaymentTerms(), FONT_SIZE, width));
+            y -= LINE;
+        }
+        if (invoice.getNotes() != null) {
+            page.text(Font.REGULAR, FONT_SIZE, MARGIN, y, Font.REGULAR.fit("Catatan: " + invoice.getNotes(), FONT_SIZE, width));
+        }
+    }
+
+    private static float totalRow(PdfStreamWriter.Canvas page, float y, Font font, String label, BigDecimal value) {
+        page.textRight(font, FONT_SIZE, COL_PRICE, y, label);
+        page.textRight(font, FONT_SIZE, COL_TOTAL, y, BillingPdfLayout.amount(value));
+        return y - LINE;
+    }
+
+    private static void drawFooter(PdfStreamWriter.Canvas page, int pageNumber) {
+        page.text(Font.REGULAR, 7f, MARGIN, BillingPdfLayout.FOOTER_Y, "Dicetak " + BillingPdfLayout.dateTime(LocalDateTime.now()));
+        page.textRight(Font.REGULAR, 7f, RIGHT, BillingPdfLayout.FOOTER_Y, "Halaman " + pageNumber);
+    }
+
+    private static boolean isPositive(BigDecimal value) {
+        return value != null && value.signum() > 0;
+    }
+
+    private RenderedDocument renderDocument(UUID invoiceId) {
+        try {
+            return renderDocument(prepareInvoicePdf(invoiceId));
+        } catch (RuntimeException e) {
+            log.warn("Batch print of invoice {} failed: {}", invoiceId, e.getMessage());
+            return RenderedDocument.failed(invoiceId + ": " + e.getMessage());
+        }
+    }
+
+    private RenderedDocument renderDocument(InvoiceResponse invoice) {
+        long allocatedBefore = allocatedBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        writeInvoicePdf(invoice, out);
+        long allocatedAfter = allocatedBytes();
+        long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+        return new RenderedDocument(getInvoicePdfFileName(invoice.getInvoiceNumber()), out.toByteArray(), allocated, null);
+    }
+
+    private static void writeEntry(ZipOutputStream zip, RenderedDocument document, Stats stats,
+                                   List<String> errors) throws IOException {
+        stats.add(document);
+        if (document.error() != null) {
+            errors.add(document.error());
+            return;
+        }
+        zip.putNextEntry(new ZipEntry(document.fileName()));
+        zip.write(document.content());
+        zip.closeEntry();
+    }
+
+    private static RenderedDocument await(Future<RenderedDocument> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("PDF rendering interrupted");
+        } catch (ExecutionException e) {
+            return RenderedDocument.failed(String.valueOf(e.getCause().getMessage()));
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREADS != null ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+            return bean;
+        }
+        return null;
+    }
+
+    private record RenderedDocument(String fileName, byte[] content, long allocatedBytes, String error) {
+
+        static RenderedDocument failed(String error) {
+            return new RenderedDocument(null, null, -1, error);
+        }
+    }
+
+    /**
+     * Accumulates throughput figures of a batch or benchmark run.
+     */
+    private static final class Stats {
+
+        private final long startNanos = System.nanoTime();
+        private int documents;
+        private int failed;
+        private long bytes;
+        private long allocated;
+        private int allocationSamples;
+
+        void add(RenderedDocument document) {
+            if (document.error() != null) {
+                failed++;
+                return;
+            }
+            documents++;
+            bytes += document.content().length;
+            if (document.allocatedBytes() >= 0) {
+                allocated += document.allocatedBytes();
+                allocationSamples++;
+            }
+        }
+
+        PdfRenderStatsResponse toResponse(int concurrency) {
+            long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+            return PdfRenderStatsResponse.builder()
+                .documents(documents)
+                .failed(failed)
+                .concurrency(concurrency)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .documentsPerSecond(documents * 1_000_000_000.0 / elapsedNanos)
+                .averageDocumentBytes(documents > 0 ? bytes / documents : 0)
+                .averageAllocatedBytes(allocationSamples > 0 ? allocated / allocationSamples : -1)
+                .build();
+        }
+    }
 }
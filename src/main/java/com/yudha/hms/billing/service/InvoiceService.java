@@ -1,15 +1,22 @@
 package com.yudha.hms.billing.service;
 
 import com.yudha.hms.billing.constant.InvoiceStatus;
+import com.yudha.hms.billing.constant.PayerClass;
 import com.yudha.hms.billing.dto.*;
 import com.yudha.hms.billing.entity.Invoice;
 import com.yudha.hms.billing.entity.InvoiceItem;
-import com.yudha.hms.billing.entity.Tariff;
 import com.yudha.hms.billing.repository.InvoiceRepository;
+import com.yudha.hms.billing.repository.PackageDealRepository;
+import com.yudha.hms.billing.repository.PaymentRepository;
 import com.yudha.hms.billing.repository.TariffRepository;
 import com.yudha.hms.billing.util.InvoiceNumberGenerator;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.repository.EncounterRepository;
 import com.yudha.hms.patient.entity.Patient;
 import com.yudha.hms.patient.repository.PatientRepository;
+import com.yudha.hms.registration.entity.InpatientAdmission;
+import com.yudha.hms.registration.repository.InpatientAdmissionRepository;
+import com.yudha.hms.shared.exception.BusinessException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +36,7 @@ import java.util.stream.Collectors;
  *
  * Features:
  * - Invoice generation with automatic charge compilation
+ * - Server-side item pricing from the tariff book (payer class, service date, package deals)
  * - Discount and tax calculation
  * - Deposit deduction
  * - Invoice void and correction
@@ -47,7 +55,13 @@ public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
     private final TariffRepository tariffRepository;
+    private final PackageDealRepository packageDealRepository;
+    private final TariffPricingService tariffPricingService;
     private final PatientRepository patientRepository;
+    private final EncounterRepository encounterRepository;
+    private final InpatientAdmissionRepository admissionRepository;
+    private final PaymentRepository paymentRepository;
+    private final RevenueRollupService revenueRollupService;
     private final InvoiceNumberGenerator invoiceNumberGenerator;
 
     /**
@@ -86,7 +100,7 @@ public class InvoiceService {
             .taxAmount(request.getTaxAmount() != null ? request.getTaxAmount() : BigDecimal.ZERO)
             .taxPercentage(request.getTaxPercentage())
             .depositDeduction(request.getDepositDeduction() != null ? request.getDepositDeduction() : BigDecimal.ZERO)
-            .paymentType(request.getPaymentType())
+            .paymentType(resolvePaymentType(request.getPaymentType(), patient, request.getEncounterId()))
             .insuranceCompanyId(request.getInsuranceCompanyId())
             .insuranceClaimNumber(request.getInsuranceClaimNumber())
             .bpjsSepNumber(request.getBpjsSepNumber())
@@ -101,11 +115,7 @@ public class InvoiceService {
 
         // Add invoice items
         if (request.getItems() != null && !request.getItems().isEmpty()) {
-            int lineNumber = 1;
-            for (InvoiceItemRequest itemRequest : request.getItems()) {
-                InvoiceItem item = createInvoiceItem(invoice, itemRequest, lineNumber++);
-                invoice.addItem(item);
-            }
+            addInvoiceItems(invoice, request.getItems());
         }
 
         // Calculate totals
@@ -171,7 +181,9 @@ public class InvoiceService {
         }
 
         if (request.getPaymentType() != null) {
-            invoice.setPaymentType(request.getPaymentType());
+            Patient patient = patientRepository.findById(invoice.getPatientId())
+                .orElseThrow(() -> new EntityNotFoundException("Patient not found: " + invoice.getPatientId()));
+            invoice.setPaymentType(resolvePaymentType(request.getPaymentType(), patient, invoice.getEncounterId()));
         }
 
         if (request.getInsuranceCompanyId() != null) {
@@ -204,11 +216,7 @@ public class InvoiceService {
             invoice.getItems().clear();
 
             // Add new items
-            int lineNumber = 1;
-            for (InvoiceItemRequest itemRequest : request.getItems()) {
-                InvoiceItem item = createInvoiceItem(invoice, itemRequest, lineNumber++);
-                invoice.addItem(item);
-            }
+            addInvoiceItems(invoice, request.getItems());
         }
 
         // Recalculate totals
@@ -238,6 +246,22 @@ public class InvoiceService {
         return mapToResponse(invoice);
     }
 
+    /**
+     * Get the running bill of an encounter (charges captured so far).
+     *
+     * @param encounterId encounter ID
+     * @return invoice response
+     */
+    @Transactional(readOnly = true)
+    public InvoiceResponse getRunningBill(UUID encounterId) {
+        log.debug("Getting running bill of encounter: {}", encounterId);
+
+        Invoice invoice = invoiceRepository.findRunningBill(encounterId)
+            .orElseThrow(() -> new EntityNotFoundException("No running bill for encounter: " + encounterId));
+
+        return mapToResponse(invoice);
+    }
+
     /**
      * Get invoice by invoice number.
      *
@@ -294,6 +318,10 @@ public class InvoiceService {
 
         Invoice voidedInvoice = invoiceRepository.save(invoice);
 
+        // Collected payments leave revenue on the void date
+        revenueRollupService.recordVoided(voidedInvoice,
+            paymentRepository.findByInvoiceOrderByPaymentDateDesc(voidedInvoice));
+
         log.info("Invoice voided successfully: {}", voidedInvoice.getInvoiceNumber());
         return mapToResponse(voidedInvoice);
     }
@@ -384,32 +412,74 @@ public class InvoiceService {
     // HELPER METHODS
     // ========================================================================
 
+    /**
+     * Resolve the payment type stored on an invoice. Plain "BPJS" is resolved to the care
+     * class of the encounter's room, or else of the patient's BPJS card, because the class
+     * decides the tariff price.
+     *
+     * @throws BusinessException for an unknown payment type, or BPJS without a known class
+     */
+    private String resolvePaymentType(String paymentType, Patient patient, UUID encounterId) {
+        if (!PayerClass.isUnclassifiedBpjs(paymentType)) {
+            PayerClass.fromPaymentType(paymentType);
+            return paymentType;
+        }
+
+        PayerClass roomClass = encounterId == null ? null : encounterRepository.findById(encounterId)
+            .map(Encounter::getInpatientAdmissionId)
+            .flatMap(admissionRepository::findById)
+            .map(InpatientAdmission::getRoomClass)
+            .map(room -> PayerClass.fromBpjsClass(room.name()))
+            .orElse(null);
+        PayerClass payerClass = roomClass != null ? roomClass : PayerClass.fromBpjsClass(patient.getBpjsClass());
+        if (payerClass == null) {
+            throw new BusinessException("BPJS class of patient %s is unknown; use BPJS_CLASS1, BPJS_CLASS2 or BPJS_CLASS3",
+                patient.getMrn());
+        }
+        return payerClass.getPaymentType();
+    }
+
+    /**
+     * Price all item requests in one call and add them to the invoice.
+     * Unit prices always come from the tariff book; prices sent by the caller are ignored.
+     */
+    private void addInvoiceItems(Invoice invoice, List<InvoiceItemRequest> requests) {
+        List<TariffPricingService.PriceLine> lines = requests.stream()
+            .map(item -> new TariffPricingService.PriceLine(item.getTariffId(), null, item.getPackageDealId(),
+                item.getQuantity(), item.getServiceDate()))
+            .toList();
+        List<TariffPricingService.PricedItem> prices =
+            tariffPricingService.priceItems(lines, invoice.getPaymentType(), invoice.getInvoiceDate());
+
+        int lineNumber = 1;
+        for (int i = 0; i < requests.size(); i++) {
+            InvoiceItem item = createInvoiceItem(invoice, requests.get(i), prices.get(i), lineNumber++);
+            invoice.addItem(item);
+        }
+    }
+
     /**
      * Create invoice item from request.
      */
-    private InvoiceItem createInvoiceItem(Invoice invoice, InvoiceItemRequest request, int lineNumber) {
-        // Fetch tariff if provided
-        Tariff tariff = null;
-        if (request.getTariffId() != null) {
-            tariff = tariffRepository.findById(request.getTariffId())
-                .orElseThrow(() -> new EntityNotFoundException("Tariff not found: " + request.getTariffId()));
+    private InvoiceItem createInvoiceItem(Invoice invoice, InvoiceItemRequest request,
+                                          TariffPricingService.PricedItem price, int lineNumber) {
+        if (request.getUnitPrice() != null && request.getUnitPrice().compareTo(price.unitPrice()) != 0) {
+            log.debug("Unit price {} sent for tariff {} replaced by tariff price {}",
+                request.getUnitPrice(), price.tariffCode(), price.unitPrice());
         }
 
         InvoiceItem item = InvoiceItem.builder()
             .invoice(invoice)
             .lineNumber(lineNumber)
-            .serviceDate(request.getServiceDate())
-            .tariff(tariff)
-            .itemType(request.getItemType() != null ? request.getItemType() :
-                     (tariff != null ? tariff.getTariffType() : null))
-            .itemCode(request.getItemCode() != null ? request.getItemCode() :
-                     (tariff != null ? tariff.getCode() : null))
+            .serviceDate(price.serviceDate())
+            .tariff(tariffRepository.getReferenceById(price.tariffId()))
+            .itemType(request.getItemType() != null ? request.getItemType() : price.tariffType())
+            .itemCode(request.getItemCode() != null ? request.getItemCode() : price.tariffCode())
             .itemName(request.getItemName())
             .itemDescription(request.getItemDescription())
             .quantity(request.getQuantity())
-            .unit(request.getUnit() != null ? request.getUnit() :
-                 (tariff != null ? tariff.getUnit() : null))
-            .unitPrice(request.getUnitPrice())
+            .unit(request.getUnit() != null ? request.getUnit() : price.unit())
+            .unitPrice(price.unitPrice())
             .discountAmount(request.getDiscountAmount() != null ? request.getDiscountAmount() : BigDecimal.ZERO)
             .discountPercentage(request.getDiscountPercentage())
             .departmentId(request.getDepartmentId())
@@ -423,11 +493,8 @@ public class InvoiceService {
             .notes(request.getNotes())
             .build();
 
-        // Set package deal separately if needed (it's a reference, not directly settable in builder)
-        if (request.getPackageDealId() != null) {
-            // Note: Would need PackageDealRepository to fetch the entity
-            // For now, just set the field directly
-            // item.setPackageDeal(...);
+        if (price.packageDealId() != null) {
+            item.setPackageDeal(packageDealRepository.getReferenceById(price.packageDealId()));
         }
 
         return item;
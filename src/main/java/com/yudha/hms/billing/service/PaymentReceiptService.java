@@ -1,18 +1,33 @@
 package com.yudha.hms.billing.service;
 
+import com.yudha.hms.billing.config.BillingDocumentProperties;
 import com.yudha.hms.billing.dto.PaymentResponse;
+import com.yudha.hms.billing.util.BillingPdfLayout;
+import com.yudha.hms.shared.util.PdfStreamWriter;
+import com.yudha.hms.shared.util.PdfStreamWriter.Font;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Service for payment receipt generation.
  *
+ * A receipt is built once as sections of label/value rows, which are rendered either as
+ * text or as an A5 PDF. The PDF is streamed with {@link PdfStreamWriter}; its letterhead
+ * and footer are compiled once at startup.
+ *
  * @author HMS Development Team
  * @version 1.0.0
  * @since 2025-01-21
@@ -23,9 +38,36 @@ import java.util.UUID;
 public class PaymentReceiptService {
 
     private final PaymentService paymentService;
+    private final BillingDocumentProperties properties;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-    private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final float PAGE_WIDTH = PdfStreamWriter.A5_WIDTH;
+    private static final float PAGE_HEIGHT = PdfStreamWriter.A5_HEIGHT;
+    private static final float MARGIN = BillingPdfLayout.MARGIN;
+    private static final float VALUE_X = MARGIN + 105f;
+    private static final float FONT_SIZE = 8.5f;
+    private static final float LINE = 12f;
+    private static final float BOTTOM = 70f;
+    private static final String RULE = "----------------------------------------------------------------\n";
+    private static final String DOUBLE_RULE = "================================================================\n";
+
+    private byte[] pageTemplate;
+    private float bodyTop;
+
+    /**
+     * Compile the receipt page template.
+     */
+    @PostConstruct
+    public void init() {
+        PdfStreamWriter.Canvas template = new PdfStreamWriter.Canvas();
+        bodyTop = BillingPdfLayout.letterhead(template, properties, PAGE_WIDTH, PAGE_HEIGHT, "KWITANSI");
+        float right = PAGE_WIDTH - MARGIN;
+        template.line(MARGIN, BOTTOM - 12f, right, BOTTOM - 12f, 0.5f);
+        template.textCenter(Font.BOLD, FONT_SIZE, PAGE_WIDTH / 2f, BOTTOM - 26f, "Terima kasih atas pembayaran Anda");
+        template.textCenter(Font.REGULAR, 7.5f, PAGE_WIDTH / 2f, BOTTOM - 37f, "Simpan kwitansi ini sebagai bukti pembayaran");
+        pageTemplate = template.compile();
+    }
 
     /**
      * Generate payment receipt PDF.
@@ -35,16 +77,39 @@ public class PaymentReceiptService {
      */
     @Transactional
     public byte[] generateReceiptPdf(UUID paymentId) {
+        PaymentResponse payment = prepareReceipt(paymentId);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 * 1024);
+        writeReceiptPdf(payment, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Load a payment for its receipt and mark the receipt as printed.
+     *
+     * @param paymentId payment ID
+     * @return payment details as before printing
+     */
+    @Transactional
+    public PaymentResponse prepareReceipt(UUID paymentId) {
         log.info("Generating receipt PDF for payment: {}", paymentId);
 
         PaymentResponse payment = paymentService.getPaymentById(paymentId);
-
-        // Mark as printed
         paymentService.markReceiptAsPrinted(paymentId);
+        return payment;
+    }
 
-        // TODO: Implement PDF generation using iText or PDFBox
-        // For now, return a placeholder text representation
-        return generatePlaceholderReceipt(payment);
+    /**
+     * Render a receipt PDF to a stream.
+     *
+     * @param payment payment details
+     * @param out target stream (not closed)
+     */
+    public void writeReceiptPdf(PaymentResponse payment, OutputStream out) {
+        try {
+            renderPdf(buildSections(payment), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write receipt " + payment.getReceiptNumber(), e);
+        }
     }
 
     /**
@@ -72,158 +137,211 @@ public class PaymentReceiptService {
     }
 
     /**
-     * Generate placeholder receipt (text representation).
-     * TODO: Replace with actual PDF generation using iText/PDFBox/Flying Saucer
-     *
-     * @param payment payment details
-     * @return receipt bytes
-     */
-    private byte[] generatePlaceholderReceipt(PaymentResponse payment) {
-        String receiptText = buildReceiptText(payment);
-        return receiptText.getBytes(StandardCharsets.UTF_8);
-    }
-
-    /**
-     * Build receipt text content.
+     * Build receipt sections. The first section has no title (receipt identification);
+     * rows without a label are free text.
      *
      * @param payment payment details
-     * @return formatted receipt text
+     * @return receipt sections
      */
-    private String buildReceiptText(PaymentResponse payment) {
-        StringBuilder receipt = new StringBuilder();
-
-        // Header
-        receipt.append("================================================================\n");
-        receipt.append("                    PAYMENT RECEIPT                              \n");
-        receipt.append("                   Hospital Management System                    \n");
-        receipt.append("================================================================\n\n");
+    private List<Section> buildSections(PaymentResponse payment) {
+        List<Section> sections = new ArrayList<>();
 
         // Receipt information
-        receipt.append("Receipt Number    : ").append(payment.getReceiptNumber()).append("\n");
-        receipt.append("Payment Number    : ").append(payment.getPaymentNumber()).append("\n");
-        receipt.append("Invoice Number    : ").append(payment.getInvoiceNumber()).append("\n");
-        receipt.append("Payment Date      : ").append(payment.getPaymentDate().format(DATE_FORMATTER)).append("\n\n");
+        Section receipt = new Section(null);
+        receipt.row("Receipt Number", payment.getReceiptNumber());
+        receipt.row("Payment Number", payment.getPaymentNumber());
+        receipt.row("Invoice Number", payment.getInvoiceNumber());
+        receipt.row("Payment Date", format(payment.getPaymentDate()));
+        sections.add(receipt);
 
         // Patient information
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("PATIENT INFORMATION\n");
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("MRN               : ").append(payment.getPatientMrn()).append("\n");
-        receipt.append("Name              : ").append(payment.getPatientName()).append("\n\n");
+        Section patient = new Section("PATIENT INFORMATION");
+        patient.row("MRN", payment.getPatientMrn());
+        patient.row("Name", payment.getPatientName());
+        sections.add(patient);
 
         // Payment details
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("PAYMENT DETAILS\n");
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("Payment Method    : ").append(payment.getPaymentMethod().getDisplayName()).append("\n");
-        receipt.append("Amount            : Rp ").append(formatCurrency(payment.getAmount())).append("\n");
+        Section details = new Section("PAYMENT DETAILS");
+        details.row("Payment Method", payment.getPaymentMethod().getDisplayName());
+        details.row("Amount", "Rp " + BillingPdfLayout.amount(payment.getAmount()));
 
         // Payment method specific details
         if (payment.getCashTendered() != null) {
-            receipt.append("Cash Tendered     : Rp ").append(formatCurrency(payment.getCashTendered())).append("\n");
-            receipt.append("Change            : Rp ").append(formatCurrency(payment.getChangeAmount())).append("\n");
+            details.row("Cash Tendered", "Rp " + BillingPdfLayout.amount(payment.getCashTendered()));
+            details.row("Change", "Rp " + BillingPdfLayout.amount(payment.getChangeAmount()));
         }
-
         if (payment.getCardLast4() != null) {
-            receipt.append("Card Number       : **** **** **** ").append(payment.getCardLast4()).append("\n");
-            if (payment.getCardType() != null) {
-                receipt.append("Card Type         : ").append(payment.getCardType()).append("\n");
-            }
+            details.row("Card Number", "**** **** **** " + payment.getCardLast4());
+            details.rowIfPresent("Card Type", payment.getCardType());
         }
-
         if (payment.getAccountLast4() != null) {
-            receipt.append("Account Number    : **** **** **** ").append(payment.getAccountLast4()).append("\n");
-            if (payment.getBankName() != null) {
-                receipt.append("Bank Name         : ").append(payment.getBankName()).append("\n");
-            }
+            details.row("Account Number", "**** **** **** " + payment.getAccountLast4());
+            details.rowIfPresent("Bank Name", payment.getBankName());
         }
-
         if (payment.getGatewayTransactionId() != null) {
-            receipt.append("Transaction ID    : ").append(payment.getGatewayTransactionId()).append("\n");
-            if (payment.getGatewayName() != null) {
-                receipt.append("Gateway           : ").append(payment.getGatewayName()).append("\n");
-            }
+            details.row("Transaction ID", payment.getGatewayTransactionId());
+            details.rowIfPresent("Gateway", payment.getGatewayName());
         }
-
-        if (payment.getAuthorizationCode() != null) {
-            receipt.append("Authorization Code: ").append(payment.getAuthorizationCode()).append("\n");
-        }
-
-        if (payment.getReferenceNumber() != null) {
-            receipt.append("Reference Number  : ").append(payment.getReferenceNumber()).append("\n");
-        }
-
-        receipt.append("\n");
+        details.rowIfPresent("Authorization Code", payment.getAuthorizationCode());
+        details.rowIfPresent("Reference Number", payment.getReferenceNumber());
+        sections.add(details);
 
         // Payment status
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("STATUS\n");
-        receipt.append("----------------------------------------------------------------\n");
-        receipt.append("Payment Status    : ").append(payment.getStatus().getDisplayName()).append("\n");
-
+        Section status = new Section("STATUS");
+        status.row("Payment Status", payment.getStatus().getDisplayName());
         if (payment.getConfirmedDate() != null) {
-            receipt.append("Confirmed Date    : ").append(payment.getConfirmedDate().format(DATE_FORMATTER)).append("\n");
-            receipt.append("Confirmed By      : ").append(payment.getConfirmedBy()).append("\n");
+            status.row("Confirmed Date", format(payment.getConfirmedDate()));
+            status.row("Confirmed By", payment.getConfirmedBy());
         }
-
-        receipt.append("\n");
+        sections.add(status);
 
         // Refund information (if applicable)
         if (payment.getRefunded() != null && payment.getRefunded()) {
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append("REFUND INFORMATION\n");
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append("Refund Amount     : Rp ").append(formatCurrency(payment.getRefundAmount())).append("\n");
-            receipt.append("Refund Date       : ").append(payment.getRefundDate().format(DATE_FORMATTER)).append("\n");
-            receipt.append("Refund Reason     : ").append(payment.getRefundReason()).append("\n");
-            receipt.append("Processed By      : ").append(payment.getRefundProcessedBy()).append("\n\n");
+            Section refund = new Section("REFUND INFORMATION");
+            refund.row("Refund Amount", "Rp " + BillingPdfLayout.amount(payment.getRefundAmount()));
+            refund.row("Refund Date", format(payment.getRefundDate()));
+            refund.row("Refund Reason", payment.getRefundReason());
+            refund.row("Processed By", payment.getRefundProcessedBy());
+            sections.add(refund);
         }
 
         // Cashier information
         if (payment.getCashierName() != null) {
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append("CASHIER INFORMATION\n");
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append("Cashier           : ").append(payment.getCashierName()).append("\n");
+            Section cashier = new Section("CASHIER INFORMATION");
+            cashier.row("Cashier", payment.getCashierName());
             if (payment.getShiftId() != null) {
-                receipt.append("Shift ID          : ").append(payment.getShiftId()).append("\n");
+                cashier.row("Shift ID", payment.getShiftId().toString());
             }
-            receipt.append("\n");
+            sections.add(cashier);
         }
 
         // Notes
         if (payment.getNotes() != null && !payment.getNotes().isEmpty()) {
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append("NOTES\n");
-            receipt.append("----------------------------------------------------------------\n");
-            receipt.append(payment.getNotes()).append("\n\n");
+            Section notes = new Section("NOTES");
+            notes.row(null, payment.getNotes());
+            sections.add(notes);
+        }
+
+        // Print information
+        Section printed = new Section(null);
+        printed.row("Printed", LocalDateTime.now().format(DATE_FORMATTER));
+        if (payment.getReceiptPrintCount() != null && payment.getReceiptPrintCount() > 0) {
+            printed.row("Print Count", String.valueOf(payment.getReceiptPrintCount() + 1));
+        }
+        sections.add(printed);
+
+        return sections;
+    }
+
+    /**
+     * Build receipt text content.
+     *
+     * @param payment payment details
+     * @return formatted receipt text
+     */
+    private String buildReceiptText(PaymentResponse payment) {
+        List<Section> sections = buildSections(payment);
+        StringBuilder receipt = new StringBuilder(2048);
+
+        // Header
+        receipt.append(DOUBLE_RULE);
+        receipt.append("                    PAYMENT RECEIPT                              \n");
+        receipt.append("                   Hospital Management System                    \n");
+        receipt.append(DOUBLE_RULE).append("\n");
+
+        for (int i = 0; i < sections.size() - 1; i++) {
+            Section section = sections.get(i);
+            if (section.title != null) {
+                receipt.append(RULE).append(section.title).append("\n").append(RULE);
+            }
+            for (String[] row : section.rows) {
+                appendTextRow(receipt, row);
+            }
+            receipt.append("\n");
         }
 
         // Footer
-        receipt.append("================================================================\n");
+        receipt.append(DOUBLE_RULE);
         receipt.append("              Thank you for your payment                         \n");
         receipt.append("            Please keep this receipt for your records           \n");
-        receipt.append("================================================================\n");
-        receipt.append("\n");
-        receipt.append("Printed: ").append(java.time.LocalDateTime.now().format(DATE_FORMATTER)).append("\n");
-
-        if (payment.getReceiptPrintCount() != null && payment.getReceiptPrintCount() > 0) {
-            receipt.append("Print Count: ").append(payment.getReceiptPrintCount() + 1).append("\n");
+        receipt.append(DOUBLE_RULE).append("\n");
+        for (String[] row : sections.get(sections.size() - 1).rows) {
+            receipt.append(row[0]).append(": ").append(row[1]).append("\n");
         }
 
         return receipt.toString();
     }
 
+    private static void appendTextRow(StringBuilder receipt, String[] row) {
+        if (row[0] == null) {
+            receipt.append(row[1]).append("\n");
+            return;
+        }
+        receipt.append(row[0]);
+        for (int pad = row[0].length(); pad < 18; pad++) {
+            receipt.append(' ');
+        }
+        receipt.append(": ").append(row[1]).append("\n");
+    }
+
+    private void renderPdf(List<Section> sections, OutputStream out) throws IOException {
+        PdfStreamWriter pdf = new PdfStreamWriter(out, PAGE_WIDTH, PAGE_HEIGHT);
+        PdfStreamWriter.Canvas page = pdf.beginPage();
+        pdf.drawForm(pageTemplate);
+        float right = PAGE_WIDTH - MARGIN;
+        float y = bodyTop;
+
+        for (Section section : sections) {
+            if (y - (section.rows.size() + 2) * LINE < BOTTOM) {
+                pdf.endPage();
+                page = pdf.beginPage();
+                pdf.drawForm(pageTemplate);
+                y = bodyTop;
+            }
+            if (section.title != null) {
+                page.text(Font.BOLD, FONT_SIZE, MARGIN, y, section.title);
+                page.line(MARGIN, y - 3f, right, y - 3f, 0.5f);
+                y -= LINE + 2f;
+            }
+            for (String[] row : section.rows) {
+                if (row[0] == null) {
+                    page.text(Font.REGULAR, FONT_SIZE, MARGIN, y, Font.REGULAR.fit(row[1], FONT_SIZE, right - MARGIN));
+                } else {
+                    page.text(Font.REGULAR, FONT_SIZE, MARGIN, y, row[0]);
+                    page.text(Font.BOLD, FONT_SIZE, VALUE_X, y,
+                        Font.BOLD.fit(": " + BillingPdfLayout.orDash(row[1]), FONT_SIZE, right - VALUE_X));
+                }
+                y -= LINE;
+            }
+            y -= LINE / 2f;
+        }
+        pdf.finish();
+    }
+
+    private static String format(LocalDateTime value) {
+        return value != null ? value.format(DATE_FORMATTER) : null;
+    }
+
     /**
-     * Format currency value for display.
-     *
-     * @param amount amount to format
-     * @return formatted currency string
+     * Titled group of label/value rows.
      */
-    private String formatCurrency(java.math.BigDecimal amount) {
-        if (amount == null) {
-            return "0.00";
+    private static final class Section {
+
+        private final String title;
+        private final List<String[]> rows = new ArrayList<>();
+
+        Section(String title) {
+            this.title = title;
+        }
+
+        void row(String label, String value) {
+            rows.add(new String[]{label, value});
+        }
+
+        void rowIfPresent(String label, String value) {
+            if (value != null) {
+                row(label, value);
+            }
         }
-        return String.format("%,.2f", amount);
     }
 }
@@ -33,6 +33,7 @@ public class PaymentService {
     private final PaymentRepository paymentRepository;
     private final InvoiceRepository invoiceRepository;
     private final PaymentNumberGenerator paymentNumberGenerator;
+    private final RevenueRollupService revenueRollupService;
 
     /**
      * Process a new payment for an invoice.
@@ -123,6 +124,10 @@ public class PaymentService {
         // Save payment
         payment = paymentRepository.save(payment);
 
+        if (payment.getStatus() == PaymentStatus.COMPLETED) {
+            revenueRollupService.recordCollected(payment);
+        }
+
         // Update invoice
         updateInvoiceWithPayment(invoice, payment, createdBy);
 
@@ -154,6 +159,7 @@ public class PaymentService {
         payment.setUpdatedBy(confirmedBy);
 
         payment = paymentRepository.save(payment);
+        revenueRollupService.recordCollected(payment);
 
         // Update invoice if not already updated
         Invoice invoice = payment.getInvoice();
@@ -260,6 +266,7 @@ public class PaymentService {
         refundPayment.setUpdatedBy(processedBy);
 
         refundPayment = paymentRepository.save(refundPayment);
+        revenueRollupService.recordRefund(refundPayment);
 
         // Update invoice
         Invoice invoice = originalPayment.getInvoice();
@@ -279,67 +286,74 @@ public class PaymentService {
     /**
      * Generate cashier shift report.
      *
+     * Totals and the payment method breakdown come from one grouped query; the
+     * payment list is only loaded when requested.
+     *
      * @param shiftId shift ID
+     * @param includePayments whether to include the individual payments
      * @return cashier shift report
      */
     @Transactional(readOnly = true)
-    public CashierShiftReportResponse generateCashierShiftReport(UUID shiftId) {
+    public CashierShiftReportResponse generateCashierShiftReport(UUID shiftId, boolean includePayments) {
         log.info("Generating cashier shift report for shift: {}", shiftId);
 
-        List<Payment> payments = paymentRepository.findByShiftIdOrderByPaymentDate(shiftId);
-
-        if (payments.isEmpty()) {
-            throw new IllegalArgumentException("No payments found for shift: " + shiftId);
-        }
-
         // Get shift information from first payment
-        Payment firstPayment = payments.get(0);
+        Payment firstPayment = paymentRepository.findFirstByShiftIdOrderByPaymentDateAsc(shiftId)
+                .orElseThrow(() -> new IllegalArgumentException("No payments found for shift: " + shiftId));
 
-        // Calculate totals
+        // Calculate totals and payment method breakdown
         BigDecimal totalAmount = BigDecimal.ZERO;
         BigDecimal totalRefunds = BigDecimal.ZERO;
         int totalPaymentCount = 0;
-
-        for (Payment payment : payments) {
-            if (payment.getStatus() == PaymentStatus.COMPLETED) {
-                if (payment.getAmount().compareTo(BigDecimal.ZERO) >= 0) {
-                    totalAmount = totalAmount.add(payment.getAmount());
-                    totalPaymentCount++;
-                } else {
-                    // Negative amount = refund
-                    totalRefunds = totalRefunds.add(payment.getAmount().abs());
-                }
+        LocalDateTime shiftStartTime = null;
+        LocalDateTime shiftEndTime = null;
+        Map<PaymentMethod, CashierShiftReportResponse.PaymentMethodSummary> breakdown =
+                new EnumMap<>(PaymentMethod.class);
+
+        for (Object[] row : paymentRepository.summarizeShiftByPaymentMethod(shiftId)) {
+            PaymentMethod method = PaymentMethod.valueOf((String) row[0]);
+            int count = ((Number) row[1]).intValue();
+            BigDecimal collected = (BigDecimal) row[2];
+            int refundCount = ((Number) row[3]).intValue();
+            BigDecimal refunds = (BigDecimal) row[4];
+
+            totalPaymentCount += count;
+            totalAmount = totalAmount.add(collected);
+            totalRefunds = totalRefunds.add(refunds);
+            shiftStartTime = earliest(shiftStartTime, toLocalDateTime(row[5]));
+            shiftEndTime = latest(shiftEndTime, toLocalDateTime(row[6]));
+
+            if (count > 0 || refundCount > 0) {
+                breakdown.put(method, CashierShiftReportResponse.PaymentMethodSummary.builder()
+                        .method(method)
+                        .count(count)
+                        .amount(collected)
+                        .refundCount(refundCount)
+                        .refundAmount(refunds)
+                        .build());
             }
         }
 
         BigDecimal netAmount = totalAmount.subtract(totalRefunds);
 
-        // Calculate payment method breakdown
-        Map<PaymentMethod, CashierShiftReportResponse.PaymentMethodSummary> breakdown =
-                calculatePaymentMethodBreakdown(payments);
-
         // Build report
         CashierShiftReportResponse report = CashierShiftReportResponse.builder()
                 .shiftId(shiftId)
                 .cashierId(firstPayment.getCashierId())
                 .cashierName(firstPayment.getCashierName())
                 .cashRegisterId(firstPayment.getCashRegisterId())
-                .shiftStartTime(payments.stream()
-                        .map(Payment::getPaymentDate)
-                        .min(LocalDateTime::compareTo)
-                        .orElse(null))
-                .shiftEndTime(payments.stream()
-                        .map(Payment::getPaymentDate)
-                        .max(LocalDateTime::compareTo)
-                        .orElse(null))
+                .shiftStartTime(shiftStartTime)
+                .shiftEndTime(shiftEndTime)
                 .totalPayments(totalPaymentCount)
                 .totalAmount(totalAmount)
                 .totalRefunds(totalRefunds)
                 .netAmount(netAmount)
                 .paymentMethodBreakdown(breakdown)
-                .payments(payments.stream()
-                        .map(this::mapToResponse)
-                        .collect(Collectors.toList()))
+                .payments(includePayments
+                        ? paymentRepository.findByShiftIdWithInvoice(shiftId).stream()
+                                .map(this::mapToResponse)
+                                .collect(Collectors.toList())
+                        : null)
                 .build();
 
         log.info("Cashier shift report generated for shift: {}", shiftId);
@@ -440,38 +454,25 @@ public class PaymentService {
         invoiceRepository.save(invoice);
     }
 
-    /**
-     * Calculate payment method breakdown for shift report.
-     *
-     * @param payments list of payments
-     * @return payment method breakdown map
-     */
-    private Map<PaymentMethod, CashierShiftReportResponse.PaymentMethodSummary> calculatePaymentMethodBreakdown(
-            List<Payment> payments) {
-        Map<PaymentMethod, CashierShiftReportResponse.PaymentMethodSummary> breakdown = new HashMap<>();
-
-        for (Payment payment : payments) {
-            if (payment.getStatus() == PaymentStatus.COMPLETED &&
-                payment.getAmount().compareTo(BigDecimal.ZERO) >= 0) {
-
-                PaymentMethod method = payment.getPaymentMethod();
-                CashierShiftReportResponse.PaymentMethodSummary summary = breakdown.get(method);
-
-                if (summary == null) {
-                    summary = CashierShiftReportResponse.PaymentMethodSummary.builder()
-                            .method(method)
-                            .count(0)
-                            .amount(BigDecimal.ZERO)
-                            .build();
-                    breakdown.put(method, summary);
-                }
-
-                summary.setCount(summary.getCount() + 1);
-                summary.setAmount(summary.getAmount().add(payment.getAmount()));
-            }
+    private LocalDateTime toLocalDateTime(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime;
         }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return LocalDateTime.parse(value.toString().replace(' ', 'T'));
+    }
+
+    private LocalDateTime earliest(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || (candidate != null && candidate.isBefore(current)) ? candidate : current;
+    }
 
-        return breakdown;
+    private LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return current == null || (candidate != null && candidate.isAfter(current)) ? candidate : current;
     }
 
     /**
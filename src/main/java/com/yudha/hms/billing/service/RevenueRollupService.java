@@ -0,0 +1,186 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.constant.PaymentStatus;
+import com.yudha.hms.billing.dto.RevenueSummaryResponse;
+import com.yudha.hms.billing.entity.Invoice;
+import com.yudha.hms.billing.entity.Payment;
+import com.yudha.hms.billing.repository.RevenueRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the daily revenue rollup.
+ *
+ * Payment and invoice flows record each revenue movement here, in the same
+ * transaction, so the rollup commits or rolls back together with the payment:
+ * - collected: a payment reaching COMPLETED, on its payment date
+ * - refund: a refund record, on the refund date
+ * - voided: the net collected amount of each payment of a voided invoice, on the void date
+ *
+ * Revenue screens read the rollup instead of scanning payments and invoices.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueRollupService {
+
+    static final String KIND_COLLECTED = "COLLECTED";
+    static final String KIND_REFUND = "REFUND";
+    static final String KIND_VOIDED = "VOIDED";
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final RevenueRollupRepository revenueRollupRepository;
+
+    /**
+     * Record a completed payment as collected revenue.
+     *
+     * @param payment payment that was just completed
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCollected(Payment payment) {
+        if (payment.getAmount().signum() <= 0) {
+            return;
+        }
+        upsert(payment, dateOf(payment.getPaymentDate()), KIND_COLLECTED, payment.getAmount());
+    }
+
+    /**
+     * Record a refund.
+     *
+     * @param refundPayment refund record (negative amount)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRefund(Payment refundPayment) {
+        upsert(refundPayment, dateOf(refundPayment.getPaymentDate()), KIND_REFUND, refundPayment.getAmount().abs());
+    }
+
+    /**
+     * Record the void of an invoice: the amount still held from each collected
+     * payment leaves revenue on the void date.
+     *
+     * @param invoice voided invoice
+     * @param payments payments of the invoice
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordVoided(Invoice invoice, List<Payment> payments) {
+        LocalDate voidDate = dateOf(invoice.getVoidedDate());
+        for (Payment payment : payments) {
+            if (payment.getStatus() != PaymentStatus.COMPLETED
+                    && payment.getStatus() != PaymentStatus.PARTIALLY_REFUNDED) {
+                continue;
+            }
+            BigDecimal held = payment.getAmount();
+            if (payment.getRefundAmount() != null) {
+                held = held.subtract(payment.getRefundAmount());
+            }
+            if (held.signum() > 0) {
+                upsert(payment, voidDate, KIND_VOIDED, held);
+            }
+        }
+    }
+
+    /**
+     * Revenue of a date range: totals, per day, per department, per payer type and
+     * per payment method.
+     *
+     * @param startDate first day (inclusive)
+     * @param endDate last day (inclusive)
+     * @return revenue summary
+     */
+    @Transactional(readOnly = true)
+    public RevenueSummaryResponse getRevenueSummary(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date must not be before start date");
+        }
+        if (startDate.plusDays(MAX_RANGE_DAYS).isBefore(endDate)) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<RevenueSummaryResponse.RevenueLine> daily =
+                toLines(revenueRollupRepository.sumByDay(startDate, endDate));
+
+        RevenueSummaryResponse.RevenueLine total = RevenueSummaryResponse.RevenueLine.builder()
+                .key("TOTAL")
+                .paymentCount(0L)
+                .collectedAmount(BigDecimal.ZERO)
+                .refundCount(0L)
+                .refundAmount(BigDecimal.ZERO)
+                .voidedAmount(BigDecimal.ZERO)
+                .netAmount(BigDecimal.ZERO)
+                .build();
+        for (RevenueSummaryResponse.RevenueLine day : daily) {
+            total.setPaymentCount(total.getPaymentCount() + day.getPaymentCount());
+            total.setCollectedAmount(total.getCollectedAmount().add(day.getCollectedAmount()));
+            total.setRefundCount(total.getRefundCount() + day.getRefundCount());
+            total.setRefundAmount(total.getRefundAmount().add(day.getRefundAmount()));
+            total.setVoidedAmount(total.getVoidedAmount().add(day.getVoidedAmount()));
+            total.setNetAmount(total.getNetAmount().add(day.getNetAmount()));
+        }
+
+        return RevenueSummaryResponse.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .total(total)
+                .daily(daily)
+                .byDepartment(toLines(revenueRollupRepository.sumByDepartment(startDate, endDate)))
+                .byPayerType(toLines(revenueRollupRepository.sumByPayerType(startDate, endDate)))
+                .byPaymentMethod(toLines(revenueRollupRepository.sumByPaymentMethod(startDate, endDate)))
+                .build();
+    }
+
+    /**
+     * Revenue of one calendar month.
+     *
+     * @param month month
+     * @return revenue summary
+     */
+    @Transactional(readOnly = true)
+    public RevenueSummaryResponse getMonthlyRevenue(YearMonth month) {
+        return getRevenueSummary(month.atDay(1), month.atEndOfMonth());
+    }
+
+    private void upsert(Payment payment, LocalDate revenueDate, String kind, BigDecimal amount) {
+        revenueRollupRepository.upsertMovement(
+                payment.getInvoice().getId(),
+                revenueDate,
+                payment.getPaymentMethod().name(),
+                kind,
+                amount);
+        log.debug("Revenue rollup {} {} for payment {} on {}", kind, amount, payment.getPaymentNumber(), revenueDate);
+    }
+
+    private LocalDate dateOf(LocalDateTime value) {
+        return value != null ? value.toLocalDate() : LocalDate.now();
+    }
+
+    private List<RevenueSummaryResponse.RevenueLine> toLines(List<Object[]> rows) {
+        List<RevenueSummaryResponse.RevenueLine> lines = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            lines.add(RevenueSummaryResponse.RevenueLine.builder()
+                    .key(String.valueOf(row[0]))
+                    .paymentCount(((Number) row[1]).longValue())
+                    .collectedAmount((BigDecimal) row[2])
+                    .refundCount(((Number) row[3]).longValue())
+                    .refundAmount((BigDecimal) row[4])
+                    .voidedAmount((BigDecimal) row[5])
+                    .netAmount((BigDecimal) row[6])
+                    .build());
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,512 @@
+package com.yudha.hms.billing.service;
+
+import com.yudha.hms.billing.constant.PayerClass;
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.dto.PriceQuoteRequest;
+import com.yudha.hms.billing.dto.PriceQuoteResponse;
+import com.yudha.hms.billing.entity.PackageDeal;
+import com.yudha.hms.billing.entity.PackageDealItem;
+import com.yudha.hms.billing.entity.Tariff;
+import com.yudha.hms.billing.repository.PackageDealRepository;
+import com.yudha.hms.billing.repository.TariffRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tariff pricing engine.
+ *
+ * Prices services from an immutable in-memory tariff book of all active tariffs and
+ * package deals. A price depends on:
+ * - Payer class (base, BPJS class 1-3, insurance, company); payer prices not set on
+ *   a tariff fall back to its base price
+ * - Service date; a tariff or package is only used between its effective and expiry date
+ * - Package deal; items billed as part of a package are priced at their share of the
+ *   package price
+ *
+ * The book is rebuilt when tariffs or packages change (checked periodically with one
+ * aggregate query per table, and on a lookup miss) and swapped atomically, so a pricing
+ * call always sees one consistent book and never waits for the database.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@Slf4j
+public class TariffPricingService {
+
+    private static final int PRICE_SCALE = 2;
+
+    private final TariffRepository tariffRepository;
+    private final PackageDealRepository packageDealRepository;
+
+    // Not synchronized: loading does I/O, which would pin a virtual thread's carrier
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile TariffBook book = TariffBook.EMPTY;
+
+    public TariffPricingService(TariffRepository tariffRepository,
+                                PackageDealRepository packageDealRepository) {
+        this.tariffRepository = tariffRepository;
+        this.packageDealRepository = packageDealRepository;
+    }
+
+    // ========== Pricing ==========
+
+    /**
+     * Price one tariff.
+     *
+     * @param tariffId tariff ID
+     * @param paymentType invoice payment type (CASH, BPJS_CLASS1, ..., INSURANCE, COMPANY)
+     * @param serviceDate date of service
+     * @param quantity quantity
+     * @return priced item
+     */
+    public PricedItem price(UUID tariffId, String paymentType, LocalDate serviceDate, int quantity) {
+        return priceItems(List.of(new PriceLine(tariffId, null, null, quantity, serviceDate)),
+            paymentType, serviceDate).get(0);
+    }
+
+    /**
+     * Price a list of items against one version of the tariff book.
+     *
+     * @param lines items to price
+     * @param paymentType invoice payment type
+     * @param defaultDate service date of lines without one (null = today)
+     * @return priced items, in the order of the lines
+     * @throws ResourceNotFoundException if a tariff or package is unknown or inactive
+     * @throws BusinessException if a tariff or package is not valid on the service date,
+     *         or an item is not part of its package
+     */
+    public List<PricedItem> priceItems(List<PriceLine> lines, String paymentType, LocalDate defaultDate) {
+        PayerClass payerClass = PayerClass.fromPaymentType(paymentType);
+        LocalDate fallbackDate = defaultDate != null ? defaultDate : LocalDate.now();
+
+        TariffBook current = book;
+        if (!current.resolvesAll(lines) && refreshIfChanged()) {
+            // Created or reactivated since the last refresh
+            current = book;
+        }
+
+        List<PricedItem> priced = new ArrayList<>(lines.size());
+        for (PriceLine line : lines) {
+            LocalDate date = line.serviceDate() != null ? line.serviceDate() : fallbackDate;
+            priced.add(priceLine(current, line, payerClass, date));
+        }
+        return priced;
+    }
+
+    /**
+     * Price a quote for an order-entry screen.
+     *
+     * @param request quote request
+     * @return quote with line and total prices
+     */
+    public PriceQuoteResponse quote(PriceQuoteRequest request) {
+        List<PriceLine> lines = request.getItems().stream()
+            .map(item -> new PriceLine(item.getTariffId(), item.getTariffCode(), item.getPackageDealId(),
+                item.getQuantity(), item.getServiceDate()))
+            .toList();
+        LocalDate serviceDate = request.getServiceDate() != null ? request.getServiceDate() : LocalDate.now();
+        List<PricedItem> priced = priceItems(lines, request.getPaymentType(), serviceDate);
+
+        return PriceQuoteResponse.builder()
+            .payerClass(PayerClass.fromPaymentType(request.getPaymentType()))
+            .serviceDate(serviceDate)
+            .items(priced.stream().map(TariffPricingService::toQuoteLine).toList())
+            .totalAmount(priced.stream().map(PricedItem::totalPrice).reduce(BigDecimal.ZERO, BigDecimal::add))
+            .build();
+    }
+
+    // ========== Tariff Book Maintenance ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // The first pricing call or the next refresh loads it
+            log.error("Failed to load tariff book on startup", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hms.billing.tariff-book.refresh-interval-ms:60000}",
+               initialDelayString = "${hms.billing.tariff-book.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            refreshIfChanged();
+        } catch (Exception e) {
+            log.error("Tariff book refresh failed, keeping the current book", e);
+        }
+    }
+
+    /**
+     * Rebuild the tariff book if tariffs or packages changed since it was built.
+     *
+     * @return true if the book was rebuilt
+     */
+    public boolean refreshIfChanged() {
+        if (changeStamp().equals(book.stamp())) {
+            return false;
+        }
+        reloadLock.lock();
+        try {
+            String stamp = changeStamp();
+            if (!stamp.equals(book.stamp())) {
+                build(stamp);
+            }
+            return true;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the tariff book unconditionally.
+     */
+    public void reload() {
+        reloadLock.lock();
+        try {
+            build(changeStamp());
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private PricedItem priceLine(TariffBook current, PriceLine line, PayerClass payerClass, LocalDate date) {
+        if (line.quantity() < 1) {
+            throw new BusinessException("Quantity must be at least 1");
+        }
+        TariffPrice tariff = current.find(line, date);
+        if (!tariff.isValidOn(date)) {
+            throw new BusinessException("Tariff " + tariff.code() + " is not valid on " + date);
+        }
+
+        if (line.packageDealId() == null) {
+            BigDecimal unitPrice = tariff.priceFor(payerClass);
+            return new PricedItem(tariff.id(), tariff.code(), tariff.name(), tariff.tariffType(), tariff.unit(),
+                payerClass, null, null, date, line.quantity(), unitPrice,
+                unitPrice.multiply(BigDecimal.valueOf(line.quantity())));
+        }
+
+        PackagePrice packageDeal = current.packagesById().get(line.packageDealId());
+        if (packageDeal == null) {
+            throw new ResourceNotFoundException("PackageDeal", line.packageDealId());
+        }
+        if (!packageDeal.isValidOn(date)) {
+            throw new BusinessException("Package " + packageDeal.code() + " is not valid on " + date);
+        }
+        if (!packageDeal.appliesTo(payerClass)) {
+            throw new BusinessException("Package " + packageDeal.code() + " does not apply to payer class "
+                + payerClass.getPaymentType());
+        }
+        PackageItemPrice item = packageDeal.items().get(tariff.id());
+        if (item == null) {
+            throw new BusinessException("Tariff " + tariff.code() + " is not part of package " + packageDeal.code());
+        }
+        if (line.quantity() > item.quantity()) {
+            throw new BusinessException("Package " + packageDeal.code() + " covers " + item.quantity() + " x "
+                + tariff.code() + "; bill the remaining quantity as a separate item");
+        }
+        return new PricedItem(tariff.id(), tariff.code(), tariff.name(), tariff.tariffType(), tariff.unit(),
+            payerClass, packageDeal.id(), packageDeal.code(), date, line.quantity(), item.unitPrice(),
+            item.unitPrice().multiply(BigDecimal.valueOf(line.quantity())));
+    }
+
+    private String changeStamp() {
+        return stampOf(tariffRepository.findChangeStamp())
+            + "|" + stampOf(packageDealRepository.findChangeStamp())
+            + "|" + stampOf(packageDealRepository.findItemChangeStamp());
+    }
+
+    private static String stampOf(TariffRepository.ChangeStamp stamp) {
+        return stamp == null ? "-" : stamp.getRowCount() + "/" + stamp.getLastUpdated() + "/" + stamp.getVersionSum();
+    }
+
+    /**
+     * Load all active tariffs and packages and swap in the new book.
+     * The stamp is taken before loading, so changes made while loading trigger the next refresh.
+     */
+    private void build(String stamp) {
+        long start = System.nanoTime();
+
+        Map<UUID, TariffPrice> byId = new HashMap<>();
+        Map<String, List<TariffPrice>> byCode = new HashMap<>();
+        for (Tariff tariff : tariffRepository.findByActive(true)) {
+            TariffPrice price = TariffPrice.from(tariff);
+            byId.put(price.id(), price);
+            byCode.computeIfAbsent(normalizeCode(price.code()), code -> new ArrayList<>()).add(price);
+        }
+        // Latest effective version first
+        Comparator<TariffPrice> latestFirst = Comparator.comparing(TariffPrice::effectiveDate,
+            Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder())).reversed();
+        byCode.replaceAll((code, versions) -> {
+            versions.sort(latestFirst);
+            return List.copyOf(versions);
+        });
+
+        Map<UUID, PackagePrice> packagesById = new HashMap<>();
+        for (PackageDeal packageDeal : packageDealRepository.findActiveWithItems()) {
+            packagesById.put(packageDeal.getId(), PackagePrice.from(packageDeal));
+        }
+
+        book = new TariffBook(stamp, Map.copyOf(byId), Map.copyOf(byCode), Map.copyOf(packagesById));
+        log.info("Tariff book loaded: {} tariffs, {} packages in {} ms", byId.size(), packagesById.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null ? "" : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static PriceQuoteResponse.Line toQuoteLine(PricedItem item) {
+        return PriceQuoteResponse.Line.builder()
+            .tariffId(item.tariffId())
+            .tariffCode(item.tariffCode())
+            .tariffName(item.tariffName())
+            .tariffType(item.tariffType())
+            .unit(item.unit())
+            .packageDealId(item.packageDealId())
+            .packageDealCode(item.packageDealCode())
+            .serviceDate(item.serviceDate())
+            .quantity(item.quantity())
+            .unitPrice(item.unitPrice())
+            .totalPrice(item.totalPrice())
+            .build();
+    }
+
+    private static boolean isValidOn(LocalDate effectiveDate, LocalDate expiryDate, LocalDate date) {
+        return (effectiveDate == null || !date.isBefore(effectiveDate))
+            && (expiryDate == null || !date.isAfter(expiryDate));
+    }
+
+    // ========== Pricing Types ==========
+
+    /**
+     * Item to price, identified by tariff ID or tariff code.
+     *
+     * @param packageDealId package the item is billed under, or null
+     * @param serviceDate date of service, or null for the call's default date
+     */
+    public record PriceLine(UUID tariffId, String tariffCode, UUID packageDealId, int quantity, LocalDate serviceDate) {
+    }
+
+    /**
+     * Priced item.
+     */
+    public record PricedItem(
+        UUID tariffId,
+        String tariffCode,
+        String tariffName,
+        TariffType tariffType,
+        String unit,
+        PayerClass payerClass,
+        UUID packageDealId,
+        String packageDealCode,
+        LocalDate serviceDate,
+        int quantity,
+        BigDecimal unitPrice,
+        BigDecimal totalPrice
+    ) {
+    }
+
+    /**
+     * Immutable snapshot of all active tariffs and packages.
+     *
+     * @param byCode tariff versions by normalized code, latest effective date first
+     */
+    private record TariffBook(
+        String stamp,
+        Map<UUID, TariffPrice> byId,
+        Map<String, List<TariffPrice>> byCode,
+        Map<UUID, PackagePrice> packagesById
+    ) {
+        static final TariffBook EMPTY = new TariffBook("", Map.of(), Map.of(), Map.of());
+
+        boolean resolvesAll(List<PriceLine> lines) {
+            for (PriceLine line : lines) {
+                boolean tariffKnown = line.tariffId() != null
+                    ? byId.containsKey(line.tariffId())
+                    : byCode.containsKey(normalizeCode(line.tariffCode()));
+                if (!tariffKnown || line.packageDealId() != null && !packagesById.containsKey(line.packageDealId())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Tariff of a line: by ID, or the version of its code valid on the date
+         * (the latest version if none is valid, so the caller reports it as not valid).
+         */
+        TariffPrice find(PriceLine line, LocalDate date) {
+            if (line.tariffId() != null) {
+                TariffPrice tariff = byId.get(line.tariffId());
+                if (tariff == null) {
+                    throw new ResourceNotFoundException("Tariff", line.tariffId());
+                }
+                return tariff;
+            }
+            if (line.tariffCode() == null || line.tariffCode().isBlank()) {
+                throw new BusinessException("Tariff ID or tariff code is required");
+            }
+            List<TariffPrice> versions = byCode.get(normalizeCode(line.tariffCode()));
+            if (versions == null) {
+                throw new ResourceNotFoundException("Tariff", "code", line.tariffCode());
+            }
+            return versions.stream().filter(version -> version.isValidOn(date)).findFirst().orElse(versions.get(0));
+        }
+    }
+
+    /**
+     * Prices of one tariff by payer class.
+     */
+    private record TariffPrice(
+        UUID id,
+        String code,
+        String name,
+        TariffType tariffType,
+        String unit,
+        LocalDate effectiveDate,
+        LocalDate expiryDate,
+        Map<PayerClass, BigDecimal> prices
+    ) {
+
+        static TariffPrice from(Tariff tariff) {
+            BigDecimal base = tariff.getBasePrice() != null ? tariff.getBasePrice() : BigDecimal.ZERO;
+            Map<PayerClass, BigDecimal> prices = new EnumMap<>(PayerClass.class);
+            prices.put(PayerClass.BASE, base);
+            prices.put(PayerClass.BPJS_CLASS1, orBase(tariff.getBpjsClass1Price(), base));
+            prices.put(PayerClass.BPJS_CLASS2, orBase(tariff.getBpjsClass2Price(), base));
+            prices.put(PayerClass.BPJS_CLASS3, orBase(tariff.getBpjsClass3Price(), base));
+            prices.put(PayerClass.INSURANCE, orBase(tariff.getInsurancePrice(), base));
+            prices.put(PayerClass.COMPANY, orBase(tariff.getCompanyPrice(), base));
+            return new TariffPrice(tariff.getId(), tariff.getCode(), tariff.getName(), tariff.getTariffType(),
+                tariff.getUnit(), tariff.getEffectiveDate(), tariff.getExpiryDate(), Collections.unmodifiableMap(prices));
+        }
+
+        private static BigDecimal orBase(BigDecimal price, BigDecimal base) {
+            return price != null ? price : base;
+        }
+
+        boolean isValidOn(LocalDate date) {
+            return TariffPricingService.isValidOn(effectiveDate, expiryDate, date);
+        }
+
+        BigDecimal priceFor(PayerClass payerClass) {
+            return prices.get(payerClass);
+        }
+    }
+
+    /**
+     * Package deal with the allocated unit price of each item.
+     *
+     * @param payerClasses payer classes the package applies to; empty = all
+     * @param items allocated item prices by tariff ID
+     */
+    private record PackagePrice(
+        UUID id,
+        String code,
+        LocalDate effectiveDate,
+        LocalDate expiryDate,
+        Set<PayerClass> payerClasses,
+        Map<UUID, PackageItemPrice> items
+    ) {
+
+        /**
+         * Allocate the package price over its items in proportion to their regular prices,
+         * so billing every item of the package adds up to the package price (up to rounding).
+         */
+        static PackagePrice from(PackageDeal packageDeal) {
+            BigDecimal regularTotal = BigDecimal.ZERO;
+            for (PackageDealItem item : packageDeal.getItems()) {
+                regularTotal = regularTotal.add(itemTotal(item));
+            }
+            BigDecimal packagePrice = packageDeal.getPackagePrice() != null
+                ? packageDeal.getPackagePrice() : regularTotal;
+
+            Map<UUID, PackageItemPrice> items = new HashMap<>();
+            for (PackageDealItem item : packageDeal.getItems()) {
+                if (item.getTariff() == null) {
+                    continue;
+                }
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+                BigDecimal unitPrice = regularTotal.signum() > 0
+                    ? itemTotal(item).multiply(packagePrice)
+                        .divide(regularTotal.multiply(BigDecimal.valueOf(quantity)), PRICE_SCALE, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(PRICE_SCALE);
+                items.merge(item.getTariff().getId(), new PackageItemPrice(quantity, unitPrice),
+                    (a, b) -> new PackageItemPrice(a.quantity() + b.quantity(), a.unitPrice()));
+            }
+            return new PackagePrice(packageDeal.getId(), packageDeal.getCode(), packageDeal.getEffectiveDate(),
+                packageDeal.getExpiryDate(), parsePayerClasses(packageDeal.getApplicablePaymentTypes()),
+                Map.copyOf(items));
+        }
+
+        private static BigDecimal itemTotal(PackageDealItem item) {
+            if (item.getTotalPrice() != null) {
+                return item.getTotalPrice();
+            }
+            BigDecimal unitPrice = item.getUnitPrice() != null ? item.getUnitPrice() : BigDecimal.ZERO;
+            return unitPrice.multiply(BigDecimal.valueOf(item.getQuantity() != null ? item.getQuantity() : 1));
+        }
+
+        private static Set<PayerClass> parsePayerClasses(String paymentTypes) {
+            Set<PayerClass> payerClasses = EnumSet.noneOf(PayerClass.class);
+            if (paymentTypes == null || paymentTypes.isBlank()) {
+                return Collections.unmodifiableSet(payerClasses);
+            }
+            for (String paymentType : paymentTypes.split(",")) {
+                String trimmed = paymentType.trim();
+                if (trimmed.equalsIgnoreCase("BPJS")) {
+                    payerClasses.addAll(EnumSet.of(PayerClass.BPJS_CLASS1, PayerClass.BPJS_CLASS2,
+                        PayerClass.BPJS_CLASS3));
+                    continue;
+                }
+                for (PayerClass payerClass : PayerClass.values()) {
+                    if (payerClass.getPaymentType().equalsIgnoreCase(trimmed)
+                            || payerClass.name().equalsIgnoreCase(trimmed)) {
+                        payerClasses.add(payerClass);
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(payerClasses);
+        }
+
+        boolean isValidOn(LocalDate date) {
+            return TariffPricingService.isValidOn(effectiveDate, expiryDate, date);
+        }
+
+        boolean appliesTo(PayerClass payerClass) {
+            return payerClasses.isEmpty() || payerClasses.contains(payerClass);
+        }
+    }
+
+    /**
+     * Allocated unit price of a package item, and the quantity the package covers.
+     */
+    private record PackageItemPrice(int quantity, BigDecimal unitPrice) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.yudha.hms.billing.util;
+
+import com.yudha.hms.billing.config.BillingDocumentProperties;
+import com.yudha.hms.shared.util.PdfStreamWriter;
+import com.yudha.hms.shared.util.PdfStreamWriter.Font;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Shared layout of billing documents (invoices, receipts).
+ *
+ * Formatting avoids String.format and DateTimeFormatter, which dominate the cost of
+ * rendering a text-only PDF.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+public final class BillingPdfLayout {
+
+    public static final float MARGIN = 40f;
+    public static final float FOOTER_Y = 30f;
+
+    private BillingPdfLayout() {
+    }
+
+    /**
+     * Draw the letterhead with a document title on the right; returns the y below it.
+     */
+    public static float letterhead(PdfStreamWriter.Canvas canvas, BillingDocumentProperties properties,
+                                   float pageWidth, float pageHeight, String title) {
+        float top = pageHeight - MARGIN - 12f;
+        canvas.text(Font.BOLD, 13f, MARGIN, top, properties.getHospitalName());
+        canvas.text(Font.REGULAR, 8.5f, MARGIN, top - 13f, properties.getHospitalAddress());
+        canvas.text(Font.REGULAR, 8.5f, MARGIN, top - 24f, properties.getHospitalPhone());
+        canvas.textRight(Font.BOLD, 15f, pageWidth - MARGIN, top, title);
+        float ruleY = top - 32f;
+        canvas.line(MARGIN, ruleY, pageWidth - MARGIN, ruleY, 1f);
+        return ruleY - 18f;
+    }
+
+    /**
+     * Amount with thousands separators and two decimals, e.g. 1,250,000.00.
+     */
+    public static String amount(BigDecimal value) {
+        if (value == null) {
+            return "0.00";
+        }
+        String plain = value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        boolean negative = plain.charAt(0) == '-';
+        int dot = plain.length() - 3;
+        int start = negative ? 1 : 0;
+        StringBuilder sb = new StringBuilder(plain.length() + 8);
+        if (negative) {
+            sb.append('-');
+        }
+        for (int i = start; i < dot; i++) {
+            sb.append(plain.charAt(i));
+            int remaining = dot - i - 1;
+            if (remaining > 0 && remaining % 3 == 0) {
+                sb.append(',');
+            }
+        }
+        return sb.append(plain, dot, plain.length()).toString();
+    }
+
+    /**
+     * Date as dd/MM/yyyy.
+     */
+    public static String date(LocalDate value) {
+        if (value == null) {
+            return "-";
+        }
+        StringBuilder sb = new StringBuilder(10);
+        pad2(sb, value.getDayOfMonth()).append('/');
+        pad2(sb, value.getMonthValue()).append('/');
+        return sb.append(value.getYear()).toString();
+    }
+
+    /**
+     * Date-time as dd/MM/yyyy HH:mm.
+     */
+    public static String dateTime(LocalDateTime value) {
+        if (value == null) {
+            return "-";
+        }
+        StringBuilder sb = new StringBuilder(date(value.toLocalDate())).append(' ');
+        pad2(sb, value.getHour()).append(':');
+        return pad2(sb, value.getMinute()).toString();
+    }
+
+    /**
+     * Text or "-" when empty.
+     */
+    public static String orDash(Object value) {
+        if (value == null) {
+            return "-";
+        }
+        String text = value.toString();
+        return text.isBlank() ? "-" : text;
+    }
+
+    private static StringBuilder pad2(StringBuilder sb, int value) {
+        if (value < 10) {
+            sb.append('0');
+        }
+        return sb.append(value);
+    }
+}
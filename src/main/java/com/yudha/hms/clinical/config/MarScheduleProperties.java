@@ -0,0 +1,92 @@
+package com.yudha.hms.clinical.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ward Medication Administration Schedule Configuration Properties.
+ *
+ * Binds standing order expansion, the in-memory ward MAR timeline and live push
+ * settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.clinical.mar-schedule")
+@Data
+public class MarScheduleProperties {
+
+    /**
+     * Enable/disable standing order expansion and the ward timeline
+     */
+    private boolean enabled = true;
+
+    /**
+     * Standing orders are expanded into dose slots up to this far ahead (hours)
+     */
+    private int horizonHours = 24;
+
+    /**
+     * Pending doses scheduled up to this far back are kept on the timeline (hours)
+     */
+    private int lookbackHours = 24;
+
+    /**
+     * Default look-ahead of a ward medication round (hours)
+     */
+    private int roundHoursAhead = 2;
+
+    /**
+     * A dose becomes due this long before its scheduled time (minutes)
+     */
+    private int dueLeadMinutes = 30;
+
+    /**
+     * A dose becomes overdue this long after its scheduled time (minutes).
+     * Default matches the one-hour administration window of the MAR entry.
+     */
+    private int overdueAfterMinutes = 60;
+
+    /**
+     * A dose still pending this long after its scheduled time is missed (minutes)
+     */
+    private int missedAfterMinutes = 240;
+
+    /**
+     * Record missed doses as MISSED automatically; otherwise they stay overdue on the timeline
+     */
+    private boolean autoMarkMissed = false;
+
+    /**
+     * Interval of due/overdue evaluation and push to ward stations in milliseconds
+     * Default: 30000 (30 seconds)
+     */
+    private long tickIntervalMs = 30000L;
+
+    /**
+     * Interval of standing order expansion in milliseconds
+     * Default: 900000 (15 minutes)
+     */
+    private long expandIntervalMs = 900000L;
+
+    /**
+     * Interval of the full timeline reload from the database in milliseconds.
+     * Picks up changes made on other nodes and encounters moved between wards.
+     * Default: 300000 (5 minutes)
+     */
+    private long resyncIntervalMs = 300000L;
+
+    /**
+     * Lifetime of a live subscription before the client has to reconnect (milliseconds)
+     * Default: 1800000 (30 minutes)
+     */
+    private long subscriptionTimeoutMs = 1800000L;
+
+    /**
+     * Maximum concurrent live subscribers
+     */
+    private int maxSubscribers = 200;
+}
@@ -0,0 +1,51 @@
+package com.yudha.hms.clinical.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Vital Sign Time Series Configuration Properties.
+ *
+ * Binds vital sign sample storage, monitor ingest and charting settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.clinical.vital-series")
+@Data
+public class VitalSeriesProperties {
+
+    /**
+     * Points per metric returned when the client does not ask for a count
+     */
+    private int defaultPoints = 500;
+
+    /**
+     * Upper bound of points per metric a client may ask for
+     */
+    private int maxPoints = 5000;
+
+    /**
+     * Ranges with more samples than points x this factor are pre-aggregated in the
+     * database into that many buckets before downsampling
+     */
+    private int preAggregateFactor = 4;
+
+    /**
+     * Maximum samples accepted in one monitor gateway batch
+     */
+    private int maxBatchSamples = 50000;
+
+    /**
+     * Oldest sample a gateway may send (days before now)
+     */
+    private int maxBackfillDays = 31;
+
+    /**
+     * Monthly partitions created ahead of the current month
+     */
+    private int partitionMonthsAhead = 2;
+}
@@ -2,13 +2,16 @@ package com.yudha.hms.clinical.controller;
 
 import com.yudha.hms.clinical.dto.*;
 import com.yudha.hms.clinical.service.MedicationAdministrationService;
+import com.yudha.hms.clinical.service.WardMarScheduler;
 import com.yudha.hms.shared.dto.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -28,6 +31,7 @@ import java.util.UUID;
 public class MedicationAdministrationController {
 
     private final MedicationAdministrationService medicationAdministrationService;
+    private final WardMarScheduler wardMarScheduler;
 
     /**
      * POST /api/clinical/encounters/{encounterId}/medications
@@ -334,4 +338,58 @@ public class MedicationAdministrationController {
             .data(response)
             .build());
     }
+
+    /**
+     * POST /api/clinical/encounters/{encounterId}/medications/orders/{medicationOrderId}/discontinue
+     * Discontinue a standing medication order (all doses not yet given).
+     */
+    @PostMapping("/encounters/{encounterId}/medications/orders/{medicationOrderId}/discontinue")
+    public ResponseEntity<ApiResponse<List<MedicationAdministrationResponse>>> discontinueOrder(
+        @PathVariable UUID encounterId,
+        @PathVariable UUID medicationOrderId,
+        @Valid @RequestBody MedicationDiscontinueRequest request
+    ) {
+        log.info("POST /api/clinical/encounters/{}/medications/orders/{}/discontinue", encounterId, medicationOrderId);
+
+        List<MedicationAdministrationResponse> discontinued = medicationAdministrationService
+            .discontinueOrder(encounterId, medicationOrderId, request);
+
+        return ResponseEntity.ok(ApiResponse.<List<MedicationAdministrationResponse>>builder()
+            .success(true)
+            .message(String.format("Order medication dihentikan: %d dosis", discontinued.size()))
+            .data(discontinued)
+            .build());
+    }
+
+    /**
+     * GET /api/clinical/wards/{wardId}/medication-round
+     * Get the medication round of a ward: overdue, due and upcoming doses of all patients.
+     */
+    @GetMapping("/wards/{wardId}/medication-round")
+    public ResponseEntity<ApiResponse<WardMedicationRoundResponse>> getWardMedicationRound(
+        @PathVariable UUID wardId,
+        @RequestParam(required = false) Integer hoursAhead
+    ) {
+        log.info("GET /api/clinical/wards/{}/medication-round", wardId);
+
+        WardMedicationRoundResponse round = wardMarScheduler.getRound(wardId, hoursAhead);
+
+        return ResponseEntity.ok(ApiResponse.<WardMedicationRoundResponse>builder()
+            .success(true)
+            .message(String.format("Ronde obat ruangan: %d terlambat, %d jatuh tempo",
+                round.getOverdueCount(), round.getDueCount()))
+            .data(round)
+            .build());
+    }
+
+    /**
+     * GET /api/clinical/wards/{wardId}/medication-round/stream
+     * Live medication timeline of a ward (Server-Sent Events).
+     * Sends a "snapshot" event, then "due" and "overdue" events and a periodic "heartbeat".
+     */
+    @GetMapping(value = "/wards/{wardId}/medication-round/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWardMedicationRound(@PathVariable UUID wardId) {
+        log.info("New ward medication subscriber, ward: {}", wardId);
+        return wardMarScheduler.subscribe(wardId);
+    }
 }
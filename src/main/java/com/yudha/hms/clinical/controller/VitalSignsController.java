@@ -1,8 +1,13 @@
 package com.yudha.hms.clinical.controller;
 
+import com.yudha.hms.clinical.dto.VitalSampleBatchRequest;
+import com.yudha.hms.clinical.dto.VitalSampleBatchResponse;
 import com.yudha.hms.clinical.dto.VitalSignsChartDto;
 import com.yudha.hms.clinical.dto.VitalSignsRequest;
 import com.yudha.hms.clinical.dto.VitalSignsResponse;
+import com.yudha.hms.clinical.dto.VitalSignsSeriesResponse;
+import com.yudha.hms.clinical.entity.VitalMetric;
+import com.yudha.hms.clinical.service.VitalSignsSeriesService;
 import com.yudha.hms.clinical.service.VitalSignsService;
 import com.yudha.hms.shared.dto.ApiResponse;
 import jakarta.validation.Valid;
@@ -15,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -32,6 +38,7 @@ import java.util.UUID;
 public class VitalSignsController {
 
     private final VitalSignsService vitalSignsService;
+    private final VitalSignsSeriesService vitalSignsSeriesService;
 
     /**
      * POST /api/clinical/encounters/{encounterId}/vital-signs
@@ -121,6 +128,31 @@ public class VitalSignsController {
             .build());
     }
 
+    /**
+     * GET /api/clinical/encounters/{encounterId}/vital-signs/series
+     * Get downsampled vital sign series (monitor and nursing readings) for charting.
+     */
+    @GetMapping("/encounters/{encounterId}/vital-signs/series")
+    public ResponseEntity<ApiResponse<VitalSignsSeriesResponse>> getVitalSignsSeries(
+        @PathVariable UUID encounterId,
+        @RequestParam(required = false) Set<VitalMetric> metrics,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+        @RequestParam(required = false) Integer points,
+        @RequestParam(required = false) VitalSignsSeriesService.DownsampleMode mode
+    ) {
+        log.info("GET /api/clinical/encounters/{}/vital-signs/series", encounterId);
+
+        VitalSignsSeriesResponse series = vitalSignsSeriesService.getSeries(
+            encounterId, metrics, from, to, points, mode);
+
+        return ResponseEntity.ok(ApiResponse.<VitalSignsSeriesResponse>builder()
+            .success(true)
+            .message("Data series vital signs berhasil diambil")
+            .data(series)
+            .build());
+    }
+
     /**
      * GET /api/clinical/encounters/{encounterId}/vital-signs/abnormal
      * Get abnormal vital signs for an encounter.
@@ -252,4 +284,24 @@ public class VitalSignsController {
             .message("Vital signs berhasil dihapus")
             .build());
     }
+
+    /**
+     * POST /api/clinical/vital-signs/samples/bulk
+     * Bulk ingest of bedside monitor readings from a monitor gateway.
+     */
+    @PostMapping("/vital-signs/samples/bulk")
+    public ResponseEntity<ApiResponse<VitalSampleBatchResponse>> ingestVitalSamples(
+        @Valid @RequestBody VitalSampleBatchRequest request
+    ) {
+        log.info("POST /api/clinical/vital-signs/samples/bulk - {} series from {}",
+            request.getSeries().size(), request.getSource());
+
+        VitalSampleBatchResponse response = vitalSignsSeriesService.ingest(request);
+
+        return ResponseEntity.ok(ApiResponse.<VitalSampleBatchResponse>builder()
+            .success(true)
+            .message(String.format("%d sampel vital signs disimpan", response.getInserted()))
+            .data(response)
+            .build());
+    }
 }
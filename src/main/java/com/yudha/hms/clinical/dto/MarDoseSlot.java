@@ -0,0 +1,55 @@
+package com.yudha.hms.clinical.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one scheduled dose on a ward medication timeline.
+ *
+ * State and minutes late are computed when the slot is read.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarDoseSlot {
+
+    private UUID id;
+    private String marNumber;
+
+    // Patient and location
+    private UUID encounterId;
+    private UUID patientId;
+    private UUID wardId;
+    private String location;
+
+    // Medication
+    private UUID medicationOrderId;
+    private String medicationName;
+    private String dose;
+    private String doseUnit;
+    private String route;
+    private String frequency;
+    private Boolean isHighAlertMedication;
+    private Boolean needsWitnessVerification;
+
+    // Schedule
+    private LocalDateTime scheduledDateTime;
+    private State state;
+    private Long minutesLate;
+
+    /**
+     * Position of a dose in the administration window.
+     */
+    public enum State {
+        UPCOMING,
+        DUE,
+        OVERDUE
+    }
+}
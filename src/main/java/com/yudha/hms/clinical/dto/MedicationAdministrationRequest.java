@@ -61,6 +61,11 @@ public class MedicationAdministrationRequest {
 
     private Integer frequencyTimesPerDay;
 
+    // Standing order end: explicit, or first scheduled dose + duration days
+    private LocalDateTime orderEndDateTime;
+
+    private Integer durationDays;
+
     // Schedule
     @NotNull(message = "Schedule type is required")
     private ScheduleType scheduleType;
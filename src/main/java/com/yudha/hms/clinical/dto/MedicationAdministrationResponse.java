@@ -63,6 +63,8 @@ public class MedicationAdministrationResponse {
 
     private Integer frequencyTimesPerDay;
 
+    private LocalDateTime orderEndDateTime;
+
     // Schedule
     private ScheduleType scheduleType;
 
@@ -0,0 +1,24 @@
+package com.yudha.hms.clinical.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for discontinuing a standing medication order.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicationDiscontinueRequest {
+
+    @NotBlank(message = "Discontinue reason is required")
+    private String discontinueReason;
+}
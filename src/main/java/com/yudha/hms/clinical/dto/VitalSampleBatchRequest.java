@@ -0,0 +1,69 @@
+package com.yudha.hms.clinical.dto;
+
+import com.yudha.hms.clinical.entity.VitalMetric;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for bulk vital sign ingest from bedside monitor gateways.
+ *
+ * Samples are sent per encounter and metric as parallel arrays of times (epoch
+ * milliseconds) and values. Resending a batch is safe: readings already stored for the
+ * same encounter, metric and time are skipped.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSampleBatchRequest {
+
+    @NotBlank(message = "Gateway source is required")
+    @Size(max = 50, message = "Gateway source must not exceed 50 characters")
+    private String source;
+
+    @NotEmpty(message = "At least one series is required")
+    @Valid
+    private List<SeriesData> series;
+
+    /**
+     * Readings of one metric of one encounter.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SeriesData {
+
+        @NotNull(message = "Encounter ID is required")
+        private UUID encounterId;
+
+        @NotNull(message = "Metric is required")
+        private VitalMetric metric;
+
+        /**
+         * Sample times (epoch milliseconds)
+         */
+        @NotNull(message = "Sample times are required")
+        private long[] t;
+
+        /**
+         * Sample values, same length as t
+         */
+        @NotNull(message = "Sample values are required")
+        private double[] v;
+    }
+}
@@ -0,0 +1,32 @@
+package com.yudha.hms.clinical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk vital sign ingest.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSampleBatchResponse {
+
+    private int received;
+
+    private int inserted;
+
+    private int duplicates;
+
+    private int rejected;
+
+    private List<String> errors;
+}
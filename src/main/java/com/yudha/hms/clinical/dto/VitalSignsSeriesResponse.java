@@ -0,0 +1,67 @@
+package com.yudha.hms.clinical.dto;
+
+import com.yudha.hms.clinical.entity.VitalMetric;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for downsampled vital sign charts.
+ *
+ * Each metric is returned in columnar form: times (epoch milliseconds), values, and the
+ * low/high envelope of the readings each point stands for.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSignsSeriesResponse {
+
+    private UUID encounterId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private String mode; // LTTB, MIN_MAX
+
+    private int points;
+
+    private List<MetricSeries> series;
+
+    /**
+     * Downsampled readings of one metric.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MetricSeries {
+
+        private VitalMetric metric;
+
+        private String unit;
+
+        /**
+         * Readings in the range before downsampling
+         */
+        private long rawCount;
+
+        private long[] t;
+
+        private double[] v;
+
+        private double[] lo;
+
+        private double[] hi;
+    }
+}
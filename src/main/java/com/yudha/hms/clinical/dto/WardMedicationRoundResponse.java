@@ -0,0 +1,37 @@
+package com.yudha.hms.clinical.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO for a ward medication round.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WardMedicationRoundResponse {
+
+    private UUID wardId;
+    private LocalDateTime generatedAt;
+    private LocalDateTime roundUntil;
+
+    private Integer overdueCount;
+    private Integer dueCount;
+    private Integer upcomingCount;
+
+    /**
+     * Doses in scheduled time order
+     */
+    private List<MarDoseSlot> doses;
+}
@@ -109,6 +109,12 @@ public class MedicationAdministration extends AuditableEntity {
     @Column(name = "frequency_times_per_day")
     private Integer frequencyTimesPerDay;
 
+    /**
+     * End of the standing order; doses are generated only before it
+     */
+    @Column(name = "order_end_date_time")
+    private LocalDateTime orderEndDateTime;
+
     // ========== Schedule Information ==========
     @Enumerated(EnumType.STRING)
     @Column(name = "schedule_type", nullable = false, length = 20)
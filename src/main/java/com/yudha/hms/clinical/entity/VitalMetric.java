@@ -0,0 +1,51 @@
+package com.yudha.hms.clinical.entity;
+
+import java.util.function.Function;
+
+/**
+ * Vital sign metrics stored in the vital sign time series.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+public enum VitalMetric {
+    SYSTOLIC_BP("Systolic BP", "mmHg", VitalSigns::getSystolicBp),
+    DIASTOLIC_BP("Diastolic BP", "mmHg", VitalSigns::getDiastolicBp),
+    MEAN_ARTERIAL_PRESSURE("Mean Arterial Pressure", "mmHg", VitalSigns::getMeanArterialPressure),
+    HEART_RATE("Heart Rate", "bpm", VitalSigns::getHeartRate),
+    RESPIRATORY_RATE("Respiratory Rate", "breaths/min", VitalSigns::getRespiratoryRate),
+    TEMPERATURE("Temperature", "°C", VitalSigns::getTemperature),
+    SPO2("SpO2", "%", VitalSigns::getSpo2),
+    PAIN_SCORE("Pain Score", "0-10", VitalSigns::getPainScore),
+    GCS_TOTAL("GCS Total", "3-15", VitalSigns::getGcsTotal),
+    BLOOD_GLUCOSE("Blood Glucose", "mg/dL", VitalSigns::getBloodGlucose);
+
+    private final String displayName;
+    private final String unit;
+    private final Function<VitalSigns, ? extends Number> extractor;
+
+    VitalMetric(String displayName, String unit, Function<VitalSigns, ? extends Number> extractor) {
+        this.displayName = displayName;
+        this.unit = unit;
+        this.extractor = extractor;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    /**
+     * Value of this metric in a nursing vital signs record.
+     *
+     * @return value, or null if not measured
+     */
+    public Double valueOf(VitalSigns vitalSigns) {
+        Number value = extractor.apply(vitalSigns);
+        return value != null ? value.doubleValue() : null;
+    }
+}
@@ -193,4 +193,64 @@ public interface MedicationAdministrationRepository extends JpaRepository<Medica
            "AND ma.route = 'IV' " +
            "ORDER BY ma.scheduledDateTime DESC")
     List<MedicationAdministration> findIvMedicationsByEncounterId(@Param("encounterId") UUID encounterId);
+
+    /**
+     * Find all doses of a medication order in an encounter.
+     */
+    @Query("SELECT ma FROM MedicationAdministration ma WHERE ma.encounter.id = :encounterId " +
+           "AND ma.medicationOrderId = :medicationOrderId " +
+           "ORDER BY ma.scheduledDateTime ASC")
+    List<MedicationAdministration> findByEncounterIdAndMedicationOrderId(
+        @Param("encounterId") UUID encounterId,
+        @Param("medicationOrderId") UUID medicationOrderId
+    );
+
+    /**
+     * Find pending doses of in-progress encounters placed on a ward, in a schedule window
+     * (ward medication timeline).
+     */
+    @Query("SELECT ma FROM MedicationAdministration ma JOIN FETCH ma.encounter e " +
+           "WHERE ma.administered = false " +
+           "AND ma.administrationStatus = 'PENDING' " +
+           "AND ma.scheduledDateTime BETWEEN :from AND :to " +
+           "AND e.status = 'IN_PROGRESS' " +
+           "AND e.locationId IS NOT NULL " +
+           "ORDER BY ma.scheduledDateTime ASC")
+    List<MedicationAdministration> findPendingOnWardsBetween(
+        @Param("from") LocalDateTime from,
+        @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Find the latest dose of every standing order that is still running:
+     * scheduled, linked to an order with an end, encounter in progress and not discontinued.
+     */
+    @Query("SELECT ma FROM MedicationAdministration ma JOIN FETCH ma.encounter e " +
+           "WHERE ma.scheduleType = 'SCHEDULED' " +
+           "AND ma.medicationOrderId IS NOT NULL " +
+           "AND ma.orderEndDateTime > ma.scheduledDateTime " +
+           "AND ma.scheduledDateTime IS NOT NULL " +
+           "AND e.status = 'IN_PROGRESS' " +
+           "AND ma.scheduledDateTime = (SELECT MAX(m2.scheduledDateTime) FROM MedicationAdministration m2 " +
+           "    WHERE m2.encounter = ma.encounter AND m2.medicationOrderId = ma.medicationOrderId) " +
+           "AND NOT EXISTS (SELECT m3 FROM MedicationAdministration m3 " +
+           "    WHERE m3.encounter = ma.encounter AND m3.medicationOrderId = ma.medicationOrderId " +
+           "    AND m3.administrationStatus = 'DISCONTINUED')")
+    List<MedicationAdministration> findStandingOrderHeads();
+
+    /**
+     * Take a transaction-scoped advisory lock, so only one node expands standing orders at a time.
+     *
+     * @return true if the lock was acquired
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+
+    /**
+     * Get next MAR number sequence value
+     *
+     * @return next sequence number
+     */
+    @Query(value = "SELECT nextval('clinical_schema.mar_number_sequence')", nativeQuery = true)
+    Long getNextMarNumberSequence();
 }
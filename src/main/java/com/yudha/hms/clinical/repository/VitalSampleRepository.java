@@ -0,0 +1,232 @@
+package com.yudha.hms.clinical.repository;
+
+import com.yudha.hms.clinical.entity.VitalMetric;
+import com.yudha.hms.shared.util.TimeSeriesDownsampler.Series;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository for the vital sign time series (clinical_schema.vital_sign_samples).
+ *
+ * Uses plain JDBC rather than JPA: samples are written in batches of thousands and read
+ * straight into columnar arrays, without entity instances per reading.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Repository
+@RequiredArgsConstructor
+public class VitalSampleRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO clinical_schema.vital_sign_samples " +
+        "(encounter_id, metric, sample_time, value, patient_id, source, source_ref) " +
+        "VALUES (:encounterId, :metric, :sampleTime, :value, :patientId, :source, :sourceRef) ";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Create the monthly partition containing the given date if it does not exist.
+     * Runs in its own transaction so the partition stays even if the caller rolls back.
+     *
+     * @param month any date of the month
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensurePartition(LocalDate month) {
+        jdbc.queryForObject("SELECT clinical_schema.ensure_vital_sign_sample_partition(:month)",
+            new MapSqlParameterSource("month", Date.valueOf(month)), String.class);
+    }
+
+    /**
+     * Insert samples; samples already stored for the same encounter, metric and time are skipped.
+     *
+     * @return number of samples inserted
+     */
+    public int insertIgnoringDuplicates(List<Sample> samples) {
+        return sum(jdbc.batchUpdate(INSERT_SQL + "ON CONFLICT DO NOTHING", toParams(samples)));
+    }
+
+    /**
+     * Insert samples, replacing stored values for the same encounter, metric and time.
+     *
+     * @return number of samples written
+     */
+    public int upsert(List<Sample> samples) {
+        return sum(jdbc.batchUpdate(INSERT_SQL +
+            "ON CONFLICT (encounter_id, metric, sample_time) DO UPDATE SET " +
+            "value = EXCLUDED.value, patient_id = EXCLUDED.patient_id, " +
+            "source = EXCLUDED.source, source_ref = EXCLUDED.source_ref", toParams(samples)));
+    }
+
+    /**
+     * Delete the samples written from one nursing vital signs record.
+     *
+     * @return number of samples deleted
+     */
+    public int deleteBySourceRef(UUID sourceRef) {
+        return jdbc.update("DELETE FROM clinical_schema.vital_sign_samples WHERE source_ref = :sourceRef",
+            new MapSqlParameterSource("sourceRef", sourceRef));
+    }
+
+    /**
+     * Count samples per metric in a time range.
+     */
+    public Map<VitalMetric, Long> countByMetric(UUID encounterId, Collection<VitalMetric> metrics,
+                                                LocalDateTime from, LocalDateTime to) {
+        Map<VitalMetric, Long> counts = new EnumMap<>(VitalMetric.class);
+        jdbc.query(
+            "SELECT metric, COUNT(*) AS samples FROM clinical_schema.vital_sign_samples " +
+            "WHERE encounter_id = :encounterId AND metric IN (:metrics) " +
+            "AND sample_time >= :from AND sample_time < :to GROUP BY metric",
+            rangeParams(encounterId, metrics, from, to),
+            rs -> {
+                counts.put(VitalMetric.valueOf(rs.getString("metric")), rs.getLong("samples"));
+            });
+        return counts;
+    }
+
+    /**
+     * Read raw samples per metric, in time order.
+     */
+    public Map<VitalMetric, Series> findRaw(UUID encounterId, Collection<VitalMetric> metrics,
+                                            LocalDateTime from, LocalDateTime to) {
+        Map<VitalMetric, SeriesBuilder> builders = new EnumMap<>(VitalMetric.class);
+        jdbc.query(
+            "SELECT metric, sample_time, value FROM clinical_schema.vital_sign_samples " +
+            "WHERE encounter_id = :encounterId AND metric IN (:metrics) " +
+            "AND sample_time >= :from AND sample_time < :to ORDER BY metric, sample_time",
+            rangeParams(encounterId, metrics, from, to),
+            rs -> {
+                double value = rs.getDouble("value");
+                builders.computeIfAbsent(VitalMetric.valueOf(rs.getString("metric")), m -> new SeriesBuilder())
+                    .add(toEpochMillis(rs.getTimestamp("sample_time")), value, value, value);
+            });
+        return build(builders);
+    }
+
+    /**
+     * Read samples aggregated into fixed-width time buckets (average with min/max envelope).
+     * Each bucket is timed at its first sample.
+     */
+    public Map<VitalMetric, Series> findBucketed(UUID encounterId, Collection<VitalMetric> metrics,
+                                                 LocalDateTime from, LocalDateTime to, long bucketMillis) {
+        Map<VitalMetric, SeriesBuilder> builders = new EnumMap<>(VitalMetric.class);
+        MapSqlParameterSource params = rangeParams(encounterId, metrics, from, to)
+            .addValue("bucketMillis", (double) bucketMillis);
+        jdbc.query(
+            "SELECT metric, MIN(sample_time) AS bucket_time, AVG(value) AS avg_value, " +
+            "MIN(value) AS min_value, MAX(value) AS max_value " +
+            "FROM clinical_schema.vital_sign_samples " +
+            "WHERE encounter_id = :encounterId AND metric IN (:metrics) " +
+            "AND sample_time >= :from AND sample_time < :to " +
+            "GROUP BY metric, FLOOR(EXTRACT(EPOCH FROM sample_time) * 1000 / :bucketMillis) " +
+            "ORDER BY metric, bucket_time",
+            params,
+            rs -> {
+                builders.computeIfAbsent(VitalMetric.valueOf(rs.getString("metric")), m -> new SeriesBuilder())
+                    .add(toEpochMillis(rs.getTimestamp("bucket_time")), rs.getDouble("avg_value"),
+                        rs.getDouble("min_value"), rs.getDouble("max_value"));
+            });
+        return build(builders);
+    }
+
+    private static MapSqlParameterSource rangeParams(UUID encounterId, Collection<VitalMetric> metrics,
+                                                     LocalDateTime from, LocalDateTime to) {
+        return new MapSqlParameterSource()
+            .addValue("encounterId", encounterId)
+            .addValue("metrics", metrics.stream().map(Enum::name).toList())
+            .addValue("from", Timestamp.valueOf(from))
+            .addValue("to", Timestamp.valueOf(to));
+    }
+
+    private static SqlParameterSource[] toParams(List<Sample> samples) {
+        SqlParameterSource[] params = new SqlParameterSource[samples.size()];
+        for (int i = 0; i < samples.size(); i++) {
+            Sample sample = samples.get(i);
+            params[i] = new MapSqlParameterSource()
+                .addValue("encounterId", sample.encounterId())
+                .addValue("metric", sample.metric().name())
+                .addValue("sampleTime", Timestamp.valueOf(sample.time()))
+                .addValue("value", sample.value())
+                .addValue("patientId", sample.patientId())
+                .addValue("source", sample.source())
+                .addValue("sourceRef", sample.sourceRef());
+        }
+        return params;
+    }
+
+    private static Map<VitalMetric, Series> build(Map<VitalMetric, SeriesBuilder> builders) {
+        Map<VitalMetric, Series> series = new EnumMap<>(VitalMetric.class);
+        builders.forEach((metric, builder) -> series.put(metric, builder.build()));
+        return series;
+    }
+
+    private static int sum(int[] counts) {
+        int total = 0;
+        for (int count : counts) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            total += count > 0 ? count : 0;
+        }
+        return total;
+    }
+
+    private static long toEpochMillis(Timestamp timestamp) {
+        return timestamp.toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * One vital sign reading.
+     */
+    public record Sample(UUID encounterId, UUID patientId, VitalMetric metric, LocalDateTime time,
+                         double value, String source, UUID sourceRef) {
+    }
+
+    /**
+     * Growable columnar arrays.
+     */
+    private static final class SeriesBuilder {
+        private long[] t = new long[256];
+        private double[] v = new double[256];
+        private double[] lo = new double[256];
+        private double[] hi = new double[256];
+        private int size;
+
+        void add(long time, double value, double low, double high) {
+            if (size == t.length) {
+                int capacity = size * 2;
+                t = Arrays.copyOf(t, capacity);
+                v = Arrays.copyOf(v, capacity);
+                lo = Arrays.copyOf(lo, capacity);
+                hi = Arrays.copyOf(hi, capacity);
+            }
+            t[size] = time;
+            v[size] = value;
+            lo[size] = low;
+            hi[size] = high;
+            size++;
+        }
+
+        Series build() {
+            return new Series(Arrays.copyOf(t, size), Arrays.copyOf(v, size),
+                Arrays.copyOf(lo, size), Arrays.copyOf(hi, size));
+        }
+    }
+}
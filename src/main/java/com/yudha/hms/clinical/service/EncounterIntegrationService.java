@@ -6,6 +6,7 @@ import com.yudha.hms.clinical.entity.NoteType;
 import com.yudha.hms.clinical.entity.ProgressNote;
 import com.yudha.hms.clinical.repository.EncounterRepository;
 import com.yudha.hms.clinical.repository.ProgressNoteRepository;
+import com.yudha.hms.integration.satusehat.service.SatusehatIdResolver;
 import com.yudha.hms.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,6 +42,7 @@ public class EncounterIntegrationService {
 
     private final EncounterRepository encounterRepository;
     private final ProgressNoteRepository progressNoteRepository;
+    private final SatusehatIdResolver satusehatIdResolver;
 
     /**
      * Get complete integration data for an encounter.
@@ -200,7 +202,7 @@ public class EncounterIntegrationService {
 
     /**
      * Build SATUSEHAT integration summary.
-     * Checks FHIR R4 sync status.
+     * Checks FHIR R4 sync status; the patient counts as synced once it has an IHS number.
      */
     private EncounterIntegrationResponse.SatusehatIntegrationSummary buildSatusehatIntegrationSummary(Encounter encounter) {
         boolean isSynced = encounter.getSatusehatSynced() != null && encounter.getSatusehatSynced();
@@ -212,7 +214,7 @@ public class EncounterIntegrationService {
             .syncedAt(encounter.getSatusehatSyncedAt())
             .syncStatus(syncStatus)
             .syncMessage(isSynced ? "Encounter synced to SATUSEHAT" : "Awaiting SATUSEHAT sync")
-            .patientSynced(false) // TODO: Check patient sync status when SATUSEHAT module is implemented
+            .patientSynced(satusehatIdResolver.resolve("Patient", encounter.getPatientId()).isPresent())
             .diagnosisSynced(false) // TODO: Check diagnosis sync status
             .proceduresSynced(false) // TODO: Check procedures sync status
             .observationsSynced(false) // TODO: Check observations sync status
@@ -0,0 +1,213 @@
+package com.yudha.hms.clinical.service;
+
+import com.yudha.hms.clinical.config.MarScheduleProperties;
+import com.yudha.hms.clinical.entity.AdministrationStatus;
+import com.yudha.hms.clinical.entity.MedicationAdministration;
+import com.yudha.hms.clinical.entity.ScheduleType;
+import com.yudha.hms.clinical.repository.MedicationAdministrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service for the database side of ward medication scheduling.
+ *
+ * A standing order is a series of SCHEDULED MAR entries sharing a medication order ID.
+ * Expansion reads the latest dose of every running order and creates the following dose
+ * slots, at the order's frequency, up to the configured horizon. The series stops at the
+ * order's end, when the order is discontinued or when the encounter is no longer in
+ * progress; orders without an end are not expanded.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarScheduleService {
+
+    /**
+     * Advisory lock key of standing order expansion
+     */
+    private static final long EXPAND_LOCK_KEY = 0x4D41525F455850L; // "MAR_EXP"
+
+    private static final Pattern EVERY_N_HOURS = Pattern.compile("Q(\\d{1,2})H");
+    private static final Pattern TIMES_PER_DAY = Pattern.compile("(\\d)\\s*X\\s*\\d+");
+
+    private final MedicationAdministrationRepository medicationAdministrationRepository;
+    private final MarScheduleProperties properties;
+
+    /**
+     * Load the pending doses of encounters on a ward in a schedule window.
+     *
+     * @param from window start
+     * @param to window end
+     * @return pending doses with their encounter loaded
+     */
+    @Transactional(readOnly = true)
+    public List<MedicationAdministration> findPendingOnWards(LocalDateTime from, LocalDateTime to) {
+        return medicationAdministrationRepository.findPendingOnWardsBetween(from, to);
+    }
+
+    /**
+     * Create the dose slots of running standing orders up to a time.
+     * Does nothing when another node is expanding at the same time.
+     *
+     * @param until last scheduled time to create
+     * @return created doses with their encounter loaded
+     */
+    @Transactional
+    public List<MedicationAdministration> expandStandingOrders(LocalDateTime until) {
+        if (!medicationAdministrationRepository.tryAdvisoryXactLock(EXPAND_LOCK_KEY)) {
+            log.debug("Standing order expansion is running on another node");
+            return List.of();
+        }
+
+        // Slots further back than the overdue threshold are not created after an outage
+        LocalDateTime earliest = LocalDateTime.now().minusMinutes(properties.getOverdueAfterMinutes());
+        List<MedicationAdministration> created = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (MedicationAdministration head : medicationAdministrationRepository.findStandingOrderHeads()) {
+            if (!seen.add(head.getEncounter().getId() + "/" + head.getMedicationOrderId())) {
+                continue;
+            }
+            Duration interval = intervalOf(head.getFrequency(), head.getFrequencyTimesPerDay());
+            if (interval == null) {
+                continue;
+            }
+
+            LocalDateTime next = head.getScheduledDateTime().plus(interval);
+            while (next.isBefore(earliest)) {
+                next = next.plus(interval);
+            }
+            LocalDateTime last = head.getOrderEndDateTime().isAfter(until)
+                ? until : head.getOrderEndDateTime().minusNanos(1);
+            for (; !next.isAfter(last); next = next.plus(interval)) {
+                MedicationAdministration dose = nextDose(head, next);
+                dose.setMarNumber(formatMarNumber(medicationAdministrationRepository.getNextMarNumberSequence()));
+                created.add(dose);
+            }
+        }
+
+        if (!created.isEmpty()) {
+            medicationAdministrationRepository.saveAll(created);
+            log.info("Standing orders expanded: {} dose slots created up to {}", created.size(), until);
+        }
+        return created;
+    }
+
+    /**
+     * Record doses still pending as MISSED.
+     *
+     * @param ids MAR entry IDs
+     * @return doses that were marked
+     */
+    @Transactional
+    public List<MedicationAdministration> markMissed(Collection<UUID> ids) {
+        List<MedicationAdministration> marked = new ArrayList<>();
+        for (MedicationAdministration medication : medicationAdministrationRepository.findAllById(ids)) {
+            if (Boolean.TRUE.equals(medication.getAdministered())
+                || medication.getAdministrationStatus() != AdministrationStatus.PENDING) {
+                continue;
+            }
+            medication.markAsMissed();
+            medication.setNotGivenReason(String.format(
+                "Tidak didokumentasikan dalam %d menit setelah jadwal", properties.getMissedAfterMinutes()));
+            marked.add(medication);
+        }
+        if (!marked.isEmpty()) {
+            medicationAdministrationRepository.saveAll(marked);
+            log.warn("{} scheduled doses marked as missed", marked.size());
+        }
+        return marked;
+    }
+
+    /**
+     * Dose interval of a frequency code.
+     * Understands QD/OD/DAILY, BID, TID, QID, Q{n}H and the "3x1" notation; other codes
+     * fall back to the times per day.
+     *
+     * @param frequency frequency code
+     * @param timesPerDay times per day, may be null
+     * @return interval between doses, or null if the frequency does not recur
+     */
+    static Duration intervalOf(String frequency, Integer timesPerDay) {
+        String code = frequency != null ? frequency.trim().toUpperCase(Locale.ROOT) : "";
+        Matcher hours = EVERY_N_HOURS.matcher(code);
+        if (hours.matches()) {
+            int n = Integer.parseInt(hours.group(1));
+            return n > 0 ? Duration.ofHours(n) : null;
+        }
+
+        Matcher times = TIMES_PER_DAY.matcher(code);
+        Integer perDay = switch (code) {
+            case "QD", "OD", "DAILY" -> 1;
+            case "BID" -> 2;
+            case "TID" -> 3;
+            case "QID" -> 4;
+            case "PRN", "STAT", "ONCE" -> 0;
+            default -> times.matches() ? Integer.valueOf(times.group(1)) : timesPerDay;
+        };
+        return perDay != null && perDay > 0 ? Duration.ofMinutes(24 * 60 / perDay) : null;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static MedicationAdministration nextDose(MedicationAdministration head, LocalDateTime scheduled) {
+        return MedicationAdministration.builder()
+            .encounter(head.getEncounter())
+            .patientId(head.getPatientId())
+            .medicationOrderId(head.getMedicationOrderId())
+            .medicationName(head.getMedicationName())
+            .genericName(head.getGenericName())
+            .brandName(head.getBrandName())
+            .medicationCode(head.getMedicationCode())
+            .medicationClass(head.getMedicationClass())
+            .dose(head.getDose())
+            .doseUnit(head.getDoseUnit())
+            .strength(head.getStrength())
+            .totalDoseDescription(head.getTotalDoseDescription())
+            .route(head.getRoute())
+            .frequency(head.getFrequency())
+            .frequencyTimesPerDay(head.getFrequencyTimesPerDay())
+            .orderEndDateTime(head.getOrderEndDateTime())
+            .scheduleType(ScheduleType.SCHEDULED)
+            .scheduledDate(scheduled.toLocalDate())
+            .scheduledTime(scheduled.toLocalTime())
+            .scheduledDateTime(scheduled)
+            .requiresWitness(head.getRequiresWitness())
+            .prescribedById(head.getPrescribedById())
+            .prescribedByName(head.getPrescribedByName())
+            .prescriptionDate(head.getPrescriptionDate())
+            .ivSolution(head.getIvSolution())
+            .ivVolumeMl(head.getIvVolumeMl())
+            .ivRateMlPerHour(head.getIvRateMlPerHour())
+            .ivDurationMinutes(head.getIvDurationMinutes())
+            .ivSiteLocation(head.getIvSiteLocation())
+            .specialInstructions(head.getSpecialInstructions())
+            .isHighAlertMedication(head.getIsHighAlertMedication())
+            .highAlertType(head.getHighAlertType())
+            .build();
+    }
+
+    private static String formatMarNumber(long sequence) {
+        String dateStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        return String.format("MAR-%s-%04d", dateStr, sequence);
+    }
+}
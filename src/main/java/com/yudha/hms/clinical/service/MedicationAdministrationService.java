@@ -1,6 +1,7 @@
 package com.yudha.hms.clinical.service;
 
 import com.yudha.hms.clinical.dto.*;
+import com.yudha.hms.clinical.entity.AdministrationStatus;
 import com.yudha.hms.clinical.entity.Encounter;
 import com.yudha.hms.clinical.entity.MedicationAdministration;
 import com.yudha.hms.clinical.repository.EncounterRepository;
@@ -34,6 +35,7 @@ public class MedicationAdministrationService {
 
     private final MedicationAdministrationRepository medicationAdministrationRepository;
     private final EncounterRepository encounterRepository;
+    private final WardMarScheduler wardMarScheduler;
 
     /**
      * Create medication administration record.
@@ -61,9 +63,16 @@ public class MedicationAdministrationService {
             );
         }
 
+        // A standing order without an explicit end runs for its duration from the first dose
+        if (medication.getOrderEndDateTime() == null && request.getDurationDays() != null
+                && medication.getScheduledDateTime() != null) {
+            medication.setOrderEndDateTime(medication.getScheduledDateTime().plusDays(request.getDurationDays()));
+        }
+
         // Save medication
         medication = medicationAdministrationRepository.save(medication);
         log.info("MAR entry created: {} - {}", medication.getMarNumber(), medication.getMedicationName());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
@@ -184,6 +193,7 @@ public class MedicationAdministrationService {
 
         medication = medicationAdministrationRepository.save(medication);
         log.info("Medication administered: {} by {}", medication.getMarNumber(), request.getAdministeredByName());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
@@ -207,6 +217,7 @@ public class MedicationAdministrationService {
 
         medication = medicationAdministrationRepository.save(medication);
         log.info("Medication refused: {} - Reason: {}", medication.getMarNumber(), request.getNotGivenReason());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
@@ -230,6 +241,7 @@ public class MedicationAdministrationService {
 
         medication = medicationAdministrationRepository.save(medication);
         log.info("Medication held: {} - Reason: {}", medication.getMarNumber(), request.getHoldReason());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
@@ -253,10 +265,41 @@ public class MedicationAdministrationService {
 
         medication = medicationAdministrationRepository.save(medication);
         log.info("Medication marked as missed: {}", medication.getMarNumber());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
 
+    /**
+     * Discontinue a standing medication order.
+     * All doses of the order not yet given are discontinued and no further doses are scheduled.
+     */
+    public List<MedicationAdministrationResponse> discontinueOrder(
+        UUID encounterId,
+        UUID medicationOrderId,
+        MedicationDiscontinueRequest request
+    ) {
+        log.info("Discontinuing medication order {} for encounter: {}", medicationOrderId, encounterId);
+
+        List<MedicationAdministration> pending = medicationAdministrationRepository
+            .findByEncounterIdAndMedicationOrderId(encounterId, medicationOrderId).stream()
+            .filter(medication -> !Boolean.TRUE.equals(medication.getAdministered()))
+            .filter(medication -> medication.getAdministrationStatus() == AdministrationStatus.PENDING)
+            .toList();
+        if (pending.isEmpty()) {
+            throw new BusinessException("Tidak ada dosis terjadwal yang dapat dihentikan untuk order: " + medicationOrderId);
+        }
+
+        pending.forEach(medication -> medication.discontinue(request.getDiscontinueReason()));
+        List<MedicationAdministration> saved = medicationAdministrationRepository.saveAll(pending);
+        saved.forEach(wardMarScheduler::publish);
+        log.info("Medication order {} discontinued: {} doses", medicationOrderId, saved.size());
+
+        return saved.stream()
+            .map(this::mapToResponse)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Report adverse reaction.
      */
@@ -313,6 +356,7 @@ public class MedicationAdministrationService {
 
         medication = medicationAdministrationRepository.save(medication);
         log.info("Witness verification added for {}: {}", medication.getMarNumber(), request.getWitnessedByName());
+        wardMarScheduler.publish(medication);
 
         return mapToResponse(medication);
     }
@@ -382,6 +426,7 @@ public class MedicationAdministrationService {
             .route(request.getRoute())
             .frequency(request.getFrequency())
             .frequencyTimesPerDay(request.getFrequencyTimesPerDay())
+            .orderEndDateTime(request.getOrderEndDateTime())
             .scheduleType(request.getScheduleType())
             .scheduledDate(request.getScheduledDate())
             .scheduledTime(request.getScheduledTime())
@@ -408,9 +453,9 @@ public class MedicationAdministrationService {
      */
     private String generateMarNumber() {
         String dateStr = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long count = medicationAdministrationRepository.count() + 1;
+        long sequence = medicationAdministrationRepository.getNextMarNumberSequence();
 
-        return String.format("MAR-%s-%04d", dateStr, count);
+        return String.format("MAR-%s-%04d", dateStr, sequence);
     }
 
     /**
@@ -435,6 +480,7 @@ public class MedicationAdministrationService {
             .route(medication.getRoute())
             .frequency(medication.getFrequency())
             .frequencyTimesPerDay(medication.getFrequencyTimesPerDay())
+            .orderEndDateTime(medication.getOrderEndDateTime())
             .scheduleType(medication.getScheduleType())
             .scheduleTypeDisplay(medication.getScheduleType() != null ? medication.getScheduleType().getIndonesianName() : null)
             .scheduledDate(medication.getScheduledDate())
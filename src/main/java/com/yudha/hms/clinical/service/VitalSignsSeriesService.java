@@ -0,0 +1,316 @@
+package com.yudha.hms.clinical.service;
+
+import com.yudha.hms.clinical.config.VitalSeriesProperties;
+import com.yudha.hms.clinical.dto.VitalSampleBatchRequest;
+import com.yudha.hms.clinical.dto.VitalSampleBatchResponse;
+import com.yudha.hms.clinical.dto.VitalSignsSeriesResponse;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.entity.VitalMetric;
+import com.yudha.hms.clinical.entity.VitalSigns;
+import com.yudha.hms.clinical.repository.EncounterRepository;
+import com.yudha.hms.clinical.repository.VitalSampleRepository;
+import com.yudha.hms.clinical.repository.VitalSampleRepository.Sample;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.util.TimeSeriesDownsampler;
+import com.yudha.hms.shared.util.TimeSeriesDownsampler.Series;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for the vital sign time series.
+ *
+ * Readings arrive from nursing vital sign records (written through by
+ * {@link VitalSignsService}) and from bedside monitor gateways in bulk. Charts are served
+ * downsampled to the requested point count: ranges holding many readings are first
+ * aggregated into time buckets in the database, then reduced with LTTB or min/max
+ * buckets, so the response size depends on the requested points, not on the range.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VitalSignsSeriesService {
+
+    public static final String MANUAL_SOURCE = "MANUAL";
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private final VitalSampleRepository sampleRepository;
+    private final EncounterRepository encounterRepository;
+    private final VitalSeriesProperties properties;
+
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Chart downsampling method.
+     */
+    public enum DownsampleMode {
+        /**
+         * Largest-Triangle-Three-Buckets: keeps the visual shape of the line
+         */
+        LTTB,
+        /**
+         * Lowest and highest reading per time bucket: keeps every spike and dip
+         */
+        MIN_MAX
+    }
+
+    // ========== Ingest ==========
+
+    /**
+     * Store a batch of monitor readings.
+     * Invalid readings are rejected individually; readings already stored are skipped.
+     *
+     * @param request gateway batch
+     * @return ingest summary
+     */
+    @Transactional
+    public VitalSampleBatchResponse ingest(VitalSampleBatchRequest request) {
+        int received = request.getSeries().stream()
+            .mapToInt(series -> series.getT() != null ? series.getT().length : 0)
+            .sum();
+        if (received > properties.getMaxBatchSamples()) {
+            throw new BusinessException(String.format(
+                "Batch contains %d samples, maximum is %d", received, properties.getMaxBatchSamples()));
+        }
+
+        Set<UUID> encounterIds = new HashSet<>();
+        request.getSeries().forEach(series -> encounterIds.add(series.getEncounterId()));
+        Map<UUID, UUID> patientByEncounter = new HashMap<>();
+        for (Encounter encounter : encounterRepository.findAllById(encounterIds)) {
+            patientByEncounter.put(encounter.getId(), encounter.getPatientId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime earliest = now.minusDays(properties.getMaxBackfillDays());
+        LocalDateTime latest = now.plus(MAX_CLOCK_SKEW);
+        List<Sample> samples = new ArrayList<>(received);
+        List<String> errors = new ArrayList<>();
+        int rejected = 0;
+
+        for (VitalSampleBatchRequest.SeriesData series : request.getSeries()) {
+            long[] t = series.getT();
+            double[] v = series.getV();
+            if (!patientByEncounter.containsKey(series.getEncounterId())) {
+                rejected += t.length;
+                addError(errors, "Unknown encounter " + series.getEncounterId());
+                continue;
+            }
+            if (v == null || v.length != t.length) {
+                rejected += t.length;
+                addError(errors, String.format("Encounter %s %s: times and values differ in length",
+                    series.getEncounterId(), series.getMetric()));
+                continue;
+            }
+
+            UUID patientId = patientByEncounter.get(series.getEncounterId());
+            for (int i = 0; i < t.length; i++) {
+                LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(t[i]), ZoneId.systemDefault());
+                if (!Double.isFinite(v[i]) || time.isBefore(earliest) || time.isAfter(latest)) {
+                    rejected++;
+                    continue;
+                }
+                samples.add(new Sample(series.getEncounterId(), patientId, series.getMetric(), time,
+                    v[i], request.getSource(), null));
+            }
+        }
+        if (rejected > 0 && errors.isEmpty()) {
+            addError(errors, "Samples with non-finite values or times outside the accepted window were rejected");
+        }
+
+        int inserted = 0;
+        if (!samples.isEmpty()) {
+            ensurePartitions(samples);
+            inserted = sampleRepository.insertIgnoringDuplicates(samples);
+        }
+
+        log.info("Vital sample batch from {}: {} received, {} inserted, {} rejected",
+            request.getSource(), received, inserted, rejected);
+
+        return VitalSampleBatchResponse.builder()
+            .received(received)
+            .inserted(inserted)
+            .duplicates(samples.size() - inserted)
+            .rejected(rejected)
+            .errors(errors)
+            .build();
+    }
+
+    /**
+     * Write the readings of a nursing vital signs record, replacing what it wrote before.
+     *
+     * @param vitalSigns saved vital signs record
+     */
+    @Transactional
+    public void recordManual(VitalSigns vitalSigns) {
+        List<Sample> samples = new ArrayList<>();
+        for (VitalMetric metric : VitalMetric.values()) {
+            Double value = metric.valueOf(vitalSigns);
+            if (value != null) {
+                samples.add(new Sample(vitalSigns.getEncounter().getId(), vitalSigns.getPatientId(), metric,
+                    vitalSigns.getMeasurementTime(), value, MANUAL_SOURCE, vitalSigns.getId()));
+            }
+        }
+
+        // Partitions are created in their own transaction, which needs a lock on the parent
+        // table that the delete below would hold until this transaction ends
+        if (!samples.isEmpty()) {
+            ensurePartitions(samples);
+        }
+        sampleRepository.deleteBySourceRef(vitalSigns.getId());
+        if (!samples.isEmpty()) {
+            sampleRepository.upsert(samples);
+        }
+    }
+
+    /**
+     * Remove the readings written from a nursing vital signs record.
+     *
+     * @param vitalSignsId vital signs record ID
+     */
+    @Transactional
+    public void removeManual(UUID vitalSignsId) {
+        sampleRepository.deleteBySourceRef(vitalSignsId);
+    }
+
+    // ========== Charting ==========
+
+    /**
+     * Get downsampled vital sign series for charting.
+     *
+     * @param encounterId encounter ID
+     * @param metrics metrics to return (all when empty)
+     * @param from range start (default: 24 hours before {@code to})
+     * @param to range end (default: now)
+     * @param points points per metric (default and maximum from configuration)
+     * @param mode downsampling method (default: LTTB)
+     * @return series per metric
+     */
+    @Transactional(readOnly = true)
+    public VitalSignsSeriesResponse getSeries(UUID encounterId, Collection<VitalMetric> metrics,
+                                              LocalDateTime from, LocalDateTime to,
+                                              Integer points, DownsampleMode mode) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        if (!start.isBefore(end)) {
+            throw new BusinessException("Chart range start must be before its end");
+        }
+        Set<VitalMetric> selected = metrics == null || metrics.isEmpty()
+            ? EnumSet.allOf(VitalMetric.class)
+            : EnumSet.copyOf(metrics);
+        int target = Math.max(3, Math.min(points != null ? points : properties.getDefaultPoints(),
+            properties.getMaxPoints()));
+        DownsampleMode method = mode != null ? mode : DownsampleMode.LTTB;
+
+        Map<VitalMetric, Long> counts = sampleRepository.countByMetric(encounterId, selected, start, end);
+        long threshold = (long) target * Math.max(1, properties.getPreAggregateFactor());
+        Set<VitalMetric> raw = EnumSet.noneOf(VitalMetric.class);
+        Set<VitalMetric> bucketed = EnumSet.noneOf(VitalMetric.class);
+        counts.forEach((metric, count) -> (count > threshold ? bucketed : raw).add(metric));
+
+        Map<VitalMetric, Series> series = new HashMap<>();
+        if (!raw.isEmpty()) {
+            series.putAll(sampleRepository.findRaw(encounterId, raw, start, end));
+        }
+        if (!bucketed.isEmpty()) {
+            long bucketMillis = Math.max(1000L, Duration.between(start, end).toMillis() / threshold);
+            series.putAll(sampleRepository.findBucketed(encounterId, bucketed, start, end, bucketMillis));
+        }
+
+        List<VitalSignsSeriesResponse.MetricSeries> result = new ArrayList<>();
+        for (VitalMetric metric : new TreeSet<>(series.keySet())) {
+            Series reduced = method == DownsampleMode.MIN_MAX
+                ? TimeSeriesDownsampler.minMax(series.get(metric), target)
+                : TimeSeriesDownsampler.lttb(series.get(metric), target);
+            result.add(VitalSignsSeriesResponse.MetricSeries.builder()
+                .metric(metric)
+                .unit(metric.getUnit())
+                .rawCount(counts.getOrDefault(metric, 0L))
+                .t(reduced.t())
+                .v(reduced.v())
+                .lo(reduced.lo())
+                .hi(reduced.hi())
+                .build());
+        }
+
+        return VitalSignsSeriesResponse.builder()
+            .encounterId(encounterId)
+            .from(start)
+            .to(end)
+            .mode(method.name())
+            .points(target)
+            .series(result)
+            .build();
+    }
+
+    // ========== Partition Maintenance ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initPartitions() {
+        maintainPartitions();
+    }
+
+    /**
+     * Create the monthly partitions of the current month and the configured months ahead.
+     */
+    @Scheduled(cron = "0 15 0 * * *")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        try {
+            for (int i = 0; i <= properties.getPartitionMonthsAhead(); i++) {
+                ensurePartition(current.plusMonths(i));
+            }
+        } catch (Exception e) {
+            log.error("Failed to create vital sign sample partitions", e);
+        }
+    }
+
+    private void ensurePartitions(List<Sample> samples) {
+        Set<YearMonth> months = new TreeSet<>();
+        for (Sample sample : samples) {
+            months.add(YearMonth.from(sample.time()));
+        }
+        months.forEach(this::ensurePartition);
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        sampleRepository.ensurePartition(LocalDate.of(month.getYear(), month.getMonth(), 1));
+        knownPartitions.add(month);
+    }
+
+    private static void addError(List<String> errors, String error) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(error);
+        }
+    }
+}
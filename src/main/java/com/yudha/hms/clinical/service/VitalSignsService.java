@@ -34,6 +34,7 @@ public class VitalSignsService {
 
     private final VitalSignsRepository vitalSignsRepository;
     private final EncounterRepository encounterRepository;
+    private final VitalSignsSeriesService vitalSignsSeriesService;
 
     /**
      * Record vital signs.
@@ -72,6 +73,7 @@ public class VitalSignsService {
         vitalSigns = vitalSignsRepository.save(vitalSigns);
         log.info("Vital signs recorded for encounter: {} - Abnormal: {}, Requires notification: {}",
             encounterId, vitalSigns.getIsAbnormal(), vitalSigns.getRequiresNotification());
+        vitalSignsSeriesService.recordManual(vitalSigns);
 
         // If critical, send notification (future implementation)
         if (Boolean.TRUE.equals(vitalSigns.getRequiresNotification())) {
@@ -221,6 +223,7 @@ public class VitalSignsService {
 
         vitalSigns = vitalSignsRepository.save(vitalSigns);
         log.info("Vital signs updated: {}", id);
+        vitalSignsSeriesService.recordManual(vitalSigns);
 
         return mapToResponse(vitalSigns);
     }
@@ -234,6 +237,7 @@ public class VitalSignsService {
         VitalSigns vitalSigns = vitalSignsRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Vital signs tidak ditemukan dengan ID: " + id));
 
+        vitalSignsSeriesService.removeManual(id);
         vitalSignsRepository.delete(vitalSigns);
         log.info("Vital signs deleted: {}", id);
     }
@@ -0,0 +1,483 @@
+package com.yudha.hms.clinical.service;
+
+import com.yudha.hms.clinical.config.MarScheduleProperties;
+import com.yudha.hms.clinical.dto.MarDoseSlot;
+import com.yudha.hms.clinical.dto.WardMedicationRoundResponse;
+import com.yudha.hms.clinical.entity.AdministrationStatus;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.entity.EncounterStatus;
+import com.yudha.hms.clinical.entity.MedicationAdministration;
+import com.yudha.hms.shared.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ward medication administration timeline.
+ *
+ * Keeps the pending doses of every ward (the encounter's current location) in memory,
+ * ordered by scheduled time, so a ward's medication round is served in one call without
+ * per-patient queries. The MAR service publishes its changes here after commit; standing
+ * orders are expanded into dose slots on a timer, and a periodic reload picks up changes
+ * from other nodes and patients moved between wards.
+ *
+ * A timer re-evaluates every dose against the clock: doses become DUE shortly before their
+ * scheduled time and OVERDUE once the administration window has passed; doses still pending
+ * long after that are recorded as MISSED. Ward stations subscribe over Server-Sent Events:
+ * they receive the round once ("snapshot"), the ward's due list whenever it changes ("due"),
+ * newly overdue doses ("overdue") and a periodic "heartbeat" carrying the server time.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WardMarScheduler {
+
+    private static final Comparator<MarDoseSlot> TIME_ORDER = Comparator
+        .comparing(MarDoseSlot::getScheduledDateTime)
+        .thenComparing(MarDoseSlot::getId);
+
+    private final MarScheduleService marScheduleService;
+    private final MarScheduleProperties properties;
+
+    private final Map<UUID, MarDoseSlot> slots = new ConcurrentHashMap<>();
+    private final Map<UUID, NavigableSet<MarDoseSlot>> wards = new ConcurrentHashMap<>();
+    private final Object indexLock = new Object();
+
+    // Evaluation state, only touched by the tick
+    private final Map<UUID, MarDoseSlot.State> lastStates = new HashMap<>();
+    private final Map<UUID, List<UUID>> lastDueLists = new HashMap<>();
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService pushExecutor =
+        Executors.newSingleThreadExecutor(Thread.ofVirtual().name("ward-mar-push").factory());
+
+    // ========== Change Publication ==========
+
+    /**
+     * Publish the current state of a MAR entry.
+     * Doses leave the timeline once they are no longer pending or the patient leaves the ward.
+     *
+     * @param medication MAR entry (as saved by the caller, inside its transaction)
+     */
+    public void publish(MedicationAdministration medication) {
+        if (!properties.isEnabled() || medication == null || medication.getId() == null) {
+            return;
+        }
+        MarDoseSlot slot = isOnTimeline(medication) ? toSlot(medication) : null;
+        UUID id = medication.getId();
+        afterCommit(() -> {
+            if (slot != null) {
+                put(slot);
+            } else {
+                remove(id);
+            }
+        });
+    }
+
+    // ========== Timeline Queries ==========
+
+    /**
+     * Get a ward's medication round: overdue and due doses plus doses scheduled up to
+     * the look-ahead, in scheduled time order.
+     *
+     * @param wardId ward (encounter location) ID
+     * @param hoursAhead look-ahead in hours, or null for the configured default
+     * @return medication round
+     */
+    public WardMedicationRoundResponse getRound(UUID wardId, Integer hoursAhead) {
+        LocalDateTime now = LocalDateTime.now();
+        int hours = hoursAhead != null
+            ? Math.max(0, Math.min(hoursAhead, properties.getHorizonHours()))
+            : properties.getRoundHoursAhead();
+        LocalDateTime until = now.plusHours(hours);
+
+        List<MarDoseSlot> doses = new ArrayList<>();
+        int overdue = 0;
+        int due = 0;
+        for (MarDoseSlot slot : wards.getOrDefault(wardId, Collections.emptyNavigableSet())) {
+            MarDoseSlot.State state = stateOf(slot, now);
+            if (state == MarDoseSlot.State.UPCOMING && slot.getScheduledDateTime().isAfter(until)) {
+                break;
+            }
+            doses.add(withState(slot, state, now));
+            if (state == MarDoseSlot.State.OVERDUE) {
+                overdue++;
+            } else if (state == MarDoseSlot.State.DUE) {
+                due++;
+            }
+        }
+
+        return WardMedicationRoundResponse.builder()
+            .wardId(wardId)
+            .generatedAt(now)
+            .roundUntil(until)
+            .overdueCount(overdue)
+            .dueCount(due)
+            .upcomingCount(doses.size() - overdue - due)
+            .doses(doses)
+            .build();
+    }
+
+    /**
+     * Get a ward's doses that are due or overdue now.
+     *
+     * @param wardId ward (encounter location) ID
+     * @return due and overdue doses in scheduled time order
+     */
+    public List<MarDoseSlot> getDue(UUID wardId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MarDoseSlot> due = new ArrayList<>();
+        for (MarDoseSlot slot : wards.getOrDefault(wardId, Collections.emptyNavigableSet())) {
+            MarDoseSlot.State state = stateOf(slot, now);
+            if (state == MarDoseSlot.State.UPCOMING) {
+                break;
+            }
+            due.add(withState(slot, state, now));
+        }
+        return due;
+    }
+
+    /**
+     * Number of doses on the timeline.
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    // ========== Live Push ==========
+
+    /**
+     * Subscribe to a ward's medication timeline.
+     *
+     * @param wardId ward (encounter location) ID
+     * @return SSE emitter receiving the round followed by due list changes
+     */
+    public SseEmitter subscribe(UUID wardId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new BusinessException("Too many ward medication subscribers, please retry later");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSubscriptionTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, wardId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Snapshot and later pushes go through the same executor, so they arrive in order
+        pushExecutor.execute(() -> {
+            subscribers.add(subscriber);
+            send(subscriber, "snapshot", getRound(wardId, null));
+        });
+        return emitter;
+    }
+
+    // ========== Timers ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            expand();
+            resync();
+        } catch (Exception e) {
+            log.error("Failed to load ward medication timeline", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hms.clinical.mar-schedule.expand-interval-ms:900000}",
+               initialDelayString = "${hms.clinical.mar-schedule.expand-interval-ms:900000}")
+    public void scheduledExpand() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            expand();
+        } catch (Exception e) {
+            log.error("Standing order expansion failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hms.clinical.mar-schedule.resync-interval-ms:300000}",
+               initialDelayString = "${hms.clinical.mar-schedule.resync-interval-ms:300000}")
+    public void scheduledResync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            resync();
+        } catch (Exception e) {
+            log.error("Ward medication timeline resync failed", e);
+        }
+    }
+
+    /**
+     * Re-evaluate every dose against the clock: record missed doses, push changed due
+     * lists and newly overdue doses to ward stations.
+     */
+    @Scheduled(fixedDelayString = "${hms.clinical.mar-schedule.tick-interval-ms:30000}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        if (properties.isAutoMarkMissed()) {
+            LocalDateTime missedBefore = now.minusMinutes(properties.getMissedAfterMinutes());
+            List<UUID> missed = slots.values().stream()
+                .filter(slot -> slot.getScheduledDateTime().isBefore(missedBefore))
+                .map(MarDoseSlot::getId)
+                .toList();
+            if (!missed.isEmpty()) {
+                try {
+                    marScheduleService.markMissed(missed);
+                    missed.forEach(this::remove);
+                } catch (Exception e) {
+                    log.error("Failed to record missed doses", e);
+                }
+            }
+        }
+
+        Map<UUID, List<MarDoseSlot>> newlyOverdue = new HashMap<>();
+        for (Map.Entry<UUID, NavigableSet<MarDoseSlot>> ward : wards.entrySet()) {
+            List<MarDoseSlot> due = new ArrayList<>();
+            for (MarDoseSlot slot : ward.getValue()) {
+                MarDoseSlot.State state = stateOf(slot, now);
+                if (state == MarDoseSlot.State.UPCOMING) {
+                    break;
+                }
+                MarDoseSlot current = withState(slot, state, now);
+                due.add(current);
+                if (state == MarDoseSlot.State.OVERDUE && lastStates.get(slot.getId()) != MarDoseSlot.State.OVERDUE) {
+                    newlyOverdue.computeIfAbsent(ward.getKey(), key -> new ArrayList<>()).add(current);
+                }
+                lastStates.put(slot.getId(), state);
+            }
+
+            List<UUID> dueIds = due.stream().map(MarDoseSlot::getId).toList();
+            if (!dueIds.equals(lastDueLists.get(ward.getKey()))) {
+                lastDueLists.put(ward.getKey(), dueIds);
+                push(ward.getKey(), "due", due);
+            }
+        }
+        lastStates.keySet().retainAll(slots.keySet());
+        lastDueLists.keySet().retainAll(wards.keySet());
+
+        newlyOverdue.forEach((wardId, overdue) -> {
+            log.info("Ward {}: {} doses became overdue", wardId, overdue.size());
+            push(wardId, "overdue", overdue);
+        });
+
+        if (!subscribers.isEmpty()) {
+            pushExecutor.execute(() -> subscribers.forEach(subscriber -> send(subscriber, "heartbeat", now)));
+        }
+    }
+
+    /**
+     * Expand running standing orders up to the horizon and put the new doses on the timeline.
+     *
+     * @return number of doses created
+     */
+    public int expand() {
+        List<MedicationAdministration> created =
+            marScheduleService.expandStandingOrders(LocalDateTime.now().plusHours(properties.getHorizonHours()));
+        created.stream().filter(WardMarScheduler::isOnTimeline).map(WardMarScheduler::toSlot).forEach(this::put);
+        return created.size();
+    }
+
+    /**
+     * Reload the timeline from the database.
+     *
+     * @return number of doses on the timeline
+     */
+    public int resync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MarDoseSlot> loaded = marScheduleService
+            .findPendingOnWards(now.minusHours(properties.getLookbackHours()), now.plusHours(properties.getHorizonHours()))
+            .stream()
+            .map(WardMarScheduler::toSlot)
+            .toList();
+
+        synchronized (indexLock) {
+            Map<UUID, MarDoseSlot> byId = new HashMap<>();
+            loaded.forEach(slot -> byId.put(slot.getId(), slot));
+            for (UUID id : List.copyOf(slots.keySet())) {
+                if (!byId.containsKey(id)) {
+                    remove(id);
+                }
+            }
+            loaded.forEach(this::put);
+        }
+        log.debug("Ward medication timeline resynced: {} doses on {} wards", slots.size(), wards.size());
+        return slots.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+        pushExecutor.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void put(MarDoseSlot slot) {
+        synchronized (indexLock) {
+            MarDoseSlot previous = slots.put(slot.getId(), slot);
+            if (previous != null) {
+                if (previous.equals(slot)) {
+                    return;
+                }
+                removeFromWard(previous);
+            }
+            wards.computeIfAbsent(slot.getWardId(), id -> new ConcurrentSkipListSet<>(TIME_ORDER)).add(slot);
+        }
+    }
+
+    private void remove(UUID id) {
+        synchronized (indexLock) {
+            MarDoseSlot previous = slots.remove(id);
+            if (previous != null) {
+                removeFromWard(previous);
+            }
+        }
+    }
+
+    private void removeFromWard(MarDoseSlot slot) {
+        NavigableSet<MarDoseSlot> ward = wards.get(slot.getWardId());
+        if (ward != null) {
+            ward.remove(slot);
+            if (ward.isEmpty()) {
+                wards.remove(slot.getWardId());
+            }
+        }
+    }
+
+    private MarDoseSlot.State stateOf(MarDoseSlot slot, LocalDateTime now) {
+        LocalDateTime scheduled = slot.getScheduledDateTime();
+        if (now.isAfter(scheduled.plusMinutes(properties.getOverdueAfterMinutes()))) {
+            return MarDoseSlot.State.OVERDUE;
+        }
+        if (!now.isBefore(scheduled.minusMinutes(properties.getDueLeadMinutes()))) {
+            return MarDoseSlot.State.DUE;
+        }
+        return MarDoseSlot.State.UPCOMING;
+    }
+
+    private static MarDoseSlot withState(MarDoseSlot slot, MarDoseSlot.State state, LocalDateTime now) {
+        return slot.toBuilder()
+            .state(state)
+            .minutesLate(Math.max(0, Duration.between(slot.getScheduledDateTime(), now).toMinutes()))
+            .build();
+    }
+
+    private static boolean isOnTimeline(MedicationAdministration medication) {
+        Encounter encounter = medication.getEncounter();
+        return medication.getScheduledDateTime() != null
+            && !Boolean.TRUE.equals(medication.getAdministered())
+            && medication.getAdministrationStatus() == AdministrationStatus.PENDING
+            && encounter != null
+            && encounter.getStatus() == EncounterStatus.IN_PROGRESS
+            && encounter.getLocationId() != null;
+    }
+
+    private static MarDoseSlot toSlot(MedicationAdministration medication) {
+        Encounter encounter = medication.getEncounter();
+        return MarDoseSlot.builder()
+            .id(medication.getId())
+            .marNumber(medication.getMarNumber())
+            .encounterId(encounter.getId())
+            .patientId(medication.getPatientId())
+            .wardId(encounter.getLocationId())
+            .location(encounter.getCurrentLocation())
+            .medicationOrderId(medication.getMedicationOrderId())
+            .medicationName(medication.getMedicationName())
+            .dose(medication.getDose())
+            .doseUnit(medication.getDoseUnit())
+            .route(medication.getRoute())
+            .frequency(medication.getFrequency())
+            .isHighAlertMedication(medication.getIsHighAlertMedication())
+            .needsWitnessVerification(medication.needsWitnessVerification())
+            .scheduledDateTime(medication.getScheduledDateTime())
+            .build();
+    }
+
+    private void push(UUID wardId, String event, Collection<MarDoseSlot> payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pushExecutor.execute(() -> {
+            for (Subscriber subscriber : subscribers) {
+                if (Objects.equals(subscriber.wardId(), wardId)) {
+                    send(subscriber, event, payload);
+                }
+            }
+        });
+    }
+
+    private void send(Subscriber subscriber, String event, Object data) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name(event).data(data));
+        } catch (Exception e) {
+            log.debug("Dropping ward medication subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runSafely(action);
+                }
+            });
+        } else {
+            runSafely(action);
+        }
+    }
+
+    private static void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("Ward medication timeline update failed, next resync corrects it: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ward station subscriber.
+     */
+    private record Subscriber(SseEmitter emitter, UUID wardId) {
+    }
+}
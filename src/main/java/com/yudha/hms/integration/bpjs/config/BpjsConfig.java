@@ -4,6 +4,9 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * BPJS Kesehatan Configuration.
  *
@@ -74,6 +77,31 @@ public class BpjsConfig {
      */
     private String timezone = "Asia/Jakarta";
 
+    /**
+     * VClaim eligibility and referral lookup cache
+     */
+    private VClaimCache vclaimCache = new VClaimCache();
+
+    /**
+     * BPJS outpatient registration workflow (parallel remote calls)
+     */
+    private RegistrationWorkflow registrationWorkflow = new RegistrationWorkflow();
+
+    /**
+     * Antrean RS task-time outbox delivery
+     */
+    private TaskOutbox taskOutbox = new TaskOutbox();
+
+    /**
+     * iCare JKN history access session store
+     */
+    private ICareSessions icareSessions = new ICareSessions();
+
+    /**
+     * Aplicares bed availability synchronization
+     */
+    private AplicaresSync aplicaresSync = new AplicaresSync();
+
     /**
      * VClaim service endpoints
      */
@@ -118,6 +146,221 @@ public class BpjsConfig {
         private String prodBaseUrl = "https://apijkn.bpjs-kesehatan.go.id/vclaim-rest";
     }
 
+    /**
+     * VClaim Lookup Cache (eligibility and referral)
+     */
+    @Data
+    public static class VClaimCache {
+        /**
+         * Enable/disable caching of eligibility and referral lookups
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time an eligibility result stays fresh (seconds)
+         */
+        private int eligibilityTtlSeconds = 300;
+
+        /**
+         * Time a referral lookup stays fresh (seconds)
+         */
+        private int referralTtlSeconds = 300;
+
+        /**
+         * Serve the last known result when BPJS fails, up to this long after expiry (seconds, 0 = off)
+         */
+        private int maxStaleSeconds = 1800;
+
+        /**
+         * Maximum cached entries per lookup type
+         */
+        private int maxEntries = 5000;
+    }
+
+    /**
+     * BPJS Registration Workflow (eligibility, referral, doctor schedule, queue)
+     */
+    @Data
+    public static class RegistrationWorkflow {
+        /**
+         * Enable/disable BPJS calls during outpatient registration
+         */
+        private boolean enabled = true;
+
+        /**
+         * Shared deadline for all remote calls of one registration (milliseconds)
+         */
+        private long deadlineMs = 10000;
+
+        /**
+         * Reject the registration when eligibility cannot be verified (BPJS down or timed out)
+         */
+        private boolean requireEligibility = true;
+
+        /**
+         * Register the visit in Antrean RS after the local registration is saved
+         */
+        private boolean addQueue = true;
+    }
+
+    /**
+     * Antrean RS Task-Time Outbox (asynchronous task timestamp delivery)
+     */
+    @Data
+    public static class TaskOutbox {
+        /**
+         * Enable/disable recording and delivery of task timestamps
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between delivery polls (milliseconds)
+         */
+        private long pollIntervalMs = 1000;
+
+        /**
+         * Maximum events claimed per poll
+         */
+        private int batchSize = 100;
+
+        /**
+         * Maximum concurrent calls to Antrean RS
+         */
+        private int maxConcurrentSends = 8;
+
+        /**
+         * Claim lease, after which another node may pick the event up (seconds)
+         */
+        private int leaseSeconds = 60;
+
+        /**
+         * Retry delay after the first failure, doubled per attempt (seconds)
+         */
+        private int initialBackoffSeconds = 15;
+
+        /**
+         * Upper bound of the retry delay (seconds)
+         */
+        private int maxBackoffSeconds = 1800;
+
+        /**
+         * Attempts before an event is marked FAILED
+         */
+        private int maxAttempts = 12;
+
+        /**
+         * Delay between reconciliations against the BPJS task list (milliseconds)
+         */
+        private long reconcileIntervalMs = 600000;
+
+        /**
+         * Failed attempts after which a pending event is checked against the task list
+         */
+        private int reconcileAfterAttempts = 3;
+
+        /**
+         * Delivered events are confirmed against the task list once they are this old (minutes)
+         */
+        private int confirmAfterMinutes = 30;
+
+        /**
+         * Maximum bookings checked per reconciliation
+         */
+        private int reconcileBatchSize = 50;
+
+        /**
+         * Pending events of a booking not added to Antrean RS within this time are parked (hours)
+         */
+        private int unregisteredBookingHours = 24;
+
+        /**
+         * Retry delay for the given attempt number (1-based), in seconds
+         */
+        public long backoffSeconds(int attempt) {
+            int exponent = Math.max(0, Math.min(attempt - 1, 20));
+            return Math.min((long) initialBackoffSeconds << exponent, maxBackoffSeconds);
+        }
+    }
+
+    /**
+     * iCare JKN History Access Sessions
+     */
+    @Data
+    public static class ICareSessions {
+        /**
+         * Lifetime of a history access token (hours)
+         */
+        private int tokenExpiryHours = 24;
+
+        /**
+         * Maximum sessions kept; the sessions closest to expiry are evicted first
+         */
+        private int maxSessions = 10000;
+
+        /**
+         * Delay between expiry sweeps (milliseconds)
+         */
+        private long sweepIntervalMs = 60000;
+
+        /**
+         * Write sessions through to the database so they survive restarts and are shared across nodes
+         */
+        private boolean persistenceEnabled = false;
+    }
+
+    /**
+     * Aplicares Bed Availability Sync
+     */
+    @Data
+    public static class AplicaresSync {
+        /**
+         * Push bed availability changes to Aplicares
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between flushes of changed rooms (milliseconds)
+         */
+        private long flushIntervalMs = 1000;
+
+        /**
+         * A changed room is pushed once it has been quiet this long (milliseconds)
+         */
+        private long quietPeriodMs = 3000;
+
+        /**
+         * A room that keeps changing is pushed at the latest this long after its first change (milliseconds)
+         */
+        private long maxDelayMs = 15000;
+
+        /**
+         * Delay between full reconciliations against Aplicares (milliseconds)
+         */
+        private long reconcileIntervalMs = 900000;
+
+        /**
+         * Page size when reading the Aplicares bed board
+         */
+        private int reconcilePageSize = 100;
+
+        /**
+         * Retry delay for a room whose push failed (milliseconds)
+         */
+        private long retryDelayMs = 30000;
+
+        /**
+         * Aplicares class code per hospital room class; rooms of unmapped classes are not published
+         */
+        private Map<String, String> classCodes = new LinkedHashMap<>(Map.of(
+            "VIP", "VIP",
+            "KELAS_1", "KL1",
+            "KELAS_2", "KL2",
+            "KELAS_3", "KL3",
+            "ICU", "ICU",
+            "NICU", "NIC",
+            "PICU", "PIC"));
+    }
+
     /**
      * Antrean RS Endpoints (Hospital Queue Management)
      */
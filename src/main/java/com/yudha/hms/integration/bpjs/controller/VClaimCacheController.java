@@ -0,0 +1,41 @@
+package com.yudha.hms.integration.bpjs.controller;
+
+import com.yudha.hms.integration.bpjs.service.VClaimLookupCache;
+import com.yudha.hms.shared.util.ExpiringCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for monitoring the VClaim lookup cache.
+ *
+ * Endpoints:
+ * - GET /api/v1/bpjs/vclaim-cache/statistics - Size, hit ratio and stale hits per cache
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@RestController
+@RequestMapping("/api/v1/bpjs/vclaim-cache")
+@RequiredArgsConstructor
+public class VClaimCacheController {
+
+    private final VClaimLookupCache vClaimLookupCache;
+
+    /**
+     * Hit/miss statistics of the eligibility and referral caches.
+     *
+     * @return statistics per cache
+     */
+    @GetMapping("/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ExpiringCache.Stats>> getStatistics() {
+        return ResponseEntity.ok(vClaimLookupCache.getStatistics());
+    }
+}
@@ -0,0 +1,141 @@
+package com.yudha.hms.integration.bpjs.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Antrean RS Task Event Entity.
+ *
+ * Outbox row for one task timestamp of a booking. The timestamp is recorded at the
+ * moment of the clinical action; delivery to BPJS happens later.
+ *
+ * Status:
+ * - PENDING: Waiting for (re)delivery
+ * - SENT: Accepted by BPJS
+ * - CONFIRMED: Seen in the BPJS task list during reconciliation
+ * - SUPERSEDED: Dropped because the booking was cancelled before delivery
+ * - PARKED: The booking was never added to Antrean RS; queued again if it is added later
+ * - FAILED: Gave up after the maximum number of attempts
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "bpjs_antrean_task_events",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_antrean_task_event", columnNames = {"booking_code", "task_id"})
+    },
+    indexes = {
+        @Index(name = "idx_antrean_task_event_booking", columnList = "booking_code, task_time_ms")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AntreanTaskEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "booking_code", nullable = false, length = 50)
+    private String bookingCode;
+
+    /**
+     * Antrean RS task ID (see TaskId)
+     */
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    /**
+     * Moment the task happened, epoch milliseconds
+     */
+    @Column(name = "task_time_ms", nullable = false)
+    private Long taskTimeMs;
+
+    /**
+     * Prescription type for pharmacy tasks ("Tidak ada", "Racikan", "Non racikan")
+     */
+    @Column(name = "prescription_type", length = 20)
+    private String prescriptionType;
+
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempt_count", nullable = false)
+    @Builder.Default
+    private Integer attemptCount = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "confirmed_at")
+    private LocalDateTime confirmedAt;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    @Builder.Default
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Delivery status enumeration
+     */
+    public enum Status {
+        PENDING,
+        SENT,
+        CONFIRMED,
+        SUPERSEDED,
+        PARKED,
+        FAILED
+    }
+
+    /**
+     * Mark as accepted by BPJS
+     */
+    public void markAsSent(LocalDateTime now) {
+        this.status = Status.SENT;
+        this.sentAt = now;
+        this.lastError = null;
+        this.claimedBy = null;
+        this.claimedUntil = null;
+    }
+
+    /**
+     * Mark as present in the BPJS task list
+     */
+    public void markAsConfirmed(LocalDateTime now) {
+        this.status = Status.CONFIRMED;
+        this.confirmedAt = now;
+        this.claimedBy = null;
+        this.claimedUntil = null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.yudha.hms.integration.bpjs.entity;
+
+import com.yudha.hms.integration.bpjs.dto.icare.HistoryAccessInfo;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * iCare JKN Session Entity.
+ *
+ * Persistent copy of a history access token, written through by the session store.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "bpjs_icare_sessions",
+    indexes = {
+        @Index(name = "idx_icare_session_card", columnList = "card_number, accessed_at"),
+        @Index(name = "idx_icare_session_doctor", columnList = "doctor_code, accessed_at"),
+        @Index(name = "idx_icare_session_expiry", columnList = "expires_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ICareSession {
+
+    @Id
+    @Column(name = "token", length = 255)
+    private String token;
+
+    @Column(name = "card_number", nullable = false, length = 20)
+    private String cardNumber;
+
+    @Column(name = "patient_name", length = 200)
+    private String patientName;
+
+    @Column(name = "doctor_code")
+    private Integer doctorCode;
+
+    @Column(name = "doctor_name", length = 200)
+    private String doctorName;
+
+    @Column(name = "history_url", nullable = false, columnDefinition = "text")
+    private String historyUrl;
+
+    @Column(name = "accessed_at", nullable = false)
+    private LocalDateTime accessedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "requested_by", length = 100)
+    private String requestedBy;
+
+    @Column(name = "ip_address", length = 50)
+    private String ipAddress;
+
+    @Column(name = "access_purpose", length = 100)
+    private String accessPurpose;
+
+    /**
+     * Create from access info
+     */
+    public static ICareSession from(HistoryAccessInfo info) {
+        return ICareSession.builder()
+            .token(info.getToken())
+            .cardNumber(info.getCardNumber())
+            .patientName(info.getPatientName())
+            .doctorCode(info.getDoctorCode())
+            .doctorName(info.getDoctorName())
+            .historyUrl(info.getHistoryUrl())
+            .accessedAt(info.getAccessedAt())
+            .expiresAt(info.getExpiresAt())
+            .requestedBy(info.getRequestedBy())
+            .ipAddress(info.getIpAddress())
+            .accessPurpose(info.getAccessPurpose())
+            .build();
+    }
+
+    /**
+     * Convert to access info
+     */
+    public HistoryAccessInfo toAccessInfo() {
+        return HistoryAccessInfo.builder()
+            .token(token)
+            .cardNumber(cardNumber)
+            .patientName(patientName)
+            .doctorCode(doctorCode)
+            .doctorName(doctorName)
+            .historyUrl(historyUrl)
+            .accessedAt(accessedAt)
+            .expiresAt(expiresAt)
+            .requestedBy(requestedBy)
+            .ipAddress(ipAddress)
+            .accessPurpose(accessPurpose)
+            .build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.yudha.hms.integration.bpjs.repository;
+
+import com.yudha.hms.integration.bpjs.entity.AntreanTaskEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the Antrean RS task-time outbox.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface AntreanTaskEventRepository extends JpaRepository<AntreanTaskEvent, UUID> {
+
+    /**
+     * Record a task timestamp. A task recorded again while still pending keeps the
+     * earliest timestamp; once delivered, later recordings are ignored.
+     *
+     * @return 1 if a row was inserted or coalesced, 0 if the task was already delivered
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO bpjs_antrean_task_events
+            (id, booking_code, task_id, task_time_ms, prescription_type, status,
+             attempt_count, next_attempt_at, created_at, updated_at)
+        VALUES (gen_random_uuid(), :bookingCode, :taskId, :taskTimeMs, :prescriptionType, 'PENDING',
+                0, :now, :now, :now)
+        ON CONFLICT (booking_code, task_id) DO UPDATE
+            SET task_time_ms = LEAST(bpjs_antrean_task_events.task_time_ms, EXCLUDED.task_time_ms),
+                prescription_type = COALESCE(EXCLUDED.prescription_type, bpjs_antrean_task_events.prescription_type),
+                updated_at = EXCLUDED.updated_at
+            WHERE bpjs_antrean_task_events.status = 'PENDING'
+        """, nativeQuery = true)
+    int upsertPending(
+        @Param("bookingCode") String bookingCode,
+        @Param("taskId") int taskId,
+        @Param("taskTimeMs") long taskTimeMs,
+        @Param("prescriptionType") String prescriptionType,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Drop undelivered tasks of a booking other than the given one (used when a booking is cancelled).
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bpjs_antrean_task_events
+        SET status = 'SUPERSEDED', updated_at = :now
+        WHERE booking_code = :bookingCode AND status = 'PENDING' AND task_id <> :keepTaskId
+        """, nativeQuery = true)
+    int supersedePending(
+        @Param("bookingCode") String bookingCode,
+        @Param("keepTaskId") int keepTaskId,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Record that a booking was added to Antrean RS.
+     *
+     * @return 1 if the booking was not recorded before, 0 otherwise
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO bpjs_antrean_bookings (booking_code, registered_at)
+        VALUES (:bookingCode, :now)
+        ON CONFLICT (booking_code) DO NOTHING
+        """, nativeQuery = true)
+    int insertRegisteredBooking(@Param("bookingCode") String bookingCode, @Param("now") LocalDateTime now);
+
+    /**
+     * Queue the parked events of a booking again (used once the booking is added to Antrean RS).
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bpjs_antrean_task_events
+        SET status = 'PENDING', next_attempt_at = :now, updated_at = :now
+        WHERE booking_code = :bookingCode AND status = 'PARKED'
+        """, nativeQuery = true)
+    int unparkBooking(@Param("bookingCode") String bookingCode, @Param("now") LocalDateTime now);
+
+    /**
+     * Park pending events of bookings that were not added to Antrean RS before the cutoff.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE bpjs_antrean_task_events e
+        SET status = 'PARKED', claimed_by = NULL, claimed_until = NULL,
+            last_error = 'Booking not added to Antrean RS', updated_at = :now
+        WHERE e.status = 'PENDING'
+          AND e.created_at < :cutoff
+          AND (e.claimed_until IS NULL OR e.claimed_until < :now)
+          AND NOT EXISTS (SELECT 1 FROM bpjs_antrean_bookings b WHERE b.booking_code = e.booking_code)
+        """, nativeQuery = true)
+    int parkUnregistered(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
+
+    /**
+     * Lock due events for delivery. Only the oldest pending event of each booking is
+     * eligible, so tasks of one booking reach BPJS in the order they happened, and only
+     * bookings added to Antrean RS are delivered. Rows locked by another node are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM bpjs_antrean_task_events e
+        WHERE e.status = 'PENDING'
+          AND e.next_attempt_at <= :now
+          AND (e.claimed_until IS NULL OR e.claimed_until < :now)
+          AND EXISTS (SELECT 1 FROM bpjs_antrean_bookings b WHERE b.booking_code = e.booking_code)
+          AND NOT EXISTS (
+              SELECT 1 FROM bpjs_antrean_task_events p
+              WHERE p.booking_code = e.booking_code
+                AND p.status = 'PENDING'
+                AND (p.task_time_ms < e.task_time_ms
+                     OR (p.task_time_ms = e.task_time_ms AND p.task_id < e.task_id))
+          )
+        ORDER BY e.next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<AntreanTaskEvent> lockDueForDispatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Booking codes that need reconciliation with the BPJS task list: events that keep
+     * failing, and recently delivered events not yet confirmed. Bookings not added to
+     * Antrean RS have no task list and are left out.
+     */
+    @Query(value = """
+        SELECT e.booking_code FROM bpjs_antrean_task_events e
+        WHERE ((e.status = 'PENDING' AND e.attempt_count >= :minAttempts)
+               OR (e.status = 'SENT' AND e.sent_at BETWEEN :sentAfter AND :sentBefore))
+          AND EXISTS (SELECT 1 FROM bpjs_antrean_bookings b WHERE b.booking_code = e.booking_code)
+        GROUP BY e.booking_code
+        ORDER BY MIN(e.updated_at)
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<String> findBookingCodesToReconcile(
+        @Param("minAttempts") int minAttempts,
+        @Param("sentAfter") LocalDateTime sentAfter,
+        @Param("sentBefore") LocalDateTime sentBefore,
+        @Param("limit") int limit
+    );
+
+    /**
+     * All events of a booking, in task order.
+     */
+    List<AntreanTaskEvent> findByBookingCodeOrderByTaskTimeMsAsc(String bookingCode);
+
+    /**
+     * Count events by status
+     */
+    long countByStatus(AntreanTaskEvent.Status status);
+}
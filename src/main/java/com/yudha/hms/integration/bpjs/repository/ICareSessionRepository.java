@@ -0,0 +1,51 @@
+package com.yudha.hms.integration.bpjs.repository;
+
+import com.yudha.hms.integration.bpjs.entity.ICareSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for persisted iCare JKN history access sessions.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface ICareSessionRepository extends JpaRepository<ICareSession, String> {
+
+    /**
+     * Find sessions that have not expired
+     */
+    List<ICareSession> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Find unexpired sessions of a patient, latest first
+     */
+    List<ICareSession> findByCardNumberAndExpiresAtAfterOrderByAccessedAtDesc(String cardNumber, LocalDateTime now);
+
+    /**
+     * Find unexpired sessions of a doctor, latest first
+     */
+    List<ICareSession> findByDoctorCodeAndExpiresAtAfterOrderByAccessedAtDesc(Integer doctorCode, LocalDateTime now);
+
+    /**
+     * Count unexpired sessions
+     */
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Delete expired sessions
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ICareSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
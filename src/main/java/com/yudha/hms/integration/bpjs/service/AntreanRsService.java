@@ -349,6 +349,8 @@ public class AntreanRsService {
     /**
      * Update queue time using TaskId enum.
      * Convenience method with TaskId enum and Instant.
+     * Clinical workflows record task times through {@link AntreanTaskTimeOutbox} instead,
+     * which calls this asynchronously.
      *
      * @param kodeBooking Booking code
      * @param taskId Task ID enum
@@ -0,0 +1,219 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.AntreanOperationResponse;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.TaskId;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.TaskListResponse;
+import com.yudha.hms.integration.bpjs.entity.AntreanTaskEvent;
+import com.yudha.hms.integration.bpjs.service.AntreanTaskTimeOutbox.DeliveryOutcome;
+import com.yudha.hms.integration.bpjs.service.AntreanTaskTimeOutbox.DeliveryResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers recorded Antrean RS task timestamps to BPJS.
+ *
+ * Each poll claims due events through {@link AntreanTaskTimeOutbox} (at most the oldest
+ * pending task of each booking, so tasks arrive in order), sends them concurrently on
+ * virtual threads bounded by max-concurrent-sends, and records all outcomes in one batch.
+ * Polling repeats while full batches come back so a backlog drains quickly. Failed sends
+ * are retried with exponential backoff. A BPJS answer that the task already exists counts
+ * as delivered.
+ *
+ * Reconciliation periodically reads the BPJS task list of bookings whose events keep
+ * failing or were delivered but not yet confirmed, confirms what BPJS already has and
+ * queues missing tasks again. It also parks the tasks of bookings that were never added
+ * to Antrean RS, which BPJS would keep rejecting.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AntreanTaskTimeDispatcher {
+
+    private static final int MAX_ROUNDS_PER_POLL = 10;
+
+    private final AntreanTaskTimeOutbox outbox;
+    private final AntreanRsService antreanRsService;
+    private final BpjsConfig bpjsConfig;
+
+    private final String nodeId = resolveNodeId();
+
+    @Scheduled(fixedDelayString = "${bpjs.task-outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!outbox.isEnabled()) {
+            return;
+        }
+        try {
+            int rounds = 0;
+            int dispatched;
+            do {
+                dispatched = dispatchDue();
+                rounds++;
+            } while (dispatched >= bpjsConfig.getTaskOutbox().getBatchSize() && rounds < MAX_ROUNDS_PER_POLL);
+        } catch (Exception e) {
+            log.error("Antrean RS task time dispatch failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bpjs.task-outbox.reconcile-interval-ms:600000}",
+               initialDelayString = "${bpjs.task-outbox.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        if (!outbox.isEnabled()) {
+            return;
+        }
+        try {
+            reconcileBookings();
+        } catch (Exception e) {
+            log.error("Antrean RS task list reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Claim and send one batch of due events.
+     *
+     * @return Number of events dispatched
+     */
+    public int dispatchDue() {
+        List<AntreanTaskEvent> claimed = outbox.claimDue(nodeId, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<DeliveryOutcome> outcomes = sendAll(claimed);
+        outbox.recordOutcomes(nodeId, outcomes);
+
+        long failed = outcomes.stream().filter(outcome -> outcome.result() == DeliveryResult.FAILED).count();
+        log.info("Dispatched {} Antrean RS task times ({} failed)", outcomes.size(), failed);
+        return outcomes.size();
+    }
+
+    /**
+     * Compare a batch of bookings with the BPJS task list.
+     *
+     * @return Number of bookings reconciled
+     */
+    public int reconcileBookings() {
+        outbox.parkUnregistered(LocalDateTime.now());
+        List<String> bookingCodes = outbox.findBookingCodesToReconcile(LocalDateTime.now());
+        int reconciled = 0;
+
+        for (String bookingCode : bookingCodes) {
+            try {
+                TaskListResponse taskList = antreanRsService.getTaskList(bookingCode);
+                outbox.applyReconciliation(bookingCode, taskIdsOf(taskList));
+                reconciled++;
+            } catch (Exception e) {
+                log.warn("Could not reconcile task list of booking {}: {}", bookingCode, e.getMessage());
+            }
+        }
+
+        if (!bookingCodes.isEmpty()) {
+            log.info("Reconciled {}/{} bookings with the Antrean RS task list", reconciled, bookingCodes.size());
+        }
+        return reconciled;
+    }
+
+    private List<DeliveryOutcome> sendAll(List<AntreanTaskEvent> events) {
+        Semaphore permits = new Semaphore(Math.max(1, bpjsConfig.getTaskOutbox().getMaxConcurrentSends()));
+        List<Future<DeliveryOutcome>> futures = new ArrayList<>(events.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (AntreanTaskEvent event : events) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return send(event);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<DeliveryOutcome> outcomes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (Exception e) {
+                outcomes.add(DeliveryOutcome.failure(events.get(i).getId(), e.toString()));
+            }
+        }
+        return outcomes;
+    }
+
+    private DeliveryOutcome send(AntreanTaskEvent event) {
+        UUID id = event.getId();
+        try {
+            AntreanOperationResponse response = antreanRsService.updateTaskTimeWithPrescription(
+                event.getBookingCode(),
+                TaskId.fromId(event.getTaskId()),
+                Instant.ofEpochMilli(event.getTaskTimeMs()),
+                event.getPrescriptionType());
+
+            if (response.isSuccess()) {
+                return DeliveryOutcome.of(id, DeliveryResult.SENT);
+            }
+            String error = response.getErrorMessage();
+            return isAlreadyRecorded(error)
+                ? DeliveryOutcome.of(id, DeliveryResult.ALREADY_RECORDED)
+                : DeliveryOutcome.failure(id, error);
+
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return isAlreadyRecorded(error)
+                ? DeliveryOutcome.of(id, DeliveryResult.ALREADY_RECORDED)
+                : DeliveryOutcome.failure(id, error);
+        }
+    }
+
+    /**
+     * BPJS rejects a task ID that is already stored for the booking ("TaskId=4 sudah ada").
+     */
+    private static boolean isAlreadyRecorded(String error) {
+        return error != null && error.toLowerCase(Locale.ROOT).contains("sudah ada");
+    }
+
+    private static Set<Integer> taskIdsOf(TaskListResponse taskList) {
+        if (taskList == null || taskList.getResponse() == null || taskList.getResponse().getList() == null) {
+            return Set.of();
+        }
+        return taskList.getResponse().getList().stream()
+            .map(TaskListResponse.TaskItem::getTaskid)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        if (host.length() > 80) {
+            host = host.substring(0, 80);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,304 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.TaskId;
+import com.yudha.hms.integration.bpjs.entity.AntreanTaskEvent;
+import com.yudha.hms.integration.bpjs.repository.AntreanTaskEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox for Antrean RS task timestamps.
+ *
+ * Clinical workflows call {@link #record} instead of {@link AntreanRsService#updateTaskTime}:
+ * the timestamp is written in the caller's transaction, so it is kept exactly when the
+ * action commits and never delays or fails the action itself. {@link AntreanTaskTimeDispatcher}
+ * delivers the events afterwards.
+ *
+ * Recording the same task of a booking twice keeps the earliest timestamp; a task already
+ * delivered is not sent again. Cancelling a booking (task 99) drops its undelivered tasks.
+ * Tasks are only delivered once the booking was added to Antrean RS ({@link #markQueueRegistered});
+ * tasks of a booking still not added after unregistered-booking-hours are parked.
+ * This class also holds the transactional claim and outcome steps of the dispatcher.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AntreanTaskTimeOutbox {
+
+    private final AntreanTaskEventRepository taskEventRepository;
+    private final BpjsConfig bpjsConfig;
+
+    /**
+     * Whether task timestamps are recorded.
+     *
+     * @return true if BPJS integration and the outbox are enabled
+     */
+    public boolean isEnabled() {
+        return bpjsConfig.isEnabled() && bpjsConfig.getTaskOutbox().isEnabled();
+    }
+
+    /**
+     * Record a task timestamp for delivery.
+     *
+     * @param kodeBooking Booking code
+     * @param taskId Task ID
+     * @param waktu Moment the task happened
+     */
+    @Transactional
+    public void record(String kodeBooking, TaskId taskId, Instant waktu) {
+        record(kodeBooking, taskId, waktu, null);
+    }
+
+    /**
+     * Record a task timestamp that happened at a local date-time (as stored on entities).
+     *
+     * @param kodeBooking Booking code
+     * @param taskId Task ID
+     * @param waktu Moment the task happened, in the system time zone
+     */
+    @Transactional
+    public void record(String kodeBooking, TaskId taskId, LocalDateTime waktu) {
+        record(kodeBooking, taskId, (waktu != null ? waktu : LocalDateTime.now())
+            .atZone(ZoneId.systemDefault()).toInstant(), null);
+    }
+
+    /**
+     * Record a pharmacy task timestamp with its prescription type.
+     *
+     * @param kodeBooking Booking code
+     * @param taskId Task ID
+     * @param waktu Moment the task happened
+     * @param jenisResep Prescription type ("Tidak ada", "Racikan", "Non racikan"), or null
+     */
+    @Transactional
+    public void record(String kodeBooking, TaskId taskId, Instant waktu, String jenisResep) {
+        if (!isEnabled() || kodeBooking == null) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int recorded = taskEventRepository.upsertPending(
+            kodeBooking, taskId.getId(), waktu.toEpochMilli(), jenisResep, now);
+
+        if (taskId == TaskId.CANCELED) {
+            int superseded = taskEventRepository.supersedePending(kodeBooking, taskId.getId(), now);
+            if (superseded > 0) {
+                log.info("Dropped {} undelivered task times of cancelled booking {}", superseded, kodeBooking);
+            }
+        }
+
+        if (recorded == 0) {
+            log.debug("Task {} of booking {} was already delivered, new time ignored", taskId.getId(), kodeBooking);
+        }
+    }
+
+    /**
+     * Record that a booking was added to Antrean RS, so its task timestamps are delivered.
+     *
+     * @param kodeBooking Booking code
+     */
+    @Transactional
+    public void markQueueRegistered(String kodeBooking) {
+        if (!isEnabled() || kodeBooking == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        taskEventRepository.insertRegisteredBooking(kodeBooking, now);
+        int unparked = taskEventRepository.unparkBooking(kodeBooking, now);
+        if (unparked > 0) {
+            log.info("Queued {} parked task times of booking {} for delivery", unparked, kodeBooking);
+        }
+    }
+
+    /**
+     * Park pending events of bookings that were not added to Antrean RS in time.
+     *
+     * @return Number of events parked
+     */
+    @Transactional
+    public int parkUnregistered(LocalDateTime now) {
+        int parked = taskEventRepository.parkUnregistered(
+            now.minusHours(bpjsConfig.getTaskOutbox().getUnregisteredBookingHours()), now);
+        if (parked > 0) {
+            log.warn("Parked {} task times of bookings not added to Antrean RS", parked);
+        }
+        return parked;
+    }
+
+    /**
+     * Get the recorded task events of a booking.
+     *
+     * @param kodeBooking Booking code
+     * @return Events in task order
+     */
+    @Transactional(readOnly = true)
+    public List<AntreanTaskEvent> getEvents(String kodeBooking) {
+        return taskEventRepository.findByBookingCodeOrderByTaskTimeMsAsc(kodeBooking);
+    }
+
+    /**
+     * Count outbox events per delivery status.
+     *
+     * @return Event count by status
+     */
+    @Transactional(readOnly = true)
+    public Map<AntreanTaskEvent.Status, Long> getStatusCounts() {
+        Map<AntreanTaskEvent.Status, Long> counts = new EnumMap<>(AntreanTaskEvent.Status.class);
+        for (AntreanTaskEvent.Status status : AntreanTaskEvent.Status.values()) {
+            counts.put(status, taskEventRepository.countByStatus(status));
+        }
+        return counts;
+    }
+
+    // ========== Dispatcher steps ==========
+
+    /**
+     * Claim due events: lock them, stamp a lease and count the attempt. The claim is
+     * committed before anything is sent, so other nodes skip these events.
+     */
+    @Transactional
+    public List<AntreanTaskEvent> claimDue(String nodeId, LocalDateTime now) {
+        BpjsConfig.TaskOutbox config = bpjsConfig.getTaskOutbox();
+        List<AntreanTaskEvent> claimed = taskEventRepository.lockDueForDispatch(now, config.getBatchSize());
+        LocalDateTime leaseUntil = now.plusSeconds(config.getLeaseSeconds());
+
+        for (AntreanTaskEvent event : claimed) {
+            event.setAttemptCount(event.getAttemptCount() + 1);
+            event.setClaimedBy(nodeId);
+            event.setClaimedUntil(leaseUntil);
+        }
+        return claimed;
+    }
+
+    /**
+     * Record the outcomes of a delivery batch.
+     */
+    @Transactional
+    public void recordOutcomes(String nodeId, List<DeliveryOutcome> outcomes) {
+        BpjsConfig.TaskOutbox config = bpjsConfig.getTaskOutbox();
+        Map<UUID, DeliveryOutcome> outcomesById = outcomes.stream()
+            .collect(Collectors.toMap(DeliveryOutcome::id, Function.identity()));
+        List<AntreanTaskEvent> events = taskEventRepository.findAllById(outcomesById.keySet());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (AntreanTaskEvent event : events) {
+            if (!nodeId.equals(event.getClaimedBy())) {
+                log.warn("Dispatch lease lost for task event {}, outcome not recorded", event.getId());
+                continue;
+            }
+            DeliveryOutcome outcome = outcomesById.get(event.getId());
+
+            switch (outcome.result()) {
+                case SENT -> event.markAsSent(now);
+                case ALREADY_RECORDED -> event.markAsConfirmed(now);
+                case FAILED -> {
+                    event.setClaimedBy(null);
+                    event.setClaimedUntil(null);
+                    event.setLastError(outcome.error());
+                    if (event.getAttemptCount() >= config.getMaxAttempts()) {
+                        event.setStatus(AntreanTaskEvent.Status.FAILED);
+                        log.error("Giving up task {} of booking {} after {} attempts: {}",
+                            event.getTaskId(), event.getBookingCode(), event.getAttemptCount(), outcome.error());
+                    } else {
+                        event.setNextAttemptAt(now.plusSeconds(config.backoffSeconds(event.getAttemptCount())));
+                        log.warn("Task {} of booking {} failed (attempt {}/{}): {}",
+                            event.getTaskId(), event.getBookingCode(), event.getAttemptCount(),
+                            config.getMaxAttempts(), outcome.error());
+                    }
+                }
+            }
+        }
+
+        taskEventRepository.saveAll(events);
+    }
+
+    /**
+     * Booking codes to check against the BPJS task list.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findBookingCodesToReconcile(LocalDateTime now) {
+        BpjsConfig.TaskOutbox config = bpjsConfig.getTaskOutbox();
+        return taskEventRepository.findBookingCodesToReconcile(
+            config.getReconcileAfterAttempts(),
+            now.minusDays(1),
+            now.minusMinutes(config.getConfirmAfterMinutes()),
+            config.getReconcileBatchSize());
+    }
+
+    /**
+     * Apply the BPJS task list of a booking: tasks BPJS already has are confirmed (and no
+     * longer retried); delivered tasks BPJS does not have are queued for delivery again.
+     *
+     * @param kodeBooking Booking code
+     * @param bpjsTaskIds Task IDs present in the BPJS task list
+     */
+    @Transactional
+    public void applyReconciliation(String kodeBooking, Set<Integer> bpjsTaskIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<AntreanTaskEvent> events = taskEventRepository.findByBookingCodeOrderByTaskTimeMsAsc(kodeBooking);
+        int confirmed = 0;
+        int requeued = 0;
+
+        for (AntreanTaskEvent event : events) {
+            boolean present = bpjsTaskIds.contains(event.getTaskId());
+            boolean claimed = event.getClaimedUntil() != null && event.getClaimedUntil().isAfter(now);
+            if (claimed) {
+                continue;
+            }
+            if (present && (event.getStatus() == AntreanTaskEvent.Status.PENDING
+                    || event.getStatus() == AntreanTaskEvent.Status.SENT)) {
+                event.markAsConfirmed(now);
+                confirmed++;
+            } else if (!present && event.getStatus() == AntreanTaskEvent.Status.SENT) {
+                event.setStatus(AntreanTaskEvent.Status.PENDING);
+                event.setNextAttemptAt(now);
+                requeued++;
+            }
+        }
+
+        taskEventRepository.saveAll(events);
+        if (confirmed > 0 || requeued > 0) {
+            log.info("Reconciled booking {} with BPJS task list: {} confirmed, {} queued again",
+                kodeBooking, confirmed, requeued);
+        }
+    }
+
+    /**
+     * Delivery result of one event.
+     */
+    public enum DeliveryResult {
+        SENT, ALREADY_RECORDED, FAILED
+    }
+
+    /**
+     * Result of one delivery attempt, recorded in batches after the sends complete.
+     */
+    public record DeliveryOutcome(UUID id, DeliveryResult result, String error) {
+
+        public static DeliveryOutcome of(UUID id, DeliveryResult result) {
+            return new DeliveryOutcome(id, result, null);
+        }
+
+        public static DeliveryOutcome failure(UUID id, String error) {
+            return new DeliveryOutcome(id, DeliveryResult.FAILED, error);
+        }
+    }
+}
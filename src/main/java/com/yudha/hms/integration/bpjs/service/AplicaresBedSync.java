@@ -0,0 +1,307 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.aplicares.AplicaresOperationResponse;
+import com.yudha.hms.integration.bpjs.dto.aplicares.BedAvailabilityRequest;
+import com.yudha.hms.integration.bpjs.dto.aplicares.BedAvailabilityResponse;
+import com.yudha.hms.registration.entity.Room;
+import com.yudha.hms.registration.repository.BedRepository;
+import com.yudha.hms.registration.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the BPJS Aplicares bed board in step with room and bed occupancy.
+ *
+ * Occupancy changes only mark a room as changed. The flush pushes a room once it has been
+ * quiet for quiet-period-ms (or max-delay-ms after its first change), so a burst such as a
+ * ward-wide transfer results in one push per room. Availability is recomputed from the
+ * beds at flush time and compared with what was last pushed; rooms whose figures did not
+ * change, including changes that were rolled back, are not sent.
+ *
+ * Reconciliation reads the whole Aplicares bed board page by page, pushes rooms whose
+ * figures differ, creates rooms missing from Aplicares and resets the last-pushed state
+ * from what Aplicares reports, so changes made on other nodes or by hand are corrected.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AplicaresBedSync {
+
+    private final AplicaresService aplicaresService;
+    private final RoomRepository roomRepository;
+    private final BedRepository bedRepository;
+    private final BpjsConfig bpjsConfig;
+
+    private final Map<UUID, PendingChange> pending = new ConcurrentHashMap<>();
+    private final Map<String, RoomAvailability> lastPushed = new ConcurrentHashMap<>();
+
+    /**
+     * Whether bed availability is synchronized.
+     *
+     * @return true if Aplicares is configured and the sync is enabled
+     */
+    public boolean isEnabled() {
+        return bpjsConfig.getAplicaresSync().isEnabled() && aplicaresService.isAplicaresEnabled();
+    }
+
+    /**
+     * Mark a room whose bed occupancy changed.
+     *
+     * @param roomId Room ID
+     */
+    public void markChanged(UUID roomId) {
+        if (roomId == null || !isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        pending.merge(roomId, new PendingChange(now, now, 0),
+            (existing, change) -> new PendingChange(existing.firstAtMs(), now, existing.notBeforeMs()));
+    }
+
+    /**
+     * Number of rooms waiting to be pushed.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${bpjs.aplicares-sync.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty() || !isEnabled()) {
+            return;
+        }
+        try {
+            flushDue(System.currentTimeMillis());
+        } catch (Exception e) {
+            log.error("Aplicares bed availability flush failed", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${bpjs.aplicares-sync.reconcile-interval-ms:900000}",
+               initialDelayString = "${bpjs.aplicares-sync.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            reconcileAll();
+        } catch (Exception e) {
+            log.error("Aplicares bed availability reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Push the changed rooms that are due.
+     *
+     * @param nowMs Current time (epoch milliseconds)
+     * @return Number of rooms pushed
+     */
+    public int flushDue(long nowMs) {
+        BpjsConfig.AplicaresSync config = bpjsConfig.getAplicaresSync();
+        List<UUID> due = new ArrayList<>();
+
+        for (Map.Entry<UUID, PendingChange> entry : pending.entrySet()) {
+            PendingChange change = entry.getValue();
+            boolean quiet = nowMs - change.lastAtMs() >= config.getQuietPeriodMs();
+            boolean overdue = nowMs - change.firstAtMs() >= config.getMaxDelayMs();
+            // remove(key, value) fails if the room changed again meanwhile; it is picked up later
+            if (nowMs >= change.notBeforeMs() && (quiet || overdue) && pending.remove(entry.getKey(), change)) {
+                due.add(entry.getKey());
+            }
+        }
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        int pushed = 0;
+        int unchanged = 0;
+        for (RoomAvailability availability : computeAvailability(roomRepository.findAllById(due))) {
+            if (availability.equals(lastPushed.get(availability.roomCode()))) {
+                unchanged++;
+                continue;
+            }
+            if (push(availability, false)) {
+                pushed++;
+            } else {
+                long retryAt = nowMs + config.getRetryDelayMs();
+                pending.putIfAbsent(availability.roomId(), new PendingChange(nowMs, nowMs, retryAt));
+            }
+        }
+
+        log.info("Aplicares bed sync: {} rooms pushed, {} unchanged, {} still pending",
+            pushed, unchanged, pending.size());
+        return pushed;
+    }
+
+    /**
+     * Compare every published room with the Aplicares bed board and push the differences.
+     *
+     * @return Number of rooms pushed or created
+     */
+    public int reconcileAll() {
+        Map<String, BedAvailabilityResponse.BedInfo> remote = fetchBedBoard();
+        List<RoomAvailability> local = computeAvailability(roomRepository.findByIsActive(true));
+        int pushed = 0;
+        int created = 0;
+
+        for (RoomAvailability availability : local) {
+            BedAvailabilityResponse.BedInfo info = remote.remove(availability.roomCode());
+            if (info == null) {
+                if (push(availability, true)) {
+                    created++;
+                }
+            } else if (!availability.matches(info)) {
+                if (push(availability, false)) {
+                    pushed++;
+                }
+            } else {
+                lastPushed.put(availability.roomCode(), availability);
+            }
+        }
+
+        if (!remote.isEmpty()) {
+            log.warn("Aplicares lists rooms not published by this hospital: {}", remote.keySet());
+        }
+        log.info("Aplicares bed reconciliation: {} rooms checked, {} updated, {} created",
+            local.size(), pushed, created);
+        return pushed + created;
+    }
+
+    private boolean push(RoomAvailability availability, boolean create) {
+        try {
+            BedAvailabilityRequest request = availability.toRequest();
+            AplicaresOperationResponse response = create
+                ? aplicaresService.createRoom(request)
+                : aplicaresService.updateBedAvailability(request);
+            if (response.isSuccess()) {
+                lastPushed.put(availability.roomCode(), availability);
+                return true;
+            }
+        } catch (Exception e) {
+            log.warn("Could not push bed availability of room {}: {}", availability.roomCode(), e.getMessage());
+        }
+        lastPushed.remove(availability.roomCode());
+        return false;
+    }
+
+    private Map<String, BedAvailabilityResponse.BedInfo> fetchBedBoard() {
+        int pageSize = Math.max(1, bpjsConfig.getAplicaresSync().getReconcilePageSize());
+        Map<String, BedAvailabilityResponse.BedInfo> board = new HashMap<>();
+        int start = 1;
+
+        while (true) {
+            BedAvailabilityResponse page = aplicaresService.getBedAvailability(start, pageSize);
+            List<BedAvailabilityResponse.BedInfo> list = page.getResponse() != null ? page.getResponse().getList() : null;
+            if (list == null || list.isEmpty()) {
+                break;
+            }
+            list.forEach(info -> board.put(info.getKoderuang(), info));
+            Integer total = page.getMetadata() != null ? page.getMetadata().getTotalitems() : null;
+            start += list.size();
+            if (list.size() < pageSize || (total != null && start > total)) {
+                break;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Availability of the given rooms from their active beds. Rooms without bed records
+     * fall back to the room counters; inactive rooms count as full.
+     */
+    private List<RoomAvailability> computeAvailability(Collection<Room> rooms) {
+        Map<String, String> classCodes = bpjsConfig.getAplicaresSync().getClassCodes();
+        Map<UUID, Room> published = new HashMap<>();
+        for (Room room : rooms) {
+            if (classCodes.get(room.getRoomClass().name()) != null) {
+                published.put(room.getId(), room);
+            }
+        }
+        if (published.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, int[]> bedCounts = new HashMap<>();
+        for (Object[] row : bedRepository.countBedsByRoomIds(published.keySet())) {
+            bedCounts.put((UUID) row[0], new int[] {((Number) row[1]).intValue(), ((Number) row[2]).intValue()});
+        }
+
+        List<RoomAvailability> result = new ArrayList<>(published.size());
+        for (Room room : published.values()) {
+            int[] counts = bedCounts.get(room.getId());
+            int capacity = counts != null ? counts[0] : Objects.requireNonNullElse(room.getTotalBeds(), 0);
+            int available = counts != null ? counts[1] : Objects.requireNonNullElse(room.getAvailableBeds(), 0);
+            if (!Boolean.TRUE.equals(room.getIsActive())) {
+                available = 0;
+            }
+            result.add(RoomAvailability.of(room, classCodes.get(room.getRoomClass().name()), capacity, available));
+        }
+        return result;
+    }
+
+    /**
+     * A room change waiting for the flush.
+     *
+     * @param firstAtMs First change since the last push
+     * @param lastAtMs Latest change
+     * @param notBeforeMs Earliest push time after a failed push
+     */
+    private record PendingChange(long firstAtMs, long lastAtMs, long notBeforeMs) {
+    }
+
+    /**
+     * Bed availability of one room as published to Aplicares.
+     */
+    record RoomAvailability(UUID roomId, String roomCode, String classCode, String roomName,
+                            int capacity, int available, int availableMale, int availableFemale,
+                            int availableMixed) {
+
+        static RoomAvailability of(Room room, String classCode, int capacity, int available) {
+            String gender = room.getGenderRestriction();
+            int male = "MALE".equalsIgnoreCase(gender) ? available : 0;
+            int female = "FEMALE".equalsIgnoreCase(gender) ? available : 0;
+            int mixed = available - male - female;
+            String name = room.getRoomName() != null ? room.getRoomName() : room.getFullRoomName();
+            return new RoomAvailability(room.getId(), room.getRoomNumber(), classCode, name,
+                capacity, available, male, female, mixed);
+        }
+
+        boolean matches(BedAvailabilityResponse.BedInfo info) {
+            return Objects.equals(classCode, info.getKodekelas())
+                && Objects.equals(capacity, info.getKapasitas())
+                && Objects.equals(available, info.getTersedia())
+                && Objects.equals(availableMale, Objects.requireNonNullElse(info.getTersediapria(), 0))
+                && Objects.equals(availableFemale, Objects.requireNonNullElse(info.getTersediawanita(), 0))
+                && Objects.equals(availableMixed, Objects.requireNonNullElse(info.getTersediapriawanita(), 0));
+        }
+
+        BedAvailabilityRequest toRequest() {
+            return BedAvailabilityRequest.builder()
+                .koderuang(roomCode)
+                .kodekelas(classCode)
+                .namaruang(roomName)
+                .kapasitas(String.valueOf(capacity))
+                .tersedia(String.valueOf(available))
+                .tersediapria(String.valueOf(availableMale))
+                .tersediawanita(String.valueOf(availableFemale))
+                .tersediapriawanita(String.valueOf(availableMixed))
+                .build();
+        }
+    }
+}
@@ -10,9 +10,12 @@ import org.springframework.stereotype.Service;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.GeneralSecurityException;
 import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * BPJS Encryption/Decryption Service.
@@ -27,6 +30,10 @@ import java.util.Base64;
  * 3. Decompress using LZ-String algorithm
  * 4. Parse JSON result
  *
+ * Initialized ciphers are pooled and reused: requests run on virtual threads, so
+ * a per-thread cache would not be reused; the pool holds at most as many ciphers
+ * as there were concurrent calls. The pool is rebuilt when cons_secret changes.
+ *
  * @author HMS Development Team
  * @version 1.0.0
  * @since 2025-01-20
@@ -36,8 +43,12 @@ import java.util.Base64;
 @Slf4j
 public class BpjsEncryptionService {
 
+    private static final String TRANSFORMATION = "AES/ECB/PKCS5Padding";
+
     private final BpjsConfig bpjsConfig;
 
+    private volatile CipherPool cipherPool;
+
     /**
      * Decrypt BPJS response data.
      * Uses AES-256-ECB mode with cons_secret as key.
@@ -52,35 +63,34 @@ public class BpjsEncryptionService {
             return "";
         }
 
-        try {
-            // BPJS uses cons_secret as the AES key
-            String consSecret = bpjsConfig.getConsSecret();
-            if (consSecret == null || consSecret.isEmpty()) {
-                throw new BpjsEncryptionException("Consumer secret is not configured");
-            }
+        String decrypted = new String(decryptToBytes(encryptedData), StandardCharsets.UTF_8);
 
-            // Create AES key from cons_secret
-            byte[] keyBytes = consSecret.getBytes(StandardCharsets.UTF_8);
-            Key key = new SecretKeySpec(keyBytes, "AES");
+        if (bpjsConfig.isLoggingEnabled() && log.isDebugEnabled()) {
+            log.debug("Successfully decrypted BPJS response (length: {})", decrypted.length());
+        }
 
-            // Initialize cipher for AES/ECB mode
-            // Note: BPJS uses ECB mode (not recommended for general use, but required by BPJS)
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.DECRYPT_MODE, key);
+        return decrypted;
+    }
 
-            // Decode Base64 and decrypt
+    /**
+     * Decrypt BPJS response data to raw bytes.
+     *
+     * @param encryptedData Base64 encoded encrypted data
+     * @return Decrypted bytes (still compressed)
+     * @throws BpjsEncryptionException if decryption fails
+     */
+    public byte[] decryptToBytes(String encryptedData) {
+        CipherPool pool = cipherPool();
+        Cipher cipher = pool.borrow(Cipher.DECRYPT_MODE);
+        try {
+            // BPJS uses ECB mode (not recommended for general use, but required by BPJS)
             byte[] encryptedBytes = Base64.getDecoder().decode(encryptedData);
             byte[] decryptedBytes = cipher.doFinal(encryptedBytes);
-
-            String decrypted = new String(decryptedBytes, StandardCharsets.UTF_8);
-
-            if (bpjsConfig.isLoggingEnabled()) {
-                log.debug("Successfully decrypted BPJS response (length: {})", decrypted.length());
-            }
-
-            return decrypted;
+            pool.release(Cipher.DECRYPT_MODE, cipher);
+            return decryptedBytes;
 
         } catch (Exception e) {
+            // A cipher that failed mid-operation is not returned to the pool
             log.error("Failed to decrypt BPJS response", e);
             throw new BpjsEncryptionException("Decryption failed: " + e.getMessage(), e);
         }
@@ -114,22 +124,39 @@ public class BpjsEncryptionService {
         if (encryptedResponse == null || encryptedResponse.isEmpty()) {
             return "";
         }
+        return decryptAndDecompressToChars(encryptedResponse).toString();
+    }
+
+    /**
+     * Full response processing without intermediate strings: the decrypted bytes are
+     * decompressed directly into a character buffer that can be handed to a JSON parser.
+     *
+     * @param encryptedResponse Base64 encoded encrypted response
+     * @return Decrypted and decompressed JSON, backed by an array
+     * @throws BpjsEncryptionException if processing fails
+     */
+    public CharBuffer decryptAndDecompressToChars(String encryptedResponse) {
+        if (encryptedResponse == null || encryptedResponse.isEmpty()) {
+            return CharBuffer.wrap(new char[0]);
+        }
 
         try {
             // Step 1: Decrypt
-            String decrypted = decrypt(encryptedResponse);
+            byte[] decrypted = decryptToBytes(encryptedResponse);
 
-            // Step 2: Decompress
-            String decompressed = decompress(decrypted);
+            // Step 2: Decompress (the decrypted payload is ASCII Base64)
+            CharBuffer decompressed = LZStringUtil.decompressFromBase64(decrypted, 0, decrypted.length);
 
-            if (bpjsConfig.isLoggingEnabled()) {
+            if (bpjsConfig.isLoggingEnabled() && log.isDebugEnabled()) {
                 log.debug("Successfully processed BPJS response - " +
                     "encrypted length: {}, decrypted length: {}, final length: {}",
-                    encryptedResponse.length(), decrypted.length(), decompressed.length());
+                    encryptedResponse.length(), decrypted.length, decompressed.remaining());
             }
 
             return decompressed;
 
+        } catch (BpjsEncryptionException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to process BPJS encrypted response", e);
             throw new BpjsEncryptionException(
@@ -150,26 +177,16 @@ public class BpjsEncryptionService {
             return "";
         }
 
+        CipherPool pool = cipherPool();
+        Cipher cipher = pool.borrow(Cipher.ENCRYPT_MODE);
         try {
-            String consSecret = bpjsConfig.getConsSecret();
-            if (consSecret == null || consSecret.isEmpty()) {
-                throw new BpjsEncryptionException("Consumer secret is not configured");
-            }
-
-            // Create AES key from cons_secret
-            byte[] keyBytes = consSecret.getBytes(StandardCharsets.UTF_8);
-            Key key = new SecretKeySpec(keyBytes, "AES");
-
-            // Initialize cipher for AES/ECB mode
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, key);
-
             // Encrypt and encode to Base64
             byte[] plainBytes = plainData.getBytes(StandardCharsets.UTF_8);
             byte[] encryptedBytes = cipher.doFinal(plainBytes);
+            pool.release(Cipher.ENCRYPT_MODE, cipher);
             String encrypted = Base64.getEncoder().encodeToString(encryptedBytes);
 
-            if (bpjsConfig.isLoggingEnabled()) {
+            if (bpjsConfig.isLoggingEnabled() && log.isDebugEnabled()) {
                 log.debug("Successfully encrypted data (length: {} -> {})",
                     plainData.length(), encrypted.length());
             }
@@ -207,4 +224,50 @@ public class BpjsEncryptionService {
             return false;
         }
     }
+
+    /**
+     * Get the cipher pool for the configured cons_secret, rebuilding it if the secret changed.
+     */
+    private CipherPool cipherPool() {
+        String consSecret = bpjsConfig.getConsSecret();
+        if (consSecret == null || consSecret.isEmpty()) {
+            throw new BpjsEncryptionException("Consumer secret is not configured");
+        }
+
+        CipherPool pool = cipherPool;
+        if (pool == null || !pool.consSecret().equals(consSecret)) {
+            // Create AES key from cons_secret
+            pool = new CipherPool(consSecret,
+                new SecretKeySpec(consSecret.getBytes(StandardCharsets.UTF_8), "AES"),
+                new ConcurrentLinkedQueue<>(), new ConcurrentLinkedQueue<>());
+            cipherPool = pool;
+        }
+        return pool;
+    }
+
+    /**
+     * Initialized AES ciphers for one key. ECB ciphers return to their initialized
+     * state after doFinal, so a released cipher can be used again without init.
+     */
+    private record CipherPool(String consSecret, SecretKeySpec key,
+                              Queue<Cipher> decryptCiphers, Queue<Cipher> encryptCiphers) {
+
+        Cipher borrow(int mode) {
+            Cipher cipher = (mode == Cipher.DECRYPT_MODE ? decryptCiphers : encryptCiphers).poll();
+            if (cipher != null) {
+                return cipher;
+            }
+            try {
+                cipher = Cipher.getInstance(TRANSFORMATION);
+                cipher.init(mode, key);
+                return cipher;
+            } catch (GeneralSecurityException e) {
+                throw new BpjsEncryptionException("Cipher initialization failed: " + e.getMessage(), e);
+            }
+        }
+
+        void release(int mode, Cipher cipher) {
+            (mode == Cipher.DECRYPT_MODE ? decryptCiphers : encryptCiphers).offer(cipher);
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package com.yudha.hms.integration.bpjs.service;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.yudha.hms.integration.bpjs.config.BpjsConfig;
 import com.yudha.hms.integration.bpjs.exception.BpjsHttpException;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,8 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.CharBuffer;
 import java.util.Map;
 
 /**
@@ -94,7 +98,35 @@ public class BpjsHttpClient {
     }
 
     /**
-     * Core method to send HTTP requests to BPJS services.
+     * Send GET request and bind the (decrypted) "response" field directly to a DTO.
+     *
+     * Encrypted payloads are decompressed into a character buffer and parsed
+     * straight into the target type, without an intermediate String or JsonNode.
+     *
+     * @param baseUrl Base URL of the BPJS service
+     * @param endpoint API endpoint
+     * @param encrypted Whether the response is encrypted
+     * @param responseType Type of the "response" field
+     * @return Bound response, or null if the response has no "response" field
+     * @throws BpjsHttpException if request fails
+     */
+    public <T> T getResponse(String baseUrl, String endpoint, boolean encrypted, Class<T> responseType) {
+        return sendRequest(baseUrl, endpoint, HttpMethod.GET, null, encrypted, (envelope, decrypted) -> {
+            if (decrypted != null) {
+                try (JsonParser parser = objectMapper.getFactory().createParser(
+                        decrypted.array(), decrypted.arrayOffset() + decrypted.position(), decrypted.remaining())) {
+                    return objectMapper.readValue(parser, responseType);
+                }
+            }
+            JsonNode responseData = envelope.get("response");
+            return responseData == null || responseData.isNull()
+                ? null : objectMapper.treeToValue(responseData, responseType);
+        });
+    }
+
+    /**
+     * Core method to send HTTP requests to BPJS services, returning the envelope
+     * with the "response" field decrypted in place.
      *
      * @param baseUrl Base URL
      * @param endpoint API endpoint
@@ -105,6 +137,36 @@ public class BpjsHttpClient {
      */
     private JsonNode sendRequest(String baseUrl, String endpoint, HttpMethod method,
                                   Object requestBody, boolean encrypted) {
+        return sendRequest(baseUrl, endpoint, method, requestBody, encrypted, (envelope, decrypted) -> {
+            if (decrypted != null) {
+                // Replace response field with decrypted data
+                try (JsonParser parser = objectMapper.getFactory().createParser(
+                        decrypted.array(), decrypted.arrayOffset() + decrypted.position(), decrypted.remaining())) {
+                    JsonNode decryptedJson = objectMapper.readTree(parser);
+                    ((ObjectNode) envelope).set("response", decryptedJson);
+                }
+            }
+            return envelope;
+        });
+    }
+
+    /**
+     * Core method to send HTTP requests to BPJS services.
+     *
+     * The body is read as bytes and parsed once into the envelope (metaData and
+     * response). An encrypted "response" is decrypted and decompressed into a
+     * character buffer and handed to {@code decoder} together with the envelope.
+     *
+     * @param baseUrl Base URL
+     * @param endpoint API endpoint
+     * @param method HTTP method
+     * @param requestBody Request body (can be null)
+     * @param encrypted Whether response is encrypted
+     * @param decoder Converts the envelope and decrypted payload (null if not encrypted) to the result
+     * @return Decoded result
+     */
+    private <R> R sendRequest(String baseUrl, String endpoint, HttpMethod method,
+                              Object requestBody, boolean encrypted, ResponseDecoder<R> decoder) {
         if (!bpjsConfig.isEnabled()) {
             throw new BpjsHttpException("BPJS integration is disabled");
         }
@@ -134,29 +196,29 @@ public class BpjsHttpClient {
 
             if (bpjsConfig.isLoggingEnabled()) {
                 log.info("BPJS Request - {} {} (encrypted: {})", method, url, encrypted);
-                if (requestBody != null) {
+                if (requestBody != null && log.isDebugEnabled()) {
                     log.debug("Request body: {}", objectMapper.writeValueAsString(requestBody));
                 }
             }
 
             // Send request
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<byte[]> response = restTemplate.exchange(
                 url,
                 method,
                 entity,
-                String.class
+                byte[].class
             );
 
             long duration = System.currentTimeMillis() - startTime;
 
             // Process response
-            String responseBody = response.getBody();
-            if (responseBody == null || responseBody.isEmpty()) {
+            byte[] responseBody = response.getBody();
+            if (responseBody == null || responseBody.length == 0) {
                 log.warn("Received empty response from BPJS");
-                return objectMapper.createObjectNode();
+                return decoder.decode(objectMapper.createObjectNode(), null);
             }
 
-            // Parse the response JSON
+            // Parse the response envelope
             JsonNode responseJson = objectMapper.readTree(responseBody);
 
             // Check BPJS metaData for errors
@@ -172,21 +234,19 @@ public class BpjsHttpClient {
             }
 
             // Decrypt and decompress if needed
-            if (encrypted && responseJson.has("response")) {
-                String encryptedData = responseJson.get("response").asText();
-                String decryptedData = encryptionService.decryptAndDecompress(encryptedData);
-
-                // Replace response field with decrypted data
-                JsonNode decryptedJson = objectMapper.readTree(decryptedData);
-                ((com.fasterxml.jackson.databind.node.ObjectNode) responseJson).set("response", decryptedJson);
+            CharBuffer decrypted = null;
+            if (encrypted && responseJson.has("response") && responseJson.get("response").isTextual()) {
+                decrypted = encryptionService.decryptAndDecompressToChars(responseJson.get("response").textValue());
             }
 
             if (bpjsConfig.isLoggingEnabled()) {
                 log.info("BPJS Response - {} {} completed in {}ms", method, url, duration);
-                log.debug("Response: {}", objectMapper.writeValueAsString(responseJson));
+                if (log.isDebugEnabled()) {
+                    log.debug("Response: {}", decrypted != null ? decrypted : responseJson);
+                }
             }
 
-            return responseJson;
+            return decoder.decode(responseJson, decrypted);
 
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             long duration = System.currentTimeMillis() - startTime;
@@ -194,7 +254,8 @@ public class BpjsHttpClient {
                 method, url, duration, e.getStatusCode(), e.getResponseBodyAsString());
             throw new BpjsHttpException(
                 "HTTP request failed: " + e.getStatusCode() + " - " + e.getResponseBodyAsString(),
-                String.valueOf(e.getStatusCode().value())
+                String.valueOf(e.getStatusCode().value()),
+                e.getStatusCode().value()
             );
 
         } catch (BpjsHttpException e) {
@@ -208,6 +269,14 @@ public class BpjsHttpClient {
         }
     }
 
+    /**
+     * Converts a BPJS response envelope and its decrypted payload to a result.
+     */
+    @FunctionalInterface
+    private interface ResponseDecoder<R> {
+        R decode(JsonNode envelope, CharBuffer decrypted) throws IOException;
+    }
+
     /**
      * VClaim service GET request.
      *
@@ -218,6 +287,17 @@ public class BpjsHttpClient {
         return get(bpjsConfig.getVClaimBaseUrl(), endpoint, true);
     }
 
+    /**
+     * VClaim service GET request bound directly to a response DTO.
+     *
+     * @param endpoint API endpoint
+     * @param responseType Type of the "response" field
+     * @return Bound response
+     */
+    public <T> T vclaimGet(String endpoint, Class<T> responseType) {
+        return getResponse(bpjsConfig.getVClaimBaseUrl(), endpoint, true, responseType);
+    }
+
     /**
      * VClaim service POST request.
      *
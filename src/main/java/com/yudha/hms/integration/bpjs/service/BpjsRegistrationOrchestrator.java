@@ -0,0 +1,519 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.BpjsParticipantResponse;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.AddQueueRequest;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.AntreanOperationResponse;
+import com.yudha.hms.integration.bpjs.dto.vclaim.RujukanResponse;
+import com.yudha.hms.integration.bpjs.exception.BpjsIntegrationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Orchestrates the BPJS remote calls of an outpatient registration.
+ *
+ * Eligibility (VClaim), referral lookup (PCare and RS referrals) and the Antrean RS
+ * doctor schedule do not depend on each other, so they are started together, each on
+ * its own virtual thread, and the registration waits for the slowest instead of the
+ * sum of all. All calls of one registration share a deadline: a call still running
+ * when it expires is cancelled and reported as timed out. When eligibility fails or
+ * the participant is not active, the sibling calls are cancelled right away since the
+ * registration will be rejected anyway. The queue is added to Antrean RS afterwards,
+ * once the local registration has its queue number, under what is left of the deadline.
+ *
+ * Every step reports its outcome and latency so slow BPJS services show up in the logs
+ * and in the registration response.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BpjsRegistrationOrchestrator {
+
+    public static final String STEP_ELIGIBILITY = "eligibility";
+    public static final String STEP_REFERRAL_PCARE = "referral.pcare";
+    public static final String STEP_REFERRAL_RS = "referral.rs";
+    public static final String STEP_DOCTOR_SCHEDULE = "doctorSchedule";
+    public static final String STEP_ADD_QUEUE = "addQueue";
+
+    private static final String STATUS_PESERTA_AKTIF = "0";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final BpjsConfig bpjsConfig;
+    private final VClaimService vClaimService;
+    private final AntreanRsService antreanRsService;
+    private final AntreanTaskTimeOutbox taskTimeOutbox;
+
+    /**
+     * Whether BPJS calls should be made during registration.
+     *
+     * @return true if BPJS integration and the registration workflow are enabled
+     */
+    public boolean isEnabled() {
+        return bpjsConfig.isEnabled() && bpjsConfig.getRegistrationWorkflow().isEnabled();
+    }
+
+    /**
+     * Whether registration must be rejected when eligibility cannot be verified.
+     *
+     * @return true if eligibility is required
+     */
+    public boolean isEligibilityRequired() {
+        return bpjsConfig.getRegistrationWorkflow().isRequireEligibility();
+    }
+
+    /**
+     * Run eligibility, referral and doctor schedule lookups concurrently.
+     *
+     * @param input Registration data needed by the BPJS calls
+     * @return Results of all steps; never throws for BPJS failures
+     */
+    public Context prepare(Input input) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(bpjsConfig.getRegistrationWorkflow().getDeadlineMs());
+
+        try (Scope scope = new Scope(deadlineNanos)) {
+            Future<StepResult<BpjsParticipantResponse>> eligibilityFork = scope.fork(STEP_ELIGIBILITY,
+                () -> vClaimService.checkEligibilityByCardNumber(input.cardNumber(), input.serviceDate()));
+            Future<StepResult<RujukanResponse>> pcareFork = scope.fork(STEP_REFERRAL_PCARE,
+                () -> input.referralNumber() != null
+                    ? vClaimService.searchRujukanByNomorPCare(input.referralNumber())
+                    : vClaimService.searchRujukanByKartuPCare(input.cardNumber()));
+            Future<StepResult<RujukanResponse>> rsFork = scope.fork(STEP_REFERRAL_RS,
+                () -> input.referralNumber() != null
+                    ? vClaimService.searchRujukanByNomorRS(input.referralNumber())
+                    : vClaimService.searchRujukanByKartuRS(input.cardNumber()));
+            Future<StepResult<ScheduleSlot>> scheduleFork = input.poliCode() != null
+                ? scope.fork(STEP_DOCTOR_SCHEDULE, () -> findScheduleSlot(input))
+                : null;
+
+            // Eligibility decides whether the rest is worth waiting for
+            StepResult<BpjsParticipantResponse> eligibility = scope.join(STEP_ELIGIBILITY, eligibilityFork);
+            if (!eligibility.isSuccess() || !isActive(eligibility.value())) {
+                scope.cancelAll();
+            }
+
+            StepResult<RujukanResponse> pcare = scope.join(STEP_REFERRAL_PCARE, pcareFork);
+            StepResult<RujukanResponse> rs = scope.join(STEP_REFERRAL_RS, rsFork);
+            StepResult<RujukanResponse> referral = hasRujukan(pcare) || !hasRujukan(rs) ? pcare : rs;
+
+            StepResult<ScheduleSlot> schedule = scheduleFork != null
+                ? scope.join(STEP_DOCTOR_SCHEDULE, scheduleFork)
+                : StepResult.skipped(STEP_DOCTOR_SCHEDULE);
+
+            Map<String, StepResult<?>> steps = new LinkedHashMap<>();
+            steps.put(STEP_ELIGIBILITY, eligibility);
+            steps.put(STEP_REFERRAL_PCARE, pcare);
+            steps.put(STEP_REFERRAL_RS, rs);
+            steps.put(STEP_DOCTOR_SCHEDULE, schedule);
+
+            Context context = new Context(input, deadlineNanos, eligibility, referral,
+                hasRujukan(rs) && referral == rs, schedule, steps, Duration.ofNanos(System.nanoTime() - startNanos));
+
+            log.info("BPJS registration lookups for card {} finished in {} ms - {}",
+                input.cardNumber(), context.elapsed().toMillis(), context.describeSteps());
+            return context;
+        }
+    }
+
+    /**
+     * Register the visit in Antrean RS using the prepared lookups.
+     *
+     * @param context Result of {@link #prepare(Input)}
+     * @param entry Local queue data of the saved registration
+     * @return Outcome of the queue call; never throws for BPJS failures
+     */
+    public StepResult<AntreanOperationResponse> addQueue(Context context, QueueEntry entry) {
+        if (!bpjsConfig.getRegistrationWorkflow().isAddQueue()
+                || context.input().poliCode() == null || context.input().doctorCode() == null) {
+            return record(context, StepResult.skipped(STEP_ADD_QUEUE));
+        }
+        if (System.nanoTime() >= context.deadlineNanos()) {
+            return record(context, StepResult.timedOut(STEP_ADD_QUEUE, Duration.ZERO));
+        }
+
+        AddQueueRequest request = buildQueueRequest(context, entry);
+        StepResult<AntreanOperationResponse> result;
+        try (Scope scope = new Scope(context.deadlineNanos())) {
+            result = scope.join(STEP_ADD_QUEUE, scope.fork(STEP_ADD_QUEUE, () -> antreanRsService.addQueue(request)));
+        }
+
+        if (result.isSuccess() && !result.value().isSuccess()) {
+            result = StepResult.failed(STEP_ADD_QUEUE, result.latency(), result.value().getErrorMessage());
+        }
+        if (result.isSuccess()) {
+            try {
+                taskTimeOutbox.markQueueRegistered(entry.bookingCode());
+            } catch (Exception e) {
+                log.error("Failed to record Antrean RS booking {}: {}", entry.bookingCode(), e.getMessage());
+            }
+        }
+        log.info("BPJS queue {} for booking {}: {} in {} ms",
+            STEP_ADD_QUEUE, entry.bookingCode(), result.outcome(), result.latency().toMillis());
+        return record(context, result);
+    }
+
+    private static <T> StepResult<T> record(Context context, StepResult<T> result) {
+        context.steps().put(result.step(), result);
+        return result;
+    }
+
+    private AddQueueRequest buildQueueRequest(Context context, QueueEntry entry) {
+        Input input = context.input();
+        BpjsParticipantResponse.Peserta peserta = context.participant();
+        ScheduleSlot slot = context.schedule().value();
+
+        Integer capacity = slot != null ? slot.capacity() : null;
+        Integer remaining = capacity != null && entry.queueNumber() != null
+            ? Math.max(0, capacity - entry.queueNumber()) : null;
+        String phone = entry.phone() != null ? entry.phone() : peserta != null ? peserta.getNoTelp() : null;
+        String nik = entry.nik() != null ? entry.nik() : peserta != null ? peserta.getNik() : null;
+
+        return AddQueueRequest.builder()
+            .kodebooking(entry.bookingCode())
+            .jenispasien("JKN")
+            .nomorkartu(input.cardNumber())
+            .nik(nik)
+            .nohp(phone)
+            .kodepoli(input.poliCode())
+            .namapoli(input.poliName())
+            .pasienbaru(entry.newPatient() ? 1 : 0)
+            .norm(entry.medicalRecordNumber())
+            .tanggalperiksa(input.serviceDate().format(DATE_FORMATTER))
+            .kodedokter(input.doctorCode())
+            .namadokter(slot != null && slot.doctorName() != null ? slot.doctorName() : input.doctorName())
+            .jampraktek(slot != null ? slot.practiceHours() : null)
+            .jeniskunjungan(context.visitType())
+            .nomorreferensi(context.referralNumber())
+            .nomorantrean(entry.queueCode())
+            .angkaantrean(entry.queueNumber())
+            .estimasidilayani(entry.estimatedServiceTime() != null
+                ? entry.estimatedServiceTime().atZone(ZoneId.of(bpjsConfig.getTimezone())).toInstant().toEpochMilli()
+                : null)
+            .kuotajkn(capacity)
+            .sisakuotajkn(remaining)
+            .kuotanonjkn(capacity)
+            .sisakuotanonjkn(remaining)
+            .keterangan("Peserta harap datang 30 menit lebih awal")
+            .build();
+    }
+
+    /**
+     * Find the schedule of the registering doctor in the Antrean RS doctor schedule list.
+     */
+    private ScheduleSlot findScheduleSlot(Input input) {
+        JsonNode response = antreanRsService.getDoctorSchedule(input.poliCode(), input.serviceDate());
+        JsonNode list = response != null && response.has("list") ? response.get("list") : response;
+        if (list == null || !list.isArray()) {
+            return null;
+        }
+        for (JsonNode node : list) {
+            int kodeDokter = node.path("kodedokter").asInt(-1);
+            if (input.doctorCode() == null || input.doctorCode() == kodeDokter) {
+                return new ScheduleSlot(
+                    kodeDokter,
+                    node.path("namadokter").asText(null),
+                    node.path("jadwal").asText(null),
+                    node.hasNonNull("kapasitaspasien") ? node.get("kapasitaspasien").asInt() : null,
+                    node.path("libur").asInt(0) == 1
+                );
+            }
+        }
+        return null;
+    }
+
+    private static boolean isActive(BpjsParticipantResponse response) {
+        return response != null && response.getPeserta() != null
+            && response.getPeserta().getStatusPeserta() != null
+            && STATUS_PESERTA_AKTIF.equals(response.getPeserta().getStatusPeserta().getKode());
+    }
+
+    private static boolean hasRujukan(StepResult<RujukanResponse> result) {
+        return result.isSuccess() && result.value() != null && result.value().getRujukan() != null;
+    }
+
+    // ========== Scope ==========
+
+    /**
+     * Set of concurrent calls bounded by one deadline. Each call runs on its own virtual
+     * thread; closing the scope cancels whatever is still running.
+     */
+    private static final class Scope implements AutoCloseable {
+
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final List<Future<?>> forks = new ArrayList<>();
+
+        Scope(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> Future<StepResult<T>> fork(String step, Callable<T> call) {
+            Future<StepResult<T>> future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return StepResult.success(step, call.call(), Duration.ofNanos(System.nanoTime() - start));
+                } catch (Exception e) {
+                    Duration latency = Duration.ofNanos(System.nanoTime() - start);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return StepResult.cancelled(step, latency);
+                    }
+                    log.warn("BPJS registration step {} failed after {} ms: {}", step, latency.toMillis(), e.getMessage());
+                    return StepResult.failed(step, latency, e.getMessage());
+                }
+            });
+            forks.add(future);
+            return future;
+        }
+
+        <T> StepResult<T> join(String step, Future<StepResult<T>> future) {
+            try {
+                return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("BPJS registration step {} exceeded the workflow deadline", step);
+                return StepResult.timedOut(step, elapsed());
+            } catch (CancellationException e) {
+                return StepResult.cancelled(step, elapsed());
+            } catch (ExecutionException e) {
+                // Forked calls catch their own exceptions; only errors end up here
+                return StepResult.failed(step, elapsed(), String.valueOf(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelAll();
+                throw new BpjsIntegrationException("BPJS registration workflow interrupted", e);
+            }
+        }
+
+        void cancelAll() {
+            forks.forEach(future -> future.cancel(true));
+        }
+
+        private Duration elapsed() {
+            return Duration.ofNanos(System.nanoTime() - startNanos);
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+            executor.shutdownNow();
+        }
+    }
+
+    // ========== Types ==========
+
+    /**
+     * Registration data needed by the BPJS lookups.
+     *
+     * @param cardNumber BPJS card number
+     * @param serviceDate Visit date (SEP date and schedule date)
+     * @param referralNumber Referral letter number, or null to search by card number
+     * @param poliCode BPJS poli code, or null to skip the doctor schedule
+     * @param poliName Polyclinic name
+     * @param doctorCode BPJS doctor code, or null if the doctor is not mapped
+     * @param doctorName Doctor name
+     */
+    public record Input(
+        String cardNumber,
+        LocalDate serviceDate,
+        String referralNumber,
+        String poliCode,
+        String poliName,
+        Integer doctorCode,
+        String doctorName
+    ) {
+    }
+
+    /**
+     * Local queue data sent to Antrean RS.
+     *
+     * @param bookingCode Booking code (registration number)
+     * @param medicalRecordNumber Patient MRN
+     * @param nik Patient NIK, or null to use the participant data
+     * @param phone Patient phone, or null to use the participant data
+     * @param newPatient Whether this is the patient's first visit
+     * @param queueCode Queue code shown to the patient
+     * @param queueNumber Queue number
+     * @param estimatedServiceTime Estimated time the patient will be served
+     */
+    public record QueueEntry(
+        String bookingCode,
+        String medicalRecordNumber,
+        String nik,
+        String phone,
+        boolean newPatient,
+        String queueCode,
+        Integer queueNumber,
+        LocalDateTime estimatedServiceTime
+    ) {
+    }
+
+    /**
+     * Doctor practice slot from the Antrean RS schedule.
+     */
+    public record ScheduleSlot(Integer doctorCode, String doctorName, String practiceHours, Integer capacity,
+                               boolean holiday) {
+    }
+
+    /**
+     * Outcome of a workflow step.
+     */
+    public enum Outcome {
+        SUCCESS, FAILED, TIMED_OUT, CANCELLED, SKIPPED
+    }
+
+    /**
+     * Result and latency of one remote call.
+     */
+    public record StepResult<T>(String step, Outcome outcome, T value, Duration latency, String error) {
+
+        static <T> StepResult<T> success(String step, T value, Duration latency) {
+            return new StepResult<>(step, Outcome.SUCCESS, value, latency, null);
+        }
+
+        static <T> StepResult<T> failed(String step, Duration latency, String error) {
+            return new StepResult<>(step, Outcome.FAILED, null, latency, error);
+        }
+
+        static <T> StepResult<T> timedOut(String step, Duration latency) {
+            return new StepResult<>(step, Outcome.TIMED_OUT, null, latency, "Deadline exceeded");
+        }
+
+        static <T> StepResult<T> cancelled(String step, Duration latency) {
+            return new StepResult<>(step, Outcome.CANCELLED, null, latency, "Cancelled");
+        }
+
+        static <T> StepResult<T> skipped(String step) {
+            return new StepResult<>(step, Outcome.SKIPPED, null, Duration.ZERO, null);
+        }
+
+        public boolean isSuccess() {
+            return outcome == Outcome.SUCCESS;
+        }
+    }
+
+    /**
+     * Merged results of the registration lookups.
+     */
+    public record Context(
+        Input input,
+        long deadlineNanos,
+        StepResult<BpjsParticipantResponse> eligibility,
+        StepResult<RujukanResponse> referral,
+        boolean hospitalReferral,
+        StepResult<ScheduleSlot> schedule,
+        Map<String, StepResult<?>> steps,
+        Duration elapsed
+    ) {
+
+        /**
+         * Whether BPJS answered the eligibility check.
+         */
+        public boolean isEligibilityVerified() {
+            return eligibility.isSuccess();
+        }
+
+        /**
+         * Whether the participant is active for the service date.
+         */
+        public boolean isEligible() {
+            return isActive(eligibility.value());
+        }
+
+        public BpjsParticipantResponse.Peserta participant() {
+            return eligibility.value() != null ? eligibility.value().getPeserta() : null;
+        }
+
+        /**
+         * Participant status description (e.g. "AKTIF", "TIDAK AKTIF KARENA PREMI").
+         */
+        public String participantStatus() {
+            BpjsParticipantResponse.Peserta peserta = participant();
+            return peserta != null && peserta.getStatusPeserta() != null
+                ? peserta.getStatusPeserta().getKeterangan() : null;
+        }
+
+        /**
+         * Treatment class entitlement code (1/2/3).
+         */
+        public String classEntitlement() {
+            BpjsParticipantResponse.Peserta peserta = participant();
+            return peserta != null && peserta.getHakKelas() != null ? peserta.getHakKelas().getKode() : null;
+        }
+
+        public RujukanResponse.Rujukan rujukan() {
+            return referral.value() != null ? referral.value().getRujukan() : null;
+        }
+
+        /**
+         * Referral number: the one found by BPJS, or the one given at registration.
+         */
+        public String referralNumber() {
+            RujukanResponse.Rujukan rujukan = rujukan();
+            return rujukan != null && rujukan.getNoKunjungan() != null ? rujukan.getNoKunjungan() : input.referralNumber();
+        }
+
+        /**
+         * Name of the referring facility, if a referral was found.
+         */
+        public String referringProvider() {
+            RujukanResponse.Rujukan rujukan = rujukan();
+            return rujukan != null && rujukan.getProvPerujuk() != null ? rujukan.getProvPerujuk().getNama() : null;
+        }
+
+        /**
+         * Antrean RS visit type: 1 = FKTP referral, 4 = hospital referral, 3 = follow-up (kontrol).
+         */
+        public int visitType() {
+            if (rujukan() == null) {
+                return 3;
+            }
+            return hospitalReferral ? 4 : 1;
+        }
+
+        /**
+         * Latency of every step in milliseconds, in execution order.
+         */
+        public Map<String, Long> stepLatenciesMs() {
+            Map<String, Long> latencies = new LinkedHashMap<>();
+            steps.forEach((step, result) -> latencies.put(step, result.latency().toMillis()));
+            return latencies;
+        }
+
+        String describeSteps() {
+            StringBuilder description = new StringBuilder();
+            steps.forEach((step, result) -> {
+                if (!description.isEmpty()) {
+                    description.append(", ");
+                }
+                description.append(step).append('=').append(result.outcome())
+                    .append('/').append(result.latency().toMillis()).append("ms");
+            });
+            return description.toString();
+        }
+    }
+}
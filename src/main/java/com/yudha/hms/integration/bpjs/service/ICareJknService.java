@@ -11,8 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * iCare JKN Service Implementation.
@@ -20,7 +20,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * Provides patient history validation and secure access services:
  * - Patient history validation with BPJS card number
  * - Secure URL token generation for history access
- * - Token-based session management
+ * - Token-based session management (see {@link ICareSessionStore})
  * - Access audit logging
  * - Token expiry handling
  *
@@ -41,18 +41,10 @@ public class ICareJknService {
     private final ObjectMapper objectMapper;
 
     /**
-     * In-memory storage for active history access sessions.
-     * Key: Token, Value: HistoryAccessInfo
-     *
-     * In production, consider using Redis or database for persistence.
-     */
-    private final Map<String, HistoryAccessInfo> activeTokens = new ConcurrentHashMap<>();
-
-    /**
-     * Default token expiry duration in hours.
-     * Based on BPJS policy (typically 24 hours).
+     * Active history access sessions, indexed by token, card number and doctor code.
+     * Token lifetime is configured at bpjs.icare-sessions (BPJS policy: typically 24 hours).
      */
-    private static final int DEFAULT_TOKEN_EXPIRY_HOURS = 24;
+    private final ICareSessionStore sessionStore;
 
     // ========== PATIENT HISTORY VALIDATION SERVICES ==========
 
@@ -131,13 +123,14 @@ public class ICareJknService {
             // Enhance stored access info with context
             String token = response.extractToken();
             if (token != null) {
-                HistoryAccessInfo accessInfo = activeTokens.get(token);
+                HistoryAccessInfo accessInfo = sessionStore.get(token);
                 if (accessInfo != null) {
                     accessInfo.setPatientName(patientName);
                     accessInfo.setDoctorName(doctorName);
                     accessInfo.setRequestedBy(requestedBy);
                     accessInfo.setIpAddress(ipAddress);
                     accessInfo.setAccessPurpose(accessPurpose);
+                    sessionStore.put(accessInfo);
                 }
             }
         }
@@ -170,7 +163,7 @@ public class ICareJknService {
         }
 
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime expiresAt = now.plusHours(DEFAULT_TOKEN_EXPIRY_HOURS);
+        LocalDateTime expiresAt = now.plusHours(sessionStore.getTokenExpiryHours());
 
         HistoryAccessInfo accessInfo = HistoryAccessInfo.builder()
             .cardNumber(cardNumber)
@@ -181,7 +174,7 @@ public class ICareJknService {
             .expiresAt(expiresAt)
             .build();
 
-        activeTokens.put(token, accessInfo);
+        sessionStore.put(accessInfo);
 
         log.debug("Stored history access token: {} for card: {}, expires at: {}",
             token, cardNumber, expiresAt);
@@ -194,7 +187,7 @@ public class ICareJknService {
      * @return History access info or null if not found
      */
     public HistoryAccessInfo getHistoryAccessByToken(String token) {
-        return activeTokens.get(token);
+        return sessionStore.get(token);
     }
 
     /**
@@ -204,19 +197,8 @@ public class ICareJknService {
      * @return true if token is valid
      */
     public boolean isTokenValid(String token) {
-        HistoryAccessInfo accessInfo = activeTokens.get(token);
-        if (accessInfo == null) {
-            return false;
-        }
-
-        if (accessInfo.isExpired()) {
-            // Remove expired token
-            activeTokens.remove(token);
-            log.debug("Removed expired token: {}", token);
-            return false;
-        }
-
-        return true;
+        // Expired tokens are removed by the store on lookup
+        return sessionStore.get(token) != null;
     }
 
     /**
@@ -225,7 +207,7 @@ public class ICareJknService {
      * @param token Token to invalidate
      */
     public void invalidateToken(String token) {
-        HistoryAccessInfo removed = activeTokens.remove(token);
+        HistoryAccessInfo removed = sessionStore.remove(token);
         if (removed != null) {
             log.info("Invalidated history access token for card: {}", removed.getCardNumber());
         }
@@ -237,26 +219,17 @@ public class ICareJknService {
      * @return Map of active tokens
      */
     public Map<String, HistoryAccessInfo> getActiveHistoryAccess() {
-        // Clean up expired tokens first
-        cleanupExpiredTokens();
-        return Map.copyOf(activeTokens);
+        return sessionStore.snapshot();
     }
 
     /**
      * Clean up expired tokens from active sessions.
-     * Should be called periodically by a scheduled task.
+     * The session store also sweeps expired tokens on its own schedule.
      *
      * @return Number of tokens cleaned up
      */
     public int cleanupExpiredTokens() {
-        int removedCount = 0;
-
-        for (Map.Entry<String, HistoryAccessInfo> entry : activeTokens.entrySet()) {
-            if (entry.getValue().isExpired()) {
-                activeTokens.remove(entry.getKey());
-                removedCount++;
-            }
-        }
+        int removedCount = sessionStore.purgeExpired();
 
         if (removedCount > 0) {
             log.info("Cleaned up {} expired history access tokens", removedCount);
@@ -271,8 +244,7 @@ public class ICareJknService {
      * @return Number of active sessions
      */
     public int getActiveSessionCount() {
-        cleanupExpiredTokens();
-        return activeTokens.size();
+        return sessionStore.size();
     }
 
     // ========== HELPER METHODS ==========
@@ -333,11 +305,8 @@ public class ICareJknService {
      * @param cardNumber BPJS card number
      * @return Access history list
      */
-    public java.util.List<HistoryAccessInfo> getAccessAuditLog(String cardNumber) {
-        return activeTokens.values().stream()
-            .filter(info -> cardNumber.equals(info.getCardNumber()))
-            .sorted((a, b) -> b.getAccessedAt().compareTo(a.getAccessedAt())) // Latest first
-            .toList();
+    public List<HistoryAccessInfo> getAccessAuditLog(String cardNumber) {
+        return sessionStore.findByCardNumber(cardNumber); // Latest first
     }
 
     /**
@@ -347,10 +316,7 @@ public class ICareJknService {
      * @param doctorCode Doctor code
      * @return Access history list
      */
-    public java.util.List<HistoryAccessInfo> getAccessAuditLogByDoctor(Integer doctorCode) {
-        return activeTokens.values().stream()
-            .filter(info -> doctorCode.equals(info.getDoctorCode()))
-            .sorted((a, b) -> b.getAccessedAt().compareTo(a.getAccessedAt())) // Latest first
-            .toList();
+    public List<HistoryAccessInfo> getAccessAuditLogByDoctor(Integer doctorCode) {
+        return sessionStore.findByDoctorCode(doctorCode); // Latest first
     }
 }
@@ -0,0 +1,329 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.icare.HistoryAccessInfo;
+import com.yudha.hms.integration.bpjs.entity.ICareSession;
+import com.yudha.hms.integration.bpjs.repository.ICareSessionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Bounded store of iCare JKN history access sessions.
+ *
+ * Sessions are kept by token with secondary indexes by card number and doctor code, so
+ * audit lookups touch only the sessions of one patient or doctor. An expiry queue ordered
+ * by expiry time lets the sweeper remove expired sessions from the head without scanning
+ * the store; lookups also drop expired sessions they meet. When the store is full, the
+ * sessions closest to expiry are evicted first.
+ *
+ * With persistence enabled, every change is written through to bpjs_icare_sessions:
+ * sessions are reloaded on startup, token lookups are checked against the database so
+ * sessions created, replaced or removed on other nodes are seen, and audit lookups read
+ * the table so sessions created on other nodes are included.
+ *
+ * Writes are serialized; reads are lock-free.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@Slf4j
+public class ICareSessionStore {
+
+    private static final Comparator<HistoryAccessInfo> LATEST_FIRST =
+        Comparator.comparing(HistoryAccessInfo::getAccessedAt, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final BpjsConfig.ICareSessions config;
+    private final ICareSessionRepository sessionRepository;
+
+    private final Map<String, HistoryAccessInfo> byToken = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> tokensByCard = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> tokensByDoctor = new ConcurrentHashMap<>();
+    private final NavigableSet<ExpiryKey> expiryQueue = new ConcurrentSkipListSet<>();
+
+    private final Object writeLock = new Object();
+
+    public ICareSessionStore(BpjsConfig bpjsConfig, ICareSessionRepository sessionRepository) {
+        this.config = bpjsConfig.getIcareSessions();
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * Reload unexpired sessions from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!config.isPersistenceEnabled()) {
+            return;
+        }
+        try {
+            List<ICareSession> sessions = sessionRepository.findByExpiresAtAfter(LocalDateTime.now());
+            synchronized (writeLock) {
+                sessions.forEach(session -> putLocal(session.toAccessInfo()));
+                evictOverflow();
+            }
+            log.info("Loaded {} iCare history access sessions", byToken.size());
+        } catch (Exception e) {
+            log.error("Failed to load iCare history access sessions", e);
+        }
+    }
+
+    /**
+     * Lifetime of new tokens in hours.
+     */
+    public int getTokenExpiryHours() {
+        return config.getTokenExpiryHours();
+    }
+
+    /**
+     * Store or replace a session.
+     *
+     * @param info Session (token is the key)
+     */
+    public void put(HistoryAccessInfo info) {
+        synchronized (writeLock) {
+            putLocal(info);
+            evictOverflow();
+        }
+        if (config.isPersistenceEnabled()) {
+            sessionRepository.save(ICareSession.from(info));
+        }
+    }
+
+    /**
+     * Get an unexpired session.
+     *
+     * With persistence enabled the database row is authoritative: a local hit is checked
+     * against it, so a session removed or replaced on another node is not served from
+     * this node's copy.
+     *
+     * @param token Token
+     * @return Session, or null if unknown or expired
+     */
+    public HistoryAccessInfo get(String token) {
+        HistoryAccessInfo info = byToken.get(token);
+        if (config.isPersistenceEnabled()) {
+            HistoryAccessInfo persisted = sessionRepository.findById(token)
+                .map(ICareSession::toAccessInfo)
+                .orElse(null);
+            if (persisted == null || persisted.isExpired()) {
+                if (info != null) {
+                    synchronized (writeLock) {
+                        removeLocal(token);
+                    }
+                }
+                return null;
+            }
+            if (!persisted.equals(info)) {
+                synchronized (writeLock) {
+                    putLocal(persisted);
+                    evictOverflow();
+                }
+            }
+            info = persisted;
+        }
+        if (info != null && info.isExpired()) {
+            remove(token);
+            return null;
+        }
+        return info;
+    }
+
+    /**
+     * Remove a session.
+     *
+     * @param token Token
+     * @return Removed session, or null if not found
+     */
+    public HistoryAccessInfo remove(String token) {
+        HistoryAccessInfo removed;
+        synchronized (writeLock) {
+            removed = removeLocal(token);
+        }
+        if (config.isPersistenceEnabled()) {
+            sessionRepository.deleteById(token);
+        }
+        return removed;
+    }
+
+    /**
+     * Unexpired sessions of a patient, latest first.
+     *
+     * @param cardNumber BPJS card number
+     * @return Sessions
+     */
+    public List<HistoryAccessInfo> findByCardNumber(String cardNumber) {
+        if (config.isPersistenceEnabled()) {
+            return sessionRepository
+                .findByCardNumberAndExpiresAtAfterOrderByAccessedAtDesc(cardNumber, LocalDateTime.now())
+                .stream().map(ICareSession::toAccessInfo).toList();
+        }
+        return collect(tokensByCard.get(cardNumber));
+    }
+
+    /**
+     * Unexpired sessions of a doctor, latest first.
+     *
+     * @param doctorCode Doctor code
+     * @return Sessions
+     */
+    public List<HistoryAccessInfo> findByDoctorCode(Integer doctorCode) {
+        if (config.isPersistenceEnabled()) {
+            return sessionRepository
+                .findByDoctorCodeAndExpiresAtAfterOrderByAccessedAtDesc(doctorCode, LocalDateTime.now())
+                .stream().map(ICareSession::toAccessInfo).toList();
+        }
+        return collect(tokensByDoctor.get(doctorCode));
+    }
+
+    /**
+     * Copy of all unexpired local sessions by token.
+     */
+    public Map<String, HistoryAccessInfo> snapshot() {
+        purgeExpired();
+        return Map.copyOf(byToken);
+    }
+
+    /**
+     * Number of unexpired sessions (across all nodes when persistence is enabled).
+     */
+    public int size() {
+        if (config.isPersistenceEnabled()) {
+            return (int) sessionRepository.countByExpiresAtAfter(LocalDateTime.now());
+        }
+        purgeExpired();
+        return byToken.size();
+    }
+
+    /**
+     * Remove expired sessions from the head of the expiry queue.
+     *
+     * @return Number of sessions removed locally
+     */
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        synchronized (writeLock) {
+            while (!expiryQueue.isEmpty() && expiryQueue.first().expiresAtMs() <= now) {
+                ExpiryKey head = expiryQueue.first();
+                HistoryAccessInfo info = byToken.get(head.token());
+                if (info != null && expiryKey(info).equals(head)) {
+                    removeLocal(head.token());
+                    removed++;
+                }
+                // A key left behind by a session whose expiry changed is dropped as well
+                expiryQueue.remove(head);
+            }
+        }
+        return removed;
+    }
+
+    @Scheduled(fixedDelayString = "${bpjs.icare-sessions.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = purgeExpired();
+        int deleted = 0;
+        if (config.isPersistenceEnabled()) {
+            try {
+                deleted = sessionRepository.deleteExpired(LocalDateTime.now());
+            } catch (Exception e) {
+                log.warn("Failed to delete expired iCare sessions: {}", e.getMessage());
+            }
+        }
+        if (removed > 0 || deleted > 0) {
+            log.info("Expired {} iCare history access sessions ({} deleted from database)", removed, deleted);
+        }
+    }
+
+    private List<HistoryAccessInfo> collect(Set<String> tokens) {
+        if (tokens == null) {
+            return List.of();
+        }
+        List<HistoryAccessInfo> sessions = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            HistoryAccessInfo info = byToken.get(token);
+            if (info != null && !info.isExpired()) {
+                sessions.add(info);
+            }
+        }
+        sessions.sort(LATEST_FIRST);
+        return sessions;
+    }
+
+    // Callers hold writeLock
+
+    private void putLocal(HistoryAccessInfo info) {
+        removeLocal(info.getToken());
+        byToken.put(info.getToken(), info);
+        if (info.getCardNumber() != null) {
+            tokensByCard.computeIfAbsent(info.getCardNumber(), key -> ConcurrentHashMap.newKeySet()).add(info.getToken());
+        }
+        if (info.getDoctorCode() != null) {
+            tokensByDoctor.computeIfAbsent(info.getDoctorCode(), key -> ConcurrentHashMap.newKeySet()).add(info.getToken());
+        }
+        expiryQueue.add(expiryKey(info));
+    }
+
+    private HistoryAccessInfo removeLocal(String token) {
+        HistoryAccessInfo info = byToken.remove(token);
+        if (info == null) {
+            return null;
+        }
+        unindex(tokensByCard, info.getCardNumber(), token);
+        unindex(tokensByDoctor, info.getDoctorCode(), token);
+        expiryQueue.remove(expiryKey(info));
+        return info;
+    }
+
+    private void evictOverflow() {
+        while (byToken.size() > config.getMaxSessions() && !expiryQueue.isEmpty()) {
+            ExpiryKey oldest = expiryQueue.first();
+            if (removeLocal(oldest.token()) == null) {
+                expiryQueue.remove(oldest);
+            }
+        }
+    }
+
+    private static <K> void unindex(Map<K, Set<String>> index, K key, String token) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, tokens) -> {
+            tokens.remove(token);
+            return tokens.isEmpty() ? null : tokens;
+        });
+    }
+
+    private static ExpiryKey expiryKey(HistoryAccessInfo info) {
+        long expiresAtMs = info.getExpiresAt() != null
+            ? info.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : Long.MAX_VALUE;
+        return new ExpiryKey(expiresAtMs, info.getToken());
+    }
+
+    /**
+     * Expiry queue entry, ordered by expiry time then token.
+     */
+    private record ExpiryKey(long expiresAtMs, String token) implements Comparable<ExpiryKey> {
+
+        @Override
+        public int compareTo(ExpiryKey other) {
+            int byTime = Long.compare(expiresAtMs, other.expiresAtMs);
+            return byTime != 0 ? byTime : token.compareTo(other.token);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.yudha.hms.integration.bpjs.service;
+
+import com.yudha.hms.integration.bpjs.config.BpjsConfig;
+import com.yudha.hms.integration.bpjs.dto.BpjsParticipantResponse;
+import com.yudha.hms.integration.bpjs.dto.vclaim.RujukanResponse;
+import com.yudha.hms.integration.bpjs.exception.BpjsHttpException;
+import com.yudha.hms.shared.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache for VClaim eligibility and referral lookups.
+ *
+ * A patient is usually checked several times within minutes (triage, registration,
+ * cashier). Eligibility is cached per card number or NIK and service date; referrals
+ * per card number. Concurrent lookups for the same key share one BPJS call. When BPJS
+ * is unreachable or returns a server error, the last known result is served for a
+ * limited time so registration can continue. Entries for a card are dropped when a SEP is created, updated or deleted.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@Slf4j
+public class VClaimLookupCache {
+
+    private final BpjsConfig.VClaimCache config;
+
+    private final ExpiringCache<EligibilityKey, BpjsParticipantResponse> eligibilityByCard;
+    private final ExpiringCache<EligibilityKey, BpjsParticipantResponse> eligibilityByNik;
+    private final ExpiringCache<String, RujukanResponse> rujukanByKartuPCare;
+    private final ExpiringCache<String, RujukanResponse> rujukanByKartuRS;
+
+    public VClaimLookupCache(BpjsConfig bpjsConfig) {
+        this.config = bpjsConfig.getVclaimCache();
+        Duration eligibilityTtl = Duration.ofSeconds(config.getEligibilityTtlSeconds());
+        Duration referralTtl = Duration.ofSeconds(config.getReferralTtlSeconds());
+        Duration maxStale = Duration.ofSeconds(config.getMaxStaleSeconds());
+
+        this.eligibilityByCard = new ExpiringCache<>("vclaim.eligibility.card", eligibilityTtl, maxStale, config.getMaxEntries());
+        this.eligibilityByNik = new ExpiringCache<>("vclaim.eligibility.nik", eligibilityTtl, maxStale, config.getMaxEntries());
+        this.rujukanByKartuPCare = new ExpiringCache<>("vclaim.rujukan.pcare", referralTtl, maxStale, config.getMaxEntries());
+        this.rujukanByKartuRS = new ExpiringCache<>("vclaim.rujukan.rs", referralTtl, maxStale, config.getMaxEntries());
+    }
+
+    public BpjsParticipantResponse eligibilityByCard(String noKartu, LocalDate tglSep,
+                                                     Supplier<BpjsParticipantResponse> loader) {
+        return lookup(eligibilityByCard, new EligibilityKey(noKartu, tglSep), loader);
+    }
+
+    public BpjsParticipantResponse eligibilityByNik(String nik, LocalDate tglSep,
+                                                    Supplier<BpjsParticipantResponse> loader) {
+        return lookup(eligibilityByNik, new EligibilityKey(nik, tglSep), loader);
+    }
+
+    public RujukanResponse rujukanByKartuPCare(String noKartu, Supplier<RujukanResponse> loader) {
+        return lookup(rujukanByKartuPCare, noKartu, loader);
+    }
+
+    public RujukanResponse rujukanByKartuRS(String noKartu, Supplier<RujukanResponse> loader) {
+        return lookup(rujukanByKartuRS, noKartu, loader);
+    }
+
+    /**
+     * Drop all cached lookups for a card, including NIK lookups that resolved to it.
+     *
+     * @param noKartu BPJS card number
+     */
+    public void invalidateCard(String noKartu) {
+        if (noKartu == null) {
+            return;
+        }
+        eligibilityByCard.invalidateIf((key, value) -> key.identifier().equals(noKartu));
+        eligibilityByNik.invalidateIf((key, value) -> noKartu.equals(cardOf(value)));
+        rujukanByKartuPCare.invalidate(noKartu);
+        rujukanByKartuRS.invalidate(noKartu);
+        log.debug("VClaim lookup cache invalidated for card: {}", noKartu);
+    }
+
+    /**
+     * Drop every cached lookup.
+     */
+    public void invalidateAll() {
+        eligibilityByCard.invalidateAll();
+        eligibilityByNik.invalidateAll();
+        rujukanByKartuPCare.invalidateAll();
+        rujukanByKartuRS.invalidateAll();
+    }
+
+    /**
+     * Get hit/miss statistics of all lookup caches.
+     *
+     * @return Statistics per cache
+     */
+    public List<ExpiringCache.Stats> getStatistics() {
+        return List.of(eligibilityByCard.stats(), eligibilityByNik.stats(),
+                rujukanByKartuPCare.stats(), rujukanByKartuRS.stats());
+    }
+
+    /**
+     * Drop entries past their stale window and log hit ratios.
+     */
+    @Scheduled(fixedDelay = 300000L, initialDelay = 300000L)
+    public void purgeExpired() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        eligibilityByCard.purgeExpired();
+        eligibilityByNik.purgeExpired();
+        rujukanByKartuPCare.purgeExpired();
+        rujukanByKartuRS.purgeExpired();
+
+        for (ExpiringCache.Stats stats : getStatistics()) {
+            log.debug("{}: size={}, hitRatio={}, hits={}, misses={}, coalesced={}, stale={}, failures={}",
+                    stats.name(), stats.size(), String.format("%.2f", stats.hitRatio()), stats.hits(),
+                    stats.misses(), stats.coalesced(), stats.staleHits(), stats.loadFailures());
+        }
+    }
+
+    private <K, V> V lookup(ExpiringCache<K, V> cache, K key, Supplier<V> loader) {
+        if (!config.isEnabled()) {
+            return loader.get();
+        }
+        return cache.get(key, k -> loader.get(), VClaimLookupCache::isTransientFailure);
+    }
+
+    /**
+     * Only network failures and BPJS server errors may be answered from a stale entry;
+     * BPJS business errors (e.g. participant not active) must reach the caller.
+     */
+    static boolean isTransientFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BpjsHttpException http && http.getHttpStatusCode() != null) {
+                return http.getHttpStatusCode() >= 500;
+            }
+            if (cause instanceof IOException || cause instanceof ResourceAccessException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static String cardOf(BpjsParticipantResponse response) {
+        return response != null && response.getPeserta() != null ? response.getPeserta().getNoKartu() : null;
+    }
+
+    private record EligibilityKey(String identifier, LocalDate tglSep) {
+    }
+}
@@ -32,6 +32,7 @@ public class VClaimService {
 
     private final BpjsHttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final VClaimLookupCache lookupCache;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -39,22 +40,27 @@ public class VClaimService {
 
     /**
      * Check participant eligibility by BPJS card number.
+     * Results are cached briefly per card and service date (see {@link VClaimLookupCache}).
      *
      * @param noKartu BPJS card number
      * @param tglSep Service date
      * @return Participant information
      */
     public BpjsParticipantResponse checkEligibilityByCardNumber(String noKartu, LocalDate tglSep) {
+        return lookupCache.eligibilityByCard(noKartu, tglSep, () -> fetchEligibilityByCardNumber(noKartu, tglSep));
+    }
+
+    /**
+     * Call BPJS directly, bypassing the lookup cache.
+     */
+    private BpjsParticipantResponse fetchEligibilityByCardNumber(String noKartu, LocalDate tglSep) {
         String endpoint = String.format("/Peserta/nokartu/%s/tglSEP/%s",
             noKartu, tglSep.format(DATE_FORMATTER));
 
         log.info("Checking BPJS eligibility by card number: {} for date: {}", noKartu, tglSep);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, BpjsParticipantResponse.class);
+            return httpClient.vclaimGet(endpoint, BpjsParticipantResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to check eligibility by card number: {}", noKartu, e);
@@ -64,22 +70,27 @@ public class VClaimService {
 
     /**
      * Check participant eligibility by NIK (National ID).
+     * Results are cached briefly per NIK and service date (see {@link VClaimLookupCache}).
      *
      * @param nik National ID number
      * @param tglSep Service date
      * @return Participant information
      */
     public BpjsParticipantResponse checkEligibilityByNIK(String nik, LocalDate tglSep) {
+        return lookupCache.eligibilityByNik(nik, tglSep, () -> fetchEligibilityByNIK(nik, tglSep));
+    }
+
+    /**
+     * Call BPJS directly, bypassing the lookup cache.
+     */
+    private BpjsParticipantResponse fetchEligibilityByNIK(String nik, LocalDate tglSep) {
         String endpoint = String.format("/Peserta/nik/%s/tglSEP/%s",
             nik, tglSep.format(DATE_FORMATTER));
 
         log.info("Checking BPJS eligibility by NIK: {} for date: {}", nik, tglSep);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, BpjsParticipantResponse.class);
+            return httpClient.vclaimGet(endpoint, BpjsParticipantResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to check eligibility by NIK: {}", nik, e);
@@ -101,10 +112,7 @@ public class VClaimService {
         log.info("Searching PCare rujukan by number: {}", noRujukan);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, RujukanResponse.class);
+            return httpClient.vclaimGet(endpoint, RujukanResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to search rujukan by number: {}", noRujukan, e);
@@ -124,10 +132,7 @@ public class VClaimService {
         log.info("Searching RS rujukan by number: {}", noRujukan);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, RujukanResponse.class);
+            return httpClient.vclaimGet(endpoint, RujukanResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to search RS rujukan by number: {}", noRujukan, e);
@@ -142,15 +147,19 @@ public class VClaimService {
      * @return Referral information
      */
     public RujukanResponse searchRujukanByKartuPCare(String noKartu) {
+        return lookupCache.rujukanByKartuPCare(noKartu, () -> fetchRujukanByKartuPCare(noKartu));
+    }
+
+    /**
+     * Call BPJS directly, bypassing the lookup cache.
+     */
+    private RujukanResponse fetchRujukanByKartuPCare(String noKartu) {
         String endpoint = String.format("/Rujukan/Peserta/%s", noKartu);
 
         log.info("Searching PCare rujukan by card number: {}", noKartu);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, RujukanResponse.class);
+            return httpClient.vclaimGet(endpoint, RujukanResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to search rujukan by card number: {}", noKartu, e);
@@ -165,15 +174,19 @@ public class VClaimService {
      * @return Referral information
      */
     public RujukanResponse searchRujukanByKartuRS(String noKartu) {
+        return lookupCache.rujukanByKartuRS(noKartu, () -> fetchRujukanByKartuRS(noKartu));
+    }
+
+    /**
+     * Call BPJS directly, bypassing the lookup cache.
+     */
+    private RujukanResponse fetchRujukanByKartuRS(String noKartu) {
         String endpoint = String.format("/Rujukan/RS/Peserta/%s", noKartu);
 
         log.info("Searching RS rujukan by card number: {}", noKartu);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, RujukanResponse.class);
+            return httpClient.vclaimGet(endpoint, RujukanResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to search RS rujukan by card number: {}", noKartu, e);
@@ -240,6 +253,7 @@ public class VClaimService {
             JsonNode response = httpClient.vclaimPost(endpoint, request);
             JsonNode responseData = response.get("response");
 
+            lookupCache.invalidateCard(request.getRequest().getTSep().getNoKartu());
             return objectMapper.treeToValue(responseData, SepInsertResponse.class);
 
         } catch (Exception e) {
@@ -263,6 +277,7 @@ public class VClaimService {
             JsonNode response = httpClient.vclaimPost(endpoint, request);
             JsonNode responseData = response.get("response");
 
+            lookupCache.invalidateCard(request.getRequest().getTSep().getNoKartu());
             return objectMapper.treeToValue(responseData, SepInsertResponse.class);
 
         } catch (Exception e) {
@@ -274,6 +289,9 @@ public class VClaimService {
     /**
      * Delete SEP (Version 2.0).
      *
+     * The delete request carries no card number, so the SEP is looked up first to drop
+     * the cached lookups of its card; if that fails, all cached lookups are dropped.
+     *
      * @param noSep SEP number to delete
      * @param user User who deletes the SEP
      * @return Deletion response
@@ -292,7 +310,14 @@ public class VClaimService {
                 }});
             }});
 
+            String noKartu = findCardNumberOfSep(noSep);
             JsonNode response = httpClient.vclaimPost(endpoint, deleteRequest);
+
+            if (noKartu != null) {
+                lookupCache.invalidateCard(noKartu);
+            } else {
+                lookupCache.invalidateAll();
+            }
             return response.get("response");
 
         } catch (Exception e) {
@@ -301,6 +326,17 @@ public class VClaimService {
         }
     }
 
+    private String findCardNumberOfSep(String noSep) {
+        try {
+            JsonNode sep = searchSep(noSep);
+            JsonNode noKartu = sep != null ? sep.path("peserta").path("noKartu") : null;
+            return noKartu != null && noKartu.isTextual() ? noKartu.asText() : null;
+        } catch (Exception e) {
+            log.warn("Could not look up card number of SEP {}: {}", noSep, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Search SEP by SEP number.
      *
@@ -359,10 +395,7 @@ public class VClaimService {
         log.info("Getting kunjungan data for date: {} and service type: {}", tanggal, jnsPelayanan);
 
         try {
-            JsonNode response = httpClient.vclaimGet(endpoint);
-            JsonNode responseData = response.get("response");
-
-            return objectMapper.treeToValue(responseData, MonitoringKunjunganResponse.class);
+            return httpClient.vclaimGet(endpoint, MonitoringKunjunganResponse.class);
 
         } catch (Exception e) {
             log.error("Failed to get kunjungan data for date: {}", tanggal, e);
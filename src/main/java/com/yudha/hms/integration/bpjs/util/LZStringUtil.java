@@ -3,9 +3,8 @@ package com.yudha.hms.integration.bpjs.util;
 import com.yudha.hms.integration.bpjs.exception.LZStringDecompressionException;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 
 /**
  * LZ-String Decompression Utility.
@@ -14,6 +13,12 @@ import java.util.Map;
  * for response compression. This utility handles Base64-encoded compressed
  * data returned by BPJS web services.
  *
+ * The decoder keeps dictionary entries as (start, length) spans of the output
+ * buffer instead of separate strings: every entry added during decompression is
+ * the previous output entry plus the first character of the next one, which is
+ * always a contiguous range of the output. Decompression therefore allocates only
+ * the output buffer and two int arrays, and can read input bytes directly.
+ *
  * Based on: https://github.com/pieroxy/lz-string
  *
  * @author HMS Development Team
@@ -26,6 +31,17 @@ public class LZStringUtil {
     private static final String KEY_STR_BASE64 =
         "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/=";
 
+    private static final int[] BASE64_VALUES = new int[128];
+
+    private static final CharBuffer EMPTY = CharBuffer.wrap(new char[0]);
+
+    static {
+        Arrays.fill(BASE64_VALUES, -1);
+        for (int i = 0; i < KEY_STR_BASE64.length(); i++) {
+            BASE64_VALUES[KEY_STR_BASE64.charAt(i)] = i;
+        }
+    }
+
     /**
      * Decompress LZ-String compressed data from Base64 format.
      *
@@ -40,7 +56,30 @@ public class LZStringUtil {
         }
 
         try {
-            return decompress(compressed.length(), 32, index -> getBaseValue(KEY_STR_BASE64, compressed.charAt(index)));
+            return decompress(compressed.length(), 32, index -> getBaseValue(compressed.charAt(index))).toString();
+        } catch (Exception e) {
+            log.error("Failed to decompress LZ-String data", e);
+            throw new LZStringDecompressionException("Decompression failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decompress LZ-String compressed data from Base64 format held as ASCII bytes
+     * (e.g. the output of AES decryption), without building intermediate strings.
+     *
+     * @param compressed Buffer holding Base64 encoded compressed data
+     * @param offset Start of the data in the buffer
+     * @param length Length of the data
+     * @return Decompressed characters, backed by an array (see {@link CharBuffer#array()})
+     */
+    public static CharBuffer decompressFromBase64(byte[] compressed, int offset, int length) {
+        if (compressed == null || length == 0) {
+            log.warn("Attempted to decompress null or empty data");
+            return EMPTY;
+        }
+
+        try {
+            return decompress(length, 32, index -> getBaseValue((char) (compressed[offset + index] & 0xFF)));
         } catch (Exception e) {
             log.error("Failed to decompress LZ-String data", e);
             throw new LZStringDecompressionException("Decompression failed: " + e.getMessage(), e);
@@ -48,14 +87,13 @@ public class LZStringUtil {
     }
 
     /**
-     * Get the numeric value of a character from the key string.
+     * Get the numeric value of a Base64 character.
      *
-     * @param alphabet The alphabet/key string
      * @param character The character to look up
-     * @return Numeric value of the character
+     * @return Numeric value of the character, or -1 if not in the alphabet
      */
-    private static int getBaseValue(String alphabet, char character) {
-        return alphabet.indexOf(character);
+    private static int getBaseValue(char character) {
+        return character < BASE64_VALUES.length ? BASE64_VALUES[character] : -1;
     }
 
     /**
@@ -64,177 +102,154 @@ public class LZStringUtil {
      * @param length Length of compressed data
      * @param resetValue Reset value for bit operations
      * @param getNextValue Function to get next value from compressed data
-     * @return Decompressed string
+     * @return Decompressed characters
      */
-    private static String decompress(int length, int resetValue, GetNextValue getNextValue) {
-        Map<Integer, String> dictionary = new HashMap<>();
+    private static CharBuffer decompress(int length, int resetValue, GetNextValue getNextValue) {
+        BitReader in = new BitReader(length, resetValue, getNextValue);
+
+        // Dictionary entries 0..2 are the control codes; entries from 3 on are output spans
+        int[] starts = new int[256];
+        int[] lengths = new int[256];
         int enlargeIn = 4;
         int dictSize = 4;
         int numBits = 3;
-        String entry;
-        StringBuilder result = new StringBuilder();
-        int data, dataVal, dataPosition, dataIndex;
-
-        char bits = 0;
-        int maxpower, power;
-        String c;
-
-        dataVal = getNextValue.get(0);
-        dataPosition = resetValue;
-        dataIndex = 1;
-
-        for (int i = 0; i < 3; i++) {
-            dictionary.put(i, String.valueOf((char) i));
-        }
 
-        bits = 0;
-        maxpower = (int) Math.pow(2, 2);
-        power = 1;
+        char[] out = new char[Math.max(16, length * 3)];
+        int outLength;
 
-        while (power != maxpower) {
-            int resb = dataVal & dataPosition;
-            dataPosition >>= 1;
-            if (dataPosition == 0) {
-                dataPosition = resetValue;
-                dataVal = getNextValue.get(dataIndex++);
+        switch (in.read(2)) {
+            case 0 -> out[0] = (char) in.read(8);
+            case 1 -> out[0] = (char) in.read(16);
+            default -> {
+                return EMPTY;
             }
-            bits |= (resb > 0 ? 1 : 0) * power;
-            power <<= 1;
         }
+        outLength = 1;
+        starts[3] = 0;
+        lengths[3] = 1;
 
-        int next = bits;
-        switch (next) {
-            case 0:
-                bits = 0;
-                maxpower = (int) Math.pow(2, 8);
-                power = 1;
-                while (power != maxpower) {
-                    int resb = dataVal & dataPosition;
-                    dataPosition >>= 1;
-                    if (dataPosition == 0) {
-                        dataPosition = resetValue;
-                        dataVal = getNextValue.get(dataIndex++);
-                    }
-                    bits |= (resb > 0 ? 1 : 0) * power;
-                    power <<= 1;
-                }
-                c = String.valueOf((char) (int) bits);
-                break;
-            case 1:
-                bits = 0;
-                maxpower = (int) Math.pow(2, 16);
-                power = 1;
-                while (power != maxpower) {
-                    int resb = dataVal & dataPosition;
-                    dataPosition >>= 1;
-                    if (dataPosition == 0) {
-                        dataPosition = resetValue;
-                        dataVal = getNextValue.get(dataIndex++);
-                    }
-                    bits |= (resb > 0 ? 1 : 0) * power;
-                    power <<= 1;
-                }
-                c = String.valueOf((char) (int) bits);
-                break;
-            default:
-                return "";
-        }
-
-        dictionary.put(3, c);
-        String w = c;
-        result.append(c);
+        int wStart = 0;
+        int wLength = 1;
 
         while (true) {
-            if (dataIndex > length) {
-                return "";
+            if (in.dataIndex > length) {
+                return EMPTY;
             }
 
-            bits = 0;
-            maxpower = (int) Math.pow(2, numBits);
-            power = 1;
-            while (power != maxpower) {
-                int resb = dataVal & dataPosition;
-                dataPosition >>= 1;
-                if (dataPosition == 0) {
-                    dataPosition = resetValue;
-                    dataVal = getNextValue.get(dataIndex++);
-                }
-                bits |= (resb > 0 ? 1 : 0) * power;
-                power <<= 1;
-            }
-
-            int cc = bits;
+            int cc = in.read(numBits);
+            int literal = -1;
 
             switch (cc) {
-                case 0:
-                    bits = 0;
-                    maxpower = (int) Math.pow(2, 8);
-                    power = 1;
-                    while (power != maxpower) {
-                        int resb = dataVal & dataPosition;
-                        dataPosition >>= 1;
-                        if (dataPosition == 0) {
-                            dataPosition = resetValue;
-                            dataVal = getNextValue.get(dataIndex++);
-                        }
-                        bits |= (resb > 0 ? 1 : 0) * power;
-                        power <<= 1;
-                    }
-
-                    dictionary.put(dictSize++, String.valueOf((char) (int) bits));
-                    cc = dictSize - 1;
-                    enlargeIn--;
-                    break;
-                case 1:
-                    bits = 0;
-                    maxpower = (int) Math.pow(2, 16);
-                    power = 1;
-                    while (power != maxpower) {
-                        int resb = dataVal & dataPosition;
-                        dataPosition >>= 1;
-                        if (dataPosition == 0) {
-                            dataPosition = resetValue;
-                            dataVal = getNextValue.get(dataIndex++);
-                        }
-                        bits |= (resb > 0 ? 1 : 0) * power;
-                        power <<= 1;
-                    }
-                    dictionary.put(dictSize++, String.valueOf((char) (int) bits));
-                    cc = dictSize - 1;
+                case 0, 1 -> {
+                    literal = in.read(cc == 0 ? 8 : 16);
+                    cc = dictSize++;
                     enlargeIn--;
-                    break;
-                case 2:
-                    return result.toString();
+                }
+                case 2 -> {
+                    return CharBuffer.wrap(out, 0, outLength);
+                }
+                default -> {
+                }
             }
 
             if (enlargeIn == 0) {
-                enlargeIn = (int) Math.pow(2, numBits);
+                enlargeIn = 1 << numBits;
                 numBits++;
             }
 
-            if (dictionary.containsKey(cc)) {
-                entry = dictionary.get(cc);
-            } else {
-                if (cc == dictSize) {
-                    entry = w + w.charAt(0);
-                } else {
-                    return "";
+            int entryStart = outLength;
+            int entryLength;
+            if (literal >= 0) {
+                out = ensureCapacity(out, outLength + 1);
+                out[outLength] = (char) literal;
+                entryLength = 1;
+                if (cc >= starts.length) {
+                    starts = Arrays.copyOf(starts, starts.length * 2);
+                    lengths = Arrays.copyOf(lengths, lengths.length * 2);
                 }
+                starts[cc] = entryStart;
+                lengths[cc] = 1;
+            } else if (cc < dictSize) {
+                entryLength = lengths[cc];
+                out = ensureCapacity(out, outLength + entryLength);
+                System.arraycopy(out, starts[cc], out, outLength, entryLength);
+            } else if (cc == dictSize) {
+                // Entry not yet in the dictionary: w followed by its own first character
+                entryLength = wLength + 1;
+                out = ensureCapacity(out, outLength + entryLength);
+                System.arraycopy(out, wStart, out, outLength, wLength);
+                out[outLength + wLength] = out[wStart];
+            } else {
+                return EMPTY;
             }
-            result.append(entry);
+            outLength += entryLength;
 
-            dictionary.put(dictSize++, w + entry.charAt(0));
+            // New entry: w + first character of entry, i.e. the span starting at w
+            if (dictSize >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            starts[dictSize] = wStart;
+            lengths[dictSize] = wLength + 1;
+            dictSize++;
             enlargeIn--;
 
-            w = entry;
+            wStart = entryStart;
+            wLength = entryLength;
 
             if (enlargeIn == 0) {
-                enlargeIn = (int) Math.pow(2, numBits);
+                enlargeIn = 1 << numBits;
                 numBits++;
             }
         }
     }
 
+    private static char[] ensureCapacity(char[] buffer, int required) {
+        return required <= buffer.length ? buffer : Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+    }
+
+    /**
+     * Reads little-endian bit groups from the compressed input.
+     */
+    private static final class BitReader {
+        private final int length;
+        private final int resetValue;
+        private final GetNextValue getNextValue;
+        private int dataVal;
+        private int dataPosition;
+        private int dataIndex;
+
+        private BitReader(int length, int resetValue, GetNextValue getNextValue) {
+            this.length = length;
+            this.resetValue = resetValue;
+            this.getNextValue = getNextValue;
+            this.dataVal = getNextValue.get(0);
+            this.dataPosition = resetValue;
+            this.dataIndex = 1;
+        }
+
+        private int read(int numBits) {
+            int bits = 0;
+            int maxpower = 1 << numBits;
+            int power = 1;
+            while (power != maxpower) {
+                int resb = dataVal & dataPosition;
+                dataPosition >>= 1;
+                if (dataPosition == 0) {
+                    dataPosition = resetValue;
+                    // Past the end the JavaScript reference reads 0
+                    dataVal = dataIndex < length ? getNextValue.get(dataIndex) : 0;
+                    dataIndex++;
+                }
+                if (resb > 0) {
+                    bits |= power;
+                }
+                power <<= 1;
+            }
+            return bits;
+        }
+    }
+
     /**
      * Functional interface for getting next value during decompression.
      */
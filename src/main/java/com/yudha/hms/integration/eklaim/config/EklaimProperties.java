@@ -0,0 +1,92 @@
+package com.yudha.hms.integration.eklaim.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * E-Klaim Application Properties.
+ *
+ * Settings of the claim batch engine and of audit log writing. Connection
+ * settings and credentials per hospital stay in eklaim_config.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "eklaim")
+@Data
+public class EklaimProperties {
+
+    /**
+     * Bulk claim batches
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * Audit log writing
+     */
+    private Audit audit = new Audit();
+
+    @Data
+    public static class Batch {
+        /**
+         * Enable/disable processing of claim batches
+         */
+        private boolean enabled = true;
+
+        /**
+         * Delay between processing polls (milliseconds)
+         */
+        private long pollIntervalMs = 2000;
+
+        /**
+         * Maximum claims taken per poll
+         */
+        private int claimsPerPoll = 50;
+
+        /**
+         * Maximum claims processed against E-Klaim at the same time
+         */
+        private int maxConcurrentClaims = 4;
+
+        /**
+         * Processing lease of a claim, renewed at every step checkpoint (seconds)
+         */
+        private int leaseSeconds = 300;
+
+        /**
+         * Attempts before a claim is marked FAILED
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Retry delay after a failed attempt, multiplied by the attempt number (seconds)
+         */
+        private int retryDelaySeconds = 120;
+
+        /**
+         * Maximum number of encounters selected into one batch
+         */
+        private int maxItemsPerBatch = 20000;
+    }
+
+    @Data
+    public static class Audit {
+        /**
+         * Audit entries written per insert batch
+         */
+        private int flushSize = 100;
+
+        /**
+         * Maximum delay before buffered entries are written (milliseconds)
+         */
+        private long flushIntervalMs = 1000;
+
+        /**
+         * Buffered entries; when full, entries are written by the caller
+         */
+        private int queueCapacity = 10000;
+    }
+}
@@ -0,0 +1,137 @@
+package com.yudha.hms.integration.eklaim.controller;
+
+import com.yudha.hms.integration.eklaim.dto.ClaimBatchProgressResponse;
+import com.yudha.hms.integration.eklaim.dto.CreateClaimBatchRequest;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem;
+import com.yudha.hms.integration.eklaim.service.EklaimClaimBatchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * E-Klaim Claim Batch REST Controller.
+ *
+ * Bulk claim creation and grouping for a period. Batches are processed in the
+ * background; these endpoints start, control and monitor them.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@RestController
+@RequestMapping("/api/v1/eklaim/batches")
+@RequiredArgsConstructor
+public class EklaimBatchController {
+
+    private final EklaimClaimBatchService batchService;
+
+    /**
+     * Create and start a claim batch.
+     *
+     * POST /api/v1/eklaim/batches
+     */
+    @PostMapping
+    public ResponseEntity<ClaimBatchProgressResponse> createBatch(
+        @Valid @RequestBody CreateClaimBatchRequest request,
+        @AuthenticationPrincipal Principal principal
+    ) {
+        UUID userId = UUID.fromString(principal.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(batchService.createBatch(request, userId));
+    }
+
+    /**
+     * Recent claim batches.
+     *
+     * GET /api/v1/eklaim/batches
+     */
+    @GetMapping
+    public ResponseEntity<List<ClaimBatchProgressResponse>> getRecentBatches() {
+        return ResponseEntity.ok(batchService.getRecentBatches());
+    }
+
+    /**
+     * Progress of a claim batch.
+     *
+     * GET /api/v1/eklaim/batches/{batchId}
+     */
+    @GetMapping("/{batchId}")
+    public ResponseEntity<ClaimBatchProgressResponse> getProgress(@PathVariable UUID batchId) {
+        return ResponseEntity.ok(batchService.getProgress(batchId));
+    }
+
+    /**
+     * Items of a claim batch by status (default FAILED).
+     *
+     * GET /api/v1/eklaim/batches/{batchId}/items?status=FAILED
+     */
+    @GetMapping("/{batchId}/items")
+    public ResponseEntity<List<EklaimClaimBatchItem>> getItems(
+        @PathVariable UUID batchId,
+        @RequestParam(defaultValue = "FAILED") EklaimClaimBatchItem.Status status
+    ) {
+        return ResponseEntity.ok(batchService.getItems(batchId, status));
+    }
+
+    /**
+     * Pause a running claim batch.
+     *
+     * POST /api/v1/eklaim/batches/{batchId}/pause
+     */
+    @PostMapping("/{batchId}/pause")
+    public ResponseEntity<ClaimBatchProgressResponse> pauseBatch(
+        @PathVariable UUID batchId,
+        @AuthenticationPrincipal Principal principal
+    ) {
+        UUID userId = UUID.fromString(principal.getName());
+        return ResponseEntity.ok(batchService.pauseBatch(batchId, userId));
+    }
+
+    /**
+     * Resume a paused claim batch.
+     *
+     * POST /api/v1/eklaim/batches/{batchId}/resume
+     */
+    @PostMapping("/{batchId}/resume")
+    public ResponseEntity<ClaimBatchProgressResponse> resumeBatch(
+        @PathVariable UUID batchId,
+        @AuthenticationPrincipal Principal principal
+    ) {
+        UUID userId = UUID.fromString(principal.getName());
+        return ResponseEntity.ok(batchService.resumeBatch(batchId, userId));
+    }
+
+    /**
+     * Cancel a claim batch.
+     *
+     * POST /api/v1/eklaim/batches/{batchId}/cancel
+     */
+    @PostMapping("/{batchId}/cancel")
+    public ResponseEntity<ClaimBatchProgressResponse> cancelBatch(
+        @PathVariable UUID batchId,
+        @AuthenticationPrincipal Principal principal
+    ) {
+        UUID userId = UUID.fromString(principal.getName());
+        return ResponseEntity.ok(batchService.cancelBatch(batchId, userId));
+    }
+
+    /**
+     * Queue the failed claims of a batch again.
+     *
+     * POST /api/v1/eklaim/batches/{batchId}/retry-failed
+     */
+    @PostMapping("/{batchId}/retry-failed")
+    public ResponseEntity<ClaimBatchProgressResponse> retryFailed(
+        @PathVariable UUID batchId,
+        @AuthenticationPrincipal Principal principal
+    ) {
+        UUID userId = UUID.fromString(principal.getName());
+        return ResponseEntity.ok(batchService.retryFailed(batchId, userId));
+    }
+}
@@ -0,0 +1,53 @@
+package com.yudha.hms.integration.eklaim.dto;
+
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatch;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Response DTO for E-Klaim claim batch progress.
+ *
+ * Throughput is measured between the first and the last completed claim; the
+ * estimated finish is only given for running batches.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimBatchProgressResponse {
+
+    private UUID batchId;
+    private String batchNumber;
+    private String hospitalCode;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private String encounterType;
+    private EklaimClaimBatch.Status status;
+
+    private long totalItems;
+    private long pendingItems;
+    private long inProgressItems;
+    private long completedItems;
+    private long skippedItems;
+    private long failedItems;
+    private Map<EklaimClaimBatchItem.Step, Long> itemsByStep;
+    private BigDecimal percentComplete;
+
+    private Double claimsPerMinute;
+    private LocalDateTime estimatedFinish;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,37 @@
+package com.yudha.hms.integration.eklaim.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for creating an E-Klaim claim batch.
+ *
+ * Selects the discharged BPJS encounters of the period (by discharge date) that have
+ * a SEP and no grouped claim yet.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Data
+public class CreateClaimBatchRequest {
+
+    @NotBlank(message = "Hospital code is required")
+    private String hospitalCode;
+
+    @NotNull(message = "Period start is required")
+    private LocalDate periodStart;
+
+    @NotNull(message = "Period end is required")
+    private LocalDate periodEnd;
+
+    /**
+     * Optional encounter type filter: INPATIENT, OUTPATIENT or EMERGENCY.
+     */
+    @Pattern(regexp = "^(INPATIENT|OUTPATIENT|EMERGENCY)$", message = "Encounter type must be INPATIENT, OUTPATIENT or EMERGENCY")
+    private String encounterType;
+}
@@ -0,0 +1,97 @@
+package com.yudha.hms.integration.eklaim.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * E-Klaim Claim Batch Entity.
+ *
+ * A bulk claim job over the BPJS encounters discharged in a period (typically a
+ * month). Each selected SEP is an {@link EklaimClaimBatchItem} that is taken
+ * through the E-Klaim steps independently; the batch only holds the selection
+ * and the run state. Progress is counted from the items.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "eklaim_claim_batches", indexes = {
+    @Index(name = "idx_eklaim_batch_status", columnList = "status"),
+    @Index(name = "idx_eklaim_batch_period", columnList = "period_start, period_end")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EklaimClaimBatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "batch_number", nullable = false, unique = true, length = 50)
+    private String batchNumber;
+
+    @Column(name = "hospital_code", nullable = false, length = 20)
+    private String hospitalCode;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+
+    /**
+     * OUTPATIENT, INPATIENT or EMERGENCY; null selects all encounter types
+     */
+    @Column(name = "encounter_type", length = 20)
+    private String encounterType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 30)
+    private Status status = Status.RUNNING;
+
+    @Column(name = "total_items", nullable = false)
+    private Integer totalItems = 0;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    // Audit fields
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+
+    @Column(name = "updated_by")
+    private UUID updatedBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Batch run state
+     */
+    public enum Status {
+        RUNNING, PAUSED, COMPLETED, COMPLETED_WITH_ERRORS, CANCELLED;
+
+        public boolean isFinal() {
+            return this == COMPLETED || this == COMPLETED_WITH_ERRORS || this == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.yudha.hms.integration.eklaim.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * E-Klaim Claim Batch Item Entity.
+ *
+ * One SEP of a claim batch. {@code step} is the checkpoint of the last E-Klaim
+ * step completed for the claim; a retried or resumed item continues after it.
+ * Items are processed under a lease ({@code leaseOwner}, {@code leaseUntil}) so a
+ * crashed node's items are picked up again once the lease expires.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "eklaim_claim_batch_items",
+    uniqueConstraints = @UniqueConstraint(name = "uk_eklaim_batch_item_sep", columnNames = {"batch_id", "nomor_sep"}),
+    indexes = {
+        @Index(name = "idx_eklaim_batch_item_batch", columnList = "batch_id, status"),
+        @Index(name = "idx_eklaim_batch_item_sep", columnList = "nomor_sep")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EklaimClaimBatchItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "batch_id", nullable = false)
+    private UUID batchId;
+
+    @Column(name = "encounter_id", nullable = false)
+    private UUID encounterId;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "nomor_sep", nullable = false, length = 50)
+    private String nomorSep;
+
+    @Column(name = "claim_number", length = 50)
+    private String claimNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "step", nullable = false, length = 30)
+    private Step step = Step.SELECTED;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", columnDefinition = "text")
+    private String lastError;
+
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "cbg_code", length = 50)
+    private String cbgCode;
+
+    @Column(name = "total_tariff", precision = 15, scale = 2)
+    private BigDecimal totalTariff;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * E-Klaim steps in processing order
+     */
+    public enum Step {
+        SELECTED, CLAIM_CREATED, DATA_SET, DIAGNOSES_SET, PROCEDURES_SET, IDRG_GROUPED, INACBG_GROUPED
+    }
+
+    /**
+     * Processing state
+     */
+    public enum Status {
+        PENDING, IN_PROGRESS, COMPLETED, FAILED, SKIPPED
+    }
+}
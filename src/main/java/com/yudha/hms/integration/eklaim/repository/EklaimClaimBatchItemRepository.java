@@ -0,0 +1,165 @@
+package com.yudha.hms.integration.eklaim.repository;
+
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for E-Klaim Claim Batch Items.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface EklaimClaimBatchItemRepository extends JpaRepository<EklaimClaimBatchItem, UUID> {
+
+    /**
+     * Select the eligible encounters of a period into a batch: finished BPJS
+     * encounters with a SEP, discharged (or ended) in [periodStart, periodEndExclusive),
+     * whose claim is not grouped yet and that are not open in another active batch.
+     *
+     * @return number of items selected
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO eklaim_claim_batch_items
+            (id, batch_id, encounter_id, patient_id, nomor_sep, step, status, attempts, created_at, updated_at)
+        SELECT gen_random_uuid(), :batchId, e.id, e.patient_id, e.sep_number,
+               'SELECTED', 'PENDING', 0, :now, :now
+        FROM clinical_schema.encounter e
+        WHERE e.is_bpjs = TRUE
+          AND e.sep_number IS NOT NULL
+          AND e.sep_number <> ''
+          AND e.status = 'FINISHED'
+          AND COALESCE(e.discharge_date, e.encounter_end) >= :periodStart
+          AND COALESCE(e.discharge_date, e.encounter_end) < :periodEndExclusive
+          AND (CAST(:encounterType AS VARCHAR) IS NULL OR e.encounter_type = CAST(:encounterType AS VARCHAR))
+          AND NOT EXISTS (
+              SELECT 1 FROM eklaim_claims c
+              WHERE c.nomor_sep = e.sep_number AND c.status >= 4
+          )
+          AND NOT EXISTS (
+              SELECT 1 FROM eklaim_claim_batch_items i
+              JOIN eklaim_claim_batches b ON b.id = i.batch_id
+              WHERE i.nomor_sep = e.sep_number
+                AND b.status IN ('RUNNING', 'PAUSED')
+                AND i.status IN ('PENDING', 'IN_PROGRESS')
+          )
+        ORDER BY COALESCE(e.discharge_date, e.encounter_end)
+        ON CONFLICT (batch_id, nomor_sep) DO NOTHING
+        """, nativeQuery = true)
+    int selectEligibleEncounters(
+        @Param("batchId") UUID batchId,
+        @Param("periodStart") LocalDateTime periodStart,
+        @Param("periodEndExclusive") LocalDateTime periodEndExclusive,
+        @Param("encounterType") String encounterType,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Lock due items of running batches: pending items whose retry time has come and
+     * in-progress items whose lease expired. Rows locked by another node are skipped.
+     */
+    @Query(value = """
+        SELECT i.* FROM eklaim_claim_batch_items i
+        JOIN eklaim_claim_batches b ON b.id = i.batch_id
+        WHERE b.status = 'RUNNING'
+          AND (
+               (i.status = 'PENDING' AND (i.next_attempt_at IS NULL OR i.next_attempt_at <= :now))
+            OR (i.status = 'IN_PROGRESS' AND i.lease_until < :now)
+          )
+        ORDER BY b.created_at, i.created_at
+        LIMIT :limit
+        FOR UPDATE OF i SKIP LOCKED
+        """, nativeQuery = true)
+    List<EklaimClaimBatchItem> lockDueForProcessing(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Record a completed step and renew the lease, if the caller still holds it.
+     *
+     * @return 1 if checkpointed, 0 if the lease was lost
+     */
+    @Modifying
+    @Query("UPDATE EklaimClaimBatchItem i SET i.step = :step, " +
+           "i.claimNumber = COALESCE(:claimNumber, i.claimNumber), " +
+           "i.leaseUntil = :leaseUntil, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.leaseOwner = :owner AND i.status = 'IN_PROGRESS'")
+    int checkpoint(
+        @Param("id") UUID id,
+        @Param("owner") String owner,
+        @Param("step") EklaimClaimBatchItem.Step step,
+        @Param("claimNumber") String claimNumber,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Renew the lease of an item, if the caller still holds it.
+     *
+     * @return 1 if renewed, 0 if the lease was lost
+     */
+    @Modifying
+    @Query("UPDATE EklaimClaimBatchItem i SET i.leaseUntil = :leaseUntil, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.leaseOwner = :owner AND i.status = 'IN_PROGRESS'")
+    int renewLease(
+        @Param("id") UUID id,
+        @Param("owner") String owner,
+        @Param("leaseUntil") LocalDateTime leaseUntil,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Queue failed items of a batch again with fresh attempts
+     *
+     * @return number of items queued
+     */
+    @Modifying
+    @Query("UPDATE EklaimClaimBatchItem i SET i.status = :pending, i.attempts = 0, " +
+           "i.nextAttemptAt = NULL, i.updatedAt = :now " +
+           "WHERE i.batchId = :batchId AND i.status = :failed")
+    int requeueFailed(
+        @Param("batchId") UUID batchId,
+        @Param("pending") EklaimClaimBatchItem.Status pending,
+        @Param("failed") EklaimClaimBatchItem.Status failed,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Count items of a batch per status
+     *
+     * @return rows of [status, count]
+     */
+    @Query("SELECT i.status, COUNT(i) FROM EklaimClaimBatchItem i WHERE i.batchId = :batchId GROUP BY i.status")
+    List<Object[]> countByStatus(@Param("batchId") UUID batchId);
+
+    /**
+     * Count items of a batch per last completed step
+     *
+     * @return rows of [step, count]
+     */
+    @Query("SELECT i.step, COUNT(i) FROM EklaimClaimBatchItem i WHERE i.batchId = :batchId GROUP BY i.step")
+    List<Object[]> countByStep(@Param("batchId") UUID batchId);
+
+    /**
+     * Items of a batch in a status, most recently updated first
+     */
+    List<EklaimClaimBatchItem> findTop200ByBatchIdAndStatusOrderByUpdatedAtDesc(
+        UUID batchId, EklaimClaimBatchItem.Status status);
+
+    /**
+     * Earliest and latest completion time of a batch (throughput)
+     *
+     * @return one row of [first completed_at, last completed_at, completed count]
+     */
+    @Query("SELECT MIN(i.completedAt), MAX(i.completedAt), COUNT(i) FROM EklaimClaimBatchItem i " +
+           "WHERE i.batchId = :batchId AND i.completedAt IS NOT NULL")
+    List<Object[]> completionWindow(@Param("batchId") UUID batchId);
+}
@@ -0,0 +1,38 @@
+package com.yudha.hms.integration.eklaim.repository;
+
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for E-Klaim Claim Batches.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface EklaimClaimBatchRepository extends JpaRepository<EklaimClaimBatch, UUID> {
+
+    /**
+     * Find batch by batch number
+     */
+    Optional<EklaimClaimBatch> findByBatchNumber(String batchNumber);
+
+    /**
+     * Find all batches, newest first
+     */
+    List<EklaimClaimBatch> findTop50ByOrderByCreatedAtDesc();
+
+    /**
+     * Find running batches that have no pending or in-progress items left
+     */
+    @Query("SELECT b FROM EklaimClaimBatch b WHERE b.status = 'RUNNING' AND NOT EXISTS (" +
+           "SELECT 1 FROM EklaimClaimBatchItem i WHERE i.batchId = b.id AND i.status IN ('PENDING', 'IN_PROGRESS'))")
+    List<EklaimClaimBatch> findRunningWithoutOpenItems();
+}
@@ -7,9 +7,7 @@ import com.yudha.hms.integration.eklaim.repository.EklaimAuditLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -27,6 +25,9 @@ import java.util.UUID;
  * - User actions tracking
  * - Error logging
  *
+ * Entries are built on the calling thread (so the client IP and user agent of the
+ * request are captured) and written in batches by {@link EklaimAuditWriter}.
+ *
  * Audit logs are critical for:
  * - Regulatory compliance (5-year retention required)
  * - Troubleshooting and debugging
@@ -43,10 +44,11 @@ import java.util.UUID;
 public class EklaimAuditService {
 
     private final EklaimAuditLogRepository auditLogRepository;
+    private final EklaimAuditWriter auditWriter;
     private final ObjectMapper objectMapper;
 
     /**
-     * Log E-Klaim API call (async for performance).
+     * Log E-Klaim API call (written in batches).
      *
      * @param claim Related claim
      * @param action E-Klaim action/method name
@@ -59,8 +61,6 @@ public class EklaimAuditService {
      * @param executionTimeMs Execution time in milliseconds
      * @param userId User ID who performed the action
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logApiCall(
         EklaimClaim claim,
         String action,
@@ -89,9 +89,9 @@ public class EklaimAuditService {
                 .userId(userId)
                 .build();
 
-            auditLogRepository.save(auditLog);
+            auditWriter.submit(auditLog);
 
-            log.debug("Audit log created for action: {} on claim: {}",
+            log.debug("Audit log queued for action: {} on claim: {}",
                 action, claim != null ? claim.getClaimNumber() : "N/A");
 
         } catch (Exception e) {
@@ -102,8 +102,6 @@ public class EklaimAuditService {
     /**
      * Log E-Klaim API error.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logError(
         EklaimClaim claim,
         String action,
@@ -127,9 +125,9 @@ public class EklaimAuditService {
                 .userId(userId)
                 .build();
 
-            auditLogRepository.save(auditLog);
+            auditWriter.submit(auditLog);
 
-            log.debug("Error audit log created for action: {}", action);
+            log.debug("Error audit log queued for action: {}", action);
 
         } catch (Exception e) {
             log.error("Failed to create error audit log for action: {}", action, e);
@@ -139,8 +137,6 @@ public class EklaimAuditService {
     /**
      * Log data modification (for claim updates).
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logDataModification(
         EklaimClaim claim,
         String action,
@@ -166,9 +162,9 @@ public class EklaimAuditService {
                 .userId(userId)
                 .build();
 
-            auditLogRepository.save(auditLog);
+            auditWriter.submit(auditLog);
 
-            log.debug("Data modification audit log created for claim: {}",
+            log.debug("Data modification audit log queued for claim: {}",
                 claim.getClaimNumber());
 
         } catch (Exception e) {
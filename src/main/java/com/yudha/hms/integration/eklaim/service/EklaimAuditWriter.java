@@ -0,0 +1,120 @@
+package com.yudha.hms.integration.eklaim.service;
+
+import com.yudha.hms.integration.eklaim.config.EklaimProperties;
+import com.yudha.hms.integration.eklaim.entity.EklaimAuditLog;
+import com.yudha.hms.integration.eklaim.repository.EklaimAuditLogRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffered writer for E-Klaim audit logs.
+ *
+ * Entries are queued and inserted in chunks of flush-size (one transaction and
+ * JDBC batch per chunk) instead of one transaction per API call, which matters when
+ * a claim batch makes thousands of calls. An entry created inside a transaction is
+ * queued when that transaction completes, so it never references a claim row that
+ * is not committed yet. When the queue is full the caller writes its entry directly.
+ * If a chunk fails, its entries are written one by one so a single bad entry does
+ * not drop the others.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@Slf4j
+public class EklaimAuditWriter {
+
+    private final EklaimAuditLogRepository auditLogRepository;
+    private final EklaimProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<EklaimAuditLog> queue;
+
+    public EklaimAuditWriter(EklaimAuditLogRepository auditLogRepository,
+                             EklaimProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.auditLogRepository = auditLogRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getAudit().getQueueCapacity()));
+    }
+
+    /**
+     * Queue an audit entry for writing.
+     *
+     * @param auditLog Audit entry
+     */
+    public void submit(EklaimAuditLog auditLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    enqueue(auditLog);
+                }
+            });
+        } else {
+            enqueue(auditLog);
+        }
+    }
+
+    /**
+     * Number of entries waiting to be written.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Write all queued entries.
+     */
+    @Scheduled(fixedDelayString = "${eklaim.audit.flush-interval-ms:1000}")
+    public void flush() {
+        int chunkSize = Math.max(1, properties.getAudit().getFlushSize());
+        List<EklaimAuditLog> chunk = new ArrayList<>(chunkSize);
+        while (queue.drainTo(chunk, chunkSize) > 0) {
+            write(chunk);
+            chunk.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void enqueue(EklaimAuditLog auditLog) {
+        if (!queue.offer(auditLog)) {
+            write(List.of(auditLog));
+        }
+    }
+
+    private void write(List<EklaimAuditLog> chunk) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> auditLogRepository.saveAll(chunk));
+        } catch (Exception e) {
+            log.warn("Failed to write {} E-Klaim audit logs as a batch, writing individually: {}",
+                chunk.size(), e.getMessage());
+            for (EklaimAuditLog auditLog : chunk) {
+                try {
+                    auditLog.setId(null);
+                    transactionTemplate.executeWithoutResult(status -> auditLogRepository.save(auditLog));
+                } catch (Exception single) {
+                    log.error("Failed to create audit log for action: {}", auditLog.getAction(), single);
+                }
+            }
+        }
+    }
+}
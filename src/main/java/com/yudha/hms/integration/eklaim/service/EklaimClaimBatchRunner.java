@@ -0,0 +1,242 @@
+package com.yudha.hms.integration.eklaim.service;
+
+import com.yudha.hms.integration.eklaim.config.EklaimProperties;
+import com.yudha.hms.integration.eklaim.dto.GrouperResponse;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaim;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatch;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem.Step;
+import com.yudha.hms.integration.eklaim.repository.EklaimClaimRepository;
+import com.yudha.hms.integration.eklaim.service.EklaimClaimBatchService.ItemOutcome;
+import com.yudha.hms.integration.eklaim.service.EklaimClaimBatchService.ItemResult;
+import com.yudha.hms.integration.eklaim.service.EklaimClaimPayloadBuilder.ClaimPayload;
+import com.yudha.hms.integration.eklaim.service.EklaimClaimPayloadBuilder.NotClaimableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Processes E-Klaim claim batch items.
+ *
+ * Each poll claims due items through {@link EklaimClaimBatchService} and runs them
+ * concurrently on virtual threads bounded by max-concurrent-claims. An item goes
+ * through new_claim, set_claim_data, diagnoses, procedures and both grouper stages;
+ * every completed step is checkpointed, so a retried or taken-over item continues
+ * where it stopped instead of repeating E-Klaim calls. The claim status stored by
+ * {@link EklaimClaimService} decides the next step, which also adopts claims that
+ * were created manually for the same SEP.
+ *
+ * Items claimed in one round may wait for a permit longer than their lease, so the
+ * lease is renewed when an item starts; an item already taken over by another node
+ * is left to it.
+ *
+ * An encounter that cannot be claimed (not discharged, nothing billed, no principal
+ * diagnosis) is skipped with its reason; other errors are retried with a delay.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EklaimClaimBatchRunner {
+
+    private static final int MAX_ROUNDS_PER_POLL = 10;
+
+    private final EklaimClaimBatchService batchService;
+    private final EklaimClaimService claimService;
+    private final EklaimClaimPayloadBuilder payloadBuilder;
+    private final EklaimClaimRepository claimRepository;
+    private final EklaimProperties properties;
+
+    private final String nodeId = resolveNodeId();
+
+    @Scheduled(fixedDelayString = "${eklaim.batch.poll-interval-ms:2000}")
+    public void poll() {
+        if (!properties.getBatch().isEnabled()) {
+            return;
+        }
+        try {
+            int rounds = 0;
+            int processed;
+            do {
+                processed = processDue();
+                rounds++;
+            } while (processed >= properties.getBatch().getClaimsPerPoll() && rounds < MAX_ROUNDS_PER_POLL);
+
+            batchService.finishCompletedBatches();
+        } catch (Exception e) {
+            log.error("E-Klaim claim batch processing failed", e);
+        }
+    }
+
+    /**
+     * Claim and process one round of due items.
+     *
+     * @return Number of items processed
+     */
+    public int processDue() {
+        List<EklaimClaimBatchItem> claimed = batchService.claimDue(nodeId, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, EklaimClaimBatch> batches = batchService.findBatches(
+            claimed.stream().map(EklaimClaimBatchItem::getBatchId).collect(Collectors.toSet()));
+        List<ItemOutcome> outcomes = processAll(claimed, batches);
+
+        for (ItemOutcome outcome : outcomes) {
+            if (outcome != null) {
+                batchService.recordOutcome(nodeId, outcome);
+            }
+        }
+
+        long completed = outcomes.stream()
+            .filter(outcome -> outcome != null && outcome.result() == ItemResult.COMPLETED).count();
+        long failed = outcomes.stream()
+            .filter(outcome -> outcome != null && outcome.result() == ItemResult.FAILED).count();
+        log.info("Processed {} E-Klaim batch claims ({} grouped, {} failed)", claimed.size(), completed, failed);
+        return claimed.size();
+    }
+
+    private List<ItemOutcome> processAll(List<EklaimClaimBatchItem> items, Map<UUID, EklaimClaimBatch> batches) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getBatch().getMaxConcurrentClaims()));
+        List<Future<ItemOutcome>> futures = new ArrayList<>(items.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (EklaimClaimBatchItem item : items) {
+                EklaimClaimBatch batch = batches.get(item.getBatchId());
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        if (!batchService.renewLease(item.getId(), nodeId)) {
+                            log.warn("Claim batch lease lost for item {} before it started, leaving it to its new owner",
+                                item.getId());
+                            return null;
+                        }
+                        return process(item, batch);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<ItemOutcome> outcomes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (Exception e) {
+                outcomes.add(ItemOutcome.failed(items.get(i).getId(), e.toString()));
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Run the remaining E-Klaim steps of one item.
+     *
+     * @return Outcome to record, or null if the lease was lost to another node
+     */
+    private ItemOutcome process(EklaimClaimBatchItem item, EklaimClaimBatch batch) {
+        UUID id = item.getId();
+        try {
+            ClaimPayload payload = payloadBuilder.build(item.getEncounterId());
+            UUID userId = batch.getCreatedBy();
+            Step step = item.getStep();
+
+            EklaimClaim claim = item.getClaimNumber() != null
+                ? claimRepository.findByClaimNumber(item.getClaimNumber()).orElse(null)
+                : claimRepository.findByNomorSep(item.getNomorSep()).orElse(null);
+            if (claim == null) {
+                claim = claimService.newClaim(item.getNomorSep(), batch.getHospitalCode(),
+                    item.getPatientId(), item.getEncounterId(), userId);
+            }
+            String claimNumber = claim.getClaimNumber();
+            if (!claimNumber.equals(item.getClaimNumber()) && !checkpoint(id, Step.CLAIM_CREATED, claimNumber)) {
+                return null;
+            }
+
+            int status = claim.getStatus();
+            if (status == 1) {
+                claimService.setClaimData(claimNumber, payload.claimDataRequest(claimNumber), userId);
+                if (!checkpoint(id, Step.DATA_SET, claimNumber)) {
+                    return null;
+                }
+                status = 2;
+            }
+
+            if (status == 2) {
+                if (step.compareTo(Step.DIAGNOSES_SET) < 0) {
+                    claimService.setDiagnoses(claimNumber, payload.diagnosisRequest(claimNumber), userId);
+                    if (!checkpoint(id, Step.DIAGNOSES_SET, claimNumber)) {
+                        return null;
+                    }
+                }
+                if (step.compareTo(Step.PROCEDURES_SET) < 0) {
+                    if (payload.hasProcedures()) {
+                        claimService.setProcedures(claimNumber, payload.procedureRequest(claimNumber), userId);
+                    }
+                    if (!checkpoint(id, Step.PROCEDURES_SET, claimNumber)) {
+                        return null;
+                    }
+                }
+                claimService.executeGrouper(claimNumber, "1", userId);
+                if (!checkpoint(id, Step.IDRG_GROUPED, claimNumber)) {
+                    return null;
+                }
+                status = 3;
+            }
+
+            if (status == 3) {
+                GrouperResponse inacbg = claimService.executeGrouper(claimNumber, "2", userId);
+                return ItemOutcome.completed(id, inacbg.getCode(), inacbg.getTotalTariff());
+            }
+
+            // Already grouped (or beyond) outside this batch
+            EklaimClaim grouped = claimRepository.findByClaimNumber(claimNumber).orElse(claim);
+            return ItemOutcome.completed(id, grouped.getCbgCode(), grouped.getTotalTariff());
+
+        } catch (NotClaimableException e) {
+            return ItemOutcome.skipped(id, e.getMessage());
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            return ItemOutcome.failed(id, error);
+        }
+    }
+
+    private boolean checkpoint(UUID itemId, Step step, String claimNumber) {
+        boolean held = batchService.checkpoint(itemId, nodeId, step, claimNumber);
+        if (!held) {
+            log.warn("Claim batch lease lost for item {} at step {}, leaving it to its new owner", itemId, step);
+        }
+        return held;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        if (host.length() > 80) {
+            host = host.substring(0, 80);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,455 @@
+package com.yudha.hms.integration.eklaim.service;
+
+import com.yudha.hms.integration.eklaim.config.EklaimProperties;
+import com.yudha.hms.integration.eklaim.dto.ClaimBatchProgressResponse;
+import com.yudha.hms.integration.eklaim.dto.CreateClaimBatchRequest;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatch;
+import com.yudha.hms.integration.eklaim.entity.EklaimClaimBatchItem;
+import com.yudha.hms.integration.eklaim.repository.EklaimClaimBatchItemRepository;
+import com.yudha.hms.integration.eklaim.repository.EklaimClaimBatchRepository;
+import com.yudha.hms.integration.eklaim.repository.EklaimConfigRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * E-Klaim claim batches.
+ *
+ * A batch selects the eligible BPJS encounters of a period with one set-based
+ * insert, then {@link EklaimClaimBatchRunner} takes each SEP through the E-Klaim
+ * steps. This class holds the batch lifecycle (create, pause, resume, cancel,
+ * retry failed), progress reporting and the transactional claim and checkpoint
+ * steps of the runner.
+ *
+ * Items are claimed with {@code FOR UPDATE SKIP LOCKED} and a lease, as the
+ * Antrean RS outbox does: a batch survives restarts and can be processed by
+ * several nodes; an item whose node died is taken again once its lease expires and
+ * continues after its last checkpointed step.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EklaimClaimBatchService {
+
+    private static final int MAX_PERIOD_DAYS = 62;
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final DateTimeFormatter BATCH_PERIOD = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final EklaimClaimBatchRepository batchRepository;
+    private final EklaimClaimBatchItemRepository itemRepository;
+    private final EklaimConfigRepository configRepository;
+    private final EklaimProperties properties;
+
+    // ========== Batch lifecycle ==========
+
+    /**
+     * Create a batch over the eligible encounters of a period and start it.
+     *
+     * @param request Hospital, period and optional encounter type
+     * @param userId User creating the batch; E-Klaim calls are made on their behalf
+     * @return Progress of the new batch
+     */
+    @Transactional
+    public ClaimBatchProgressResponse createBatch(CreateClaimBatchRequest request, UUID userId) {
+        LocalDate periodStart = request.getPeriodStart();
+        LocalDate periodEnd = request.getPeriodEnd();
+        if (periodEnd.isBefore(periodStart)) {
+            throw new BusinessException("Period end must not be before period start");
+        }
+        if (ChronoUnit.DAYS.between(periodStart, periodEnd) >= MAX_PERIOD_DAYS) {
+            throw new BusinessException("Claim batch period must not exceed %d days", MAX_PERIOD_DAYS);
+        }
+        if (configRepository.findByHospitalCodeAndIsActiveTrue(request.getHospitalCode()).isEmpty()) {
+            throw new BusinessException("E-Klaim configuration not found for hospital: %s", request.getHospitalCode());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EklaimClaimBatch batch = new EklaimClaimBatch();
+        batch.setBatchNumber("EKB-" + periodStart.format(BATCH_PERIOD) + "-"
+            + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        batch.setHospitalCode(request.getHospitalCode());
+        batch.setPeriodStart(periodStart);
+        batch.setPeriodEnd(periodEnd);
+        batch.setEncounterType(request.getEncounterType());
+        batch.setStatus(EklaimClaimBatch.Status.RUNNING);
+        batch.setStartedAt(now);
+        batch.setCreatedBy(userId);
+        batch = batchRepository.saveAndFlush(batch);
+
+        int selected = itemRepository.selectEligibleEncounters(
+            batch.getId(),
+            periodStart.atStartOfDay(),
+            periodEnd.plusDays(1).atStartOfDay(),
+            request.getEncounterType(),
+            now);
+        if (selected > properties.getBatch().getMaxItemsPerBatch()) {
+            throw new BusinessException("Period has %d claimable encounters, more than the batch limit of %d",
+                selected, properties.getBatch().getMaxItemsPerBatch());
+        }
+
+        batch.setTotalItems(selected);
+        if (selected == 0) {
+            batch.setStatus(EklaimClaimBatch.Status.COMPLETED);
+            batch.setFinishedAt(now);
+        }
+        batch = batchRepository.save(batch);
+
+        log.info("Created E-Klaim claim batch {} for {} - {}: {} SEPs selected",
+            batch.getBatchNumber(), periodStart, periodEnd, selected);
+        return toProgress(batch);
+    }
+
+    /**
+     * Stop taking new claims of a batch; claims in progress finish their current run.
+     */
+    @Transactional
+    public ClaimBatchProgressResponse pauseBatch(UUID batchId, UUID userId) {
+        EklaimClaimBatch batch = getBatch(batchId);
+        requireStatus(batch, EklaimClaimBatch.Status.RUNNING);
+        batch.setStatus(EklaimClaimBatch.Status.PAUSED);
+        batch.setUpdatedBy(userId);
+        log.info("Paused E-Klaim claim batch {}", batch.getBatchNumber());
+        return toProgress(batchRepository.save(batch));
+    }
+
+    /**
+     * Continue a paused batch.
+     */
+    @Transactional
+    public ClaimBatchProgressResponse resumeBatch(UUID batchId, UUID userId) {
+        EklaimClaimBatch batch = getBatch(batchId);
+        requireStatus(batch, EklaimClaimBatch.Status.PAUSED);
+        batch.setStatus(EklaimClaimBatch.Status.RUNNING);
+        batch.setUpdatedBy(userId);
+        log.info("Resumed E-Klaim claim batch {}", batch.getBatchNumber());
+        return toProgress(batchRepository.save(batch));
+    }
+
+    /**
+     * Cancel a batch. Claims already created in E-Klaim are kept.
+     */
+    @Transactional
+    public ClaimBatchProgressResponse cancelBatch(UUID batchId, UUID userId) {
+        EklaimClaimBatch batch = getBatch(batchId);
+        if (batch.getStatus().isFinal()) {
+            throw new BusinessException("Claim batch %s is already %s", batch.getBatchNumber(), batch.getStatus());
+        }
+        batch.setStatus(EklaimClaimBatch.Status.CANCELLED);
+        batch.setFinishedAt(LocalDateTime.now());
+        batch.setUpdatedBy(userId);
+        log.info("Cancelled E-Klaim claim batch {}", batch.getBatchNumber());
+        return toProgress(batchRepository.save(batch));
+    }
+
+    /**
+     * Queue the failed claims of a batch again; a finished batch runs again.
+     */
+    @Transactional
+    public ClaimBatchProgressResponse retryFailed(UUID batchId, UUID userId) {
+        EklaimClaimBatch batch = getBatch(batchId);
+        if (batch.getStatus() == EklaimClaimBatch.Status.CANCELLED) {
+            throw new BusinessException("Claim batch %s is cancelled", batch.getBatchNumber());
+        }
+        int requeued = itemRepository.requeueFailed(batchId,
+            EklaimClaimBatchItem.Status.PENDING, EklaimClaimBatchItem.Status.FAILED, LocalDateTime.now());
+        if (requeued > 0 && batch.getStatus().isFinal()) {
+            batch.setStatus(EklaimClaimBatch.Status.RUNNING);
+            batch.setFinishedAt(null);
+        }
+        batch.setUpdatedBy(userId);
+        log.info("Queued {} failed claims of batch {} again", requeued, batch.getBatchNumber());
+        return toProgress(batchRepository.save(batch));
+    }
+
+    /**
+     * Progress of a batch.
+     */
+    @Transactional(readOnly = true)
+    public ClaimBatchProgressResponse getProgress(UUID batchId) {
+        return toProgress(getBatch(batchId));
+    }
+
+    /**
+     * Recent batches with their progress.
+     */
+    @Transactional(readOnly = true)
+    public List<ClaimBatchProgressResponse> getRecentBatches() {
+        List<ClaimBatchProgressResponse> result = new ArrayList<>();
+        for (EklaimClaimBatch batch : batchRepository.findTop50ByOrderByCreatedAtDesc()) {
+            result.add(toProgress(batch));
+        }
+        return result;
+    }
+
+    /**
+     * Items of a batch in a status (e.g. FAILED or SKIPPED with their errors).
+     */
+    @Transactional(readOnly = true)
+    public List<EklaimClaimBatchItem> getItems(UUID batchId, EklaimClaimBatchItem.Status status) {
+        getBatch(batchId);
+        return itemRepository.findTop200ByBatchIdAndStatusOrderByUpdatedAtDesc(batchId, status);
+    }
+
+    // ========== Runner steps ==========
+
+    /**
+     * Claim due items: lock them, stamp a lease and count the attempt. The claim is
+     * committed before any E-Klaim call, so other nodes skip these items.
+     */
+    @Transactional
+    public List<EklaimClaimBatchItem> claimDue(String nodeId, LocalDateTime now) {
+        EklaimProperties.Batch config = properties.getBatch();
+        List<EklaimClaimBatchItem> claimed = itemRepository.lockDueForProcessing(now, config.getClaimsPerPoll());
+        LocalDateTime leaseUntil = now.plusSeconds(config.getLeaseSeconds());
+
+        for (EklaimClaimBatchItem item : claimed) {
+            item.setStatus(EklaimClaimBatchItem.Status.IN_PROGRESS);
+            item.setAttempts(item.getAttempts() + 1);
+            item.setLeaseOwner(nodeId);
+            item.setLeaseUntil(leaseUntil);
+        }
+        return itemRepository.saveAll(claimed);
+    }
+
+    /**
+     * Batches of the given IDs.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, EklaimClaimBatch> findBatches(Collection<UUID> batchIds) {
+        Map<UUID, EklaimClaimBatch> batches = new HashMap<>();
+        for (EklaimClaimBatch batch : batchRepository.findAllById(batchIds)) {
+            batches.put(batch.getId(), batch);
+        }
+        return batches;
+    }
+
+    /**
+     * Record a completed E-Klaim step of an item and renew its lease.
+     *
+     * @return false if the lease was lost to another node
+     */
+    @Transactional
+    public boolean checkpoint(UUID itemId, String nodeId, EklaimClaimBatchItem.Step step, String claimNumber) {
+        LocalDateTime now = LocalDateTime.now();
+        return itemRepository.checkpoint(itemId, nodeId, step, claimNumber,
+            now.plusSeconds(properties.getBatch().getLeaseSeconds()), now) == 1;
+    }
+
+    /**
+     * Renew the lease of an item before its processing starts.
+     *
+     * @return false if the lease was lost to another node
+     */
+    @Transactional
+    public boolean renewLease(UUID itemId, String nodeId) {
+        LocalDateTime now = LocalDateTime.now();
+        return itemRepository.renewLease(itemId, nodeId,
+            now.plusSeconds(properties.getBatch().getLeaseSeconds()), now) == 1;
+    }
+
+    /**
+     * Record the outcome of processing an item.
+     */
+    @Transactional
+    public void recordOutcome(String nodeId, ItemOutcome outcome) {
+        EklaimClaimBatchItem item = itemRepository.findById(outcome.itemId()).orElse(null);
+        if (item == null || !nodeId.equals(item.getLeaseOwner())
+                || item.getStatus() != EklaimClaimBatchItem.Status.IN_PROGRESS) {
+            log.warn("Claim batch lease lost for item {}, outcome not recorded", outcome.itemId());
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EklaimProperties.Batch config = properties.getBatch();
+        item.setLeaseOwner(null);
+        item.setLeaseUntil(null);
+
+        switch (outcome.result()) {
+            case COMPLETED -> {
+                item.setStatus(EklaimClaimBatchItem.Status.COMPLETED);
+                item.setStep(EklaimClaimBatchItem.Step.INACBG_GROUPED);
+                item.setCbgCode(outcome.cbgCode());
+                item.setTotalTariff(outcome.totalTariff());
+                item.setLastError(null);
+                item.setCompletedAt(now);
+            }
+            case SKIPPED -> {
+                item.setStatus(EklaimClaimBatchItem.Status.SKIPPED);
+                item.setLastError(truncate(outcome.error()));
+            }
+            case FAILED -> {
+                item.setLastError(truncate(outcome.error()));
+                if (item.getAttempts() >= config.getMaxAttempts()) {
+                    item.setStatus(EklaimClaimBatchItem.Status.FAILED);
+                    log.error("Giving up claim of SEP {} after {} attempts: {}",
+                        item.getNomorSep(), item.getAttempts(), outcome.error());
+                } else {
+                    item.setStatus(EklaimClaimBatchItem.Status.PENDING);
+                    item.setNextAttemptAt(now.plusSeconds((long) config.getRetryDelaySeconds() * item.getAttempts()));
+                    log.warn("Claim of SEP {} failed at step {} (attempt {}/{}): {}",
+                        item.getNomorSep(), item.getStep(), item.getAttempts(), config.getMaxAttempts(),
+                        outcome.error());
+                }
+            }
+        }
+        itemRepository.save(item);
+    }
+
+    /**
+     * Close running batches without pending or in-progress items.
+     *
+     * @return Number of batches closed
+     */
+    @Transactional
+    public int finishCompletedBatches() {
+        List<EklaimClaimBatch> finished = batchRepository.findRunningWithoutOpenItems();
+        LocalDateTime now = LocalDateTime.now();
+        for (EklaimClaimBatch batch : finished) {
+            Map<EklaimClaimBatchItem.Status, Long> counts = countByStatus(batch.getId());
+            long failed = counts.get(EklaimClaimBatchItem.Status.FAILED);
+            batch.setStatus(failed > 0
+                ? EklaimClaimBatch.Status.COMPLETED_WITH_ERRORS
+                : EklaimClaimBatch.Status.COMPLETED);
+            batch.setFinishedAt(now);
+            log.info("E-Klaim claim batch {} finished: {} grouped, {} skipped, {} failed",
+                batch.getBatchNumber(), counts.get(EklaimClaimBatchItem.Status.COMPLETED),
+                counts.get(EklaimClaimBatchItem.Status.SKIPPED), failed);
+        }
+        batchRepository.saveAll(finished);
+        return finished.size();
+    }
+
+    // ========== Helpers ==========
+
+    private EklaimClaimBatch getBatch(UUID batchId) {
+        return batchRepository.findById(batchId)
+            .orElseThrow(() -> new ResourceNotFoundException("E-Klaim claim batch", batchId));
+    }
+
+    private void requireStatus(EklaimClaimBatch batch, EklaimClaimBatch.Status status) {
+        if (batch.getStatus() != status) {
+            throw new BusinessException("Claim batch %s is %s, expected %s",
+                batch.getBatchNumber(), batch.getStatus(), status);
+        }
+    }
+
+    private Map<EklaimClaimBatchItem.Status, Long> countByStatus(UUID batchId) {
+        Map<EklaimClaimBatchItem.Status, Long> counts = new EnumMap<>(EklaimClaimBatchItem.Status.class);
+        for (EklaimClaimBatchItem.Status status : EklaimClaimBatchItem.Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : itemRepository.countByStatus(batchId)) {
+            counts.put((EklaimClaimBatchItem.Status) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private ClaimBatchProgressResponse toProgress(EklaimClaimBatch batch) {
+        Map<EklaimClaimBatchItem.Status, Long> byStatus = countByStatus(batch.getId());
+        Map<EklaimClaimBatchItem.Step, Long> byStep = new EnumMap<>(EklaimClaimBatchItem.Step.class);
+        for (Object[] row : itemRepository.countByStep(batch.getId())) {
+            byStep.put((EklaimClaimBatchItem.Step) row[0], ((Number) row[1]).longValue());
+        }
+
+        long total = batch.getTotalItems();
+        long done = byStatus.get(EklaimClaimBatchItem.Status.COMPLETED)
+            + byStatus.get(EklaimClaimBatchItem.Status.SKIPPED)
+            + byStatus.get(EklaimClaimBatchItem.Status.FAILED);
+        long remaining = byStatus.get(EklaimClaimBatchItem.Status.PENDING)
+            + byStatus.get(EklaimClaimBatchItem.Status.IN_PROGRESS);
+
+        Double claimsPerMinute = null;
+        LocalDateTime estimatedFinish = null;
+        List<Object[]> window = itemRepository.completionWindow(batch.getId());
+        if (!window.isEmpty() && window.get(0)[0] != null) {
+            LocalDateTime first = (LocalDateTime) window.get(0)[0];
+            LocalDateTime last = (LocalDateTime) window.get(0)[1];
+            long completed = ((Number) window.get(0)[2]).longValue();
+            long seconds = Duration.between(first, last).toSeconds();
+            if (completed > 1 && seconds > 0) {
+                claimsPerMinute = completed * 60.0 / seconds;
+                if (remaining > 0 && batch.getStatus() == EklaimClaimBatch.Status.RUNNING) {
+                    estimatedFinish = LocalDateTime.now().plusSeconds((long) (remaining * 60 / claimsPerMinute));
+                }
+            }
+        }
+
+        return ClaimBatchProgressResponse.builder()
+            .batchId(batch.getId())
+            .batchNumber(batch.getBatchNumber())
+            .hospitalCode(batch.getHospitalCode())
+            .periodStart(batch.getPeriodStart())
+            .periodEnd(batch.getPeriodEnd())
+            .encounterType(batch.getEncounterType())
+            .status(batch.getStatus())
+            .totalItems(total)
+            .pendingItems(byStatus.get(EklaimClaimBatchItem.Status.PENDING))
+            .inProgressItems(byStatus.get(EklaimClaimBatchItem.Status.IN_PROGRESS))
+            .completedItems(byStatus.get(EklaimClaimBatchItem.Status.COMPLETED))
+            .skippedItems(byStatus.get(EklaimClaimBatchItem.Status.SKIPPED))
+            .failedItems(byStatus.get(EklaimClaimBatchItem.Status.FAILED))
+            .itemsByStep(byStep)
+            .percentComplete(total > 0
+                ? BigDecimal.valueOf(done * 100.0 / total).setScale(1, RoundingMode.HALF_UP)
+                : BigDecimal.valueOf(100))
+            .claimsPerMinute(claimsPerMinute)
+            .estimatedFinish(estimatedFinish)
+            .startedAt(batch.getStartedAt())
+            .finishedAt(batch.getFinishedAt())
+            .build();
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Result of processing one item.
+     */
+    public enum ItemResult {
+        COMPLETED, SKIPPED, FAILED
+    }
+
+    /**
+     * Outcome of processing one item, recorded after its E-Klaim steps ran.
+     */
+    public record ItemOutcome(UUID itemId, ItemResult result, String cbgCode, BigDecimal totalTariff, String error) {
+
+        public static ItemOutcome completed(UUID itemId, String cbgCode, BigDecimal totalTariff) {
+            return new ItemOutcome(itemId, ItemResult.COMPLETED, cbgCode, totalTariff, null);
+        }
+
+        public static ItemOutcome skipped(UUID itemId, String reason) {
+            return new ItemOutcome(itemId, ItemResult.SKIPPED, null, null, reason);
+        }
+
+        public static ItemOutcome failed(UUID itemId, String error) {
+            return new ItemOutcome(itemId, ItemResult.FAILED, null, null, error);
+        }
+    }
+}
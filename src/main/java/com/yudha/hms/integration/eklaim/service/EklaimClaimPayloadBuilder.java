@@ -0,0 +1,326 @@
+package com.yudha.hms.integration.eklaim.service;
+
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.repository.InvoiceItemRepository;
+import com.yudha.hms.clinical.entity.DiagnosisType;
+import com.yudha.hms.clinical.entity.Encounter;
+import com.yudha.hms.clinical.entity.EncounterDiagnosis;
+import com.yudha.hms.clinical.entity.EncounterProcedure;
+import com.yudha.hms.clinical.entity.EncounterType;
+import com.yudha.hms.clinical.repository.EncounterDiagnosisRepository;
+import com.yudha.hms.clinical.repository.EncounterProcedureRepository;
+import com.yudha.hms.clinical.repository.EncounterRepository;
+import com.yudha.hms.integration.eklaim.dto.ClaimDataRequest;
+import com.yudha.hms.integration.eklaim.dto.DiagnosisRequest;
+import com.yudha.hms.integration.eklaim.dto.ProcedureRequest;
+import com.yudha.hms.patient.entity.Patient;
+import com.yudha.hms.patient.repository.PatientRepository;
+import com.yudha.hms.shared.constant.Gender;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds E-Klaim claim payloads from clinical and billing data.
+ *
+ * Reads an encounter with its patient, diagnoses, completed procedures and billed
+ * charges, and maps them to the set_claim_data, diagnosa_set and procedure_set
+ * requests. An encounter that cannot be claimed (no principal diagnosis, no billed
+ * charges, not discharged) raises {@link NotClaimableException}.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EklaimClaimPayloadBuilder {
+
+    private static final int MAX_SECONDARY_DIAGNOSES = 10;
+
+    private final EncounterRepository encounterRepository;
+    private final EncounterDiagnosisRepository diagnosisRepository;
+    private final EncounterProcedureRepository procedureRepository;
+    private final PatientRepository patientRepository;
+    private final InvoiceItemRepository invoiceItemRepository;
+
+    /**
+     * Build the claim payload of an encounter.
+     *
+     * @param encounterId Encounter ID
+     * @return Claim payload
+     * @throws NotClaimableException if the encounter lacks data required by E-Klaim
+     */
+    @Transactional(readOnly = true)
+    public ClaimPayload build(UUID encounterId) {
+        Encounter encounter = encounterRepository.findById(encounterId)
+            .orElseThrow(() -> new NotClaimableException("Encounter not found: " + encounterId));
+        Patient patient = patientRepository.findById(encounter.getPatientId())
+            .orElseThrow(() -> new NotClaimableException("Patient not found: " + encounter.getPatientId()));
+
+        LocalDateTime admission = encounter.getEncounterStart();
+        LocalDateTime discharge = encounter.getDischargeDate() != null
+            ? encounter.getDischargeDate() : encounter.getEncounterEnd();
+        if (admission == null || discharge == null) {
+            throw new NotClaimableException("Encounter " + encounter.getEncounterNumber() + " is not discharged");
+        }
+
+        ClaimDataRequest.ClaimInfo claimInfo = new ClaimDataRequest.ClaimInfo();
+        claimInfo.setPatientName(patient.getFullName());
+        claimInfo.setGender(patient.getGender() == Gender.FEMALE ? "2" : "1");
+        claimInfo.setBirthDate(patient.getBirthDate());
+        if (patient.getBirthDate() != null) {
+            Period age = Period.between(patient.getBirthDate(), admission.toLocalDate());
+            claimInfo.setAgeYears(age.getYears());
+            claimInfo.setAgeMonths(age.getMonths());
+            claimInfo.setAgeDays(age.getDays());
+        }
+
+        claimInfo.setAdmissionDate(admission);
+        claimInfo.setAdmissionType(encounter.getEncounterType() == EncounterType.EMERGENCY ? "1" : "2");
+        claimInfo.setCareType(encounter.getEncounterType() == EncounterType.INPATIENT ? "2" : "1");
+        claimInfo.setCareClass(careClass(patient.getBpjsClass()));
+        claimInfo.setDischargeDate(discharge);
+        claimInfo.setDischargeStatus(dischargeStatus(encounter.getDischargeDisposition()));
+
+        Duration stay = Duration.between(admission, discharge);
+        claimInfo.setLosDays(encounter.getLengthOfStayDays() != null
+            ? encounter.getLengthOfStayDays()
+            : (int) Math.max(0, ChronoUnit.DAYS.between(admission.toLocalDate(), discharge.toLocalDate())));
+        claimInfo.setLosHours((int) Math.max(0, stay.toHours() % 24));
+
+        ClaimDataRequest.BillingDetails billing = billingDetails(encounterId);
+        BigDecimal totalBilling = total(billing);
+        if (totalBilling.signum() <= 0) {
+            throw new NotClaimableException("Encounter " + encounter.getEncounterNumber() + " has no billed charges");
+        }
+        claimInfo.setTotalBilling(totalBilling);
+        claimInfo.setBillingDetails(billing);
+
+        List<DiagnosisRequest.Diagnosis> diagnoses = diagnoses(encounterId);
+        if (diagnoses.isEmpty() || !"1".equals(diagnoses.get(0).getType())) {
+            throw new NotClaimableException("Encounter " + encounter.getEncounterNumber() + " has no principal diagnosis");
+        }
+
+        return new ClaimPayload(claimInfo, diagnoses, procedures(encounterId));
+    }
+
+    private List<DiagnosisRequest.Diagnosis> diagnoses(UUID encounterId) {
+        List<EncounterDiagnosis> recorded = diagnosisRepository.findByEncounterIdOrderByRankAsc(encounterId);
+        EncounterDiagnosis principal = null;
+        for (EncounterDiagnosis diagnosis : recorded) {
+            if (isCodable(diagnosis) && diagnosis.getDiagnosisType() == DiagnosisType.PRIMARY) {
+                principal = diagnosis;
+                break;
+            }
+        }
+        if (principal == null) {
+            for (EncounterDiagnosis diagnosis : recorded) {
+                if (isCodable(diagnosis) && diagnosis.getDiagnosisType() == DiagnosisType.DISCHARGE) {
+                    principal = diagnosis;
+                    break;
+                }
+            }
+        }
+
+        List<DiagnosisRequest.Diagnosis> result = new ArrayList<>();
+        Set<String> codes = new LinkedHashSet<>();
+        if (principal != null) {
+            codes.add(normalizeCode(principal.getDiagnosisCode()));
+            result.add(diagnosis(principal.getDiagnosisCode(), "1"));
+        }
+        for (EncounterDiagnosis diagnosis : recorded) {
+            if (result.size() > MAX_SECONDARY_DIAGNOSES) {
+                break;
+            }
+            if (!isCodable(diagnosis)
+                    || diagnosis.getDiagnosisType() == DiagnosisType.DIFFERENTIAL
+                    || diagnosis.getDiagnosisType() == DiagnosisType.WORKING
+                    || !codes.add(normalizeCode(diagnosis.getDiagnosisCode()))) {
+                continue;
+            }
+            result.add(diagnosis(diagnosis.getDiagnosisCode(), "2"));
+        }
+        return result;
+    }
+
+    private List<ProcedureRequest.Procedure> procedures(UUID encounterId) {
+        List<EncounterProcedure> recorded = new ArrayList<>(
+            procedureRepository.findByEncounter_IdOrderByProcedureDateDesc(encounterId));
+        recorded.sort(Comparator.comparing(EncounterProcedure::getProcedureDate,
+            Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<ProcedureRequest.Procedure> result = new ArrayList<>();
+        Set<String> codes = new LinkedHashSet<>();
+        for (EncounterProcedure procedure : recorded) {
+            if (procedure.getProcedureStatus() != EncounterProcedure.ProcedureStatus.COMPLETED
+                    || procedure.getProcedureCode() == null
+                    || procedure.getProcedureCode().isBlank()
+                    || !codes.add(procedure.getProcedureCode().trim())) {
+                continue;
+            }
+            ProcedureRequest.Procedure item = new ProcedureRequest.Procedure();
+            item.setCode(procedure.getProcedureCode().trim());
+            item.setProcedureDate(procedure.getProcedureDate());
+            item.setType(result.isEmpty() ? "1" : "2");
+            result.add(item);
+        }
+        return result;
+    }
+
+    private ClaimDataRequest.BillingDetails billingDetails(UUID encounterId) {
+        ClaimDataRequest.BillingDetails billing = new ClaimDataRequest.BillingDetails();
+        for (Object[] row : invoiceItemRepository.sumChargesByItemType(encounterId)) {
+            BigDecimal amount = row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+            TariffType type = row[0] != null ? TariffType.valueOf((String) row[0]) : TariffType.OTHER;
+            switch (type) {
+                case ROOM, NUTRITION -> billing.setAccommodation(billing.getAccommodation().add(amount));
+                case ICU -> billing.setIntensiveCare(billing.getIntensiveCare().add(amount));
+                case DOCTOR_FEE, NURSE_FEE -> billing.setProfessionalServices(billing.getProfessionalServices().add(amount));
+                case CONSULTATION -> billing.setConsultation(billing.getConsultation().add(amount));
+                case PROCEDURE, SURGERY_ROOM, ANESTHESIA, EMERGENCY ->
+                    billing.setProcedures(billing.getProcedures().add(amount));
+                case RADIOLOGY -> billing.setRadiology(billing.getRadiology().add(amount));
+                case LAB_TEST -> billing.setLaboratory(billing.getLaboratory().add(amount));
+                case PHYSICAL_THERAPY -> billing.setRehabilitation(billing.getRehabilitation().add(amount));
+                case MEDICINE -> billing.setMedications(billing.getMedications().add(amount));
+                case MEDICAL_DEVICE -> billing.setMedicalDevices(billing.getMedicalDevices().add(amount));
+                default -> billing.setOtherCosts(billing.getOtherCosts().add(amount));
+            }
+        }
+        return billing;
+    }
+
+    private static BigDecimal total(ClaimDataRequest.BillingDetails billing) {
+        return billing.getAccommodation()
+            .add(billing.getIntensiveCare())
+            .add(billing.getProfessionalServices())
+            .add(billing.getConsultation())
+            .add(billing.getProcedures())
+            .add(billing.getRadiology())
+            .add(billing.getLaboratory())
+            .add(billing.getBloodServices())
+            .add(billing.getRehabilitation())
+            .add(billing.getMedications())
+            .add(billing.getMedicalSupplies())
+            .add(billing.getMedicalDevices())
+            .add(billing.getOtherCosts());
+    }
+
+    private static boolean isCodable(EncounterDiagnosis diagnosis) {
+        return diagnosis.getDiagnosisCode() != null
+            && !diagnosis.getDiagnosisCode().isBlank()
+            && !"REFUTED".equalsIgnoreCase(diagnosis.getVerificationStatus());
+    }
+
+    private static DiagnosisRequest.Diagnosis diagnosis(String code, String type) {
+        DiagnosisRequest.Diagnosis diagnosis = new DiagnosisRequest.Diagnosis();
+        diagnosis.setCode(normalizeCode(code));
+        diagnosis.setType(type);
+        diagnosis.setLevel("2");
+        return diagnosis;
+    }
+
+    private static String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * BPJS class "1", "KELAS_1", "Kelas 2"... to E-Klaim care class 1-3 (default 3)
+     */
+    private static String careClass(String bpjsClass) {
+        if (bpjsClass != null) {
+            for (int i = 0; i < bpjsClass.length(); i++) {
+                char c = bpjsClass.charAt(i);
+                if (c >= '1' && c <= '3') {
+                    return String.valueOf(c);
+                }
+            }
+        }
+        return "3";
+    }
+
+    /**
+     * Encounter discharge disposition to E-Klaim discharge status
+     */
+    private static String dischargeStatus(String disposition) {
+        if (disposition == null) {
+            return "1";
+        }
+        String value = disposition.toUpperCase(Locale.ROOT);
+        if (value.contains("TRANSFER") || value.contains("REFER")) {
+            return "6";
+        }
+        if (value.equals("AMA") || value.contains("REQUEST") || value.contains("APS")) {
+            return "7";
+        }
+        if (value.contains("DEAD") || value.contains("DECEASED") || value.contains("DIED")) {
+            return "5";
+        }
+        return "1";
+    }
+
+    /**
+     * Claim payload of one encounter; the claim number is filled in per request.
+     */
+    public record ClaimPayload(
+        ClaimDataRequest.ClaimInfo claimInfo,
+        List<DiagnosisRequest.Diagnosis> diagnoses,
+        List<ProcedureRequest.Procedure> procedures
+    ) {
+
+        public ClaimDataRequest claimDataRequest(String claimNumber) {
+            claimInfo.setClaimNumber(claimNumber);
+            ClaimDataRequest request = new ClaimDataRequest();
+            request.setData(claimInfo);
+            return request;
+        }
+
+        public DiagnosisRequest diagnosisRequest(String claimNumber) {
+            DiagnosisRequest.DiagnosisData data = new DiagnosisRequest.DiagnosisData();
+            data.setClaimNumber(claimNumber);
+            data.setDiagnoses(diagnoses);
+            DiagnosisRequest request = new DiagnosisRequest();
+            request.setData(data);
+            return request;
+        }
+
+        public ProcedureRequest procedureRequest(String claimNumber) {
+            ProcedureRequest.ProcedureData data = new ProcedureRequest.ProcedureData();
+            data.setClaimNumber(claimNumber);
+            data.setProcedures(procedures);
+            ProcedureRequest request = new ProcedureRequest();
+            request.setData(data);
+            return request;
+        }
+
+        public boolean hasProcedures() {
+            return !procedures.isEmpty();
+        }
+    }
+
+    /**
+     * The encounter lacks data required for an E-Klaim claim; retrying does not help.
+     */
+    public static class NotClaimableException extends RuntimeException {
+
+        public NotClaimableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -64,6 +64,18 @@ public class EklaimClaimService {
      */
     @Transactional
     public EklaimClaim newClaim(String nomorSep, String hospitalCode, UUID userId) {
+        return newClaim(nomorSep, hospitalCode, null, null, userId);
+    }
+
+    /**
+     * 1. Create new claim (new_claim) for a known encounter.
+     *
+     * Used by claim batches, which select the SEP from an encounter.
+     *
+     * Status transition: None → 1 (Draft)
+     */
+    @Transactional
+    public EklaimClaim newClaim(String nomorSep, String hospitalCode, UUID patientId, UUID encounterId, UUID userId) {
         log.info("Creating new E-Klaim claim for SEP: {}", nomorSep);
 
         // Check if SEP already used
@@ -106,6 +118,8 @@ public class EklaimClaimService {
             claim.setClaimNumber(claimNumber);
             claim.setNomorSep(nomorSep);
             claim.setStatus(1); // Draft
+            claim.setPatientId(patientId);
+            claim.setEncounterId(encounterId);
             claim.setSepData(objectMapper.writeValueAsString(responseData.get("sep_data")));
             claim.setCreatedBy(userId);
             claim = claimRepository.save(claim);
@@ -0,0 +1,146 @@
+package com.yudha.hms.integration.satusehat.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * SATUSEHAT Integration Properties.
+ *
+ * Binds local caching settings of the SATUSEHAT integration from application.yml.
+ * Credentials and endpoints stay per organization in the satusehat_config table.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "satusehat")
+@Data
+public class SatusehatProperties {
+
+    /**
+     * Local ID to SATUSEHAT ID resolution cache
+     */
+    private IdResolution idResolution = new IdResolution();
+
+    /**
+     * Read-through cache of master data lookups (practitioners, locations, organizations)
+     */
+    private MasterDataCache masterDataCache = new MasterDataCache();
+
+    /**
+     * Paging over large search results
+     */
+    private SearchPager searchPager = new SearchPager();
+
+    /**
+     * Local ID to SATUSEHAT ID Resolution Cache
+     */
+    @Data
+    public static class IdResolution {
+        /**
+         * Time a resolved mapping stays cached (seconds).
+         * SATUSEHAT IDs do not change once assigned; expiry only picks up relinked duplicates.
+         */
+        private int ttlSeconds = 21600;
+
+        /**
+         * Maximum cached mappings
+         */
+        private int maxEntries = 50000;
+
+        /**
+         * Warm-load the most recent mappings of every active organization on startup
+         */
+        private boolean warmUpEnabled = true;
+
+        /**
+         * Maximum mappings warm-loaded per organization
+         */
+        private int warmUpLimit = 20000;
+
+        /**
+         * Maximum local IDs per batched lookup query
+         */
+        private int batchSize = 1000;
+    }
+
+    /**
+     * Master Data Lookup Cache
+     */
+    @Data
+    public static class MasterDataCache {
+        /**
+         * Enable/disable caching of master data lookups
+         */
+        private boolean enabled = true;
+
+        /**
+         * Time a lookup result stays fresh (seconds); after that it is revalidated
+         * with its ETag / meta.versionId
+         */
+        private int ttlSeconds = 3600;
+
+        /**
+         * Time a "not found" result stays cached (seconds)
+         */
+        private int notFoundTtlSeconds = 300;
+
+        /**
+         * Serve the last known result when SATUSEHAT fails, up to this long after expiry (seconds, 0 = off)
+         */
+        private int maxStaleSeconds = 21600;
+
+        /**
+         * While a failed lookup is answered from the last result, retry SATUSEHAT at most this often (seconds)
+         */
+        private int staleRetrySeconds = 60;
+
+        /**
+         * Maximum cached lookups; the oldest are dropped first
+         */
+        private int maxEntries = 5000;
+
+        /**
+         * Interval of background refresh of the most used lookups (milliseconds)
+         */
+        private long refreshIntervalMs = 300000;
+
+        /**
+         * Lookups expiring within this time are refreshed in the background (seconds)
+         */
+        private int refreshAheadSeconds = 600;
+
+        /**
+         * Maximum lookups refreshed per background run
+         */
+        private int refreshMaxPerRun = 100;
+
+        /**
+         * Minimum hits since the previous run for a lookup to be refreshed in the background
+         */
+        private int refreshMinHits = 3;
+    }
+
+    /**
+     * Search Result Paging
+     */
+    @Data
+    public static class SearchPager {
+        /**
+         * Page size requested with _count when the search does not set one
+         */
+        private int pageSize = 100;
+
+        /**
+         * Fetch the next page while the current one is processed
+         */
+        private boolean prefetch = true;
+
+        /**
+         * Stop following next links after this many pages
+         */
+        private int maxPages = 10000;
+    }
+}
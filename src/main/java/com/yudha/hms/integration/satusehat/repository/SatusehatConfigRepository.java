@@ -4,6 +4,7 @@ import com.yudha.hms.integration.satusehat.entity.SatusehatConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -43,6 +44,11 @@ public interface SatusehatConfigRepository extends JpaRepository<SatusehatConfig
         SatusehatConfig.Environment environment
     );
 
+    /**
+     * Find all active configurations
+     */
+    List<SatusehatConfig> findByIsActiveTrue();
+
     /**
      * Check if configuration exists for organization
      */
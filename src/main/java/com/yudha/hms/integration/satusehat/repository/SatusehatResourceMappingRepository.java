@@ -1,11 +1,13 @@
 package com.yudha.hms.integration.satusehat.repository;
 
 import com.yudha.hms.integration.satusehat.entity.SatusehatResourceMapping;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -113,4 +115,24 @@ public interface SatusehatResourceMappingRepository extends JpaRepository<Satuse
         String resourceType,
         SatusehatResourceMapping.SubmissionStatus status
     );
+
+    /**
+     * Find mappings with an assigned SATUSEHAT ID for a set of local resources (any resource type)
+     */
+    @Query("SELECT m FROM SatusehatResourceMapping m " +
+           "WHERE m.localResourceId IN :localResourceIds AND m.satusehatResourceId IS NOT NULL")
+    List<SatusehatResourceMapping> findResolvedByLocalResourceIds(
+        @Param("localResourceIds") Collection<UUID> localResourceIds
+    );
+
+    /**
+     * Find the most recently submitted mappings of an organization with an assigned SATUSEHAT ID
+     */
+    @Query("SELECT m FROM SatusehatResourceMapping m " +
+           "WHERE m.organizationId = :organizationId AND m.satusehatResourceId IS NOT NULL " +
+           "ORDER BY m.lastSubmittedAt DESC NULLS LAST")
+    List<SatusehatResourceMapping> findRecentResolvedByOrganizationId(
+        @Param("organizationId") String organizationId,
+        Pageable pageable
+    );
 }
@@ -346,8 +346,23 @@ public class ClinicalResourceService {
         @com.fasterxml.jackson.annotation.JsonProperty("total")
         private Integer total;
         
+        @com.fasterxml.jackson.annotation.JsonProperty("link")
+        private List<SearchLink> link;
+
         @com.fasterxml.jackson.annotation.JsonProperty("entry")
         private List<SearchEntry<T>> entry;
+
+        @lombok.Data
+        @lombok.Builder
+        @lombok.NoArgsConstructor
+        @lombok.AllArgsConstructor
+        public static class SearchLink {
+            @com.fasterxml.jackson.annotation.JsonProperty("relation")
+            private String relation; // self, next, previous
+
+            @com.fasterxml.jackson.annotation.JsonProperty("url")
+            private String url;
+        }
         
         @lombok.Data
         @lombok.Builder
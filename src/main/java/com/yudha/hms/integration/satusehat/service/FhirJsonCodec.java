@@ -0,0 +1,102 @@
+package com.yudha.hms.integration.satusehat.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.yudha.hms.integration.satusehat.exception.SatusehatIntegrationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JSON codec of SATUSEHAT FHIR payloads.
+ *
+ * Uses its own copy of the application ObjectMapper (including its Blackbird module), so
+ * FHIR settings do not leak into the REST API:
+ * - Null fields are omitted (FHIR does not allow nulls)
+ * - Unknown fields in responses are ignored (SATUSEHAT adds fields over time)
+ * - Dates are written as ISO-8601 strings
+ *
+ * Readers and writers are resolved once per type and reused, so a request does not
+ * look up serializers in the mapper's caches again. Payloads are encoded to UTF-8
+ * bytes directly, without an intermediate String.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Component
+public class FhirJsonCodec {
+
+    private final ObjectMapper mapper;
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public FhirJsonCodec(ObjectMapper objectMapper) {
+        this.mapper = objectMapper.copy()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+            .configure(SerializationFeature.INDENT_OUTPUT, false);
+    }
+
+    /**
+     * Serialize a payload to UTF-8 JSON.
+     *
+     * @param value payload, may be null
+     * @return JSON bytes, null for a null payload
+     */
+    public byte[] write(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return writers.computeIfAbsent(value.getClass(), mapper::writerFor).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SatusehatIntegrationException(
+                "Failed to serialize " + value.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deserialize UTF-8 JSON.
+     *
+     * @param json JSON bytes, may be null or empty
+     * @param type target type
+     * @return value, null for an empty body
+     */
+    public <T> T read(byte[] json, Class<T> type) {
+        if (json == null || json.length == 0) {
+            return null;
+        }
+        try {
+            return readers.computeIfAbsent(type, mapper::readerFor).readValue(json);
+        } catch (IOException e) {
+            throw new SatusehatIntegrationException(
+                "Failed to parse SATUSEHAT " + type.getSimpleName() + " response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Convert an untyped value (e.g. a search entry's resource map) to a resource type.
+     */
+    public <T> T convert(Object value, Class<T> type) {
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        return mapper.convertValue(value, type);
+    }
+
+    /**
+     * Text of UTF-8 JSON bytes, e.g. for the audit log.
+     */
+    public static String toText(byte[] json) {
+        return json != null && json.length > 0 ? new String(json, StandardCharsets.UTF_8) : null;
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Service;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Service for SATUSEHAT Financial and Coverage Resources.
@@ -42,6 +43,7 @@ public class FinancialResourceService {
 
     private final SatusehatHttpClient httpClient;
     private final SatusehatAuthService authService;
+    private final SatusehatSearchPager searchPager;
 
     // ==================== Coverage Operations ====================
 
@@ -144,6 +146,20 @@ public class FinancialResourceService {
         return searchCoverages(organizationId, params, userId);
     }
 
+    /**
+     * Stream all Coverages matching search parameters across result pages.
+     * Close the stream when it is not read to the end.
+     */
+    public Stream<Coverage> streamCoverages(
+        String organizationId,
+        Map<String, String> params,
+        UUID userId
+    ) {
+        log.info("Streaming Coverages {} for organization: {}", params, organizationId);
+
+        return searchPager.stream(organizationId, coverageQuery(params), Coverage.class, userId);
+    }
+
     /**
      * Generic Coverage search.
      */
@@ -152,17 +168,11 @@ public class FinancialResourceService {
         Map<String, String> params,
         UUID userId
     ) {
-        StringBuilder queryString = new StringBuilder("/Coverage?");
-        params.forEach((key, value) -> {
-            if (queryString.length() > 10) queryString.append("&");
-            queryString.append(key).append("=").append(value);
-        });
-
         var config = authService.getActiveConfig(organizationId);
 
         @SuppressWarnings("unchecked")
         ClinicalResourceService.SearchBundle<Coverage> bundle = httpClient.get(
-            queryString.toString(),
+            coverageQuery(params),
             config,
             ClinicalResourceService.SearchBundle.class,
             userId
@@ -171,6 +181,18 @@ public class FinancialResourceService {
         return bundle;
     }
 
+    /**
+     * Build Coverage search endpoint.
+     */
+    private String coverageQuery(Map<String, String> params) {
+        StringBuilder queryString = new StringBuilder("/Coverage?");
+        params.forEach((key, value) -> {
+            if (queryString.length() > 10) queryString.append("&");
+            queryString.append(key).append("=").append(value);
+        });
+        return queryString.toString();
+    }
+
     // ==================== CoverageEligibilityRequest Operations (SEP Request) ====================
 
     /**
@@ -486,6 +508,23 @@ public class FinancialResourceService {
         return searchClaims(organizationId, params, userId);
     }
 
+    /**
+     * Stream all Claims with a status across result pages, e.g. for reconciliation.
+     * Close the stream when it is not read to the end.
+     */
+    public Stream<Claim> streamClaimsByStatus(
+        String organizationId,
+        String status,
+        UUID userId
+    ) {
+        log.info("Streaming Claims by status: {} for organization: {}", status, organizationId);
+
+        Map<String, String> params = new HashMap<>();
+        params.put("status", status);
+
+        return searchPager.stream(organizationId, claimQuery(params), Claim.class, userId);
+    }
+
     /**
      * Generic Claim search.
      */
@@ -494,17 +533,11 @@ public class FinancialResourceService {
         Map<String, String> params,
         UUID userId
     ) {
-        StringBuilder queryString = new StringBuilder("/Claim?");
-        params.forEach((key, value) -> {
-            if (queryString.length() > 7) queryString.append("&");
-            queryString.append(key).append("=").append(value);
-        });
-
         var config = authService.getActiveConfig(organizationId);
 
         @SuppressWarnings("unchecked")
         ClinicalResourceService.SearchBundle<Claim> bundle = httpClient.get(
-            queryString.toString(),
+            claimQuery(params),
             config,
             ClinicalResourceService.SearchBundle.class,
             userId
@@ -513,6 +546,18 @@ public class FinancialResourceService {
         return bundle;
     }
 
+    /**
+     * Build Claim search endpoint.
+     */
+    private String claimQuery(Map<String, String> params) {
+        StringBuilder queryString = new StringBuilder("/Claim?");
+        params.forEach((key, value) -> {
+            if (queryString.length() > 7) queryString.append("&");
+            queryString.append(key).append("=").append(value);
+        });
+        return queryString.toString();
+    }
+
     // ==================== ClaimResponse Operations ====================
 
     /**
@@ -29,6 +29,7 @@ public class LocationService {
 
     private final SatusehatHttpClient httpClient;
     private final SatusehatAuthService authService;
+    private final SatusehatMasterDataCache masterDataCache;
 
     // ========================================================================
     // LOCATION OPERATIONS
@@ -58,6 +59,8 @@ public class LocationService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Location");
+
         log.info("Location created successfully with ID: {}", createdLocation.getId());
         return createdLocation;
     }
@@ -87,26 +90,24 @@ public class LocationService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Location");
+
         log.info("Location {} updated successfully", locationId);
         return updatedLocation;
     }
 
     /**
-     * Get location by ID.
+     * Get location by ID (cached).
      */
     public Location getLocationById(String organizationId, String locationId, UUID userId) {
         log.info("Retrieving location {} from SATUSEHAT", locationId);
 
-        var config = authService.getActiveConfig(organizationId);
-
-        Location location = httpClient.get(
+        return masterDataCache.get(
+            organizationId,
             "/Location/" + locationId,
-            config,
             Location.class,
             userId
         );
-
-        return location;
     }
 
     /**
@@ -126,7 +127,7 @@ public class LocationService {
     }
 
     /**
-     * Search locations by organization.
+     * Search locations by organization (cached).
      */
     public ClinicalResourceService.SearchBundle<Location> searchLocationsByOrganization(
         String organizationId,
@@ -138,7 +139,7 @@ public class LocationService {
         Map<String, String> params = new HashMap<>();
         params.put("organization", "Organization/" + orgResourceId);
 
-        return searchLocations(organizationId, params, userId);
+        return searchLocationsCached(organizationId, params, userId);
     }
 
     /**
@@ -174,7 +175,7 @@ public class LocationService {
     }
 
     /**
-     * Search child locations by parent location.
+     * Search child locations by parent location (cached).
      * This enables hierarchical queries (e.g., find all beds in a ward).
      */
     public ClinicalResourceService.SearchBundle<Location> searchLocationsByParent(
@@ -187,7 +188,7 @@ public class LocationService {
         Map<String, String> params = new HashMap<>();
         params.put("partof", "Location/" + parentLocationId);
 
-        return searchLocations(organizationId, params, userId);
+        return searchLocationsCached(organizationId, params, userId);
     }
 
     /**
@@ -207,7 +208,7 @@ public class LocationService {
     }
 
     /**
-     * Search beds by ward.
+     * Search beds by ward (cached).
      */
     public ClinicalResourceService.SearchBundle<Location> searchBedsByWard(
         String organizationId,
@@ -220,7 +221,7 @@ public class LocationService {
         params.put("type", "BD"); // Bed type code
         params.put("partof", "Location/" + wardLocationId);
 
-        return searchLocations(organizationId, params, userId);
+        return searchLocationsCached(organizationId, params, userId);
     }
 
     /**
@@ -231,18 +232,43 @@ public class LocationService {
         Map<String, String> params,
         UUID userId
     ) {
+        var config = authService.getActiveConfig(organizationId);
+
+        @SuppressWarnings("unchecked")
+        ClinicalResourceService.SearchBundle<Location> bundle = httpClient.get(
+            locationQuery(params),
+            config,
+            ClinicalResourceService.SearchBundle.class,
+            userId
+        );
+
+        return bundle;
+    }
+
+    /**
+     * Build location search endpoint.
+     */
+    private String locationQuery(Map<String, String> params) {
         StringBuilder queryString = new StringBuilder("/Location?");
         params.forEach((key, value) -> {
             if (queryString.length() > 10) queryString.append("&");
             queryString.append(key).append("=").append(value);
         });
+        return queryString.toString();
+    }
 
-        var config = authService.getActiveConfig(organizationId);
-
+    /**
+     * Location search through the master data cache.
+     */
+    private ClinicalResourceService.SearchBundle<Location> searchLocationsCached(
+        String organizationId,
+        Map<String, String> params,
+        UUID userId
+    ) {
         @SuppressWarnings("unchecked")
-        ClinicalResourceService.SearchBundle<Location> bundle = httpClient.get(
-            queryString.toString(),
-            config,
+        ClinicalResourceService.SearchBundle<Location> bundle = masterDataCache.get(
+            organizationId,
+            locationQuery(params),
             ClinicalResourceService.SearchBundle.class,
             userId
         );
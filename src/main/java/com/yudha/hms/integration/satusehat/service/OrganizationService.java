@@ -28,6 +28,7 @@ public class OrganizationService {
 
     private final SatusehatHttpClient httpClient;
     private final SatusehatAuthService authService;
+    private final SatusehatMasterDataCache masterDataCache;
 
     // ========================================================================
     // ORGANIZATION OPERATIONS
@@ -53,6 +54,8 @@ public class OrganizationService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Organization");
+
         log.info("Organization created successfully with ID: {}", createdOrganization.getId());
         return createdOrganization;
     }
@@ -82,26 +85,24 @@ public class OrganizationService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Organization");
+
         log.info("Organization {} updated successfully", orgResourceId);
         return updatedOrganization;
     }
 
     /**
-     * Get organization by ID.
+     * Get organization by ID (cached).
      */
     public Organization getOrganizationById(String organizationId, String orgResourceId, UUID userId) {
         log.info("Retrieving organization {} from SATUSEHAT", orgResourceId);
 
-        var config = authService.getActiveConfig(organizationId);
-
-        Organization organization = httpClient.get(
+        return masterDataCache.get(
+            organizationId,
             "/Organization/" + orgResourceId,
-            config,
             Organization.class,
             userId
         );
-
-        return organization;
     }
 
     /**
@@ -121,7 +122,7 @@ public class OrganizationService {
     }
 
     /**
-     * Search organizations by identifier.
+     * Search organizations by identifier (cached).
      */
     public ClinicalResourceService.SearchBundle<Organization> searchOrganizationsByIdentifier(
         String organizationId,
@@ -133,7 +134,7 @@ public class OrganizationService {
         Map<String, String> params = new HashMap<>();
         params.put("identifier", identifierValue);
 
-        return searchOrganizations(organizationId, params, userId);
+        return searchOrganizationsCached(organizationId, params, userId);
     }
 
     /**
@@ -175,18 +176,43 @@ public class OrganizationService {
         Map<String, String> params,
         UUID userId
     ) {
+        var config = authService.getActiveConfig(organizationId);
+
+        @SuppressWarnings("unchecked")
+        ClinicalResourceService.SearchBundle<Organization> bundle = httpClient.get(
+            organizationQuery(params),
+            config,
+            ClinicalResourceService.SearchBundle.class,
+            userId
+        );
+
+        return bundle;
+    }
+
+    /**
+     * Build organization search endpoint.
+     */
+    private String organizationQuery(Map<String, String> params) {
         StringBuilder queryString = new StringBuilder("/Organization?");
         params.forEach((key, value) -> {
             if (queryString.length() > 14) queryString.append("&");
             queryString.append(key).append("=").append(value);
         });
+        return queryString.toString();
+    }
 
-        var config = authService.getActiveConfig(organizationId);
-
+    /**
+     * Organization search through the master data cache.
+     */
+    private ClinicalResourceService.SearchBundle<Organization> searchOrganizationsCached(
+        String organizationId,
+        Map<String, String> params,
+        UUID userId
+    ) {
         @SuppressWarnings("unchecked")
-        ClinicalResourceService.SearchBundle<Organization> bundle = httpClient.get(
-            queryString.toString(),
-            config,
+        ClinicalResourceService.SearchBundle<Organization> bundle = masterDataCache.get(
+            organizationId,
+            organizationQuery(params),
             ClinicalResourceService.SearchBundle.class,
             userId
         );
@@ -39,6 +39,7 @@ public class PatientSyncService {
     private final PatientMappingService patientMappingService;
     private final PatientValidationService patientValidationService;
     private final SatusehatResourceMappingRepository resourceMappingRepository;
+    private final SatusehatIdResolver idResolver;
 
     /**
      * Synchronize patient to SATUSEHAT.
@@ -117,6 +118,7 @@ public class PatientSyncService {
 
             mapping.markAsSubmitted(ihsNumber, versionId);
             mapping = resourceMappingRepository.save(mapping);
+            idResolver.register(mapping);
 
             log.info("Patient sync completed successfully: {} -> IHS: {}",
                 hmsPatient.getMrn(), ihsNumber);
@@ -192,6 +194,7 @@ public class PatientSyncService {
 
                 mapping.markAsSubmitted(ihsNumber, null);
                 resourceMappingRepository.save(mapping);
+                idResolver.register(mapping);
             } else {
                 // Not found - mark as failed
                 mapping.markAsFailed("Duplicate patient but not found in search");
@@ -31,6 +31,7 @@ public class PractitionerResourceService {
 
     private final SatusehatHttpClient httpClient;
     private final SatusehatAuthService authService;
+    private final SatusehatMasterDataCache masterDataCache;
 
     // ========================================================================
     // PRACTITIONER OPERATIONS
@@ -56,6 +57,8 @@ public class PractitionerResourceService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Practitioner");
+
         log.info("Practitioner created successfully with ID: {}", createdPractitioner.getId());
         return createdPractitioner;
     }
@@ -85,26 +88,24 @@ public class PractitionerResourceService {
             userId
         );
 
+        masterDataCache.invalidate(organizationId, "Practitioner");
+
         log.info("Practitioner {} updated successfully", practitionerId);
         return updatedPractitioner;
     }
 
     /**
-     * Get practitioner by ID.
+     * Get practitioner by ID (cached).
      */
     public Practitioner getPractitionerById(String organizationId, String practitionerId, UUID userId) {
         log.info("Retrieving practitioner {} from SATUSEHAT", practitionerId);
 
-        var config = authService.getActiveConfig(organizationId);
-
-        Practitioner practitioner = httpClient.get(
+        return masterDataCache.get(
+            organizationId,
             "/Practitioner/" + practitionerId,
-            config,
             Practitioner.class,
             userId
         );
-
-        return practitioner;
     }
 
     /**
@@ -124,7 +125,7 @@ public class PractitionerResourceService {
     }
 
     /**
-     * Search practitioners by identifier (NIK, SIP, etc.).
+     * Search practitioners by identifier (NIK, SIP, etc.) (cached).
      */
     public ClinicalResourceService.SearchBundle<Practitioner> searchPractitionersByIdentifier(
         String organizationId,
@@ -136,7 +137,7 @@ public class PractitionerResourceService {
         Map<String, String> params = new HashMap<>();
         params.put("identifier", identifierValue);
 
-        return searchPractitioners(organizationId, params, userId);
+        return searchPractitionersCached(organizationId, params, userId);
     }
 
     /**
@@ -162,18 +163,43 @@ public class PractitionerResourceService {
         Map<String, String> params,
         UUID userId
     ) {
+        var config = authService.getActiveConfig(organizationId);
+
+        @SuppressWarnings("unchecked")
+        ClinicalResourceService.SearchBundle<Practitioner> bundle = httpClient.get(
+            practitionerQuery(params),
+            config,
+            ClinicalResourceService.SearchBundle.class,
+            userId
+        );
+
+        return bundle;
+    }
+
+    /**
+     * Build practitioner search endpoint.
+     */
+    private String practitionerQuery(Map<String, String> params) {
         StringBuilder queryString = new StringBuilder("/Practitioner?");
         params.forEach((key, value) -> {
             if (queryString.length() > 14) queryString.append("&");
             queryString.append(key).append("=").append(value);
         });
+        return queryString.toString();
+    }
 
-        var config = authService.getActiveConfig(organizationId);
-
+    /**
+     * Practitioner search through the master data cache.
+     */
+    private ClinicalResourceService.SearchBundle<Practitioner> searchPractitionersCached(
+        String organizationId,
+        Map<String, String> params,
+        UUID userId
+    ) {
         @SuppressWarnings("unchecked")
-        ClinicalResourceService.SearchBundle<Practitioner> bundle = httpClient.get(
-            queryString.toString(),
-            config,
+        ClinicalResourceService.SearchBundle<Practitioner> bundle = masterDataCache.get(
+            organizationId,
+            practitionerQuery(params),
             ClinicalResourceService.SearchBundle.class,
             userId
         );
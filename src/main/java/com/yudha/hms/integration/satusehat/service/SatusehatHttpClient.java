@@ -1,6 +1,5 @@
 package com.yudha.hms.integration.satusehat.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.yudha.hms.integration.satusehat.entity.SatusehatConfig;
 import com.yudha.hms.integration.satusehat.exception.*;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +23,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Rate limiting (sliding window algorithm)
  * - Exponential backoff retry
  * - Automatic token injection
+ * - Conditional GET (If-None-Match) for cache revalidation
+ * - Single serialization of payloads (the audit log stores the bytes sent and received)
  * - Circuit breaker
  * - Comprehensive error handling
  *
@@ -48,7 +49,7 @@ public class SatusehatHttpClient {
     private final RestTemplate restTemplate;
     private final SatusehatAuthService authService;
     private final SatusehatAuditService auditService;
-    private final ObjectMapper objectMapper;
+    private final FhirJsonCodec jsonCodec;
 
     // Rate limiters per organization
     private final Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
@@ -60,10 +61,36 @@ public class SatusehatHttpClient {
                      SatusehatConfig config,
                      Class<T> responseType,
                      UUID userId) {
-        return executeWithRetry(
+        return exchangeWithRetry(
             endpoint,
             HttpMethod.GET,
             null,
+            null,
+            config,
+            responseType,
+            userId
+        ).getBody();
+    }
+
+    /**
+     * Execute conditional GET request to SATUSEHAT FHIR API.
+     *
+     * Sends If-None-Match with the given entity tag. The response is 304 Not Modified,
+     * without body, when the resource still has that version.
+     *
+     * @param etag entity tag of the cached version, e.g. W/"3"
+     * @return response with status, ETag header and body
+     */
+    public <T> ResponseEntity<T> getIfNoneMatch(String endpoint,
+                                                String etag,
+                                                SatusehatConfig config,
+                                                Class<T> responseType,
+                                                UUID userId) {
+        return exchangeWithRetry(
+            endpoint,
+            HttpMethod.GET,
+            null,
+            etag,
             config,
             responseType,
             userId
@@ -78,14 +105,15 @@ public class SatusehatHttpClient {
                       SatusehatConfig config,
                       Class<T> responseType,
                       UUID userId) {
-        return executeWithRetry(
+        return exchangeWithRetry(
             endpoint,
             HttpMethod.POST,
             requestBody,
+            null,
             config,
             responseType,
             userId
-        );
+        ).getBody();
     }
 
     /**
@@ -96,14 +124,15 @@ public class SatusehatHttpClient {
                      SatusehatConfig config,
                      Class<T> responseType,
                      UUID userId) {
-        return executeWithRetry(
+        return exchangeWithRetry(
             endpoint,
             HttpMethod.PUT,
             requestBody,
+            null,
             config,
             responseType,
             userId
-        );
+        ).getBody();
     }
 
     /**
@@ -114,14 +143,15 @@ public class SatusehatHttpClient {
                        SatusehatConfig config,
                        Class<T> responseType,
                        UUID userId) {
-        return executeWithRetry(
+        return exchangeWithRetry(
             endpoint,
             HttpMethod.PATCH,
             requestBody,
+            null,
             config,
             responseType,
             userId
-        );
+        ).getBody();
     }
 
     /**
@@ -131,32 +161,36 @@ public class SatusehatHttpClient {
                         SatusehatConfig config,
                         Class<T> responseType,
                         UUID userId) {
-        return executeWithRetry(
+        return exchangeWithRetry(
             endpoint,
             HttpMethod.DELETE,
             null,
+            null,
             config,
             responseType,
             userId
-        );
+        ).getBody();
     }
 
     /**
      * Execute HTTP request with retry logic.
+     * The request body is serialized once and the same bytes are sent on every attempt.
      */
-    private <T> T executeWithRetry(String endpoint,
-                                    HttpMethod method,
-                                    Object requestBody,
-                                    SatusehatConfig config,
-                                    Class<T> responseType,
-                                    UUID userId) {
+    private <T> ResponseEntity<T> exchangeWithRetry(String endpoint,
+                                                    HttpMethod method,
+                                                    Object requestBody,
+                                                    String ifNoneMatch,
+                                                    SatusehatConfig config,
+                                                    Class<T> responseType,
+                                                    UUID userId) {
+        byte[] requestJson = jsonCodec.write(requestBody);
         int maxAttempts = config.getMaxRetryAttempts();
         int attempt = 0;
         Exception lastException = null;
 
         while (attempt < maxAttempts) {
             try {
-                return execute(endpoint, method, requestBody, config, responseType, userId, attempt);
+                return execute(endpoint, method, requestJson, ifNoneMatch, config, responseType, userId, attempt);
 
             } catch (SatusehatRateLimitException e) {
                 // Rate limit: wait and retry
@@ -220,9 +254,10 @@ public class SatusehatHttpClient {
     /**
      * Execute HTTP request with rate limiting and token injection.
      */
-    private <T> T execute(String endpoint,
+    private <T> ResponseEntity<T> execute(String endpoint,
                          HttpMethod method,
-                         Object requestBody,
+                         byte[] requestJson,
+                         String ifNoneMatch,
                          SatusehatConfig config,
                          Class<T> responseType,
                          UUID userId,
@@ -248,30 +283,26 @@ public class SatusehatHttpClient {
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
             headers.setBearerAuth(accessToken);
+            if (ifNoneMatch != null) {
+                headers.setIfNoneMatch(ifNoneMatch);
+            }
 
             // Create request entity
-            HttpEntity<Object> request = new HttpEntity<>(requestBody, headers);
+            HttpEntity<byte[]> request = new HttpEntity<>(requestJson, headers);
 
-            // Execute request
+            // Execute request; the raw body is kept for the audit log and parsed once
             log.debug("{} {} (retry: {})", method, url, retryCount);
-            ResponseEntity<T> response = restTemplate.exchange(
+            ResponseEntity<byte[]> raw = restTemplate.exchange(
                 url,
                 method,
                 request,
-                responseType
+                byte[].class
             );
 
             long executionTime = System.currentTimeMillis() - startTime;
 
             // Audit log
             try {
-                String requestBodyStr = requestBody != null
-                    ? objectMapper.writeValueAsString(requestBody)
-                    : null;
-                String responseBodyStr = response.getBody() != null
-                    ? objectMapper.writeValueAsString(response.getBody())
-                    : null;
-
                 auditService.logApiCall(
                     config,
                     method.name(),
@@ -279,34 +310,31 @@ public class SatusehatHttpClient {
                     extractResourceId(endpoint),
                     method.name(),
                     url,
-                    requestBodyStr,
-                    responseBodyStr,
-                    response.getStatusCode().value(),
+                    FhirJsonCodec.toText(requestJson),
+                    FhirJsonCodec.toText(raw.getBody()),
+                    raw.getStatusCode().value(),
                     (int) executionTime,
                     userId
                 );
             } catch (Exception logError) {
-                log.warn("Failed to serialize request/response for audit log: {}", logError.getMessage());
+                log.warn("Failed to write audit log: {}", logError.getMessage());
             }
 
-            return response.getBody();
+            T body = jsonCodec.read(raw.getBody(), responseType);
+            return new ResponseEntity<>(body, raw.getHeaders(), raw.getStatusCode());
 
         } catch (Exception e) {
             long executionTime = System.currentTimeMillis() - startTime;
 
             // Log error
             try {
-                String requestBodyStr = requestBody != null
-                    ? objectMapper.writeValueAsString(requestBody)
-                    : null;
-
                 auditService.logApiError(
                     config,
                     method.name(),
                     extractResourceType(endpoint),
                     method.name(),
                     config.getFhirBaseUrl() + endpoint,
-                    requestBodyStr,
+                    FhirJsonCodec.toText(requestJson),
                     getErrorCode(e),
                     e.getMessage(),
                     getStatusCode(e),
@@ -0,0 +1,248 @@
+package com.yudha.hms.integration.satusehat.service;
+
+import com.yudha.hms.integration.satusehat.config.SatusehatProperties;
+import com.yudha.hms.integration.satusehat.entity.SatusehatConfig;
+import com.yudha.hms.integration.satusehat.entity.SatusehatResourceMapping;
+import com.yudha.hms.integration.satusehat.repository.SatusehatConfigRepository;
+import com.yudha.hms.integration.satusehat.repository.SatusehatResourceMappingRepository;
+import com.yudha.hms.shared.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Resolves local HMS resource IDs to SATUSEHAT resource IDs (IHS numbers, etc.).
+ *
+ * FHIR resources reference the SATUSEHAT IDs of their Patient, Practitioner, Location,
+ * Organization and Encounter. Resolved mappings are cached; lookups that miss the cache
+ * are answered with one batched query for all missing IDs, so resolving every reference
+ * of a bundle costs at most one query per batch of IDs.
+ *
+ * Only mappings with an assigned SATUSEHAT ID are cached; unresolved IDs are looked up
+ * again on the next call, so mappings created on other nodes are found at once.
+ * Mappings saved on this node are added to the cache after commit.
+ *
+ * Resource types are FHIR resource type names ("Patient", "Encounter", ...), matching
+ * {@link SatusehatResourceMapping#getResourceType()}.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Slf4j
+@Service
+public class SatusehatIdResolver {
+
+    private final SatusehatResourceMappingRepository resourceMappingRepository;
+    private final SatusehatConfigRepository configRepository;
+    private final SatusehatProperties.IdResolution settings;
+
+    private final ExpiringCache<LocalKey, String> satusehatIds;
+
+    public SatusehatIdResolver(SatusehatResourceMappingRepository resourceMappingRepository,
+                               SatusehatConfigRepository configRepository,
+                               SatusehatProperties properties) {
+        this.resourceMappingRepository = resourceMappingRepository;
+        this.configRepository = configRepository;
+        this.settings = properties.getIdResolution();
+
+        Duration ttl = Duration.ofSeconds(settings.getTtlSeconds());
+        this.satusehatIds = new ExpiringCache<>("satusehat.id-resolution", ttl, Duration.ZERO,
+            settings.getMaxEntries());
+    }
+
+    // ========== Resolution ==========
+
+    /**
+     * Resolve the SATUSEHAT ID of one local resource.
+     *
+     * @param resourceType FHIR resource type
+     * @param localId local resource ID
+     * @return SATUSEHAT ID, empty if the resource is not mapped yet
+     */
+    public Optional<String> resolve(String resourceType, UUID localId) {
+        if (localId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(resolveAll(resourceType, List.of(localId)).get(localId));
+    }
+
+    /**
+     * Resolve the SATUSEHAT IDs of local resources of one type.
+     *
+     * @param resourceType FHIR resource type
+     * @param localIds local resource IDs
+     * @return SATUSEHAT ID by local ID; unmapped IDs are absent
+     */
+    public Map<UUID, String> resolveAll(String resourceType, Collection<UUID> localIds) {
+        return resolveAll(Map.of(resourceType, localIds)).getOrDefault(resourceType, Map.of());
+    }
+
+    /**
+     * Resolve the SATUSEHAT IDs of local resources of several types at once,
+     * e.g. every reference of an encounter bundle.
+     *
+     * @param localIdsByType local resource IDs by FHIR resource type
+     * @return SATUSEHAT ID by local ID, by resource type; unmapped IDs are absent
+     */
+    public Map<String, Map<UUID, String>> resolveAll(Map<String, ? extends Collection<UUID>> localIdsByType) {
+        Map<String, Map<UUID, String>> resolved = new HashMap<>();
+        Map<String, Set<UUID>> missing = new HashMap<>();
+        Set<UUID> missingIds = new LinkedHashSet<>();
+
+        localIdsByType.forEach((type, ids) -> {
+            Map<UUID, String> ofType = resolved.computeIfAbsent(type, t -> new HashMap<>());
+            for (UUID id : ids) {
+                if (id == null) {
+                    continue;
+                }
+                String satusehatId = satusehatIds.getIfPresent(new LocalKey(type, id));
+                if (satusehatId != null) {
+                    ofType.put(id, satusehatId);
+                } else {
+                    missing.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(id);
+                    missingIds.add(id);
+                }
+            }
+        });
+
+        if (!missingIds.isEmpty()) {
+            for (SatusehatResourceMapping mapping : findByLocalIds(missingIds)) {
+                Set<UUID> wanted = missing.get(mapping.getResourceType());
+                if (wanted != null && wanted.contains(mapping.getLocalResourceId())) {
+                    resolved.get(mapping.getResourceType())
+                        .put(mapping.getLocalResourceId(), mapping.getSatusehatResourceId());
+                }
+                cache(mapping);
+            }
+        }
+        return resolved;
+    }
+
+    // ========== Cache Maintenance ==========
+
+    /**
+     * Add a saved mapping to the cache once its transaction commits.
+     * Mappings without a SATUSEHAT ID are ignored.
+     *
+     * @param mapping saved resource mapping
+     */
+    public void register(SatusehatResourceMapping mapping) {
+        if (mapping == null || mapping.getSatusehatResourceId() == null) {
+            return;
+        }
+        LocalKey localKey = new LocalKey(mapping.getResourceType(), mapping.getLocalResourceId());
+        String satusehatId = mapping.getSatusehatResourceId();
+        afterCommit(() -> satusehatIds.put(localKey, satusehatId));
+    }
+
+    /**
+     * Warm-load the most recently submitted mappings of an organization.
+     *
+     * @param organizationId organization identifier
+     * @return number of mappings loaded
+     */
+    public int warmUp(String organizationId) {
+        List<SatusehatResourceMapping> mappings = resourceMappingRepository.findRecentResolvedByOrganizationId(
+            organizationId, PageRequest.of(0, Math.max(1, settings.getWarmUpLimit())));
+        mappings.forEach(this::cache);
+        log.info("SATUSEHAT ID resolution cache warmed for organization {}: {} mappings",
+            organizationId, mappings.size());
+        return mappings.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpActiveOrganizations() {
+        if (!settings.isWarmUpEnabled()) {
+            return;
+        }
+        for (SatusehatConfig config : configRepository.findByIsActiveTrue()) {
+            try {
+                warmUp(config.getOrganizationId());
+            } catch (Exception e) {
+                log.warn("Failed to warm SATUSEHAT ID resolution cache for organization {}: {}",
+                    config.getOrganizationId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drop all cached mappings.
+     */
+    public void invalidateAll() {
+        satusehatIds.invalidateAll();
+    }
+
+    /**
+     * Cache statistics.
+     */
+    public ExpiringCache.Stats stats() {
+        return satusehatIds.stats();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private List<SatusehatResourceMapping> findByLocalIds(Collection<UUID> localIdList) {
+        List<SatusehatResourceMapping> mappings = new ArrayList<>();
+        for (List<UUID> batch : partition(localIdList)) {
+            mappings.addAll(resourceMappingRepository.findResolvedByLocalResourceIds(batch));
+        }
+        return mappings;
+    }
+
+    private <T> List<List<T>> partition(Collection<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        int batchSize = Math.max(1, settings.getBatchSize());
+        List<T> batch = new ArrayList<>(Math.min(batchSize, values.size()));
+        for (T value : values) {
+            batch.add(value);
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private void cache(SatusehatResourceMapping mapping) {
+        if (mapping.getResourceType() == null || mapping.getSatusehatResourceId() == null) {
+            return;
+        }
+        satusehatIds.put(new LocalKey(mapping.getResourceType(), mapping.getLocalResourceId()),
+            mapping.getSatusehatResourceId());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record LocalKey(String resourceType, UUID localId) {
+    }
+}
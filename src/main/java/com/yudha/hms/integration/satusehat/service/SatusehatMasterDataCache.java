@@ -0,0 +1,276 @@
+package com.yudha.hms.integration.satusehat.service;
+
+import com.yudha.hms.integration.satusehat.config.SatusehatProperties;
+import com.yudha.hms.integration.satusehat.dto.fhir.Encounter;
+import com.yudha.hms.integration.satusehat.dto.fhir.Location;
+import com.yudha.hms.integration.satusehat.dto.fhir.Organization;
+import com.yudha.hms.integration.satusehat.dto.fhir.Practitioner;
+import com.yudha.hms.integration.satusehat.exception.SatusehatHttpException;
+import com.yudha.hms.integration.satusehat.exception.SatusehatIntegrationException;
+import com.yudha.hms.shared.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read-through cache of SATUSEHAT master data lookups.
+ *
+ * Practitioners, locations and organizations change rarely, but are looked up for
+ * almost every resource submitted. Lookups are cached per organization and request:
+ * - Fresh results are served without calling SATUSEHAT
+ * - Expired results are revalidated with a conditional GET (ETag, or the resource's
+ *   meta.versionId); a 304 renews them without transferring the resource again
+ * - "Not found" (404, or a search without results) is cached for a shorter time
+ * - When SATUSEHAT fails, the last result is served for a limited time after expiry,
+ *   and SATUSEHAT is only retried every stale-retry interval instead of on every lookup
+ * - The most used lookups are refreshed in the background before they expire
+ *
+ * Built on {@link ExpiringCache}, so concurrent misses of one lookup share a single
+ * request. Updates made through this application drop the cached lookups of the
+ * resource type.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Slf4j
+@Service
+public class SatusehatMasterDataCache {
+
+    private final SatusehatHttpClient httpClient;
+    private final SatusehatAuthService authService;
+    private final SatusehatProperties.MasterDataCache settings;
+
+    private final ExpiringCache<Key, Lookup> lookups;
+
+    public SatusehatMasterDataCache(SatusehatHttpClient httpClient,
+                                    SatusehatAuthService authService,
+                                    SatusehatProperties properties) {
+        this.httpClient = httpClient;
+        this.authService = authService;
+        this.settings = properties.getMasterDataCache();
+        this.lookups = new ExpiringCache<>("satusehat.master-data",
+            Duration.ofSeconds(settings.getTtlSeconds()),
+            Duration.ofSeconds(settings.getMaxStaleSeconds()),
+            Duration.ofSeconds(settings.getStaleRetrySeconds()),
+            settings.getMaxEntries());
+    }
+
+    /**
+     * Read a master data resource or search bundle through the cache.
+     *
+     * @param organizationId organization identifier
+     * @param endpoint FHIR endpoint, e.g. "/Practitioner?identifier=..."
+     * @param responseType response type
+     * @param userId user performing the lookup
+     * @return resource or search bundle
+     * @throws SatusehatHttpException with status 404 if the resource does not exist
+     */
+    public <T> T get(String organizationId, String endpoint, Class<T> responseType, UUID userId) {
+        if (!settings.isEnabled()) {
+            return httpClient.get(endpoint, authService.getActiveConfig(organizationId), responseType, userId);
+        }
+
+        Key key = new Key(organizationId, endpoint, responseType);
+        Lookup cached = lookups.peek(key);
+        if (cached != null && cached.notFound
+                && System.nanoTime() - cached.loadedAt >= TimeUnit.SECONDS.toNanos(settings.getNotFoundTtlSeconds())) {
+            // "Not found" expires sooner than the cache TTL
+            lookups.invalidate(key);
+        }
+
+        Lookup lookup = lookups.get(key, k -> fetch(k, userId), SatusehatMasterDataCache::isTransientFailure);
+        lookup.recordHit(userId);
+
+        if (lookup.notFound && lookup.value == null) {
+            throw new SatusehatHttpException("Resource not found: " + endpoint, HttpStatus.NOT_FOUND.value());
+        }
+        return responseType.cast(lookup.value);
+    }
+
+    /**
+     * Drop the cached lookups of a resource type, e.g. after it was created or updated.
+     *
+     * @param organizationId organization identifier
+     * @param resourceType FHIR resource type
+     */
+    public void invalidate(String organizationId, String resourceType) {
+        String prefix = "/" + resourceType;
+        lookups.invalidateIf((key, lookup) -> key.organizationId().equals(organizationId)
+            && key.endpoint().startsWith(prefix)
+            && (key.endpoint().length() == prefix.length()
+                || key.endpoint().charAt(prefix.length()) == '/'
+                || key.endpoint().charAt(prefix.length()) == '?'));
+    }
+
+    /**
+     * Drop all cached lookups.
+     */
+    public void invalidateAll() {
+        lookups.invalidateAll();
+    }
+
+    /**
+     * Cache statistics.
+     */
+    public ExpiringCache.Stats stats() {
+        return lookups.stats();
+    }
+
+    /**
+     * Refresh the most used lookups that are about to expire, so they are not
+     * revalidated on the request path.
+     */
+    @Scheduled(fixedDelayString = "${satusehat.master-data-cache.refresh-interval-ms:300000}",
+               initialDelayString = "${satusehat.master-data-cache.refresh-interval-ms:300000}")
+    public void refreshHotEntries() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        long refreshAfter = TimeUnit.SECONDS.toNanos(settings.getTtlSeconds() - settings.getRefreshAheadSeconds());
+        List<Map.Entry<Key, Lookup>> hot = new ArrayList<>();
+        Map<Key, Integer> hits = new HashMap<>();
+        lookups.forEach((key, lookup) -> {
+            int recentHits = lookup.recentHits.getAndSet(0);
+            if (!lookup.notFound && recentHits >= settings.getRefreshMinHits()
+                    && now - lookup.loadedAt >= refreshAfter && lookup.lastUserId != null) {
+                hot.add(Map.entry(key, lookup));
+                hits.put(key, recentHits);
+            }
+        });
+        if (hot.isEmpty()) {
+            return;
+        }
+        hot.sort(Comparator.comparing((Map.Entry<Key, Lookup> e) -> hits.get(e.getKey())).reversed());
+
+        int refreshed = 0;
+        for (Map.Entry<Key, Lookup> candidate : hot.subList(0, Math.min(hot.size(), settings.getRefreshMaxPerRun()))) {
+            try {
+                lookups.put(candidate.getKey(), fetch(candidate.getKey(), candidate.getValue().lastUserId));
+                refreshed++;
+            } catch (Exception e) {
+                log.warn("Background refresh of SATUSEHAT lookup {} failed: {}",
+                    candidate.getKey().endpoint(), e.getMessage());
+            }
+        }
+        if (refreshed > 0) {
+            log.debug("Refreshed {} SATUSEHAT master data lookups in the background", refreshed);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Load a lookup, revalidating the cached result with a conditional GET when it has an entity tag.
+     */
+    private Lookup fetch(Key key, UUID userId) {
+        Lookup previous = lookups.peek(key);
+        boolean revalidate = previous != null && !previous.notFound && previous.etag != null;
+        long now = System.nanoTime();
+        try {
+            ResponseEntity<?> response = httpClient.getIfNoneMatch(
+                key.endpoint(),
+                revalidate ? previous.etag : null,
+                authService.getActiveConfig(key.organizationId()),
+                key.responseType(),
+                userId
+            );
+
+            if (revalidate && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return previous.renewed(now);
+            }
+
+            Object body = response.getBody();
+            boolean empty = body == null || isEmptySearch(body);
+            return new Lookup(body, entityTag(response, body), empty, now);
+
+        } catch (SatusehatIntegrationException e) {
+            if (e.getHttpStatus() != null && e.getHttpStatus() == HttpStatus.NOT_FOUND.value()) {
+                return new Lookup(null, null, true, now);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * SATUSEHAT and network failures may be answered from the last result; other
+     * errors (e.g. missing configuration) must reach the caller.
+     */
+    private static boolean isTransientFailure(RuntimeException e) {
+        return e instanceof SatusehatIntegrationException;
+    }
+
+    private static boolean isEmptySearch(Object body) {
+        return body instanceof ClinicalResourceService.SearchBundle<?> bundle
+            && (bundle.getEntry() == null || bundle.getEntry().isEmpty());
+    }
+
+    /**
+     * Entity tag of a response: the ETag header, or the version of a single resource.
+     */
+    private static String entityTag(ResponseEntity<?> response, Object body) {
+        String etag = response.getHeaders().getETag();
+        if (etag != null) {
+            return etag;
+        }
+        Encounter.Meta meta = null;
+        if (body instanceof Practitioner practitioner) {
+            meta = practitioner.getMeta();
+        } else if (body instanceof Location location) {
+            meta = location.getMeta();
+        } else if (body instanceof Organization organization) {
+            meta = organization.getMeta();
+        }
+        return meta != null && meta.getVersionId() != null ? "W/\"" + meta.getVersionId() + "\"" : null;
+    }
+
+    private record Key(String organizationId, String endpoint, Class<?> responseType) {
+    }
+
+    /**
+     * Cached lookup result.
+     */
+    private static final class Lookup {
+        final Object value;
+        final String etag;
+        final boolean notFound;
+        final long loadedAt;
+        final AtomicInteger recentHits = new AtomicInteger();
+        volatile UUID lastUserId;
+
+        Lookup(Object value, String etag, boolean notFound, long loadedAt) {
+            this.value = value;
+            this.etag = etag;
+            this.notFound = notFound;
+            this.loadedAt = loadedAt;
+        }
+
+        void recordHit(UUID userId) {
+            recentHits.incrementAndGet();
+            if (userId != null) {
+                lastUserId = userId;
+            }
+        }
+
+        Lookup renewed(long now) {
+            Lookup renewed = new Lookup(value, etag, notFound, now);
+            renewed.recentHits.set(recentHits.get());
+            renewed.lastUserId = lastUserId;
+            return renewed;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.yudha.hms.integration.satusehat.service;
+
+import com.yudha.hms.integration.satusehat.config.SatusehatProperties;
+import com.yudha.hms.integration.satusehat.entity.SatusehatConfig;
+import com.yudha.hms.integration.satusehat.exception.SatusehatIntegrationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams all results of a SATUSEHAT search across pages.
+ *
+ * The search bundle's link[next] is followed lazily, one page at a time, so a search
+ * over thousands of resources (all Claims by status, all Coverages) runs in the memory
+ * of two pages. While one page is processed the next one is fetched in the background.
+ * Every page goes through {@link SatusehatHttpClient}, so the organization's rate limit
+ * and retry policy apply; at most one request per stream is in flight.
+ *
+ * Streams must be closed (try-with-resources) when they are not read to the end, so a
+ * prefetch in flight is cancelled:
+ * <pre>
+ * try (Stream&lt;Claim&gt; claims = searchPager.stream(org, "/Claim?status=active", Claim.class, userId)) {
+ *     claims.forEach(...);
+ * }
+ * </pre>
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Slf4j
+@Service
+public class SatusehatSearchPager {
+
+    private final SatusehatHttpClient httpClient;
+    private final SatusehatAuthService authService;
+    private final FhirJsonCodec jsonCodec;
+    private final SatusehatProperties.SearchPager settings;
+
+    private final ExecutorService prefetchExecutor =
+        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("satusehat-search-prefetch-", 0).factory());
+
+    public SatusehatSearchPager(SatusehatHttpClient httpClient,
+                                SatusehatAuthService authService,
+                                FhirJsonCodec jsonCodec,
+                                SatusehatProperties properties) {
+        this.httpClient = httpClient;
+        this.authService = authService;
+        this.jsonCodec = jsonCodec;
+        this.settings = properties.getSearchPager();
+    }
+
+    /**
+     * Stream all resources matching a search.
+     *
+     * @param organizationId organization identifier
+     * @param searchEndpoint search endpoint, e.g. "/Claim?status=active"
+     * @param resourceType resource class of the entries
+     * @param userId user performing the search
+     * @return lazy stream of resources; close it when not read to the end
+     */
+    public <T> Stream<T> stream(String organizationId, String searchEndpoint, Class<T> resourceType, UUID userId) {
+        SearchIterator<T> iterator = iterator(organizationId, searchEndpoint, resourceType, userId);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(iterator::close);
+    }
+
+    /**
+     * Iterate all resources matching a search.
+     *
+     * @return lazy iterator; close it when not read to the end
+     */
+    public <T> SearchIterator<T> iterator(String organizationId, String searchEndpoint, Class<T> resourceType,
+                                          UUID userId) {
+        SatusehatConfig config = authService.getActiveConfig(organizationId);
+        return new SearchIterator<>(config, withPageSize(searchEndpoint), resourceType, userId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private String withPageSize(String endpoint) {
+        if (endpoint.contains("_count=")) {
+            return endpoint;
+        }
+        return endpoint + (endpoint.contains("?") ? "&" : "?") + "_count=" + settings.getPageSize();
+    }
+
+    private ClinicalResourceService.SearchBundle<?> fetchPage(SatusehatConfig config, String endpoint, UUID userId) {
+        return httpClient.get(endpoint, config, ClinicalResourceService.SearchBundle.class, userId);
+    }
+
+    /**
+     * Endpoint of the bundle's next page relative to the FHIR base URL, or null on the last page.
+     */
+    private static String nextEndpoint(ClinicalResourceService.SearchBundle<?> bundle, String fhirBaseUrl) {
+        if (bundle == null || bundle.getLink() == null) {
+            return null;
+        }
+        String url = bundle.getLink().stream()
+            .filter(link -> "next".equals(link.getRelation()) && link.getUrl() != null && !link.getUrl().isBlank())
+            .map(ClinicalResourceService.SearchBundle.SearchLink::getUrl)
+            .findFirst()
+            .orElse(null);
+        if (url == null || url.startsWith("/")) {
+            return url;
+        }
+        if (fhirBaseUrl != null && url.startsWith(fhirBaseUrl)) {
+            return url.substring(fhirBaseUrl.length());
+        }
+
+        // Absolute link on another host name of the same API: keep the path below the base path
+        URI uri = URI.create(url);
+        String path = uri.getRawPath();
+        String basePath = fhirBaseUrl != null ? URI.create(fhirBaseUrl).getRawPath() : null;
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        return uri.getRawQuery() != null ? path + "?" + uri.getRawQuery() : path;
+    }
+
+    /**
+     * Lazy iterator over the resources of all pages of one search.
+     */
+    public final class SearchIterator<T> implements Iterator<T>, AutoCloseable {
+
+        private final SatusehatConfig config;
+        private final Class<T> resourceType;
+        private final UUID userId;
+
+        private String nextEndpoint;
+        private Future<ClinicalResourceService.SearchBundle<?>> prefetch;
+        private Iterator<? extends ClinicalResourceService.SearchBundle.SearchEntry<?>> entries =
+            Collections.emptyIterator();
+        private T next;
+        private int pages;
+        private boolean closed;
+
+        private SearchIterator(SatusehatConfig config, String firstEndpoint, Class<T> resourceType, UUID userId) {
+            this.config = config;
+            this.nextEndpoint = firstEndpoint;
+            this.resourceType = resourceType;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !closed) {
+                if (entries.hasNext()) {
+                    Object resource = entries.next().getResource();
+                    if (resource != null) {
+                        next = jsonCodec.convert(resource, resourceType);
+                    }
+                } else if (!advance()) {
+                    close();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = next;
+            next = null;
+            return result;
+        }
+
+        /**
+         * Number of pages fetched so far.
+         */
+        public int getPages() {
+            return pages;
+        }
+
+        /**
+         * Stop paging; a prefetch in flight is cancelled.
+         */
+        @Override
+        public void close() {
+            closed = true;
+            nextEndpoint = null;
+            entries = Collections.emptyIterator();
+            if (prefetch != null) {
+                prefetch.cancel(true);
+                prefetch = null;
+            }
+        }
+
+        /**
+         * Move to the next page.
+         *
+         * @return false when there are no more pages
+         */
+        private boolean advance() {
+            ClinicalResourceService.SearchBundle<?> page;
+            String endpoint;
+            if (prefetch != null) {
+                page = await(prefetch);
+                endpoint = nextEndpoint;
+                prefetch = null;
+            } else if (nextEndpoint != null) {
+                endpoint = nextEndpoint;
+                page = fetchPage(config, endpoint, userId);
+            } else {
+                return false;
+            }
+            pages++;
+
+            String following = nextEndpoint(page, config.getFhirBaseUrl());
+            if (following != null && following.equals(endpoint)) {
+                log.warn("SATUSEHAT search {} links to itself as next page, stopping", endpoint);
+                following = null;
+            }
+            if (following != null && pages >= settings.getMaxPages()) {
+                log.warn("SATUSEHAT search stopped after {} pages: {}", pages, endpoint);
+                following = null;
+            }
+
+            nextEndpoint = following;
+            if (nextEndpoint != null && settings.isPrefetch()) {
+                String prefetchEndpoint = nextEndpoint;
+                prefetch = prefetchExecutor.submit(() -> fetchPage(config, prefetchEndpoint, userId));
+            }
+
+            List<? extends ClinicalResourceService.SearchBundle.SearchEntry<?>> pageEntries =
+                page != null ? page.getEntry() : null;
+            entries = pageEntries != null ? pageEntries.iterator() : Collections.emptyIterator();
+            return pageEntries != null && !pageEntries.isEmpty() || nextEndpoint != null;
+        }
+
+        private ClinicalResourceService.SearchBundle<?> await(Future<ClinicalResourceService.SearchBundle<?>> page) {
+            try {
+                return page.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SatusehatIntegrationException("Interrupted while fetching search page", e);
+            } catch (CancellationException e) {
+                throw new SatusehatIntegrationException("Search page fetch was cancelled", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new SatusehatIntegrationException("Search page fetch failed: " + e.getCause().getMessage(),
+                    e.getCause());
+            }
+        }
+    }
+}
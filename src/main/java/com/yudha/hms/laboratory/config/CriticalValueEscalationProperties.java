@@ -0,0 +1,112 @@
+package com.yudha.hms.laboratory.config;
+
+import com.yudha.hms.laboratory.constant.AlertSeverity;
+import com.yudha.hms.laboratory.constant.NotificationMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critical Value Escalation Configuration Properties.
+ *
+ * Binds the critical value escalation policy from application.yml:
+ * acknowledgment deadlines per severity and the escalation chain that is
+ * walked when an alert stays unacknowledged.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.laboratory.critical-value.escalation")
+@Data
+public class CriticalValueEscalationProperties {
+
+    /**
+     * Enable/disable automatic escalation
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval of the in-memory deadline check in milliseconds
+     * Default: 1000 (1 second)
+     */
+    private long tickIntervalMs = 1000L;
+
+    /**
+     * Acknowledgment deadline for CRITICAL severity alerts (minutes)
+     */
+    private int criticalTimeoutMinutes = 15;
+
+    /**
+     * Acknowledgment deadline for HIGH severity alerts (minutes)
+     */
+    private int highTimeoutMinutes = 30;
+
+    /**
+     * Acknowledgment deadline for MEDIUM severity alerts (minutes)
+     */
+    private int mediumTimeoutMinutes = 60;
+
+    /**
+     * Acknowledgment deadline for LOW severity alerts (minutes)
+     */
+    private int lowTimeoutMinutes = 120;
+
+    /**
+     * Escalation chain, walked in order while the alert stays unacknowledged
+     */
+    private List<EscalationStep> chain = new ArrayList<>(List.of(
+            new EscalationStep("CHARGE_NURSE", NotificationMethod.PHONE, 10),
+            new EscalationStep("ATTENDING_PHYSICIAN", NotificationMethod.PHONE, 15),
+            new EscalationStep("LAB_SUPERVISOR", NotificationMethod.PHONE, 15),
+            new EscalationStep("MEDICAL_DIRECTOR", NotificationMethod.PHONE, 0)
+    ));
+
+    /**
+     * Escalation step
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EscalationStep {
+
+        /**
+         * Escalation target (role or on-call group)
+         */
+        private String target;
+
+        /**
+         * Notification method used for this step
+         */
+        private NotificationMethod notificationMethod = NotificationMethod.SYSTEM_ALERT;
+
+        /**
+         * Minutes to wait for acknowledgment before moving to the next step
+         */
+        private int waitMinutes;
+    }
+
+    /**
+     * Get acknowledgment timeout for a severity
+     *
+     * @param severity alert severity
+     * @return timeout in minutes
+     */
+    public int getTimeoutMinutes(AlertSeverity severity) {
+        if (severity == null) {
+            return mediumTimeoutMinutes;
+        }
+        return switch (severity) {
+            case CRITICAL -> criticalTimeoutMinutes;
+            case HIGH -> highTimeoutMinutes;
+            case MEDIUM -> mediumTimeoutMinutes;
+            case LOW -> lowTimeoutMinutes;
+        };
+    }
+}
@@ -175,6 +175,13 @@ public class CriticalValueAlertController {
         statistics.setPanicValueAlerts(stats.panicValueCount);
         statistics.setCriticalValueAlerts(stats.criticalValueCount);
         statistics.setDeltaCheckAlerts(stats.deltaCheckCount);
+        statistics.setCriticalSeverityAlerts(stats.criticalSeverityCount);
+        statistics.setHighSeverityAlerts(stats.highSeverityCount);
+        statistics.setMediumSeverityAlerts(stats.mediumSeverityCount);
+        statistics.setLowSeverityAlerts(stats.lowSeverityCount);
+        statistics.setResolvedAlerts(stats.resolvedCount);
+        statistics.setAvgTimeToAcknowledgmentMinutes(stats.averageAcknowledgmentTimeMinutes);
+        statistics.setAvgTimeToResolutionMinutes(stats.averageResolutionTimeMinutes);
 
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
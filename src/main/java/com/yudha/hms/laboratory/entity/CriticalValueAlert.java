@@ -28,7 +28,8 @@ import java.util.UUID;
         @Index(name = "idx_critical_value_alert_severity", columnList = "severity"),
         @Index(name = "idx_critical_value_alert_acknowledged", columnList = "acknowledged"),
         @Index(name = "idx_critical_value_alert_resolved", columnList = "resolved"),
-        @Index(name = "idx_critical_value_alert_created_at", columnList = "created_at")
+        @Index(name = "idx_critical_value_alert_created_at", columnList = "created_at"),
+        @Index(name = "idx_critical_value_alert_next_escalation", columnList = "next_escalation_at")
 })
 @Data
 @Builder
@@ -169,6 +170,27 @@ public class CriticalValueAlert {
     @Column(name = "acknowledgment_notes", columnDefinition = "TEXT")
     private String acknowledgmentNotes;
 
+    // ========== Escalation ==========
+
+    /**
+     * Current escalation level (0 = not escalated)
+     */
+    @Column(name = "escalation_level", nullable = false)
+    @Builder.Default
+    private Integer escalationLevel = 0;
+
+    /**
+     * Last escalation timestamp
+     */
+    @Column(name = "last_escalated_at")
+    private LocalDateTime lastEscalatedAt;
+
+    /**
+     * Next escalation deadline (null when acknowledged or chain exhausted)
+     */
+    @Column(name = "next_escalation_at")
+    private LocalDateTime nextEscalationAt;
+
     // ========== Clinical Action ==========
 
     /**
@@ -267,10 +289,18 @@ public class CriticalValueAlert {
         return actionTaken != null && actionTakenAt != null;
     }
 
+    /**
+     * Check if alert has been escalated at least once
+     */
+    public boolean isEscalated() {
+        return escalationLevel != null && escalationLevel > 0;
+    }
+
     /**
      * Mark as acknowledged
      */
     public void markAcknowledged(UUID acknowledgedBy, String notes) {
+        this.nextEscalationAt = null;
         this.acknowledged = true;
         this.acknowledgedBy = acknowledgedBy;
         this.acknowledgedAt = LocalDateTime.now();
@@ -281,6 +311,7 @@ public class CriticalValueAlert {
      * Mark as resolved
      */
     public void markResolved(String resolutionNotes) {
+        this.nextEscalationAt = null;
         this.resolved = true;
         this.resolvedAt = LocalDateTime.now();
         this.resolutionNotes = resolutionNotes;
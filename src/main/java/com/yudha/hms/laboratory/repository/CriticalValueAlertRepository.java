@@ -77,4 +77,40 @@ public interface CriticalValueAlertRepository extends JpaRepository<CriticalValu
      */
     @Query("SELECT COUNT(a) FROM CriticalValueAlert a WHERE a.alertType = :alertType AND a.createdAt BETWEEN :startDate AND :endDate")
     long countByTypeAndDateRange(@Param("alertType") AlertType alertType, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Find open escalation deadlines (alert ID, next escalation timestamp)
+     */
+    @Query("SELECT a.id, a.nextEscalationAt FROM CriticalValueAlert a WHERE a.nextEscalationAt IS NOT NULL AND a.acknowledged = false")
+    List<Object[]> findOpenEscalationDeadlines();
+
+    /**
+     * Find unacknowledged alerts notified before cutoff
+     */
+    @Query("SELECT a FROM CriticalValueAlert a WHERE a.acknowledged = false AND a.notifiedAt < :cutoffTime ORDER BY a.severity DESC, a.notifiedAt ASC")
+    List<CriticalValueAlert> findUnacknowledgedNotifiedBefore(@Param("cutoffTime") LocalDateTime cutoffTime);
+
+    /**
+     * Aggregate alert statistics in date range.
+     * Returns a single row: total, acknowledged, resolved, unresolved, panic, critical, delta check,
+     * critical/high/medium/low severity, escalated, avg acknowledgment minutes, avg resolution minutes.
+     */
+    @Query(value = "SELECT COUNT(*), " +
+           "COUNT(*) FILTER (WHERE acknowledged = true), " +
+           "COUNT(*) FILTER (WHERE resolved = true), " +
+           "COUNT(*) FILTER (WHERE resolved IS NOT TRUE), " +
+           "COUNT(*) FILTER (WHERE alert_type = 'PANIC_VALUE'), " +
+           "COUNT(*) FILTER (WHERE alert_type = 'CRITICAL_VALUE'), " +
+           "COUNT(*) FILTER (WHERE alert_type = 'DELTA_CHECK'), " +
+           "COUNT(*) FILTER (WHERE severity = 'CRITICAL'), " +
+           "COUNT(*) FILTER (WHERE severity = 'HIGH'), " +
+           "COUNT(*) FILTER (WHERE severity = 'MEDIUM'), " +
+           "COUNT(*) FILTER (WHERE severity = 'LOW'), " +
+           "COUNT(*) FILTER (WHERE escalation_level > 0), " +
+           "AVG(EXTRACT(EPOCH FROM (acknowledged_at - notified_at)) / 60) FILTER (WHERE acknowledged = true AND acknowledged_at IS NOT NULL), " +
+           "AVG(EXTRACT(EPOCH FROM (resolved_at - notified_at)) / 60) FILTER (WHERE resolved = true AND resolved_at IS NOT NULL) " +
+           "FROM laboratory_schema.critical_value_alert " +
+           "WHERE created_at BETWEEN :startDate AND :endDate",
+           nativeQuery = true)
+    List<Object[]> aggregateAlertStatistics(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
@@ -60,6 +60,8 @@ public class CriticalValueAlertService {
     private final LabResultParameterRepository labResultParameterRepository;
     private final LabTestParameterRepository labTestParameterRepository;
     private final CriticalValueAlertRepository criticalValueAlertRepository;
+    private final CriticalValueEscalationService escalationService;
+    private final CriticalValueEscalationScheduler escalationScheduler;
 
     /**
      * Check for critical values in a result and generate alerts.
@@ -133,6 +135,8 @@ public class CriticalValueAlertService {
         // Get critical threshold description
         String criticalThreshold = buildCriticalThresholdDescription(parameter);
 
+        LocalDateTime notifiedAt = LocalDateTime.now();
+
         // Create alert
         CriticalValueAlert alert = CriticalValueAlert.builder()
                 .result(result)
@@ -147,14 +151,16 @@ public class CriticalValueAlertService {
                 .patientName("Patient-" + patientId) // TODO: Get actual patient name
                 .notifiedTo(orderingDoctorId)
                 .notifiedToName("Doctor-" + orderingDoctorId) // TODO: Get actual doctor name
-                .notifiedAt(LocalDateTime.now())
+                .notifiedAt(notifiedAt)
                 .notificationMethod(NotificationMethod.SYSTEM_ALERT) // Default, will be updated when actual notification sent
                 .acknowledged(false)
                 .resolved(false)
+                .nextEscalationAt(escalationService.initialDeadline(severity, notifiedAt))
                 .createdBy("SYSTEM")
                 .build();
 
         alert = criticalValueAlertRepository.save(alert);
+        escalationScheduler.track(alert.getId(), alert.getNextEscalationAt());
 
         log.info("Critical value alert generated. Alert ID: {}", alert.getId());
         return alert;
@@ -181,6 +187,8 @@ public class CriticalValueAlertService {
                 parameter.getDeltaPercentage()
         );
 
+        LocalDateTime notifiedAt = LocalDateTime.now();
+
         CriticalValueAlert alert = CriticalValueAlert.builder()
                 .result(result)
                 .resultParameter(parameter)
@@ -195,14 +203,16 @@ public class CriticalValueAlertService {
                 .patientName("Patient-" + patientId)
                 .notifiedTo(orderingDoctorId)
                 .notifiedToName("Doctor-" + orderingDoctorId)
-                .notifiedAt(LocalDateTime.now())
+                .notifiedAt(notifiedAt)
                 .notificationMethod(NotificationMethod.SYSTEM_ALERT)
                 .acknowledged(false)
                 .resolved(false)
+                .nextEscalationAt(escalationService.initialDeadline(AlertSeverity.MEDIUM, notifiedAt))
                 .createdBy("SYSTEM")
                 .build();
 
         alert = criticalValueAlertRepository.save(alert);
+        escalationScheduler.track(alert.getId(), alert.getNextEscalationAt());
 
         log.info("Delta check alert generated. Alert ID: {}", alert.getId());
         return alert;
@@ -271,8 +281,10 @@ public class CriticalValueAlertService {
         alert.setAcknowledged(true);
         alert.setAcknowledgedBy(acknowledgedBy);
         alert.setAcknowledgedAt(acknowledgedAt != null ? acknowledgedAt : LocalDateTime.now());
+        alert.setNextEscalationAt(null);
 
         alert = criticalValueAlertRepository.save(alert);
+        escalationScheduler.cancel(alertId);
 
         log.info("Alert acknowledged successfully: {}", alertId);
         return alert;
@@ -338,8 +350,10 @@ public class CriticalValueAlertService {
         alert.setResolved(true);
         alert.setResolvedAt(LocalDateTime.now());
         alert.setResolutionNotes(resolutionNotes);
+        alert.setNextEscalationAt(null);
 
         alert = criticalValueAlertRepository.save(alert);
+        escalationScheduler.cancel(alertId);
 
         log.info("Alert resolved successfully: {}", alertId);
         return alert;
@@ -380,8 +394,9 @@ public class CriticalValueAlertService {
 
     /**
      * Escalate unacknowledged alerts.
-     * Identifies alerts that have not been acknowledged within the threshold time
-     * and triggers escalation.
+     * Manually advances alerts that have not been acknowledged within the threshold time
+     * to the next step of the escalation chain. Deadline-driven escalation runs
+     * automatically through {@link CriticalValueEscalationScheduler}.
      *
      * @param minutesThreshold Time threshold in minutes
      * @return List of escalated alerts
@@ -389,46 +404,27 @@ public class CriticalValueAlertService {
     public List<CriticalValueAlert> escalateUnacknowledgedAlerts(int minutesThreshold) {
         log.info("Checking for alerts to escalate (threshold: {} minutes)", minutesThreshold);
 
-        List<CriticalValueAlert> unacknowledgedAlerts = getUnacknowledgedAlerts();
+        LocalDateTime now = LocalDateTime.now();
+        List<CriticalValueAlert> overdueAlerts =
+                criticalValueAlertRepository.findUnacknowledgedNotifiedBefore(now.minusMinutes(minutesThreshold));
         List<CriticalValueAlert> escalatedAlerts = new ArrayList<>();
-        LocalDateTime cutoffTime = LocalDateTime.now().minusMinutes(minutesThreshold);
-
-        for (CriticalValueAlert alert : unacknowledgedAlerts) {
-            if (alert.getNotifiedAt().isBefore(cutoffTime)) {
-                log.warn("Escalating unacknowledged alert: {} (created: {}, severity: {})",
-                        alert.getId(), alert.getCreatedAt(), alert.getSeverity());
-
-                // TODO: Implement actual escalation logic
-                // This might involve:
-                // 1. Notifying senior staff or supervisor
-                // 2. Sending additional notifications via different channels
-                // 3. Creating escalation records
-                // 4. Updating alert priority
-
-                // For now, add to escalation notes
-                String escalationNote = String.format(
-                        "ESCALATED at %s: Alert unacknowledged for %d minutes. Severity: %s",
-                        LocalDateTime.now(),
-                        java.time.Duration.between(alert.getNotifiedAt(), LocalDateTime.now()).toMinutes(),
-                        alert.getSeverity()
-                );
-
-                alert.setAcknowledgmentNotes(
-                        (alert.getAcknowledgmentNotes() != null ? alert.getAcknowledgmentNotes() + "\n\n" : "") +
-                        escalationNote
-                );
 
-                criticalValueAlertRepository.save(alert);
-                escalatedAlerts.add(alert);
+        for (CriticalValueAlert alert : overdueAlerts) {
+            if (alert.isResolved()) {
+                continue;
             }
+            CriticalValueAlert escalated = escalationService.escalate(alert, now);
+            escalationScheduler.track(escalated.getId(), escalated.getNextEscalationAt());
+            escalatedAlerts.add(escalated);
         }
 
-        log.info("Escalated {} alerts out of {} unacknowledged", escalatedAlerts.size(), unacknowledgedAlerts.size());
+        log.info("Escalated {} alerts out of {} overdue", escalatedAlerts.size(), overdueAlerts.size());
         return escalatedAlerts;
     }
 
     /**
      * Get alert statistics for a date range.
+     * Computed with a single aggregate query.
      *
      * @param startDate Start date
      * @param endDate End date
@@ -436,19 +432,39 @@ public class CriticalValueAlertService {
      */
     @Transactional(readOnly = true)
     public AlertStatistics getAlertStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        List<CriticalValueAlert> alerts = criticalValueAlertRepository.findAlertsByDateRange(startDate, endDate);
+        List<Object[]> rows = criticalValueAlertRepository.aggregateAlertStatistics(startDate, endDate);
+        Object[] row = rows.isEmpty() ? new Object[14] : rows.get(0);
 
         AlertStatistics stats = new AlertStatistics();
-        stats.totalAlerts = alerts.size();
-        stats.acknowledgedCount = alerts.stream().filter(CriticalValueAlert::isAcknowledged).count();
-        stats.unresolvedCount = alerts.stream().filter(a -> !a.isResolved()).count();
-        stats.panicValueCount = alerts.stream().filter(a -> a.getAlertType() == AlertType.PANIC_VALUE).count();
-        stats.criticalValueCount = alerts.stream().filter(a -> a.getAlertType() == AlertType.CRITICAL_VALUE).count();
-        stats.deltaCheckCount = alerts.stream().filter(a -> a.getAlertType() == AlertType.DELTA_CHECK).count();
+        stats.totalAlerts = toLong(row[0]);
+        stats.acknowledgedCount = toLong(row[1]);
+        stats.resolvedCount = toLong(row[2]);
+        stats.unresolvedCount = toLong(row[3]);
+        stats.panicValueCount = toLong(row[4]);
+        stats.criticalValueCount = toLong(row[5]);
+        stats.deltaCheckCount = toLong(row[6]);
+        stats.criticalSeverityCount = toLong(row[7]);
+        stats.highSeverityCount = toLong(row[8]);
+        stats.mediumSeverityCount = toLong(row[9]);
+        stats.lowSeverityCount = toLong(row[10]);
+        stats.escalatedCount = toLong(row[11]);
+        stats.averageAcknowledgmentTimeMinutes = toDouble(row[12]);
+        stats.averageResolutionTimeMinutes = toDouble(row[13]);
+        stats.acknowledgmentRate = stats.totalAlerts > 0
+                ? (double) stats.acknowledgedCount / stats.totalAlerts * 100
+                : 0.0;
 
         return stats;
     }
 
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private double toDouble(Object value) {
+        return value != null ? ((Number) value).doubleValue() : 0.0;
+    }
+
     /**
      * Determine alert type based on parameter values.
      *
@@ -533,11 +549,18 @@ public class CriticalValueAlertService {
     public static class AlertStatistics {
         public long totalAlerts;
         public long acknowledgedCount;
+        public long resolvedCount;
         public long unresolvedCount;
         public long panicValueCount;
         public long criticalValueCount;
         public long deltaCheckCount;
+        public long criticalSeverityCount;
+        public long highSeverityCount;
+        public long mediumSeverityCount;
+        public long lowSeverityCount;
+        public long escalatedCount;
         public double acknowledgmentRate;
         public double averageAcknowledgmentTimeMinutes;
+        public double averageResolutionTimeMinutes;
     }
 }
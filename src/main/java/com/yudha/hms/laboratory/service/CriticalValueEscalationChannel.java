@@ -0,0 +1,23 @@
+package com.yudha.hms.laboratory.service;
+
+import com.yudha.hms.laboratory.config.CriticalValueEscalationProperties.EscalationStep;
+import com.yudha.hms.laboratory.constant.NotificationMethod;
+import com.yudha.hms.laboratory.entity.CriticalValueAlert;
+
+/**
+ * Notification channel for critical value escalations (phone, SMS, email, ...).
+ *
+ * Implementations are Spring beans; {@link CriticalValueEscalationService} uses the
+ * first channel (by {@link org.springframework.core.annotation.Order}) that supports
+ * the method of the escalation step. A send is considered failed when {@link #send} throws.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+public interface CriticalValueEscalationChannel {
+
+    boolean supports(NotificationMethod method);
+
+    void send(CriticalValueAlert alert, EscalationStep step, int level) throws Exception;
+}
@@ -0,0 +1,145 @@
+package com.yudha.hms.laboratory.service;
+
+import com.yudha.hms.laboratory.config.CriticalValueEscalationProperties;
+import com.yudha.hms.laboratory.repository.CriticalValueAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * In-memory acknowledgment deadline tracker for critical value alerts.
+ *
+ * Keeps the next escalation deadline of every open alert in a priority queue
+ * ordered by due time. The scheduled tick only inspects the head of the queue,
+ * so checking deadlines costs no database access; the alert table is read once
+ * on startup to rebuild the queue and afterwards only when a deadline passes.
+ *
+ * Cancelled or rescheduled deadlines are removed lazily: the queue entry is
+ * ignored when it no longer matches the current deadline for that alert.
+ *
+ * Multiple application nodes may track the same alert. The escalation step
+ * re-checks the persisted deadline and relies on optimistic locking, so an
+ * alert is escalated once per deadline.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CriticalValueEscalationScheduler {
+
+    private static final long RETRY_DELAY_SECONDS = 60;
+
+    private final CriticalValueAlertRepository criticalValueAlertRepository;
+    private final CriticalValueEscalationService escalationService;
+    private final CriticalValueEscalationProperties properties;
+
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>(Comparator.comparing(Deadline::dueAt));
+    private final Map<UUID, LocalDateTime> deadlines = new HashMap<>();
+
+    /**
+     * Rebuild deadlines from the database on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = criticalValueAlertRepository.findOpenEscalationDeadlines();
+        synchronized (this) {
+            queue.clear();
+            deadlines.clear();
+            for (Object[] row : rows) {
+                track((UUID) row[0], (LocalDateTime) row[1]);
+            }
+        }
+        log.info("Critical value escalation scheduler tracking {} open alerts", rows.size());
+    }
+
+    /**
+     * Track (or reschedule) the acknowledgment deadline of an alert.
+     *
+     * @param alertId Alert ID
+     * @param dueAt Deadline; null cancels tracking
+     */
+    public synchronized void track(UUID alertId, LocalDateTime dueAt) {
+        if (dueAt == null) {
+            deadlines.remove(alertId);
+            return;
+        }
+        deadlines.put(alertId, dueAt);
+        queue.add(new Deadline(alertId, dueAt));
+    }
+
+    /**
+     * Stop tracking an alert (acknowledged or resolved).
+     *
+     * @param alertId Alert ID
+     */
+    public synchronized void cancel(UUID alertId) {
+        deadlines.remove(alertId);
+    }
+
+    /**
+     * Get number of alerts with an open deadline.
+     *
+     * @return Tracked alert count
+     */
+    public synchronized int getTrackedCount() {
+        return deadlines.size();
+    }
+
+    /**
+     * Escalate alerts whose deadline has passed.
+     */
+    @Scheduled(fixedDelayString = "${hms.laboratory.critical-value.escalation.tick-interval-ms:1000}")
+    public void tick() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID alertId : pollDue(now)) {
+            try {
+                track(alertId, escalationService.escalateIfDue(alertId, now));
+            } catch (ObjectOptimisticLockingFailureException e) {
+                // Alert changed concurrently (acknowledged or escalated elsewhere); re-check on next tick
+                log.debug("Alert {} changed during escalation, re-checking", alertId);
+                track(alertId, now);
+            } catch (Exception e) {
+                log.error("Failed to escalate alert: {}", alertId, e);
+                track(alertId, now.plusSeconds(RETRY_DELAY_SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Remove and return alerts whose deadline is at or before now.
+     */
+    private synchronized List<UUID> pollDue(LocalDateTime now) {
+        List<UUID> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+            Deadline deadline = queue.poll();
+            if (deadline.dueAt().equals(deadlines.get(deadline.alertId()))) {
+                deadlines.remove(deadline.alertId());
+                due.add(deadline.alertId());
+            }
+        }
+        return due;
+    }
+
+    private record Deadline(UUID alertId, LocalDateTime dueAt) {
+    }
+}
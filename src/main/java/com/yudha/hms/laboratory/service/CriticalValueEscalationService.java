@@ -0,0 +1,213 @@
+package com.yudha.hms.laboratory.service;
+
+import com.yudha.hms.laboratory.config.CriticalValueEscalationProperties;
+import com.yudha.hms.laboratory.config.CriticalValueEscalationProperties.EscalationStep;
+import com.yudha.hms.laboratory.constant.AlertSeverity;
+import com.yudha.hms.laboratory.entity.CriticalValueAlert;
+import com.yudha.hms.laboratory.repository.CriticalValueAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for escalating unacknowledged critical value alerts.
+ *
+ * Applies one step of the configured escalation chain to an alert and
+ * computes the next acknowledgment deadline. Deadline tracking itself is
+ * done in memory by {@link CriticalValueEscalationScheduler}; this service
+ * only touches the database when a deadline has actually passed.
+ *
+ * Escalation flow:
+ * 1. Alert created: deadline = notifiedAt + severity timeout
+ * 2. Deadline passed: escalate to chain step 1, deadline = now + step wait time
+ * 3. Repeat until acknowledged or the chain is exhausted
+ *
+ * Each step is sent to its target through a {@link CriticalValueEscalationChannel}
+ * once the escalation commits, so a node that loses the escalation to another node
+ * sends nothing. A step that has no channel for its method, or whose send fails, is
+ * noted on the alert as NOT DELIVERED; the chain still moves on to the next target.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CriticalValueEscalationService {
+
+    private final CriticalValueAlertRepository criticalValueAlertRepository;
+    private final CriticalValueEscalationProperties properties;
+    private final ObjectProvider<CriticalValueEscalationChannel> escalationChannels;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Calculate the initial acknowledgment deadline for a new alert.
+     *
+     * @param severity Alert severity
+     * @param notifiedAt Notification timestamp
+     * @return Acknowledgment deadline, or null if escalation is disabled
+     */
+    public LocalDateTime initialDeadline(AlertSeverity severity, LocalDateTime notifiedAt) {
+        if (!properties.isEnabled() || properties.getChain().isEmpty()) {
+            return null;
+        }
+        LocalDateTime base = notifiedAt != null ? notifiedAt : LocalDateTime.now();
+        return base.plusMinutes(properties.getTimeoutMinutes(severity));
+    }
+
+    /**
+     * Escalate an alert if its acknowledgment deadline has passed.
+     *
+     * @param alertId Alert ID
+     * @param now Current timestamp
+     * @return Next deadline to track, or null if nothing is left to escalate
+     */
+    public LocalDateTime escalateIfDue(UUID alertId, LocalDateTime now) {
+        CriticalValueAlert alert = criticalValueAlertRepository.findById(alertId).orElse(null);
+        if (alert == null) {
+            log.debug("Escalation skipped, alert no longer exists: {}", alertId);
+            return null;
+        }
+
+        if (alert.isAcknowledged() || alert.isResolved()) {
+            if (alert.getNextEscalationAt() != null) {
+                alert.setNextEscalationAt(null);
+                criticalValueAlertRepository.save(alert);
+            }
+            return null;
+        }
+
+        LocalDateTime deadline = alert.getNextEscalationAt();
+        if (deadline == null || deadline.isAfter(now)) {
+            return deadline;
+        }
+
+        return escalate(alert, now).getNextEscalationAt();
+    }
+
+    /**
+     * Move an alert to the next step of the escalation chain.
+     *
+     * @param alert Unacknowledged alert
+     * @param now Current timestamp
+     * @return Updated alert
+     */
+    public CriticalValueAlert escalate(CriticalValueAlert alert, LocalDateTime now) {
+        List<EscalationStep> chain = properties.getChain();
+        int currentLevel = alert.getEscalationLevel() != null ? alert.getEscalationLevel() : 0;
+
+        if (currentLevel >= chain.size()) {
+            log.warn("Escalation chain exhausted for alert: {} (level: {})", alert.getId(), currentLevel);
+            alert.setNextEscalationAt(null);
+            return criticalValueAlertRepository.save(alert);
+        }
+
+        EscalationStep step = chain.get(currentLevel);
+        int newLevel = currentLevel + 1;
+
+        log.warn("ESCALATING CRITICAL VALUE ALERT: {} to {} via {} (level {}/{}) - {} {} = {}, severity: {}",
+                alert.getId(),
+                step.getTarget(),
+                step.getNotificationMethod(),
+                newLevel,
+                chain.size(),
+                alert.getTestName(),
+                alert.getParameterName(),
+                alert.getResultValue(),
+                alert.getSeverity());
+
+        String escalationNote = String.format(
+                "ESCALATED at %s to %s (level %d) via %s: Alert unacknowledged for %d minutes. Severity: %s",
+                now,
+                step.getTarget(),
+                newLevel,
+                step.getNotificationMethod(),
+                Duration.between(alert.getNotifiedAt(), now).toMinutes(),
+                alert.getSeverity()
+        );
+
+        alert.setAcknowledgmentNotes(
+                (alert.getAcknowledgmentNotes() != null ? alert.getAcknowledgmentNotes() + "\n\n" : "") +
+                escalationNote
+        );
+        alert.setEscalationLevel(newLevel);
+        alert.setLastEscalatedAt(now);
+        alert.setNotificationMethod(step.getNotificationMethod());
+        alert.setNextEscalationAt(newLevel < chain.size() ? now.plusMinutes(step.getWaitMinutes()) : null);
+
+        CriticalValueAlert saved = criticalValueAlertRepository.save(alert);
+        afterCommit(() -> deliver(saved, step, newLevel));
+        return saved;
+    }
+
+    /**
+     * Send an escalation step to its target; record it on the alert if it was not delivered.
+     */
+    private void deliver(CriticalValueAlert alert, EscalationStep step, int level) {
+        CriticalValueEscalationChannel channel = escalationChannels.orderedStream()
+                .filter(candidate -> candidate.supports(step.getNotificationMethod()))
+                .findFirst()
+                .orElse(null);
+        String error;
+        if (channel == null) {
+            error = "No escalation channel for method: " + step.getNotificationMethod();
+        } else {
+            try {
+                channel.send(alert, step, level);
+                return;
+            } catch (Exception e) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            }
+        }
+
+        log.error("Escalation of alert {} to {} (level {}) NOT DELIVERED: {}",
+                alert.getId(), step.getTarget(), level, error);
+        recordNotDelivered(alert.getId(), step, level, error);
+    }
+
+    private void recordNotDelivered(UUID alertId, EscalationStep step, int level, String error) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> criticalValueAlertRepository.findById(alertId)
+                    .ifPresent(alert -> {
+                        String note = String.format("NOT DELIVERED at %s to %s (level %d) via %s: %s",
+                                LocalDateTime.now(), step.getTarget(), level, step.getNotificationMethod(), error);
+                        alert.setAcknowledgmentNotes(
+                                (alert.getAcknowledgmentNotes() != null ? alert.getAcknowledgmentNotes() + "\n\n" : "") +
+                                note
+                        );
+                        criticalValueAlertRepository.save(alert);
+                    }));
+        } catch (Exception e) {
+            log.error("Failed to record undelivered escalation of alert {}: {}", alertId, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
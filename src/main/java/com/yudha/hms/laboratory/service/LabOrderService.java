@@ -1,5 +1,7 @@
 package com.yudha.hms.laboratory.service;
 
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.event.ChargeEvent;
 import com.yudha.hms.laboratory.constant.OrderPriority;
 import com.yudha.hms.laboratory.constant.OrderStatus;
 import com.yudha.hms.laboratory.entity.LabOrder;
@@ -12,6 +14,7 @@ import com.yudha.hms.laboratory.repository.LabTestRepository;
 import com.yudha.hms.laboratory.repository.LabPanelRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -43,6 +46,7 @@ public class LabOrderService {
     private final LabPanelRepository labPanelRepository;
     private final com.yudha.hms.laboratory.repository.LabPanelItemRepository labPanelItemRepository;
     private final OrderStatusHistoryService orderStatusHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create new lab order
@@ -112,7 +116,31 @@ public class LabOrderService {
                 .status("PENDING")
                 .build();
 
-        return labOrderItemRepository.save(item);
+        LabOrderItem saved = labOrderItemRepository.save(item);
+        publishCharge(order, saved);
+        return saved;
+    }
+
+    /**
+     * Charge an ordered test to the running bill of the order's encounter
+     */
+    private void publishCharge(LabOrder order, LabOrderItem item) {
+        if (order.getEncounterId() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(ChargeEvent.builder()
+                .chargeKey(ChargeEvent.key("LAB", item.getId()))
+                .encounterId(order.getEncounterId())
+                .tariffCode(item.getTestCode())
+                .itemType(TariffType.LAB_TEST)
+                .itemName(item.getTestName())
+                .sourceUnitPrice(item.getFinalPrice())
+                .serviceDate(order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null)
+                .sourceReferenceType("LAB_ORDER_ITEM")
+                .sourceReferenceId(item.getId())
+                .departmentName(order.getOrderingDepartment())
+                .practitionerId(order.getOrderingDoctorId())
+                .build());
     }
 
     /**
@@ -173,6 +201,8 @@ public class LabOrderService {
                 order.setCancelledAt(LocalDateTime.now());
                 order.setCancelledBy(changedBy); // cancelledBy is String, not UUID
                 order.setCancellationReason(reason);
+                labOrderItemRepository.findByOrderId(orderId).forEach(item ->
+                        eventPublisher.publishEvent(ChargeEvent.reversal(ChargeEvent.key("LAB", item.getId()), reason)));
                 break;
         }
 
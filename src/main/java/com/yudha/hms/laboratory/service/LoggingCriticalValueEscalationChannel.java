@@ -0,0 +1,44 @@
+package com.yudha.hms.laboratory.service;
+
+import com.yudha.hms.laboratory.config.CriticalValueEscalationProperties.EscalationStep;
+import com.yudha.hms.laboratory.constant.NotificationMethod;
+import com.yudha.hms.laboratory.entity.CriticalValueAlert;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Development stub channel that accepts every notification method and only logs the escalation.
+ * Only active in the dev profile: elsewhere an escalation without a real channel is
+ * recorded on the alert as not delivered.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class LoggingCriticalValueEscalationChannel implements CriticalValueEscalationChannel {
+
+    @Override
+    public boolean supports(NotificationMethod method) {
+        return true;
+    }
+
+    @Override
+    public void send(CriticalValueAlert alert, EscalationStep step, int level) {
+        log.warn("CRITICAL VALUE ESCALATION for alert {}: notify {} via {} (level {}) - {} {} = {}, severity: {}",
+                alert.getId(),
+                step.getTarget(),
+                step.getNotificationMethod(),
+                level,
+                alert.getTestName(),
+                alert.getParameterName(),
+                alert.getResultValue(),
+                alert.getSeverity());
+    }
+}
@@ -1,17 +1,21 @@
 package com.yudha.hms.pharmacy.service;
 
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.event.ChargeEvent;
 import com.yudha.hms.pharmacy.constant.*;
 import com.yudha.hms.pharmacy.dto.*;
 import com.yudha.hms.pharmacy.entity.*;
 import com.yudha.hms.pharmacy.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -43,6 +47,7 @@ public class PrescriptionService {
     private final PrescriptionVerificationRepository verificationRepository;
     private final DrugRepository drugRepository;
     private final DrugInteractionRepository drugInteractionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new prescription (draft state)
@@ -243,6 +248,7 @@ public class PrescriptionService {
                 }
 
                 item.setQuantityDispensed(newQuantity);
+                publishCharge(prescription, item, quantityToDispense, newQuantity);
 
                 if (!item.isFullyDispensed()) {
                     fullyDispensed = false;
@@ -271,6 +277,41 @@ public class PrescriptionService {
         return mapToResponse(savedPrescription);
     }
 
+    /**
+     * Charge a dispensed quantity to the running bill of the prescription's encounter.
+     * Keyed by the cumulative dispensed quantity, so each dispensing step is billed once.
+     */
+    private void publishCharge(Prescription prescription, PrescriptionItem item,
+                               BigDecimal quantityDispensed, BigDecimal cumulativeQuantity) {
+        if (prescription.getEncounterId() == null || quantityDispensed.signum() <= 0) {
+            return;
+        }
+        ChargeEvent.ChargeEventBuilder charge = ChargeEvent.builder()
+                .chargeKey(ChargeEvent.key("RX", item.getId(), cumulativeQuantity.stripTrailingZeros().toPlainString()))
+                .encounterId(prescription.getEncounterId())
+                .itemType(TariffType.MEDICINE)
+                .itemName(item.getDrugName())
+                .serviceDate(LocalDate.now())
+                .sourceReferenceType("PRESCRIPTION_ITEM")
+                .sourceReferenceId(item.getId())
+                .practitionerId(prescription.getDoctorId())
+                .practitionerName(prescription.getDoctorName());
+
+        // Invoice quantities are whole units: a fractional dispense is billed as one line at its amount
+        if (quantityDispensed.stripTrailingZeros().scale() <= 0) {
+            charge.tariffCode(item.getDrugCode())
+                    .quantity(quantityDispensed.intValueExact())
+                    .sourceUnitPrice(item.getUnitPrice());
+        } else if (item.getUnitPrice() != null) {
+            charge.itemName(item.getDrugName() + " (" + quantityDispensed.stripTrailingZeros().toPlainString() + ")")
+                    .sourceUnitPrice(item.getUnitPrice().multiply(quantityDispensed));
+        } else {
+            charge.tariffCode(item.getDrugCode())
+                    .quantity(quantityDispensed.setScale(0, RoundingMode.CEILING).intValueExact());
+        }
+        eventPublisher.publishEvent(charge.build());
+    }
+
     /**
      * Cancel prescription
      */
@@ -0,0 +1,218 @@
+package com.yudha.hms.radiology.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Radiology Module Configuration Properties.
+ *
+ * Binds radiology background job settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-22
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.radiology")
+@Data
+public class RadiologyProperties {
+
+    /**
+     * Reporting statistics aggregation settings
+     */
+    private Statistics statistics = new Statistics();
+
+    /**
+     * Report distribution and critical finding dispatcher settings
+     */
+    private Dispatch dispatch = new Dispatch();
+
+    /**
+     * DICOM Modality Worklist (MWL) SCP settings
+     */
+    private Worklist worklist = new Worklist();
+
+    /**
+     * CD/DVD export packaging settings
+     */
+    private Export export = new Export();
+
+    /**
+     * Reporting statistics aggregation settings
+     */
+    @Data
+    public static class Statistics {
+
+        /**
+         * Enable/disable periodic statistics aggregation
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval between incremental refreshes in milliseconds
+         * Default: 300000 (5 minutes)
+         */
+        private long refreshIntervalMs = 300000L;
+
+        /**
+         * How far back the first refresh after an empty statistics table looks (days)
+         */
+        private int initialLookbackDays = 31;
+    }
+
+    /**
+     * Report distribution and critical finding dispatcher settings
+     */
+    @Data
+    public static class Dispatch {
+
+        /**
+         * Enable/disable the dispatcher on this node. Off by default: enable it only
+         * where real delivery channels are registered.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Interval between queue polls in milliseconds
+         */
+        private long pollIntervalMs = 2000L;
+
+        /**
+         * Maximum rows claimed per poll
+         */
+        private int batchSize = 50;
+
+        /**
+         * Maximum concurrent sends per batch
+         */
+        private int maxConcurrentSends = 10;
+
+        /**
+         * Claim lease; an unfinished claim is released to other nodes after this time (seconds)
+         */
+        private int leaseSeconds = 120;
+
+        /**
+         * First retry delay after a failed send (seconds), doubled per attempt
+         */
+        private int initialBackoffSeconds = 30;
+
+        /**
+         * Maximum retry delay (seconds)
+         */
+        private int maxBackoffSeconds = 3600;
+
+        /**
+         * Reminder interval for unacknowledged critical findings (minutes)
+         */
+        private int criticalFindingReminderMinutes = 10;
+
+        /**
+         * Maximum notification attempts for a critical finding
+         */
+        private int criticalFindingMaxAttempts = 5;
+
+        /**
+         * Retry delay for a send failure at the given attempt number (1-based), in seconds
+         */
+        public long backoffSeconds(int attempt) {
+            int exponent = Math.max(0, Math.min(attempt - 1, 20));
+            return Math.min((long) initialBackoffSeconds << exponent, maxBackoffSeconds);
+        }
+    }
+
+    /**
+     * DICOM Modality Worklist (MWL) SCP settings
+     */
+    @Data
+    public static class Worklist {
+
+        /**
+         * Enable/disable the MWL C-FIND listener on this node
+         */
+        private boolean scpEnabled = false;
+
+        /**
+         * Called AE title of the worklist SCP
+         */
+        private String aeTitle = "HMS_MWL";
+
+        /**
+         * Bind address of the worklist SCP (empty = all interfaces)
+         */
+        private String bindAddress = "";
+
+        /**
+         * DICOM listening port
+         */
+        private int port = 11112;
+
+        /**
+         * Days after today kept in the in-memory worklist index
+         */
+        private int lookaheadDays = 1;
+
+        /**
+         * Interval between full index reloads in milliseconds
+         */
+        private long refreshIntervalMs = 60000L;
+
+        /**
+         * Mark returned entries as sent to modality after a C-FIND
+         */
+        private boolean markSentOnQuery = true;
+    }
+
+    /**
+     * CD/DVD export packaging settings
+     */
+    @Data
+    public static class Export {
+
+        /**
+         * Root directory that PacsStudy.pacsLocation paths are resolved against
+         */
+        private String pacsStorageRoot = "./pacs";
+
+        /**
+         * Directory for staged disc layouts and packaged images
+         */
+        private String exportDir = "./cd-export";
+
+        /**
+         * Directory holding the DICOM viewer copied to the disc (empty = no viewer available)
+         */
+        private String viewerDir = "";
+
+        /**
+         * Build a ZIP image of the staged disc layout
+         */
+        private boolean buildZip = true;
+
+        /**
+         * Maximum export jobs running at the same time
+         */
+        private int maxConcurrentJobs = 2;
+
+        /**
+         * Maximum export jobs waiting to run
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Threads reading series files (shared by all jobs)
+         */
+        private int readThreads = 4;
+
+        /**
+         * Copy buffer per reading thread (KB)
+         */
+        private int bufferSizeKb = 256;
+
+        /**
+         * Interval between progress updates written to the request (milliseconds)
+         */
+        private long progressIntervalMs = 2000L;
+    }
+}
@@ -0,0 +1,54 @@
+package com.yudha.hms.radiology.constant.reporting;
+
+import lombok.Getter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Report Statistics Period Type Enum.
+ *
+ * Aggregation period of radiology report statistics and its calendar boundaries.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-22
+ */
+@Getter
+public enum StatisticsPeriodType {
+
+    DAILY("Daily", "Harian"),
+    WEEKLY("Weekly", "Mingguan"),
+    MONTHLY("Monthly", "Bulanan");
+
+    private final String englishName;
+    private final String indonesianName;
+
+    StatisticsPeriodType(String englishName, String indonesianName) {
+        this.englishName = englishName;
+        this.indonesianName = indonesianName;
+    }
+
+    /**
+     * First day of the period containing the given date (weeks start on Monday).
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAILY -> date;
+            case WEEKLY -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> date.withDayOfMonth(1);
+        };
+    }
+
+    /**
+     * Last day (inclusive) of the period starting at the given date.
+     */
+    public LocalDate periodEnd(LocalDate periodStart) {
+        return switch (this) {
+            case DAILY -> periodStart;
+            case WEEKLY -> periodStart.plusDays(6);
+            case MONTHLY -> periodStart.with(TemporalAdjusters.lastDayOfMonth());
+        };
+    }
+}
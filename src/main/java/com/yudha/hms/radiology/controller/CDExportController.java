@@ -0,0 +1,82 @@
+package com.yudha.hms.radiology.controller;
+
+import com.yudha.hms.radiology.dto.response.ApiResponse;
+import com.yudha.hms.radiology.service.CDExportPackager;
+import com.yudha.hms.radiology.service.CDExportPackager.ExportProgress;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * CD Export Controller.
+ *
+ * REST controller for packaging the disc payload of CD burning requests.
+ *
+ * Endpoints:
+ * - POST /api/radiology/cd-requests/{id}/export - Queue (or resume) the export
+ * - GET /api/radiology/cd-requests/{id}/export - Export progress
+ * - POST /api/radiology/cd-requests/{id}/export/cancel - Cancel a queued or running export
+ * - DELETE /api/radiology/cd-requests/{id}/export - Delete the staged files and image
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-22
+ */
+@RestController
+@RequestMapping("/api/radiology/cd-requests/{id}/export")
+@RequiredArgsConstructor
+@Slf4j
+public class CDExportController {
+
+    private final CDExportPackager exportPackager;
+
+    /**
+     * Queue the export of a CD burning request
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ExportProgress>> submitExport(@PathVariable UUID id) {
+        log.info("Queueing CD export for request ID: {}", id);
+
+        exportPackager.submitExport(id);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Export queued", exportPackager.getStatus(id)));
+    }
+
+    /**
+     * Get export progress
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<ExportProgress>> getProgress(@PathVariable UUID id) {
+        return ResponseEntity.ok(ApiResponse.success(exportPackager.getStatus(id)));
+    }
+
+    /**
+     * Cancel a queued or running export; staged files are kept for a later resume
+     */
+    @PostMapping("/cancel")
+    public ResponseEntity<ApiResponse<ExportProgress>> cancelExport(@PathVariable UUID id) {
+        log.info("Cancelling CD export for request ID: {}", id);
+
+        boolean cancelled = exportPackager.cancelExport(id);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                cancelled ? "Export cancellation requested" : "No export is running", exportPackager.getStatus(id)));
+    }
+
+    /**
+     * Delete the staged files and image of an export
+     */
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> deleteExport(@PathVariable UUID id) {
+        log.info("Deleting CD export for request ID: {}", id);
+
+        exportPackager.deleteExport(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Export deleted", null));
+    }
+}
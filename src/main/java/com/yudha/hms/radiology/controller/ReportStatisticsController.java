@@ -0,0 +1,66 @@
+package com.yudha.hms.radiology.controller;
+
+import com.yudha.hms.radiology.constant.reporting.StatisticsPeriodType;
+import com.yudha.hms.radiology.dto.response.ApiResponse;
+import com.yudha.hms.radiology.entity.reporting.ReportStatistics;
+import com.yudha.hms.radiology.service.reporting.ReportStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Report Statistics Controller.
+ *
+ * REST controller for reading the radiology reporting statistics computed by
+ * the periodic aggregation job.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-22
+ */
+@RestController
+@RequestMapping("/api/radiology/report-statistics")
+@RequiredArgsConstructor
+@Slf4j
+public class ReportStatisticsController {
+
+    private final ReportStatisticsService reportStatisticsService;
+
+    /**
+     * Get department-wide statistics (all radiologists and modalities) per period
+     */
+    @GetMapping("/overall")
+    public ResponseEntity<ApiResponse<List<ReportStatistics>>> getOverallStatistics(
+            @RequestParam StatisticsPeriodType periodType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("Fetching overall {} report statistics from {} to {}", periodType, startDate, endDate);
+
+        List<ReportStatistics> statistics = reportStatisticsService.getOverallStatistics(
+                periodType.name(), startDate, endDate);
+
+        return ResponseEntity.ok(ApiResponse.success(statistics));
+    }
+
+    /**
+     * Get statistics of one radiologist per period, starting from a date
+     */
+    @GetMapping("/radiologist/{radiologistId}")
+    public ResponseEntity<ApiResponse<List<ReportStatistics>>> getRadiologistStatistics(
+            @PathVariable UUID radiologistId,
+            @RequestParam StatisticsPeriodType periodType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate) {
+        log.info("Fetching {} report statistics for radiologist {} from {}", periodType, radiologistId, startDate);
+
+        List<ReportStatistics> statistics = reportStatisticsService.getStatisticsByRadiologistAndPeriodType(
+                radiologistId, periodType.name(), startDate);
+
+        return ResponseEntity.ok(ApiResponse.success(statistics));
+    }
+}
@@ -141,6 +141,33 @@ public class CDBurningRequest extends SoftDeletableEntity {
     @Column(name = "delivery_notes", columnDefinition = "TEXT")
     private String deliveryNotes;
 
+    // Export packaging
+    @Column(name = "export_path", length = 500)
+    private String exportPath;
+
+    @Column(name = "export_checksum", length = 64)
+    private String exportChecksum;
+
+    @Column(name = "export_total_files")
+    private Integer exportTotalFiles;
+
+    @Column(name = "export_files_written")
+    @Builder.Default
+    private Integer exportFilesWritten = 0;
+
+    @Column(name = "export_total_bytes")
+    private Long exportTotalBytes;
+
+    @Column(name = "export_bytes_written")
+    @Builder.Default
+    private Long exportBytesWritten = 0L;
+
+    @Column(name = "export_started_at")
+    private LocalDateTime exportStartedAt;
+
+    @Column(name = "export_completed_at")
+    private LocalDateTime exportCompletedAt;
+
     // Error handling
     @Column(name = "failed")
     @Builder.Default
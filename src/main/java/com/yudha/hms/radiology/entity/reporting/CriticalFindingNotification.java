@@ -100,6 +100,24 @@ public class CriticalFindingNotification extends SoftDeletableEntity {
     @Column(name = "notified_at", nullable = false)
     private LocalDateTime notifiedAt;
 
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_attempt_at")
+    private LocalDateTime lastAttemptAt;
+
+    @Column(name = "dispatch_failure_count")
+    private Integer dispatchFailureCount = 0;
+
+    @Column(name = "last_dispatch_error", columnDefinition = "TEXT")
+    private String lastDispatchError;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 }
@@ -125,6 +125,15 @@ public class ReportDistribution extends SoftDeletableEntity {
     @Column(name = "distribution_rule_id")
     private UUID distributionRuleId;
 
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 }
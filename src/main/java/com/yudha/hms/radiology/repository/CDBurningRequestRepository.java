@@ -7,6 +7,7 @@ import com.yudha.hms.radiology.entity.CDBurningRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -54,6 +55,19 @@ public interface CDBurningRequestRepository extends JpaRepository<CDBurningReque
     @Query("SELECT c FROM CDBurningRequest c WHERE c.failed = true AND c.retryCount < :maxRetries AND c.deletedAt IS NULL")
     List<CDBurningRequest> findFailedRequestsForRetry(@Param("maxRetries") Integer maxRetries);
 
+    @Modifying
+    @Query("""
+            UPDATE CDBurningRequest c
+            SET c.exportTotalFiles = :totalFiles, c.exportFilesWritten = :filesWritten,
+                c.exportTotalBytes = :totalBytes, c.exportBytesWritten = :bytesWritten
+            WHERE c.id = :id
+            """)
+    int updateExportProgress(@Param("id") UUID id,
+                             @Param("totalFiles") int totalFiles,
+                             @Param("filesWritten") int filesWritten,
+                             @Param("totalBytes") long totalBytes,
+                             @Param("bytesWritten") long bytesWritten);
+
     Optional<CDBurningRequest> findTopByOrderByCreatedAtDesc();
 
     long countByStatusAndDeletedAtIsNull(CDRequestStatus status);
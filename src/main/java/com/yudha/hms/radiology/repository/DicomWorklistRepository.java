@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,6 +38,16 @@ public interface DicomWorklistRepository extends JpaRepository<DicomWorklist, UU
     @Query("SELECT w FROM DicomWorklist w WHERE w.sentToModality = false AND w.worklistStatus = 'SCHEDULED' AND w.deletedAt IS NULL")
     List<DicomWorklist> findPendingWorklistItems();
 
+    @Query("""
+            SELECT w FROM DicomWorklist w
+            WHERE w.scheduledProcedureStepStartDate BETWEEN :fromDate AND :toDate
+            AND w.worklistStatus IN :statuses
+            AND w.deletedAt IS NULL
+            """)
+    List<DicomWorklist> findActiveForWorklist(@Param("fromDate") LocalDate fromDate,
+                                              @Param("toDate") LocalDate toDate,
+                                              @Param("statuses") Collection<WorklistStatus> statuses);
+
     Optional<DicomWorklist> findTopByOrderByCreatedAtDesc();
 
     long countByWorklistStatusAndDeletedAtIsNull(WorklistStatus status);
@@ -40,4 +40,19 @@ public interface CriticalFindingNotificationRepository extends JpaRepository<Cri
 
     @Query("SELECT COUNT(c) FROM CriticalFindingNotification c WHERE c.acknowledged = false")
     long countUnacknowledged();
+
+    /**
+     * Lock unacknowledged notifications whose reminder is due. Rows locked by another node are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM radiology_schema.critical_finding_notification
+        WHERE deleted_at IS NULL
+          AND acknowledged = false
+          AND next_attempt_at <= :now
+          AND (claimed_until IS NULL OR claimed_until < :now)
+        ORDER BY CASE priority WHEN 'STAT' THEN 0 WHEN 'HIGH' THEN 1 ELSE 2 END, next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<CriticalFindingNotification> lockDueForDispatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
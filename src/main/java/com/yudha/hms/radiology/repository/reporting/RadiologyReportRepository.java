@@ -3,12 +3,14 @@ package com.yudha.hms.radiology.repository.reporting;
 import com.yudha.hms.radiology.constant.reporting.ReportStatus;
 import com.yudha.hms.radiology.entity.reporting.RadiologyReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -46,4 +48,8 @@ public interface RadiologyReportRepository extends JpaRepository<RadiologyReport
     long countByStatus(@Param("status") ReportStatus status);
 
     boolean existsByReportNumber(String reportNumber);
+
+    @Modifying
+    @Query("UPDATE RadiologyReport r SET r.distributedAt = :distributedAt WHERE r.id IN :reportIds AND r.distributedAt IS NULL")
+    int markDistributed(@Param("reportIds") Collection<UUID> reportIds, @Param("distributedAt") LocalDateTime distributedAt);
 }
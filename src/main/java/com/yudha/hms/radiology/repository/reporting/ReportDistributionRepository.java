@@ -49,4 +49,24 @@ public interface ReportDistributionRepository extends JpaRepository<ReportDistri
 
     @Query("SELECT COUNT(r) FROM ReportDistribution r WHERE r.distributionStatus = :status")
     long countByStatus(@Param("status") DistributionStatus status);
+
+    /**
+     * Lock due distributions (pending and scheduled, or failed with retries left) for dispatch.
+     * Rows locked by another node are skipped.
+     */
+    @Query(value = """
+        SELECT * FROM radiology_schema.report_distribution
+        WHERE deleted_at IS NULL
+          AND (claimed_until IS NULL OR claimed_until < :now)
+          AND (
+               (distribution_status = 'PENDING' AND (scheduled_at IS NULL OR scheduled_at <= :now)
+                AND (next_attempt_at IS NULL OR next_attempt_at <= :now))
+            OR (distribution_status = 'FAILED' AND retry_count < max_retries AND next_attempt_at <= :now)
+          )
+        ORDER BY CASE distribution_priority WHEN 'STAT' THEN 0 WHEN 'URGENT' THEN 1 ELSE 2 END,
+                 COALESCE(next_attempt_at, scheduled_at, created_at)
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<ReportDistribution> lockDueForDispatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
 }
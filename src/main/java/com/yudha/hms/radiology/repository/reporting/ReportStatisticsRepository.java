@@ -2,11 +2,13 @@ package com.yudha.hms.radiology.repository.reporting;
 
 import com.yudha.hms.radiology.entity.reporting.ReportStatistics;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -55,4 +57,207 @@ public interface ReportStatisticsRepository extends JpaRepository<ReportStatisti
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate
     );
+
+    @Query("SELECT r FROM ReportStatistics r WHERE r.periodType = :periodType AND r.periodStartDate BETWEEN :startDate AND :endDate " +
+           "AND r.radiologistId IS NULL AND r.departmentId IS NULL AND r.modalityCode IS NULL ORDER BY r.periodStartDate")
+    List<ReportStatistics> findOverallByPeriodTypeAndDateRange(
+            @Param("periodType") String periodType,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT MAX(r.computedAt) FROM ReportStatistics r")
+    LocalDateTime findLastComputedAt();
+
+    /**
+     * Report dates (by reported_at) touched by report, amendment, distribution or
+     * critical finding changes since the given timestamp.
+     */
+    @Query(value = """
+        SELECT CAST(r.reported_at AS DATE)
+        FROM radiology_schema.radiology_report r
+        WHERE r.reported_at IS NOT NULL
+          AND COALESCE(r.updated_at, r.created_at) >= :since
+        UNION
+        SELECT CAST(r.reported_at AS DATE)
+        FROM radiology_schema.report_amendment a
+        JOIN radiology_schema.radiology_report r ON r.id = a.report_id
+        WHERE r.reported_at IS NOT NULL
+          AND COALESCE(a.updated_at, a.created_at) >= :since
+        UNION
+        SELECT CAST(r.reported_at AS DATE)
+        FROM radiology_schema.report_distribution d
+        JOIN radiology_schema.radiology_report r ON r.id = d.report_id
+        WHERE r.reported_at IS NOT NULL
+          AND COALESCE(d.updated_at, d.created_at) >= :since
+        UNION
+        SELECT CAST(r.reported_at AS DATE)
+        FROM radiology_schema.critical_finding_notification n
+        JOIN radiology_schema.radiology_report r ON r.id = n.report_id
+        WHERE r.reported_at IS NOT NULL
+          AND COALESCE(n.updated_at, n.created_at) >= :since
+        """, nativeQuery = true)
+    List<Object> findReportDatesChangedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Compute statistics for one period from report tables and upsert one row for
+     * the overall total and one row per radiologist, department and modality.
+     *
+     * @return number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = """
+        WITH report_base AS (
+            SELECT r.reported_by AS radiologist_id,
+                   dept.id AS department_id,
+                   r.modality_code,
+                   r.report_status,
+                   r.report_complexity,
+                   r.has_critical_findings,
+                   r.critical_findings_communicated,
+                   r.transcribed_from_audio,
+                   r.distributed_at,
+                   r.compared_to_study_id,
+                   COALESCE(r.time_to_report_minutes,
+                            EXTRACT(EPOCH FROM (r.reported_at - o.order_date)) / 60) AS tat_minutes,
+                   EXTRACT(EPOCH FROM (r.distributed_at - r.reported_at)) / 60 AS distribution_minutes,
+                   am.amendment_count,
+                   am.addendum_count,
+                   am.correction_count,
+                   cf.notification_minutes,
+                   dist.failed_count
+            FROM radiology_schema.radiology_report r
+            JOIN radiology_schema.radiology_order o ON o.id = r.order_id
+            LEFT JOIN LATERAL (
+                SELECT d.id
+                FROM master_schema.department d
+                WHERE d.code = o.ordering_department OR d.name = o.ordering_department
+                LIMIT 1
+            ) dept ON true
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) AS amendment_count,
+                       COUNT(*) FILTER (WHERE a.amendment_type = 'ADDENDUM') AS addendum_count,
+                       COUNT(*) FILTER (WHERE a.amendment_type = 'CORRECTION') AS correction_count
+                FROM radiology_schema.report_amendment a
+                WHERE a.report_id = r.id AND a.deleted_at IS NULL
+            ) am ON true
+            LEFT JOIN LATERAL (
+                SELECT AVG(n.time_to_notification_minutes) AS notification_minutes
+                FROM radiology_schema.critical_finding_notification n
+                WHERE n.report_id = r.id AND n.deleted_at IS NULL
+            ) cf ON true
+            LEFT JOIN LATERAL (
+                SELECT COUNT(*) FILTER (WHERE rd.failed = true) AS failed_count
+                FROM radiology_schema.report_distribution rd
+                WHERE rd.report_id = r.id AND rd.deleted_at IS NULL
+            ) dist ON true
+            WHERE r.deleted_at IS NULL
+              AND r.cancelled IS NOT TRUE
+              AND r.report_status NOT IN ('DRAFT', 'CANCELLED')
+              AND r.reported_at >= :periodStart
+              AND r.reported_at < :periodEndExclusive
+        )
+        INSERT INTO radiology_schema.report_statistics (
+            id, statistics_date, period_type, period_start_date, period_end_date,
+            radiologist_id, department_id, modality_code,
+            total_reports, preliminary_reports, final_reports, amended_reports,
+            avg_reporting_time_minutes, median_reporting_time_minutes,
+            reports_within_24_hours, reports_over_24_hours,
+            critical_findings_count, critical_findings_notified, avg_notification_time_minutes,
+            amendment_rate, addendum_count, correction_count,
+            simple_reports, moderate_reports, complex_reports,
+            transcribed_reports,
+            reports_distributed, avg_distribution_time_minutes, failed_distributions,
+            reports_with_comparison,
+            computed_at, computed_by, created_at, created_by, updated_at, updated_by, version
+        )
+        SELECT gen_random_uuid(), :periodStart, :periodType, :periodStart, :periodEnd,
+               radiologist_id, department_id, modality_code,
+               COUNT(*),
+               COUNT(*) FILTER (WHERE report_status = 'PRELIMINARY'),
+               COUNT(*) FILTER (WHERE report_status = 'VERIFIED'),
+               COUNT(*) FILTER (WHERE amendment_count > 0),
+               ROUND(AVG(tat_minutes)::numeric, 2),
+               ROUND((PERCENTILE_CONT(0.5) WITHIN GROUP (ORDER BY tat_minutes))::numeric, 2),
+               COUNT(*) FILTER (WHERE tat_minutes <= 1440),
+               COUNT(*) FILTER (WHERE tat_minutes > 1440),
+               COUNT(*) FILTER (WHERE has_critical_findings = true),
+               COUNT(*) FILTER (WHERE has_critical_findings = true AND critical_findings_communicated = true),
+               ROUND(AVG(notification_minutes)::numeric, 2),
+               ROUND(100.0 * COUNT(*) FILTER (WHERE amendment_count > 0) / NULLIF(COUNT(*), 0), 2),
+               COALESCE(SUM(addendum_count), 0),
+               COALESCE(SUM(correction_count), 0),
+               COUNT(*) FILTER (WHERE report_complexity = 'SIMPLE'),
+               COUNT(*) FILTER (WHERE report_complexity = 'MODERATE'),
+               COUNT(*) FILTER (WHERE report_complexity = 'COMPLEX'),
+               COUNT(*) FILTER (WHERE transcribed_from_audio = true),
+               COUNT(*) FILTER (WHERE distributed_at IS NOT NULL),
+               ROUND(AVG(distribution_minutes)::numeric, 2),
+               COALESCE(SUM(failed_count), 0),
+               COUNT(*) FILTER (WHERE compared_to_study_id IS NOT NULL),
+               :computedAt, 'SYSTEM', :computedAt, 'SYSTEM', :computedAt, 'SYSTEM', 0
+        FROM report_base
+        GROUP BY GROUPING SETS ((), (radiologist_id), (department_id), (modality_code))
+        HAVING (GROUPING(radiologist_id) = 1 OR radiologist_id IS NOT NULL)
+           AND (GROUPING(department_id) = 1 OR department_id IS NOT NULL)
+           AND (GROUPING(modality_code) = 1 OR modality_code IS NOT NULL)
+        ON CONFLICT ON CONSTRAINT uk_statistics_dimension DO UPDATE SET
+            statistics_date = EXCLUDED.statistics_date,
+            period_end_date = EXCLUDED.period_end_date,
+            total_reports = EXCLUDED.total_reports,
+            preliminary_reports = EXCLUDED.preliminary_reports,
+            final_reports = EXCLUDED.final_reports,
+            amended_reports = EXCLUDED.amended_reports,
+            avg_reporting_time_minutes = EXCLUDED.avg_reporting_time_minutes,
+            median_reporting_time_minutes = EXCLUDED.median_reporting_time_minutes,
+            reports_within_24_hours = EXCLUDED.reports_within_24_hours,
+            reports_over_24_hours = EXCLUDED.reports_over_24_hours,
+            critical_findings_count = EXCLUDED.critical_findings_count,
+            critical_findings_notified = EXCLUDED.critical_findings_notified,
+            avg_notification_time_minutes = EXCLUDED.avg_notification_time_minutes,
+            amendment_rate = EXCLUDED.amendment_rate,
+            addendum_count = EXCLUDED.addendum_count,
+            correction_count = EXCLUDED.correction_count,
+            simple_reports = EXCLUDED.simple_reports,
+            moderate_reports = EXCLUDED.moderate_reports,
+            complex_reports = EXCLUDED.complex_reports,
+            transcribed_reports = EXCLUDED.transcribed_reports,
+            reports_distributed = EXCLUDED.reports_distributed,
+            avg_distribution_time_minutes = EXCLUDED.avg_distribution_time_minutes,
+            failed_distributions = EXCLUDED.failed_distributions,
+            reports_with_comparison = EXCLUDED.reports_with_comparison,
+            computed_at = EXCLUDED.computed_at,
+            computed_by = EXCLUDED.computed_by,
+            updated_at = EXCLUDED.updated_at,
+            updated_by = EXCLUDED.updated_by,
+            deleted_at = NULL,
+            deleted_by = NULL,
+            version = radiology_schema.report_statistics.version + 1
+        """, nativeQuery = true)
+    int upsertPeriodStatistics(
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("periodEnd") LocalDate periodEnd,
+            @Param("periodEndExclusive") LocalDate periodEndExclusive,
+            @Param("computedAt") LocalDateTime computedAt
+    );
+
+    /**
+     * Soft delete rows of a period that were not produced by the latest computation
+     * (e.g. a radiologist whose only report in the period was cancelled).
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE radiology_schema.report_statistics
+        SET deleted_at = :computedAt, deleted_by = 'SYSTEM'
+        WHERE period_type = :periodType
+          AND period_start_date = :periodStart
+          AND computed_at < :computedAt
+          AND deleted_at IS NULL
+        """, nativeQuery = true)
+    int softDeleteStalePeriodStatistics(
+            @Param("periodType") String periodType,
+            @Param("periodStart") LocalDate periodStart,
+            @Param("computedAt") LocalDateTime computedAt
+    );
 }
@@ -301,6 +301,80 @@ public class CDBurningService {
         return requestRepository.save(request);
     }
 
+    /**
+     * Mark export packaging as started.
+     *
+     * @param id Request ID
+     * @return Updated request
+     */
+    public CDBurningRequest markExportStarted(UUID id) {
+        log.info("Starting CD export packaging: {}", id);
+
+        CDBurningRequest request = getRequestById(id);
+        request.setStatus(CDRequestStatus.PROCESSING);
+        request.setProcessingStartedAt(LocalDateTime.now());
+        if (request.getExportStartedAt() == null) {
+            request.setExportStartedAt(LocalDateTime.now());
+        }
+        request.setExportCompletedAt(null);
+
+        return requestRepository.save(request);
+    }
+
+    /**
+     * Record export packaging progress.
+     *
+     * @param id Request ID
+     * @param totalFiles Total files to stage
+     * @param filesWritten Files staged so far
+     * @param totalBytes Total bytes to stage
+     * @param bytesWritten Bytes staged so far
+     */
+    public void updateExportProgress(UUID id, int totalFiles, int filesWritten,
+                                     long totalBytes, long bytesWritten) {
+        requestRepository.updateExportProgress(id, totalFiles, filesWritten, totalBytes, bytesWritten);
+    }
+
+    /**
+     * Mark export packaging as completed.
+     *
+     * @param id Request ID
+     * @param exportPath Path of the packaged image or staged directory
+     * @param checksum SHA-256 of the packaged image (null if no image was built)
+     * @return Updated request
+     */
+    public CDBurningRequest markExportCompleted(UUID id, String exportPath, String checksum) {
+        log.info("CD export packaging completed: {} -> {}", id, exportPath);
+
+        CDBurningRequest request = getRequestById(id);
+        request.setExportPath(exportPath);
+        request.setExportChecksum(checksum);
+        request.setExportCompletedAt(LocalDateTime.now());
+        request.setProcessingCompletedAt(LocalDateTime.now());
+
+        return requestRepository.save(request);
+    }
+
+    /**
+     * Clear the export record of a request whose export files were deleted.
+     *
+     * @param id Request ID
+     * @return Updated request
+     */
+    public CDBurningRequest clearExport(UUID id) {
+        CDBurningRequest request = getRequestById(id);
+        request.setExportPath(null);
+        request.setExportChecksum(null);
+        request.setExportTotalFiles(null);
+        request.setExportFilesWritten(0);
+        request.setExportTotalBytes(null);
+        request.setExportBytesWritten(0L);
+        request.setExportStartedAt(null);
+        request.setExportCompletedAt(null);
+
+        return requestRepository.save(request);
+    }
+
     /**
      * Mark request as ready for pickup.
      *
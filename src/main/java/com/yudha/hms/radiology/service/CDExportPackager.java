@@ -0,0 +1,817 @@
+package com.yudha.hms.radiology.service;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import com.yudha.hms.radiology.entity.CDBurningRequest;
+import com.yudha.hms.radiology.entity.PacsStudy;
+import com.yudha.hms.radiology.repository.PacsStudyRepository;
+import com.yudha.hms.shared.exception.FileStorageException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.io.DicomInputStream;
+import org.dcm4che3.io.DicomOutputStream;
+import org.dcm4che3.media.DicomDirWriter;
+import org.dcm4che3.media.RecordFactory;
+import org.dcm4che3.media.RecordType;
+import org.dcm4che3.util.UIDUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * CD/DVD Export Packager.
+ *
+ * Builds the disc payload for a CD burning request:
+ * <pre>
+ * &lt;exportDir&gt;/&lt;requestNumber&gt;/
+ *   DICOMDIR
+ *   DICOM/ST000001/SE000001/IM000001 ...
+ *   VIEWER/...
+ *   MANIFEST.SHA256
+ * &lt;exportDir&gt;/&lt;requestNumber&gt;.zip
+ * </pre>
+ *
+ * The disc image is delivered as a ZIP rather than an ISO 9660 image: the
+ * staging directory already has the DICOM media layout, and the burning
+ * workstation writes that tree to disc with its own mastering software.
+ *
+ * Study files are streamed from PACS storage with NIO channels through a fixed
+ * per-thread buffer, so memory use does not depend on study size. Series are
+ * copied in parallel on a shared reader pool; jobs run on a bounded job pool.
+ *
+ * Every staged file is written to a temporary name, moved into place and then
+ * recorded with its SHA-256 in MANIFEST.SHA256. A failed or interrupted export
+ * resumes from the manifest and only copies files not yet recorded. Checksums
+ * are verified again while the staged files are streamed into the ZIP image.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-22
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CDExportPackager {
+
+    private static final String MANIFEST_NAME = "MANIFEST.SHA256";
+    private static final String DICOMDIR_NAME = "DICOMDIR";
+    private static final String PART_SUFFIX = ".part";
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final RadiologyProperties radiologyProperties;
+    private final CDBurningService burningService;
+    private final PacsStudyRepository pacsStudyRepository;
+
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor jobExecutor;
+    private ExecutorService readExecutor;
+    private ThreadLocal<ByteBuffer> copyBuffers;
+
+    /**
+     * Create the bounded job and reader pools.
+     */
+    @PostConstruct
+    public void init() {
+        RadiologyProperties.Export config = radiologyProperties.getExport();
+        int jobThreads = Math.max(1, config.getMaxConcurrentJobs());
+        jobExecutor = new ThreadPoolExecutor(jobThreads, jobThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                Thread.ofPlatform().name("cd-export-", 0).factory());
+        readExecutor = Executors.newFixedThreadPool(Math.max(1, config.getReadThreads()),
+                Thread.ofPlatform().name("cd-export-read-", 0).factory());
+        int bufferSize = Math.max(16, config.getBufferSizeKb()) * 1024;
+        copyBuffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(bufferSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(job -> job.cancelled.set(true));
+        jobExecutor.shutdownNow();
+        readExecutor.shutdownNow();
+    }
+
+    /**
+     * Queue an export job for a CD burning request. A previously interrupted
+     * export of the same request resumes from its staged files.
+     *
+     * @param requestId CD burning request ID
+     * @throws IllegalStateException if the request is already exporting or the queue is full
+     */
+    public void submitExport(UUID requestId) {
+        CDBurningRequest request = burningService.getRequestById(requestId);
+        if (request.getStudyIds() == null || request.getStudyIds().length == 0) {
+            throw new IllegalArgumentException("CD burning request has no studies: " + requestId);
+        }
+
+        ExportJob job = new ExportJob(requestId, request.getRequestNumber());
+        if (jobs.putIfAbsent(requestId, job) != null) {
+            throw new IllegalStateException("Export already running for request: " + request.getRequestNumber());
+        }
+
+        try {
+            jobExecutor.execute(() -> runExport(job));
+            log.info("CD export queued: {}", request.getRequestNumber());
+        } catch (RejectedExecutionException e) {
+            jobs.remove(requestId);
+            throw new IllegalStateException("CD export queue is full, try again later");
+        }
+    }
+
+    /**
+     * Cancel a queued or running export. Staged files are kept for a later resume.
+     *
+     * @param requestId CD burning request ID
+     * @return true if a job was cancelled
+     */
+    public boolean cancelExport(UUID requestId) {
+        ExportJob job = jobs.get(requestId);
+        if (job == null) {
+            return false;
+        }
+        job.cancelled.set(true);
+        return true;
+    }
+
+    /**
+     * Get live progress of a queued or running export.
+     *
+     * @param requestId CD burning request ID
+     * @return Progress, or null if no export is running
+     */
+    public ExportProgress getProgress(UUID requestId) {
+        ExportJob job = jobs.get(requestId);
+        return job != null ? job.snapshot() : null;
+    }
+
+    /**
+     * Get progress of an export: live while it is queued or running, otherwise as last
+     * recorded on the request. An export that started but neither completed nor is
+     * running was interrupted and is reported as FAILED; submitting it again resumes it.
+     *
+     * @param requestId CD burning request ID
+     * @return Progress
+     */
+    public ExportProgress getStatus(UUID requestId) {
+        ExportProgress live = getProgress(requestId);
+        if (live != null) {
+            return live;
+        }
+        CDBurningRequest request = burningService.getRequestById(requestId);
+        ExportPhase phase = request.getExportCompletedAt() != null ? ExportPhase.COMPLETED
+                : request.getExportStartedAt() != null ? ExportPhase.FAILED
+                : ExportPhase.NOT_STARTED;
+        return new ExportProgress(requestId, request.getRequestNumber(), phase,
+                request.getExportTotalFiles() != null ? request.getExportTotalFiles() : 0,
+                request.getExportFilesWritten() != null ? request.getExportFilesWritten() : 0,
+                request.getExportTotalBytes() != null ? request.getExportTotalBytes() : 0L,
+                request.getExportBytesWritten() != null ? request.getExportBytesWritten() : 0L);
+    }
+
+    /**
+     * Delete the staged directory and image of a request and clear its export record.
+     *
+     * @param requestId CD burning request ID
+     * @throws IllegalStateException if an export of the request is queued or running
+     */
+    public void deleteExport(UUID requestId) {
+        if (jobs.containsKey(requestId)) {
+            throw new IllegalStateException("Export is running for request: " + requestId + "; cancel it first");
+        }
+        CDBurningRequest request = burningService.getRequestById(requestId);
+        deleteExport(request.getRequestNumber());
+        burningService.clearExport(requestId);
+        log.info("CD export deleted: {}", request.getRequestNumber());
+    }
+
+    /**
+     * Delete the staged directory and image of a request.
+     *
+     * @param requestNumber CD burning request number
+     */
+    private void deleteExport(String requestNumber) {
+        Path stagingDir = exportRoot().resolve(requestNumber);
+        try {
+            Files.deleteIfExists(exportRoot().resolve(requestNumber + ".zip"));
+            Files.deleteIfExists(exportRoot().resolve(requestNumber + ".zip" + PART_SUFFIX));
+            if (Files.exists(stagingDir)) {
+                try (Stream<Path> paths = Files.walk(stagingDir)) {
+                    for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new FileStorageException("Could not delete CD export " + requestNumber, e);
+        }
+    }
+
+    private void runExport(ExportJob job) {
+        try {
+            CDBurningRequest request = burningService.markExportStarted(job.requestId);
+            job.phase = ExportPhase.PLANNING;
+
+            Path stagingDir = exportRoot().resolve(job.requestNumber);
+            Files.createDirectories(stagingDir);
+
+            List<List<FileTask>> groups = planExport(request, stagingDir);
+            Manifest manifest = Manifest.load(stagingDir.resolve(MANIFEST_NAME));
+
+            for (List<FileTask> group : groups) {
+                for (FileTask task : group) {
+                    job.totalFiles.incrementAndGet();
+                    job.totalBytes.addAndGet(task.size());
+                    if (manifest.isStaged(task.target(), stagingDir)) {
+                        job.filesWritten.incrementAndGet();
+                        job.bytesWritten.addAndGet(task.size());
+                    }
+                }
+            }
+            log.info("CD export {}: {} files, {} bytes ({} already staged)",
+                    job.requestNumber, job.totalFiles.get(), job.totalBytes.get(), job.filesWritten.get());
+
+            job.phase = ExportPhase.STAGING;
+            stageFiles(job, groups, manifest, stagingDir, Boolean.TRUE.equals(request.getAnonymize()));
+
+            job.phase = ExportPhase.DICOMDIR;
+            writeDicomDir(job, stagingDir, manifest);
+            manifest.compact();
+
+            String exportPath = stagingDir.toString();
+            String checksum;
+            job.phase = ExportPhase.PACKAGING;
+            if (radiologyProperties.getExport().isBuildZip()) {
+                Path zip = exportRoot().resolve(job.requestNumber + ".zip");
+                checksum = writeZip(job, stagingDir, manifest, zip, Boolean.TRUE.equals(request.getCompress()));
+                exportPath = zip.toString();
+            } else {
+                verifyStaged(job, stagingDir, manifest);
+                checksum = null;
+            }
+
+            reportProgress(job);
+            burningService.markExportCompleted(job.requestId, exportPath, checksum);
+            job.phase = ExportPhase.COMPLETED;
+        } catch (Exception e) {
+            job.phase = ExportPhase.FAILED;
+            String reason = job.cancelled.get() ? "Export cancelled" : "Export failed: " + rootMessage(e);
+            log.error("CD export {} failed: {}", job.requestNumber, reason, e);
+            try {
+                reportProgress(job);
+                burningService.markAsFailed(job.requestId, reason);
+            } catch (Exception updateError) {
+                log.error("Could not record CD export failure for {}: {}", job.requestNumber, updateError.getMessage());
+            }
+        } finally {
+            jobs.remove(job.requestId);
+        }
+    }
+
+    /**
+     * List the files to stage, one group per series plus the viewer, in a stable
+     * order so file IDs stay the same when an export is resumed.
+     */
+    private List<List<FileTask>> planExport(CDBurningRequest request, Path stagingDir) throws IOException {
+        List<PacsStudy> studies = new ArrayList<>(pacsStudyRepository.findAllById(Arrays.asList(request.getStudyIds())));
+        if (studies.size() != request.getStudyIds().length) {
+            throw new IllegalArgumentException("Some studies of request " + request.getRequestNumber() + " were not found");
+        }
+        studies.sort(Comparator.comparing(PacsStudy::getStudyDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(PacsStudy::getStudyInstanceUid));
+
+        Path pacsRoot = Paths.get(radiologyProperties.getExport().getPacsStorageRoot()).toAbsolutePath().normalize();
+        List<List<FileTask>> groups = new ArrayList<>();
+
+        int studyIndex = 0;
+        for (PacsStudy study : studies) {
+            studyIndex++;
+            if (study.getPacsLocation() == null || study.getPacsLocation().isBlank()) {
+                throw new IllegalArgumentException("Study has no PACS location: " + study.getStudyInstanceUid());
+            }
+            Path studyDir = pacsRoot.resolve(study.getPacsLocation()).normalize();
+            if (!studyDir.startsWith(pacsRoot) || !Files.isDirectory(studyDir)) {
+                throw new FileStorageException("Study directory not found: " + study.getPacsLocation());
+            }
+
+            // Series are the study's subdirectories; loose files form one more series
+            Map<Path, List<Path>> series = new TreeMap<>();
+            try (Stream<Path> paths = Files.walk(studyDir)) {
+                paths.filter(Files::isRegularFile)
+                        .filter(CDExportPackager::isStudyFile)
+                        .sorted()
+                        .forEach(path -> {
+                            Path relative = studyDir.relativize(path);
+                            Path seriesKey = relative.getNameCount() > 1 ? relative.getName(0) : Paths.get("");
+                            series.computeIfAbsent(seriesKey, k -> new ArrayList<>()).add(path);
+                        });
+            }
+
+            int seriesIndex = 0;
+            for (List<Path> files : series.values()) {
+                seriesIndex++;
+                List<FileTask> group = new ArrayList<>(files.size());
+                int instanceIndex = 0;
+                for (Path file : files) {
+                    instanceIndex++;
+                    String target = String.format("DICOM/ST%06d/SE%06d/IM%06d", studyIndex, seriesIndex, instanceIndex);
+                    group.add(new FileTask(file, target, Files.size(file), true));
+                }
+                groups.add(group);
+            }
+        }
+
+        String viewerDir = radiologyProperties.getExport().getViewerDir();
+        if (Boolean.TRUE.equals(request.getIncludeViewer()) && viewerDir != null && !viewerDir.isBlank()) {
+            Path viewerRoot = Paths.get(viewerDir).toAbsolutePath().normalize();
+            if (Files.isDirectory(viewerRoot)) {
+                List<FileTask> viewer = new ArrayList<>();
+                try (Stream<Path> paths = Files.walk(viewerRoot)) {
+                    for (Path file : paths.filter(Files::isRegularFile).sorted().toList()) {
+                        String target = "VIEWER/" + viewerRoot.relativize(file).toString().replace(File.separatorChar, '/');
+                        viewer.add(new FileTask(file, target, Files.size(file), false));
+                    }
+                }
+                groups.add(viewer);
+            } else {
+                log.warn("CD viewer directory not found, exporting without viewer: {}", viewerRoot);
+            }
+        }
+        return groups;
+    }
+
+    private static boolean isStudyFile(Path path) {
+        String name = path.getFileName().toString();
+        return !name.startsWith(".") && !name.equalsIgnoreCase(DICOMDIR_NAME);
+    }
+
+    /**
+     * Copy all groups in parallel on the reader pool, reporting progress while waiting.
+     */
+    private void stageFiles(ExportJob job, List<List<FileTask>> groups, Manifest manifest,
+                            Path stagingDir, boolean anonymize) throws Exception {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(groups.size());
+        for (List<FileTask> group : groups) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (FileTask task : group) {
+                    if (job.cancelled.get()) {
+                        return;
+                    }
+                    if (manifest.isStaged(task.target(), stagingDir)) {
+                        continue;
+                    }
+                    try {
+                        String checksum = anonymize && task.dicom()
+                                ? stageAnonymized(job, task, stagingDir)
+                                : stageCopy(job, task, stagingDir);
+                        manifest.record(task.target(), checksum);
+                        job.filesWritten.incrementAndGet();
+                    } catch (IOException e) {
+                        job.cancelled.set(true);
+                        throw new FileStorageException("Could not stage " + task.source(), e);
+                    }
+                }
+            }, readExecutor));
+        }
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        long interval = Math.max(100L, radiologyProperties.getExport().getProgressIntervalMs());
+        while (true) {
+            try {
+                all.get(interval, TimeUnit.MILLISECONDS);
+                break;
+            } catch (TimeoutException e) {
+                reportProgress(job);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+        if (job.cancelled.get()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+        reportProgress(job);
+    }
+
+    /**
+     * Stream one file into the staging directory through the thread's copy buffer.
+     *
+     * @return SHA-256 of the staged file
+     */
+    private String stageCopy(ExportJob job, FileTask task, Path stagingDir) throws IOException {
+        Path target = stagingDir.resolve(task.target());
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Files.createDirectories(target.getParent());
+
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = copyBuffers.get();
+        try (FileChannel in = FileChannel.open(task.source(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (true) {
+                buffer.clear();
+                int read = in.read(buffer);
+                if (read < 0) {
+                    break;
+                }
+                if (job.cancelled.get()) {
+                    throw new InterruptedIOException("Export cancelled");
+                }
+                buffer.flip();
+                buffer.mark();
+                digest.update(buffer);
+                buffer.reset();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                job.bytesWritten.addAndGet(read);
+            }
+            out.force(false);
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return HEX.formatHex(digest.digest());
+    }
+
+    /**
+     * Stage a DICOM file with patient identifying attributes removed. Only the
+     * attributes before Pixel Data are parsed; the pixel data and anything after
+     * it are copied through unchanged, so memory does not depend on image size.
+     *
+     * @return SHA-256 of the staged file
+     */
+    private String stageAnonymized(ExportJob job, FileTask task, Path stagingDir) throws IOException {
+        Path target = stagingDir.resolve(task.target());
+        Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+        Files.createDirectories(target.getParent());
+
+        MessageDigest digest = sha256();
+        try (DicomInputStream in = new DicomInputStream(task.source().toFile())) {
+            Attributes fmi = in.readFileMetaInformation();
+            Attributes dataset = in.readDatasetUntilPixelData();
+            String transferSyntax = in.getTransferSyntax();
+            if (fmi == null) {
+                fmi = dataset.createFileMetaInformation(transferSyntax);
+            }
+            deidentify(dataset, job.requestNumber);
+
+            try (OutputStream file = Files.newOutputStream(part);
+                 DicomOutputStream out = new DicomOutputStream(
+                         new DigestOutputStream(new BufferedOutputStream(file, 1 << 16), digest), transferSyntax)) {
+                out.writeDataset(fmi, dataset);
+                if (in.tag() == Tag.PixelData) {
+                    out.writeHeader(Tag.PixelData, in.vr(), in.length());
+                    copyRemaining(job, in, out);
+                }
+            }
+        }
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            channel.force(false);
+        }
+        Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        job.bytesWritten.addAndGet(task.size());
+        return HEX.formatHex(digest.digest());
+    }
+
+    /**
+     * Copy the rest of a DICOM stream (pixel data value, encapsulated fragments
+     * and trailing elements) as raw bytes.
+     */
+    private static void copyRemaining(ExportJob job, DicomInputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (job.cancelled.get()) {
+                throw new InterruptedIOException("Export cancelled");
+            }
+            out.write(buffer, 0, read);
+        }
+    }
+
+    private static void deidentify(Attributes dataset, String requestNumber) {
+        dataset.setString(Tag.PatientName, VR.PN, "ANONYMOUS");
+        dataset.setString(Tag.PatientID, VR.LO, "ANON-" + requestNumber);
+        dataset.setNull(Tag.PatientBirthDate, VR.DA);
+        dataset.setNull(Tag.PatientAddress, VR.LO);
+        dataset.setNull(Tag.PatientTelephoneNumbers, VR.SH);
+        dataset.setNull(Tag.OtherPatientIDs, VR.LO);
+        dataset.setNull(Tag.OtherPatientNames, VR.PN);
+        dataset.setNull(Tag.ReferringPhysicianName, VR.PN);
+        dataset.setNull(Tag.InstitutionName, VR.LO);
+        dataset.setNull(Tag.InstitutionAddress, VR.ST);
+        dataset.setString(Tag.PatientIdentityRemoved, VR.CS, "YES");
+    }
+
+    /**
+     * (Re)build the DICOMDIR from the staged DICOM files.
+     */
+    private void writeDicomDir(ExportJob job, Path stagingDir, Manifest manifest) throws IOException {
+        Path dicomDir = stagingDir.resolve(DICOMDIR_NAME);
+        Path part = stagingDir.resolve(DICOMDIR_NAME + PART_SUFFIX);
+        Files.deleteIfExists(part);
+
+        RecordFactory recordFactory = new RecordFactory();
+        recordFactory.loadDefaultConfiguration();
+
+        DicomDirWriter.createEmptyDirectory(part.toFile(), UIDUtils.createUID(), job.requestNumber, null, null);
+        DicomDirWriter writer = DicomDirWriter.open(part.toFile());
+        try {
+            for (String target : manifest.paths()) {
+                if (!target.startsWith("DICOM/")) {
+                    continue;
+                }
+                File file = stagingDir.resolve(target).toFile();
+                try (DicomInputStream in = new DicomInputStream(file)) {
+                    Attributes fmi = in.readFileMetaInformation();
+                    Attributes dataset = in.readDatasetUntilPixelData();
+                    if (fmi == null) {
+                        fmi = dataset.createFileMetaInformation(in.getTransferSyntax());
+                    }
+                    addDicomDirRecords(writer, recordFactory, dataset, fmi, target.split("/"));
+                } catch (IOException e) {
+                    log.warn("CD export {}: {} is not a DICOM file, left out of DICOMDIR", job.requestNumber, target);
+                }
+            }
+        } finally {
+            writer.close();
+        }
+
+        Files.move(part, dicomDir, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        manifest.record(DICOMDIR_NAME, checksum(dicomDir));
+    }
+
+    private static void addDicomDirRecords(DicomDirWriter writer, RecordFactory recordFactory,
+                                           Attributes dataset, Attributes fmi, String[] fileIds) throws IOException {
+        String patientId = dataset.getString(Tag.PatientID, "");
+        String studyUid = dataset.getString(Tag.StudyInstanceUID);
+        String seriesUid = dataset.getString(Tag.SeriesInstanceUID);
+
+        Attributes patientRecord = writer.findPatientRecord(patientId);
+        if (patientRecord == null) {
+            patientRecord = recordFactory.createRecord(RecordType.PATIENT, null, dataset, null, null);
+            writer.addRootDirectoryRecord(patientRecord);
+        }
+        Attributes studyRecord = writer.findStudyRecord(patientRecord, studyUid);
+        if (studyRecord == null) {
+            studyRecord = recordFactory.createRecord(RecordType.STUDY, null, dataset, null, null);
+            writer.addLowerDirectoryRecord(patientRecord, studyRecord);
+        }
+        Attributes seriesRecord = writer.findSeriesRecord(studyRecord, seriesUid);
+        if (seriesRecord == null) {
+            seriesRecord = recordFactory.createRecord(RecordType.SERIES, null, dataset, null, null);
+            writer.addLowerDirectoryRecord(studyRecord, seriesRecord);
+        }
+        writer.addLowerDirectoryRecord(seriesRecord, recordFactory.createRecord(dataset, fmi, fileIds));
+    }
+
+    /**
+     * Stream the staged files into a ZIP image, verifying each file against the manifest.
+     *
+     * @return SHA-256 of the ZIP image
+     */
+    private String writeZip(ExportJob job, Path stagingDir, Manifest manifest, Path zip, boolean compress)
+            throws IOException {
+        Path part = zip.resolveSibling(zip.getFileName() + PART_SUFFIX);
+        MessageDigest zipDigest = sha256();
+
+        try (OutputStream file = Files.newOutputStream(part);
+             ZipOutputStream out = new ZipOutputStream(
+                     new DigestOutputStream(new BufferedOutputStream(file, 1 << 16), zipDigest))) {
+            out.setLevel(compress ? Deflater.DEFAULT_COMPRESSION : Deflater.NO_COMPRESSION);
+            for (String target : manifest.paths()) {
+                out.putNextEntry(new ZipEntry(target));
+                verifyAndCopy(job, stagingDir.resolve(target), manifest.checksum(target), out);
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry(MANIFEST_NAME));
+            Files.copy(stagingDir.resolve(MANIFEST_NAME), out);
+            out.closeEntry();
+        }
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(part, zip, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return HEX.formatHex(zipDigest.digest());
+    }
+
+    /**
+     * Verify every staged file against the manifest without building an image.
+     */
+    private void verifyStaged(ExportJob job, Path stagingDir, Manifest manifest) throws IOException {
+        for (String target : manifest.paths()) {
+            verifyAndCopy(job, stagingDir.resolve(target), manifest.checksum(target), null);
+        }
+    }
+
+    private void verifyAndCopy(ExportJob job, Path staged, String expectedChecksum, OutputStream out)
+            throws IOException {
+        if (job.cancelled.get()) {
+            throw new InterruptedIOException("Export cancelled");
+        }
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(16, radiologyProperties.getExport().getBufferSizeKb()) * 1024);
+        try (FileChannel in = FileChannel.open(staged, StandardOpenOption.READ)) {
+            while (in.read(buffer.clear()) >= 0) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                if (out != null) {
+                    out.write(buffer.array(), 0, buffer.limit());
+                }
+            }
+        }
+        String actual = HEX.formatHex(digest.digest());
+        if (!actual.equals(expectedChecksum)) {
+            throw new FileStorageException("Checksum mismatch for staged file " + staged.getFileName()
+                    + "; delete the export to restage it");
+        }
+    }
+
+    private void reportProgress(ExportJob job) {
+        try {
+            burningService.updateExportProgress(job.requestId, job.totalFiles.get(), job.filesWritten.get(),
+                    job.totalBytes.get(), job.bytesWritten.get());
+        } catch (Exception e) {
+            log.warn("Could not update CD export progress for {}: {}", job.requestNumber, e.getMessage());
+        }
+    }
+
+    private Path exportRoot() {
+        return Paths.get(radiologyProperties.getExport().getExportDir()).toAbsolutePath().normalize();
+    }
+
+    private static String checksum(Path path) throws IOException {
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            Files.copy(path, out);
+        }
+        return HEX.formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    /**
+     * Export phases reported in {@link ExportProgress}.
+     */
+    public enum ExportPhase {
+        NOT_STARTED, QUEUED, PLANNING, STAGING, DICOMDIR, PACKAGING, COMPLETED, FAILED
+    }
+
+    /**
+     * Point-in-time progress of an export job.
+     */
+    public record ExportProgress(
+            UUID requestId,
+            String requestNumber,
+            ExportPhase phase,
+            int totalFiles,
+            int filesWritten,
+            long totalBytes,
+            long bytesWritten
+    ) {
+        public int percentComplete() {
+            return totalBytes > 0 ? (int) Math.min(100, bytesWritten * 100 / totalBytes) : 0;
+        }
+    }
+
+    private record FileTask(Path source, String target, long size, boolean dicom) {
+    }
+
+    private static final class ExportJob {
+        private final UUID requestId;
+        private final String requestNumber;
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final AtomicInteger totalFiles = new AtomicInteger();
+        private final AtomicInteger filesWritten = new AtomicInteger();
+        private final AtomicLong totalBytes = new AtomicLong();
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private volatile ExportPhase phase = ExportPhase.QUEUED;
+
+        private ExportJob(UUID requestId, String requestNumber) {
+            this.requestId = requestId;
+            this.requestNumber = requestNumber;
+        }
+
+        private ExportProgress snapshot() {
+            return new ExportProgress(requestId, requestNumber, phase, totalFiles.get(), filesWritten.get(),
+                    totalBytes.get(), bytesWritten.get());
+        }
+    }
+
+    /**
+     * Staged files and their SHA-256, persisted in sha256sum format so the manifest
+     * can also be checked on the recipient's side.
+     */
+    private static final class Manifest {
+        private final Path file;
+        private final Map<String, String> checksums = new LinkedHashMap<>();
+
+        private Manifest(Path file) {
+            this.file = file;
+        }
+
+        static Manifest load(Path file) throws IOException {
+            Manifest manifest = new Manifest(file);
+            if (Files.exists(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    int separator = line.indexOf("  ");
+                    if (separator == 64) {
+                        manifest.checksums.put(line.substring(separator + 2), line.substring(0, separator));
+                    }
+                }
+            }
+            return manifest;
+        }
+
+        synchronized boolean isStaged(String target, Path stagingDir) {
+            return checksums.containsKey(target) && Files.isRegularFile(stagingDir.resolve(target));
+        }
+
+        synchronized void record(String target, String checksum) throws IOException {
+            checksums.put(target, checksum);
+            String line = checksum + "  " + target + "\n";
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+                channel.force(false);
+            }
+        }
+
+        synchronized String checksum(String target) {
+            return checksums.get(target);
+        }
+
+        synchronized List<String> paths() {
+            return checksums.keySet().stream().sorted().toList();
+        }
+
+        /**
+         * Rewrite the manifest sorted and without superseded entries.
+         */
+        synchronized void compact() throws IOException {
+            Path part = file.resolveSibling(file.getFileName() + PART_SUFFIX);
+            try (BufferedWriter writer = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+                for (String target : checksums.keySet().stream().sorted().toList()) {
+                    writer.write(checksums.get(target) + "  " + target + "\n");
+                }
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.yudha.hms.radiology.service;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import com.yudha.hms.radiology.constant.WorklistStatus;
+import com.yudha.hms.radiology.entity.DicomWorklist;
+import com.yudha.hms.radiology.repository.DicomWorklistRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory index of scheduled procedure steps for DICOM Modality Worklist queries.
+ *
+ * Holds the worklist entries scheduled from today up to the configured look-ahead,
+ * keyed by scheduled date plus modality and by scheduled date plus station AE title.
+ * Modality C-FIND requests are answered from this index without touching the
+ * database.
+ *
+ * The index is loaded on startup, updated by {@link DicomWorklistService} on every
+ * worklist change, and fully reloaded periodically so changes made on other nodes
+ * and the date rollover are picked up.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-22
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DicomWorklistIndex {
+
+    private static final Set<WorklistStatus> ACTIVE_STATUSES = Set.of(
+            WorklistStatus.PENDING,
+            WorklistStatus.SCHEDULED,
+            WorklistStatus.SENT_TO_MODALITY,
+            WorklistStatus.IN_PROGRESS
+    );
+
+    private static final Comparator<Entry> BY_SCHEDULED_TIME = Comparator
+            .comparing(Entry::scheduledDate)
+            .thenComparing(Entry::scheduledTime, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::accessionNumber);
+
+    private final DicomWorklistRepository worklistRepository;
+    private final RadiologyProperties radiologyProperties;
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+
+    /**
+     * Reload the index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${hms.radiology.worklist.refresh-interval-ms:60000}",
+            initialDelayString = "${hms.radiology.worklist.refresh-interval-ms:60000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(radiologyProperties.getWorklist().getLookaheadDays());
+
+        List<Entry> entries = worklistRepository.findActiveForWorklist(from, to, ACTIVE_STATUSES).stream()
+                .map(Entry::from)
+                .toList();
+
+        synchronized (this) {
+            snapshot = Snapshot.of(entries, from, to);
+        }
+        log.debug("DICOM worklist index reloaded: {} entries for {} - {}", entries.size(), from, to);
+    }
+
+    /**
+     * Add, replace or remove a worklist entry after it changed.
+     *
+     * @param worklist Saved worklist entity
+     */
+    public void update(DicomWorklist worklist) {
+        Entry entry = Entry.from(worklist);
+        synchronized (this) {
+            Snapshot current = snapshot;
+            boolean indexed = worklist.getDeletedAt() == null
+                    && ACTIVE_STATUSES.contains(worklist.getWorklistStatus())
+                    && current.covers(entry.scheduledDate());
+            snapshot = indexed ? current.with(entry) : current.without(entry.id());
+        }
+    }
+
+    /**
+     * Find scheduled procedure steps.
+     *
+     * @param modality Modality code (null/blank = any)
+     * @param aeTitle Scheduled station AE title (null/blank = any)
+     * @param fromDate First scheduled date (null = today)
+     * @param toDate Last scheduled date (null = same as fromDate)
+     * @return Matching entries ordered by scheduled date/time
+     */
+    public List<Entry> find(String modality, String aeTitle, LocalDate fromDate, LocalDate toDate) {
+        Snapshot current = snapshot;
+        LocalDate from = fromDate != null ? fromDate : LocalDate.now();
+        LocalDate to = toDate != null ? toDate : from;
+        String modalityKey = normalize(modality);
+        String aeTitleKey = normalize(aeTitle);
+
+        List<Entry> result = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            Collection<Entry> candidates;
+            if (aeTitleKey != null) {
+                candidates = current.byAeTitle().getOrDefault(new Key(date, aeTitleKey), List.of());
+            } else if (modalityKey != null) {
+                candidates = current.byModality().getOrDefault(new Key(date, modalityKey), List.of());
+            } else {
+                candidates = current.byDate().getOrDefault(date, List.of());
+            }
+            for (Entry entry : candidates) {
+                if (modalityKey == null || modalityKey.equals(normalize(entry.modalityCode()))) {
+                    result.add(entry);
+                }
+            }
+        }
+        result.sort(BY_SCHEDULED_TIME);
+        return result;
+    }
+
+    /**
+     * Get number of indexed entries.
+     *
+     * @return Entry count
+     */
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable view of a scheduled procedure step.
+     */
+    public record Entry(
+            UUID id,
+            String patientId,
+            String patientName,
+            LocalDate patientBirthDate,
+            String patientSex,
+            String accessionNumber,
+            String studyInstanceUid,
+            String requestedProcedureId,
+            String requestedProcedureDescription,
+            String scheduledProcedureStepId,
+            String scheduledProcedureStepDescription,
+            String scheduledProcedureStepStatus,
+            String modalityCode,
+            String scheduledStationAeTitle,
+            String scheduledStationName,
+            LocalDate scheduledDate,
+            LocalTime scheduledTime,
+            String referringPhysicianName,
+            String scheduledPerformingPhysicianName,
+            String studyDescription,
+            String bodyPartExamined,
+            boolean sentToModality
+    ) {
+        static Entry from(DicomWorklist worklist) {
+            return new Entry(
+                    worklist.getId(),
+                    worklist.getPatientId(),
+                    worklist.getPatientName(),
+                    worklist.getPatientBirthDate(),
+                    worklist.getPatientSex(),
+                    worklist.getAccessionNumber(),
+                    worklist.getStudyInstanceUid(),
+                    worklist.getRequestedProcedureId(),
+                    worklist.getRequestedProcedureDescription(),
+                    worklist.getScheduledProcedureStepId(),
+                    worklist.getScheduledProcedureStepDescription(),
+                    worklist.getScheduledProcedureStepStatus(),
+                    worklist.getModalityCode(),
+                    worklist.getScheduledStationAeTitle(),
+                    worklist.getScheduledStationName(),
+                    worklist.getScheduledProcedureStepStartDate(),
+                    worklist.getScheduledProcedureStepStartTime(),
+                    worklist.getReferringPhysicianName(),
+                    worklist.getScheduledPerformingPhysicianName(),
+                    worklist.getStudyDescription(),
+                    worklist.getBodyPartExamined(),
+                    Boolean.TRUE.equals(worklist.getSentToModality())
+            );
+        }
+    }
+
+    private record Key(LocalDate date, String value) {
+    }
+
+    /**
+     * Copy-on-write index state. Readers never lock; writers build a new snapshot.
+     */
+    private record Snapshot(
+            Map<UUID, Entry> byId,
+            Map<LocalDate, List<Entry>> byDate,
+            Map<Key, List<Entry>> byModality,
+            Map<Key, List<Entry>> byAeTitle,
+            LocalDate from,
+            LocalDate to
+    ) {
+        static Snapshot empty() {
+            LocalDate today = LocalDate.now();
+            return new Snapshot(Map.of(), Map.of(), Map.of(), Map.of(), today, today.minusDays(1));
+        }
+
+        static Snapshot of(Collection<Entry> entries, LocalDate from, LocalDate to) {
+            Map<UUID, Entry> byId = new HashMap<>();
+            Map<LocalDate, List<Entry>> byDate = new HashMap<>();
+            Map<Key, List<Entry>> byModality = new HashMap<>();
+            Map<Key, List<Entry>> byAeTitle = new HashMap<>();
+
+            for (Entry entry : entries) {
+                if (entry.scheduledDate() == null) {
+                    continue;
+                }
+                byId.put(entry.id(), entry);
+                byDate.computeIfAbsent(entry.scheduledDate(), d -> new ArrayList<>()).add(entry);
+                String modality = normalize(entry.modalityCode());
+                if (modality != null) {
+                    byModality.computeIfAbsent(new Key(entry.scheduledDate(), modality), k -> new ArrayList<>()).add(entry);
+                }
+                String aeTitle = normalize(entry.scheduledStationAeTitle());
+                if (aeTitle != null) {
+                    byAeTitle.computeIfAbsent(new Key(entry.scheduledDate(), aeTitle), k -> new ArrayList<>()).add(entry);
+                }
+            }
+            return new Snapshot(byId, byDate, byModality, byAeTitle, from, to);
+        }
+
+        boolean covers(LocalDate date) {
+            return date != null && !date.isBefore(from) && !date.isAfter(to);
+        }
+
+        Snapshot with(Entry entry) {
+            Map<UUID, Entry> entries = new HashMap<>(byId);
+            entries.put(entry.id(), entry);
+            return of(entries.values(), from, to);
+        }
+
+        Snapshot without(UUID id) {
+            if (!byId.containsKey(id)) {
+                return this;
+            }
+            Map<UUID, Entry> entries = new HashMap<>(byId);
+            entries.remove(id);
+            return of(entries.values(), from, to);
+        }
+    }
+}
@@ -9,6 +9,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -30,6 +32,7 @@ import java.util.UUID;
  * - Query worklists by date, modality, status
  * - Mark worklist as acknowledged by modality
  * - Cancel worklist entries
+ * - Keep the in-memory MWL index in sync for modality C-FIND queries
  *
  * @author HMS Development Team
  * @version 1.0.0
@@ -42,6 +45,7 @@ import java.util.UUID;
 public class DicomWorklistService {
 
     private final DicomWorklistRepository worklistRepository;
+    private final DicomWorklistIndex worklistIndex;
 
     /**
      * Create a DICOM worklist entry from radiology order.
@@ -83,7 +87,7 @@ public class DicomWorklistService {
                 .acknowledgedByModality(false)
                 .build();
 
-        DicomWorklist saved = worklistRepository.save(worklist);
+        DicomWorklist saved = save(worklist);
         log.info("Worklist entry created successfully: {}", saved.getAccessionNumber());
         return saved;
     }
@@ -209,7 +213,7 @@ public class DicomWorklistService {
             worklist.setActualProcedureStepEndTime(LocalTime.now());
         }
 
-        return worklistRepository.save(worklist);
+        return save(worklist);
     }
 
     /**
@@ -229,7 +233,7 @@ public class DicomWorklistService {
             worklist.setWorklistStatus(WorklistStatus.SENT_TO_MODALITY);
         }
 
-        return worklistRepository.save(worklist);
+        return save(worklist);
     }
 
     /**
@@ -246,7 +250,7 @@ public class DicomWorklistService {
         worklist.setAcknowledgedAt(LocalDateTime.now());
         worklist.setWorklistStatus(WorklistStatus.SCHEDULED);
 
-        return worklistRepository.save(worklist);
+        return save(worklist);
     }
 
     /**
@@ -265,7 +269,7 @@ public class DicomWorklistService {
         worklist.setScheduledProcedureStepStartTime(scheduledTime);
         worklist.setWorklistStatus(WorklistStatus.SCHEDULED);
 
-        return worklistRepository.save(worklist);
+        return save(worklist);
     }
 
     /**
@@ -283,7 +287,7 @@ public class DicomWorklistService {
         worklist.setCancellationReason(reason);
         worklist.setCancelledAt(LocalDateTime.now());
 
-        return worklistRepository.save(worklist);
+        return save(worklist);
     }
 
     /**
@@ -307,6 +311,28 @@ public class DicomWorklistService {
 
         DicomWorklist worklist = getWorklistById(id);
         worklist.setDeletedAt(LocalDateTime.now());
-        worklistRepository.save(worklist);
+        save(worklist);
+    }
+
+    /**
+     * Persist a worklist entry and refresh its entry in the MWL index once the
+     * transaction commits, so a rolled-back change is never served to modalities.
+     *
+     * @param worklist Worklist entry
+     * @return Saved worklist entry
+     */
+    private DicomWorklist save(DicomWorklist worklist) {
+        DicomWorklist saved = worklistRepository.save(worklist);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worklistIndex.update(saved);
+                }
+            });
+        } else {
+            worklistIndex.update(saved);
+        }
+        return saved;
     }
 }
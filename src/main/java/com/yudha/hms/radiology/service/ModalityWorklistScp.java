@@ -0,0 +1,300 @@
+package com.yudha.hms.radiology.service;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dcm4che3.data.Attributes;
+import org.dcm4che3.data.Tag;
+import org.dcm4che3.data.UID;
+import org.dcm4che3.data.VR;
+import org.dcm4che3.net.ApplicationEntity;
+import org.dcm4che3.net.Association;
+import org.dcm4che3.net.Connection;
+import org.dcm4che3.net.Device;
+import org.dcm4che3.net.Status;
+import org.dcm4che3.net.TransferCapability;
+import org.dcm4che3.net.pdu.PresentationContext;
+import org.dcm4che3.net.service.BasicCEchoSCP;
+import org.dcm4che3.net.service.BasicCFindSCP;
+import org.dcm4che3.net.service.BasicQueryTask;
+import org.dcm4che3.net.service.DicomServiceException;
+import org.dcm4che3.net.service.DicomServiceRegistry;
+import org.dcm4che3.net.service.QueryTask;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * DICOM Modality Worklist SCP.
+ *
+ * Accepts C-ECHO and Modality Worklist C-FIND associations from imaging
+ * equipment and answers worklist queries from {@link DicomWorklistIndex}.
+ * Matching keys supported: Modality, Scheduled Station AE Title and
+ * Scheduled Procedure Step Start Date (single date or range). Other keys
+ * are returned as stored; the modality applies any remaining filtering.
+ *
+ * Disabled by default; enable with hms.radiology.worklist.scp-enabled.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-22
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModalityWorklistScp {
+
+    private static final DateTimeFormatter DICOM_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter DICOM_TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    private final RadiologyProperties radiologyProperties;
+    private final DicomWorklistIndex worklistIndex;
+    private final DicomWorklistService worklistService;
+
+    private Device device;
+    private ExecutorService executor;
+    private ScheduledExecutorService scheduledExecutor;
+
+    /**
+     * Start listening once the application (and the worklist index) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        RadiologyProperties.Worklist config = radiologyProperties.getWorklist();
+        if (!config.isScpEnabled() || device != null) {
+            return;
+        }
+
+        Connection connection = new Connection();
+        connection.setPort(config.getPort());
+        if (config.getBindAddress() != null && !config.getBindAddress().isBlank()) {
+            connection.setHostname(config.getBindAddress());
+            connection.setBindAddress(config.getBindAddress());
+        }
+
+        ApplicationEntity ae = new ApplicationEntity(config.getAeTitle());
+        ae.setAssociationAcceptor(true);
+        ae.addConnection(connection);
+        ae.addTransferCapability(new TransferCapability(null,
+                UID.Verification, TransferCapability.Role.SCP, UID.ImplicitVRLittleEndian));
+        ae.addTransferCapability(new TransferCapability(null,
+                UID.ModalityWorklistInformationModelFind, TransferCapability.Role.SCP,
+                UID.ImplicitVRLittleEndian, UID.ExplicitVRLittleEndian));
+
+        DicomServiceRegistry serviceRegistry = new DicomServiceRegistry();
+        serviceRegistry.addDicomService(new BasicCEchoSCP());
+        serviceRegistry.addDicomService(new WorklistFindScp());
+
+        Device newDevice = new Device("hms-mwl-scp");
+        newDevice.addConnection(connection);
+        newDevice.addApplicationEntity(ae);
+        newDevice.setDimseRQHandler(serviceRegistry);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        newDevice.setExecutor(executor);
+        newDevice.setScheduledExecutor(scheduledExecutor);
+
+        try {
+            newDevice.bindConnections();
+            device = newDevice;
+            log.info("DICOM MWL SCP {} listening on port {}", config.getAeTitle(), config.getPort());
+        } catch (Exception e) {
+            log.error("Failed to start DICOM MWL SCP on port {}: {}", config.getPort(), e.getMessage());
+            executor.shutdownNow();
+            scheduledExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Stop listening and release the port.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (device == null) {
+            return;
+        }
+        device.unbindConnections();
+        executor.shutdown();
+        scheduledExecutor.shutdown();
+        device = null;
+        log.info("DICOM MWL SCP stopped");
+    }
+
+    /**
+     * Check whether the SCP is currently listening.
+     *
+     * @return true if bound
+     */
+    public synchronized boolean isRunning() {
+        return device != null;
+    }
+
+    /**
+     * Modality Worklist C-FIND service backed by the in-memory index.
+     */
+    private class WorklistFindScp extends BasicCFindSCP {
+
+        WorklistFindScp() {
+            super(UID.ModalityWorklistInformationModelFind);
+        }
+
+        @Override
+        protected QueryTask calculateMatches(Association as, PresentationContext pc, Attributes rq, Attributes keys)
+                throws DicomServiceException {
+            Attributes spsKeys = keys.getNestedDataset(Tag.ScheduledProcedureStepSequence);
+            String modality = spsKeys != null ? matchValue(spsKeys.getString(Tag.Modality)) : null;
+            String aeTitle = spsKeys != null ? matchValue(spsKeys.getString(Tag.ScheduledStationAETitle)) : null;
+            LocalDate[] dateRange = parseDateRange(spsKeys != null
+                    ? spsKeys.getString(Tag.ScheduledProcedureStepStartDate) : null);
+
+            List<DicomWorklistIndex.Entry> matches = worklistIndex.find(modality, aeTitle, dateRange[0], dateRange[1]);
+            log.debug("MWL C-FIND from {}: modality={}, aeTitle={}, dates={}..{} -> {} matches",
+                    as.getCallingAET(), modality, aeTitle, dateRange[0], dateRange[1], matches.size());
+
+            if (radiologyProperties.getWorklist().isMarkSentOnQuery()) {
+                markSent(matches);
+            }
+            return new WorklistQueryTask(as, pc, rq, keys, matches.iterator());
+        }
+    }
+
+    private static class WorklistQueryTask extends BasicQueryTask {
+
+        private final Iterator<DicomWorklistIndex.Entry> matches;
+
+        WorklistQueryTask(Association as, PresentationContext pc, Attributes rq, Attributes keys,
+                          Iterator<DicomWorklistIndex.Entry> matches) {
+            super(as, pc, rq, keys);
+            this.matches = matches;
+        }
+
+        @Override
+        protected boolean hasMoreMatches() {
+            return matches.hasNext();
+        }
+
+        @Override
+        protected Attributes nextMatch() {
+            return toAttributes(matches.next());
+        }
+    }
+
+    /**
+     * Flag entries returned to a modality for the first time, off the association thread.
+     */
+    private void markSent(List<DicomWorklistIndex.Entry> matches) {
+        List<UUID> unsent = new ArrayList<>();
+        for (DicomWorklistIndex.Entry entry : matches) {
+            if (!entry.sentToModality()) {
+                unsent.add(entry.id());
+            }
+        }
+        if (unsent.isEmpty()) {
+            return;
+        }
+        executor.execute(() -> {
+            for (UUID id : unsent) {
+                try {
+                    worklistService.markAsSentToModality(id);
+                } catch (Exception e) {
+                    log.warn("Failed to mark worklist {} as sent to modality: {}", id, e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static Attributes toAttributes(DicomWorklistIndex.Entry entry) {
+        Attributes sps = new Attributes();
+        setString(sps, Tag.Modality, VR.CS, entry.modalityCode());
+        setString(sps, Tag.ScheduledStationAETitle, VR.AE, entry.scheduledStationAeTitle());
+        setString(sps, Tag.ScheduledStationName, VR.SH, entry.scheduledStationName());
+        setString(sps, Tag.ScheduledProcedureStepStartDate, VR.DA,
+                entry.scheduledDate() != null ? entry.scheduledDate().format(DICOM_DATE) : null);
+        setString(sps, Tag.ScheduledProcedureStepStartTime, VR.TM,
+                entry.scheduledTime() != null ? entry.scheduledTime().format(DICOM_TIME) : null);
+        setString(sps, Tag.ScheduledPerformingPhysicianName, VR.PN, entry.scheduledPerformingPhysicianName());
+        setString(sps, Tag.ScheduledProcedureStepDescription, VR.LO, entry.scheduledProcedureStepDescription());
+        setString(sps, Tag.ScheduledProcedureStepID, VR.SH,
+                entry.scheduledProcedureStepId() != null ? entry.scheduledProcedureStepId() : entry.accessionNumber());
+        setString(sps, Tag.ScheduledProcedureStepStatus, VR.CS, entry.scheduledProcedureStepStatus());
+
+        Attributes attrs = new Attributes();
+        attrs.newSequence(Tag.ScheduledProcedureStepSequence, 1).add(sps);
+        setString(attrs, Tag.AccessionNumber, VR.SH, entry.accessionNumber());
+        setString(attrs, Tag.ReferringPhysicianName, VR.PN, entry.referringPhysicianName());
+        setString(attrs, Tag.PatientName, VR.PN, entry.patientName());
+        setString(attrs, Tag.PatientID, VR.LO, entry.patientId());
+        setString(attrs, Tag.PatientBirthDate, VR.DA,
+                entry.patientBirthDate() != null ? entry.patientBirthDate().format(DICOM_DATE) : null);
+        setString(attrs, Tag.PatientSex, VR.CS, entry.patientSex());
+        setString(attrs, Tag.StudyInstanceUID, VR.UI, entry.studyInstanceUid());
+        setString(attrs, Tag.RequestedProcedureDescription, VR.LO, entry.requestedProcedureDescription());
+        setString(attrs, Tag.RequestedProcedureID, VR.SH, entry.requestedProcedureId());
+        setString(attrs, Tag.StudyDescription, VR.LO, entry.studyDescription());
+        setString(attrs, Tag.BodyPartExamined, VR.CS, entry.bodyPartExamined());
+        return attrs;
+    }
+
+    private static void setString(Attributes attrs, int tag, VR vr, String value) {
+        if (value != null) {
+            attrs.setString(tag, vr, value);
+        }
+    }
+
+    /**
+     * Treat universal matching ("" or "*") as no constraint.
+     */
+    private static String matchValue(String value) {
+        if (value == null || value.isBlank() || "*".equals(value.trim())) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Parse a DICOM DA matching key: "YYYYMMDD", "YYYYMMDD-YYYYMMDD", "-YYYYMMDD" or "YYYYMMDD-".
+     * Open ends are clamped to the index window; an empty key means today.
+     */
+    private LocalDate[] parseDateRange(String value) throws DicomServiceException {
+        LocalDate today = LocalDate.now();
+        LocalDate lastIndexed = today.plusDays(radiologyProperties.getWorklist().getLookaheadDays());
+        if (value == null || value.isBlank()) {
+            return new LocalDate[]{today, today};
+        }
+
+        try {
+            int dash = value.indexOf('-');
+            if (dash < 0) {
+                LocalDate date = LocalDate.parse(value.trim(), DICOM_DATE);
+                return new LocalDate[]{date, date};
+            }
+            String from = value.substring(0, dash).trim();
+            String to = value.substring(dash + 1).trim();
+            LocalDate fromDate = from.isEmpty() ? today : LocalDate.parse(from, DICOM_DATE);
+            LocalDate toDate = to.isEmpty() ? lastIndexed : LocalDate.parse(to, DICOM_DATE);
+            if (fromDate.isBefore(today)) {
+                fromDate = today;
+            }
+            if (toDate.isAfter(lastIndexed)) {
+                toDate = lastIndexed;
+            }
+            return new LocalDate[]{fromDate, toDate};
+        } catch (DateTimeParseException e) {
+            throw new DicomServiceException(Status.IdentifierDoesNotMatchSOPClass,
+                    "Invalid Scheduled Procedure Step Start Date: " + value);
+        }
+    }
+}
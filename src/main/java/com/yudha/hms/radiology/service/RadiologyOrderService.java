@@ -1,11 +1,14 @@
 package com.yudha.hms.radiology.service;
 
+import com.yudha.hms.billing.constant.TariffType;
+import com.yudha.hms.billing.event.ChargeEvent;
 import com.yudha.hms.radiology.constant.OrderPriority;
 import com.yudha.hms.radiology.constant.OrderStatus;
 import com.yudha.hms.radiology.entity.*;
 import com.yudha.hms.radiology.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -51,6 +54,7 @@ public class RadiologyOrderService {
     private final RadiologyOrderItemRepository orderItemRepository;
     private final RadiologyExaminationRepository examinationRepository;
     private final RadiologyRoomRepository roomRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new radiology order with examination items.
@@ -209,6 +213,10 @@ public class RadiologyOrderService {
             order.setNotes(updatedNotes);
         }
 
+        if (newStatus == OrderStatus.CANCELLED) {
+            orderItemRepository.findByOrderId(orderId).forEach(item -> publishReversal(item, notes));
+        }
+
         RadiologyOrder updated = orderRepository.save(order);
         log.info("Order status updated successfully: {} → {}", previousStatus, newStatus);
         return updated;
@@ -245,6 +253,7 @@ public class RadiologyOrderService {
         for (RadiologyOrderItem item : items) {
             item.setStatus(OrderStatus.CANCELLED);
             orderItemRepository.save(item);
+            publishReversal(item, reason);
         }
 
         RadiologyOrder updated = orderRepository.save(order);
@@ -485,7 +494,39 @@ public class RadiologyOrderService {
                 .status(OrderStatus.PENDING)
                 .build();
 
-        return orderItemRepository.save(item);
+        RadiologyOrderItem saved = orderItemRepository.save(item);
+        publishCharge(order, saved);
+        return saved;
+    }
+
+    /**
+     * Charge an ordered examination to the running bill of the order's encounter.
+     */
+    private void publishCharge(RadiologyOrder order, RadiologyOrderItem item) {
+        if (order.getEncounter() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(ChargeEvent.builder()
+                .chargeKey(ChargeEvent.key("RAD", item.getId()))
+                .encounterId(order.getEncounter().getId())
+                .tariffCode(item.getExamCode())
+                .itemType(TariffType.RADIOLOGY)
+                .itemName(item.getExamName())
+                .quantity(item.getQuantity() != null ? item.getQuantity() : 1)
+                .sourceUnitPrice(item.getUnitPrice())
+                .serviceDate(order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : null)
+                .sourceReferenceType("RADIOLOGY_ORDER_ITEM")
+                .sourceReferenceId(item.getId())
+                .departmentName(order.getOrderingDepartment())
+                .practitionerId(order.getOrderingDoctorId())
+                .build());
+    }
+
+    /**
+     * Take a cancelled examination off the running bill.
+     */
+    private void publishReversal(RadiologyOrderItem item, String reason) {
+        eventPublisher.publishEvent(ChargeEvent.reversal(ChargeEvent.key("RAD", item.getId()), reason));
     }
 
     /**
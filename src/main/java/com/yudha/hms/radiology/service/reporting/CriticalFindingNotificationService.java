@@ -1,5 +1,6 @@
 package com.yudha.hms.radiology.service.reporting;
 
+import com.yudha.hms.radiology.config.RadiologyProperties;
 import com.yudha.hms.radiology.constant.reporting.FindingSeverity;
 import com.yudha.hms.radiology.constant.reporting.NotificationPriority;
 import com.yudha.hms.radiology.entity.reporting.CriticalFindingNotification;
@@ -19,12 +20,17 @@ import java.util.UUID;
 public class CriticalFindingNotificationService {
 
     private final CriticalFindingNotificationRepository criticalFindingNotificationRepository;
+    private final RadiologyProperties radiologyProperties;
 
     @Transactional
     public CriticalFindingNotification createNotification(CriticalFindingNotification notification) {
         log.info("Creating critical finding notification for report: {}", notification.getReportId());
         
         notification.setNotifiedAt(LocalDateTime.now());
+        notification.setNextAttemptAt(Boolean.TRUE.equals(notification.getAcknowledged())
+                ? null
+                : notification.getNotifiedAt().plusMinutes(
+                        radiologyProperties.getDispatch().getCriticalFindingReminderMinutes()));
         
         return criticalFindingNotificationRepository.save(notification);
     }
@@ -96,6 +102,7 @@ public class CriticalFindingNotificationService {
         notification.setAcknowledgedBy(acknowledgedBy);
         notification.setAcknowledgedAt(LocalDateTime.now());
         notification.setAcknowledgmentMethod(acknowledgmentMethod);
+        notification.setNextAttemptAt(null);
         
         return criticalFindingNotificationRepository.save(notification);
     }
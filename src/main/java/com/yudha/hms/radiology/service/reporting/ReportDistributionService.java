@@ -139,6 +139,7 @@ public class ReportDistributionService {
         distribution.setLastRetryAt(LocalDateTime.now());
         distribution.setDistributionStatus(DistributionStatus.PENDING);
         distribution.setFailed(false);
+        distribution.setNextAttemptAt(null);
         
         return reportDistributionRepository.save(distribution);
     }
@@ -0,0 +1,131 @@
+package com.yudha.hms.radiology.service.reporting;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import com.yudha.hms.radiology.constant.reporting.StatisticsPeriodType;
+import com.yudha.hms.radiology.repository.reporting.ReportStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Computes {@code ReportStatistics} rows from radiology reports, amendments,
+ * distributions and critical finding notifications.
+ *
+ * Each period is aggregated with a single set-based upsert producing one overall
+ * row plus one row per radiologist, department and modality. The periodic refresh
+ * is incremental: only periods containing reports changed since the last
+ * computation (and the current periods) are recomputed. Recomputing a period is
+ * idempotent, so concurrent runs on several nodes are harmless.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportStatisticsAggregationService {
+
+    /**
+     * Overlap with the previous run so changes committed by long transactions are not missed
+     */
+    private static final long CHANGE_DETECTION_OVERLAP_MINUTES = 5;
+
+    private final ReportStatisticsRepository reportStatisticsRepository;
+    private final RadiologyProperties radiologyProperties;
+
+    @Scheduled(fixedDelayString = "${hms.radiology.statistics.refresh-interval-ms:300000}",
+            initialDelayString = "${hms.radiology.statistics.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        if (!radiologyProperties.getStatistics().isEnabled()) {
+            return;
+        }
+        try {
+            refreshChangedPeriods();
+        } catch (Exception e) {
+            log.error("Radiology report statistics refresh failed", e);
+        }
+    }
+
+    @Transactional
+    public int refreshChangedPeriods() {
+        LocalDateTime lastComputedAt = reportStatisticsRepository.findLastComputedAt();
+        LocalDateTime since = lastComputedAt != null
+                ? lastComputedAt.minusMinutes(CHANGE_DETECTION_OVERLAP_MINUTES)
+                : LocalDateTime.now().minusDays(radiologyProperties.getStatistics().getInitialLookbackDays());
+
+        Set<LocalDate> changedDates = new TreeSet<>();
+        for (Object value : reportStatisticsRepository.findReportDatesChangedSince(since)) {
+            changedDates.add(toLocalDate(value));
+        }
+        changedDates.add(LocalDate.now());
+
+        int periods = 0;
+        for (StatisticsPeriodType periodType : StatisticsPeriodType.values()) {
+            Set<LocalDate> periodStarts = new TreeSet<>();
+            for (LocalDate date : changedDates) {
+                periodStarts.add(periodType.periodStart(date));
+            }
+            for (LocalDate periodStart : periodStarts) {
+                recomputePeriod(periodType, periodStart);
+                periods++;
+            }
+        }
+
+        log.info("Radiology report statistics refreshed: {} changed dates, {} periods recomputed",
+                changedDates.size(), periods);
+        return periods;
+    }
+
+    @Transactional
+    public int recomputeRange(StatisticsPeriodType periodType, LocalDate startDate, LocalDate endDate) {
+        log.info("Recomputing {} radiology report statistics from {} to {}", periodType, startDate, endDate);
+
+        int periods = 0;
+        for (LocalDate periodStart = periodType.periodStart(startDate);
+             !periodStart.isAfter(endDate);
+             periodStart = periodType.periodEnd(periodStart).plusDays(1)) {
+            recomputePeriod(periodType, periodStart);
+            periods++;
+        }
+        return periods;
+    }
+
+    @Transactional
+    public int recomputePeriod(StatisticsPeriodType periodType, LocalDate periodStart) {
+        LocalDate periodEnd = periodType.periodEnd(periodStart);
+        // PostgreSQL stores microseconds; truncate so the stale-row comparison matches exactly
+        LocalDateTime computedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        int rows = reportStatisticsRepository.upsertPeriodStatistics(
+                periodType.name(),
+                periodStart,
+                periodEnd,
+                periodEnd.plusDays(1),
+                computedAt
+        );
+        int stale = reportStatisticsRepository.softDeleteStalePeriodStatistics(
+                periodType.name(),
+                periodStart,
+                computedAt
+        );
+
+        log.debug("Computed {} statistics for {} - {}: {} rows, {} stale removed",
+                periodType, periodStart, periodEnd, rows, stale);
+        return rows;
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return LocalDate.parse(value.toString());
+    }
+}
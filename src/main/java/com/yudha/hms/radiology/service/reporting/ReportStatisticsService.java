@@ -82,6 +82,14 @@ public class ReportStatisticsService {
         return reportStatisticsRepository.findByPeriodTypeAndDateRange(periodType, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public List<ReportStatistics> getOverallStatistics(
+            String periodType,
+            LocalDate startDate,
+            LocalDate endDate) {
+        return reportStatisticsRepository.findOverallByPeriodTypeAndDateRange(periodType, startDate, endDate);
+    }
+
     @Transactional(readOnly = true)
     public List<ReportStatistics> getStatisticsByRadiologistAndPeriodType(
             UUID radiologistId,
@@ -0,0 +1,18 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.constant.reporting.NotificationMethod;
+import com.yudha.hms.radiology.entity.reporting.CriticalFindingNotification;
+
+/**
+ * Notification channel for critical finding reminders (SMS, email, paging, ...).
+ *
+ * Implementations are Spring beans; the dispatcher uses the first channel (by
+ * {@link org.springframework.core.annotation.Order}) that supports the method.
+ * A send is considered failed when {@link #send} throws.
+ */
+public interface CriticalFindingChannel {
+
+    boolean supports(NotificationMethod method);
+
+    void send(CriticalFindingNotification notification) throws Exception;
+}
@@ -0,0 +1,23 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import java.util.UUID;
+
+/**
+ * Result of one send attempt, recorded in batches after the sends complete.
+ * {@code channelMissing} marks a row that was not attempted because no channel
+ * supports its method.
+ */
+public record DispatchOutcome(UUID id, boolean success, String error, boolean channelMissing) {
+
+    public static DispatchOutcome success(UUID id) {
+        return new DispatchOutcome(id, true, null, false);
+    }
+
+    public static DispatchOutcome failure(UUID id, String error) {
+        return new DispatchOutcome(id, false, error, false);
+    }
+
+    public static DispatchOutcome channelMissing(UUID id, String error) {
+        return new DispatchOutcome(id, false, error, true);
+    }
+}
@@ -0,0 +1,38 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.constant.reporting.NotificationMethod;
+import com.yudha.hms.radiology.entity.reporting.CriticalFindingNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dev-only logging channel: accepts every notification method and only logs the reminder,
+ * nothing is sent by SMS, email or pager. Only active in the dev profile: elsewhere a
+ * reminder without a real {@link CriticalFindingChannel} is recorded as a failed dispatch,
+ * never as a notification attempt.
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class LoggingCriticalFindingChannel implements CriticalFindingChannel {
+
+    @Override
+    public boolean supports(NotificationMethod method) {
+        return true;
+    }
+
+    @Override
+    public void send(CriticalFindingNotification notification) {
+        log.warn("CRITICAL FINDING REMINDER for report {}: {} - notify {} ({}) via {}, attempt {}",
+                notification.getReportId(),
+                notification.getFindingDescription(),
+                notification.getNotifiedTo(),
+                notification.getNotifiedToRole(),
+                notification.getNotificationMethod(),
+                notification.getNotificationAttempts() != null ? notification.getNotificationAttempts() + 1 : 1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.constant.reporting.DistributionMethod;
+import com.yudha.hms.radiology.entity.reporting.ReportDistribution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dev-only logging channel: accepts every distribution method and only logs the send,
+ * nothing is delivered by email, fax, portal or HL7. Only active in the dev profile:
+ * elsewhere a distribution without a real {@link ReportDistributionChannel} stays
+ * PENDING instead of being marked SENT.
+ */
+@Component
+@Profile("dev")
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class LoggingReportDistributionChannel implements ReportDistributionChannel {
+
+    @Override
+    public boolean supports(DistributionMethod method) {
+        return true;
+    }
+
+    @Override
+    public void deliver(ReportDistribution distribution) {
+        log.info("Distributing report {} to {} ({}) via {}",
+                distribution.getReportId(),
+                distribution.getRecipientName(),
+                distribution.getRecipientType(),
+                distribution.getDistributionMethod());
+    }
+}
@@ -0,0 +1,174 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import com.yudha.hms.radiology.constant.reporting.DistributionStatus;
+import com.yudha.hms.radiology.entity.reporting.CriticalFindingNotification;
+import com.yudha.hms.radiology.entity.reporting.ReportDistribution;
+import com.yudha.hms.radiology.repository.reporting.CriticalFindingNotificationRepository;
+import com.yudha.hms.radiology.repository.reporting.RadiologyReportRepository;
+import com.yudha.hms.radiology.repository.reporting.ReportDistributionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional claim/record steps of the radiology dispatcher.
+ *
+ * Claiming locks due rows with {@code FOR UPDATE SKIP LOCKED}, stamps a lease and
+ * commits before anything is sent, so other nodes skip those rows. Outcomes of a
+ * whole batch are written back in one transaction after the sends complete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportDispatchQueueService {
+
+    private final ReportDistributionRepository reportDistributionRepository;
+    private final CriticalFindingNotificationRepository criticalFindingNotificationRepository;
+    private final RadiologyReportRepository radiologyReportRepository;
+    private final RadiologyProperties radiologyProperties;
+
+    @Transactional
+    public List<ReportDistribution> claimDistributions(String nodeId, LocalDateTime now) {
+        RadiologyProperties.Dispatch dispatch = radiologyProperties.getDispatch();
+        List<ReportDistribution> claimed = reportDistributionRepository.lockDueForDispatch(now, dispatch.getBatchSize());
+        LocalDateTime leaseUntil = now.plusSeconds(dispatch.getLeaseSeconds());
+
+        for (ReportDistribution distribution : claimed) {
+            if (distribution.getDistributionStatus() == DistributionStatus.FAILED) {
+                distribution.setRetryCount(valueOf(distribution.getRetryCount()) + 1);
+                distribution.setLastRetryAt(now);
+            }
+            distribution.setClaimedBy(nodeId);
+            distribution.setClaimedUntil(leaseUntil);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void recordDistributionOutcomes(String nodeId, List<DispatchOutcome> outcomes) {
+        RadiologyProperties.Dispatch dispatch = radiologyProperties.getDispatch();
+        Map<UUID, DispatchOutcome> outcomesById = outcomes.stream()
+                .collect(Collectors.toMap(DispatchOutcome::id, Function.identity()));
+        List<ReportDistribution> distributions = reportDistributionRepository.findAllById(outcomesById.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> distributedReportIds = new HashSet<>();
+
+        for (ReportDistribution distribution : distributions) {
+            if (!nodeId.equals(distribution.getClaimedBy())) {
+                log.warn("Dispatch lease lost for distribution {}, outcome not recorded", distribution.getId());
+                continue;
+            }
+            DispatchOutcome outcome = outcomesById.get(distribution.getId());
+            distribution.setClaimedBy(null);
+            distribution.setClaimedUntil(null);
+
+            if (outcome.channelMissing()) {
+                // Nothing was attempted: keep the status, undo the retry counted at claim time
+                if (distribution.getDistributionStatus() == DistributionStatus.FAILED) {
+                    distribution.setRetryCount(Math.max(0, valueOf(distribution.getRetryCount()) - 1));
+                }
+                distribution.setFailureReason(outcome.error());
+                distribution.setNextAttemptAt(now.plusSeconds(dispatch.getMaxBackoffSeconds()));
+                log.warn("Distribution {} left {}: {}",
+                        distribution.getId(), distribution.getDistributionStatus(), outcome.error());
+            } else if (outcome.success()) {
+                distribution.setDistributionStatus(DistributionStatus.SENT);
+                distribution.setSentAt(now);
+                distribution.setFailed(false);
+                distribution.setFailureReason(null);
+                distribution.setNextAttemptAt(null);
+                distributedReportIds.add(distribution.getReportId());
+            } else {
+                int retries = valueOf(distribution.getRetryCount());
+                int maxRetries = distribution.getMaxRetries() != null ? distribution.getMaxRetries() : 3;
+                distribution.setDistributionStatus(DistributionStatus.FAILED);
+                distribution.setFailed(true);
+                distribution.setFailureReason(outcome.error());
+                distribution.setNextAttemptAt(retries < maxRetries
+                        ? now.plusSeconds(dispatch.backoffSeconds(retries + 1))
+                        : null);
+                log.warn("Distribution {} failed (retry {}/{}): {}",
+                        distribution.getId(), retries, maxRetries, outcome.error());
+            }
+        }
+
+        reportDistributionRepository.saveAll(distributions);
+        if (!distributedReportIds.isEmpty()) {
+            radiologyReportRepository.markDistributed(distributedReportIds, now);
+        }
+    }
+
+    @Transactional
+    public List<CriticalFindingNotification> claimCriticalFindings(String nodeId, LocalDateTime now) {
+        RadiologyProperties.Dispatch dispatch = radiologyProperties.getDispatch();
+        List<CriticalFindingNotification> claimed =
+                criticalFindingNotificationRepository.lockDueForDispatch(now, dispatch.getBatchSize());
+        LocalDateTime leaseUntil = now.plusSeconds(dispatch.getLeaseSeconds());
+
+        for (CriticalFindingNotification notification : claimed) {
+            notification.setClaimedBy(nodeId);
+            notification.setClaimedUntil(leaseUntil);
+        }
+        return claimed;
+    }
+
+    @Transactional
+    public void recordCriticalFindingOutcomes(String nodeId, List<DispatchOutcome> outcomes) {
+        RadiologyProperties.Dispatch dispatch = radiologyProperties.getDispatch();
+        Map<UUID, DispatchOutcome> outcomesById = outcomes.stream()
+                .collect(Collectors.toMap(DispatchOutcome::id, Function.identity()));
+        List<CriticalFindingNotification> notifications =
+                criticalFindingNotificationRepository.findAllById(outcomesById.keySet());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (CriticalFindingNotification notification : notifications) {
+            if (!nodeId.equals(notification.getClaimedBy())) {
+                log.warn("Dispatch lease lost for critical finding notification {}, outcome not recorded",
+                        notification.getId());
+                continue;
+            }
+            DispatchOutcome outcome = outcomesById.get(notification.getId());
+            notification.setClaimedBy(null);
+            notification.setClaimedUntil(null);
+
+            if (outcome.success()) {
+                int attempts = Math.max(valueOf(notification.getNotificationAttempts()), 1) + 1;
+                notification.setNotificationAttempts(attempts);
+                notification.setLastAttemptAt(now);
+                notification.setDispatchFailureCount(0);
+                notification.setLastDispatchError(null);
+                notification.setNextAttemptAt(attempts < dispatch.getCriticalFindingMaxAttempts()
+                        ? now.plusMinutes(dispatch.getCriticalFindingReminderMinutes())
+                        : null);
+            } else {
+                int failures = valueOf(notification.getDispatchFailureCount()) + 1;
+                notification.setDispatchFailureCount(failures);
+                notification.setLastDispatchError(outcome.error());
+                notification.setNextAttemptAt(now.plusSeconds(dispatch.backoffSeconds(failures)));
+                log.error("Critical finding reminder {} failed ({} consecutive failures): {}",
+                        notification.getId(), failures, outcome.error());
+            }
+
+            if (Boolean.TRUE.equals(notification.getAcknowledged())) {
+                notification.setNextAttemptAt(null);
+            }
+        }
+
+        criticalFindingNotificationRepository.saveAll(notifications);
+    }
+
+    private int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
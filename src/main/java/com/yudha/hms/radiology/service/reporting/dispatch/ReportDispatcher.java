@@ -0,0 +1,170 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.config.RadiologyProperties;
+import com.yudha.hms.radiology.constant.reporting.DistributionMethod;
+import com.yudha.hms.radiology.constant.reporting.NotificationMethod;
+import com.yudha.hms.radiology.entity.reporting.CriticalFindingNotification;
+import com.yudha.hms.radiology.entity.reporting.ReportDistribution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Sends due report distributions and critical finding reminders.
+ *
+ * Each poll claims a batch through {@link ReportDispatchQueueService}, sends the
+ * claimed rows concurrently on virtual threads (bounded by max-concurrent-sends)
+ * through the first matching channel, then records all outcomes in one batch.
+ * Failed sends are retried with exponential backoff. Any number of nodes can run
+ * the dispatcher; row locks and claim leases prevent double sending.
+ *
+ * A row whose method has no registered channel is never reported as sent: a
+ * distribution stays in its status and is looked at again after the maximum
+ * backoff, a critical finding reminder is recorded as a failed dispatch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportDispatcher {
+
+    private final ReportDispatchQueueService queueService;
+    private final ObjectProvider<ReportDistributionChannel> distributionChannels;
+    private final ObjectProvider<CriticalFindingChannel> criticalFindingChannels;
+    private final RadiologyProperties radiologyProperties;
+
+    private final String nodeId = resolveNodeId();
+
+    @Scheduled(fixedDelayString = "${hms.radiology.dispatch.poll-interval-ms:2000}")
+    public void poll() {
+        if (!radiologyProperties.getDispatch().isEnabled()) {
+            return;
+        }
+        try {
+            dispatchDistributions();
+        } catch (Exception e) {
+            log.error("Report distribution dispatch failed", e);
+        }
+        try {
+            dispatchCriticalFindings();
+        } catch (Exception e) {
+            log.error("Critical finding reminder dispatch failed", e);
+        }
+    }
+
+    public int dispatchDistributions() {
+        List<ReportDistribution> claimed = queueService.claimDistributions(nodeId, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<DispatchOutcome> outcomes = sendAll(claimed, ReportDistribution::getId,
+                distribution -> distributionChannel(distribution.getDistributionMethod()).deliver(distribution));
+        queueService.recordDistributionOutcomes(nodeId, outcomes);
+
+        log.info("Dispatched {} report distributions ({} failed)", outcomes.size(), countFailures(outcomes));
+        return outcomes.size();
+    }
+
+    public int dispatchCriticalFindings() {
+        List<CriticalFindingNotification> claimed = queueService.claimCriticalFindings(nodeId, LocalDateTime.now());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<DispatchOutcome> outcomes = sendAll(claimed, CriticalFindingNotification::getId,
+                notification -> criticalFindingChannel(notification.getNotificationMethod()).send(notification));
+        queueService.recordCriticalFindingOutcomes(nodeId, outcomes);
+
+        log.info("Dispatched {} critical finding reminders ({} failed)", outcomes.size(), countFailures(outcomes));
+        return outcomes.size();
+    }
+
+    private <T> List<DispatchOutcome> sendAll(List<T> items, Function<T, UUID> idOf, Sender<T> sender) {
+        Semaphore permits = new Semaphore(Math.max(1, radiologyProperties.getDispatch().getMaxConcurrentSends()));
+        List<Future<DispatchOutcome>> futures = new ArrayList<>(items.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                UUID id = idOf.apply(item);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        sender.send(item);
+                        return DispatchOutcome.success(id);
+                    } catch (NoChannelException e) {
+                        return DispatchOutcome.channelMissing(id, e.getMessage());
+                    } catch (Exception e) {
+                        return DispatchOutcome.failure(id, e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<DispatchOutcome> outcomes = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (Exception e) {
+                outcomes.add(DispatchOutcome.failure(idOf.apply(items.get(i)), e.toString()));
+            }
+        }
+        return outcomes;
+    }
+
+    private ReportDistributionChannel distributionChannel(DistributionMethod method) {
+        return distributionChannels.orderedStream()
+                .filter(channel -> channel.supports(method))
+                .findFirst()
+                .orElseThrow(() -> new NoChannelException("No distribution channel for method: " + method));
+    }
+
+    private CriticalFindingChannel criticalFindingChannel(NotificationMethod method) {
+        return criticalFindingChannels.orderedStream()
+                .filter(channel -> channel.supports(method))
+                .findFirst()
+                .orElseThrow(() -> new NoChannelException("No critical finding channel for method: " + method));
+    }
+
+    private long countFailures(List<DispatchOutcome> outcomes) {
+        return outcomes.stream().filter(outcome -> !outcome.success()).count();
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        if (host.length() > 80) {
+            host = host.substring(0, 80);
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @FunctionalInterface
+    private interface Sender<T> {
+        void send(T item) throws Exception;
+    }
+
+    private static class NoChannelException extends IllegalStateException {
+        NoChannelException(String message) {
+            super(message);
+        }
+    }
+}
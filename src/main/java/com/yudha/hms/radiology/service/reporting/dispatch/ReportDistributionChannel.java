@@ -0,0 +1,18 @@
+package com.yudha.hms.radiology.service.reporting.dispatch;
+
+import com.yudha.hms.radiology.constant.reporting.DistributionMethod;
+import com.yudha.hms.radiology.entity.reporting.ReportDistribution;
+
+/**
+ * Delivery channel for radiology report distributions (email, fax, portal, HL7, ...).
+ *
+ * Implementations are Spring beans; the dispatcher uses the first channel (by
+ * {@link org.springframework.core.annotation.Order}) that supports the method.
+ * A send is considered failed when {@link #deliver} throws.
+ */
+public interface ReportDistributionChannel {
+
+    boolean supports(DistributionMethod method);
+
+    void deliver(ReportDistribution distribution) throws Exception;
+}
@@ -0,0 +1,59 @@
+package com.yudha.hms.registration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Emergency Department Tracking Board Configuration Properties.
+ *
+ * Binds the in-memory ER tracking board and live push settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.emergency.board")
+@Data
+public class EmergencyBoardProperties {
+
+    /**
+     * Enable/disable the in-memory tracking board
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval of the full reload from the database in milliseconds.
+     * Picks up changes made on other nodes or outside the ER services.
+     * Default: 300000 (5 minutes)
+     */
+    private long resyncIntervalMs = 300000L;
+
+    /**
+     * Interval of the heartbeat sent to live subscribers in milliseconds
+     * Default: 15000 (15 seconds)
+     */
+    private long heartbeatIntervalMs = 15000L;
+
+    /**
+     * Lifetime of a live subscription before the client has to reconnect (milliseconds)
+     * Default: 1800000 (30 minutes)
+     */
+    private long subscriptionTimeoutMs = 1800000L;
+
+    /**
+     * Maximum concurrent live subscribers
+     */
+    private int maxSubscribers = 200;
+
+    /**
+     * Door-to-triage target; entries over it are flagged (minutes)
+     */
+    private int doorToTriageTargetMinutes = 10;
+
+    /**
+     * Door-to-doctor target; entries over it are flagged (minutes)
+     */
+    private int doorToDoctorTargetMinutes = 30;
+}
@@ -0,0 +1,45 @@
+package com.yudha.hms.registration.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Doctor Appointment Slot Inventory Configuration Properties.
+ *
+ * Binds slot materialization and availability grid caching settings from application.yml.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Configuration
+@ConfigurationProperties(prefix = "hms.outpatient.slot-inventory")
+@Data
+public class SlotInventoryProperties {
+
+    /**
+     * Slots are materialized from today up to this many days ahead.
+     * Later dates are materialized on first use.
+     */
+    private int horizonDays = 30;
+
+    /**
+     * Interval of re-materialization from doctor schedules in milliseconds.
+     * Picks up schedule changes for dates already materialized.
+     * Default: 3600000 (1 hour)
+     */
+    private long reconcileIntervalMs = 3600000L;
+
+    /**
+     * Time a polyclinic availability grid stays cached (seconds).
+     * Bookings on this node update the grid at once; this bounds how long
+     * bookings made on other nodes take to show.
+     */
+    private int gridTtlSeconds = 30;
+
+    /**
+     * Maximum cached polyclinic grids (polyclinic x date)
+     */
+    private int maxCachedGrids = 2000;
+}
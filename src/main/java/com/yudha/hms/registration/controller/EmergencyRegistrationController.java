@@ -3,18 +3,22 @@ package com.yudha.hms.registration.controller;
 import com.yudha.hms.registration.dto.AdmissionRequest;
 import com.yudha.hms.registration.dto.EmergencyRegistrationRequest;
 import com.yudha.hms.registration.dto.EmergencyRegistrationResponse;
+import com.yudha.hms.registration.dto.ErBoardEntry;
 import com.yudha.hms.registration.entity.EmergencyStatus;
 import com.yudha.hms.registration.entity.TriageLevel;
 import com.yudha.hms.registration.service.EmergencyRegistrationService;
+import com.yudha.hms.registration.service.EmergencyTrackingBoard;
 import com.yudha.hms.shared.dto.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,6 +46,7 @@ import java.util.UUID;
 public class EmergencyRegistrationController {
 
     private final EmergencyRegistrationService emergencyService;
+    private final EmergencyTrackingBoard trackingBoard;
 
     /**
      * Register new emergency patient (fast-track).
@@ -482,4 +487,67 @@ public class EmergencyRegistrationController {
         // For now, returning a simple response
         return ResponseEntity.ok(ApiResponse.success("ER statistics endpoint - to be implemented with detailed stats DTO"));
     }
+
+    /**
+     * Get the ER tracking board from memory, with door-to-triage and door-to-doctor timers.
+     *
+     * GET /api/emergency/board?zone=RED_ZONE
+     *
+     * @param zone optional ER zone filter
+     * @return board entries, critical first
+     */
+    @GetMapping("/board")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ER_NURSE', 'ER_DOCTOR')")
+    public ResponseEntity<ApiResponse<List<ErBoardEntry>>> getTrackingBoard(
+            @RequestParam(required = false) String zone) {
+        List<ErBoardEntry> entries = trackingBoard.getBoard(zone);
+        return ResponseEntity.ok(ApiResponse.success(
+            String.format("Retrieved %d patients on the ER board", entries.size()), entries));
+    }
+
+    /**
+     * Get critical patients from the ER tracking board.
+     *
+     * GET /api/emergency/board/critical
+     *
+     * @return critical board entries
+     */
+    @GetMapping("/board/critical")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ER_NURSE', 'ER_DOCTOR')")
+    public ResponseEntity<ApiResponse<List<ErBoardEntry>>> getTrackingBoardCritical() {
+        List<ErBoardEntry> entries = trackingBoard.getCritical();
+        return ResponseEntity.ok(ApiResponse.success(
+            String.format("Retrieved %d critical patients", entries.size()), entries));
+    }
+
+    /**
+     * Get patients waiting for triage from the ER tracking board, longest waiting first.
+     *
+     * GET /api/emergency/board/waiting-triage
+     *
+     * @return board entries not yet triaged
+     */
+    @GetMapping("/board/waiting-triage")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ER_NURSE', 'ER_DOCTOR')")
+    public ResponseEntity<ApiResponse<List<ErBoardEntry>>> getTrackingBoardWaitingForTriage() {
+        List<ErBoardEntry> entries = trackingBoard.getWaitingForTriage();
+        return ResponseEntity.ok(ApiResponse.success(
+            String.format("Retrieved %d patients waiting for triage", entries.size()), entries));
+    }
+
+    /**
+     * Subscribe to live ER tracking board changes (Server-Sent Events).
+     * Sends a "snapshot" event, then "upsert"/"remove" events and a periodic "heartbeat".
+     *
+     * GET /api/emergency/board/stream?zone=RED_ZONE
+     *
+     * @param zone optional ER zone filter
+     * @return event stream
+     */
+    @GetMapping(value = "/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'ER_NURSE', 'ER_DOCTOR')")
+    public SseEmitter streamTrackingBoard(@RequestParam(required = false) String zone) {
+        log.info("New ER tracking board subscriber, zone: {}", zone);
+        return trackingBoard.subscribe(zone);
+    }
 }
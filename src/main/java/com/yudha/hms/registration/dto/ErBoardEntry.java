@@ -0,0 +1,67 @@
+package com.yudha.hms.registration.dto;
+
+import com.yudha.hms.registration.entity.EmergencyStatus;
+import com.yudha.hms.registration.entity.TriageLevel;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one patient on the emergency department tracking board.
+ *
+ * Timer minutes are computed when the entry is read: while a step is still pending
+ * they keep counting from arrival.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErBoardEntry {
+
+    private UUID id;
+    private String emergencyNumber;
+
+    // Patient
+    private UUID patientId;
+    private String patientName;
+    private String patientMrn;
+    private Boolean isUnknownPatient;
+    private String estimatedGender;
+    private Integer estimatedAge;
+    private String chiefComplaint;
+
+    // Triage
+    private TriageLevel triageLevel;
+    private Integer triagePriority;
+    private Boolean isCritical;
+    private Boolean requiresIsolation;
+    private EmergencyStatus status;
+
+    // Location and staff
+    private String erZone;
+    private String erBedNumber;
+    private String attendingDoctorName;
+    private String assignedNurseName;
+
+    // Timestamps
+    private LocalDateTime arrivalTime;
+    private LocalDateTime triageTime;
+    private LocalDateTime treatmentStartTime;
+
+    // Interventions
+    private Integer interventionCount;
+    private LocalDateTime lastInterventionTime;
+    private String lastInterventionName;
+
+    // Timers (minutes, computed on read)
+    private Long doorToTriageMinutes;
+    private Long doorToDoctorMinutes;
+    private Long minutesInEr;
+    private Boolean doorToTriageOverdue;
+    private Boolean doorToDoctorOverdue;
+}
@@ -9,6 +9,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -66,6 +67,9 @@ public class OutpatientRegistrationResponse {
     private String paymentMethodDisplay;
     private Boolean isBpjs;
     private String bpjsCardNumber;
+    private String bpjsClassEntitlement; // Hak kelas 1/2/3 from eligibility check
+    private Boolean bpjsQueueRegistered; // Visit registered in BPJS Antrean RS
+    private Map<String, Long> bpjsStepLatenciesMs; // BPJS call latency per workflow step
     private BigDecimal registrationFee;
     private BigDecimal consultationFee;
     private BigDecimal totalFee;
@@ -101,6 +101,9 @@ public class Doctor extends AuditableEntity {
     @Builder.Default
     private BigDecimal bpjsConsultationFee = BigDecimal.ZERO;
 
+    @Column(name = "bpjs_doctor_code")
+    private Integer bpjsDoctorCode; // BPJS Antrean RS kodedokter
+
     // ========== Status ==========
     @Column(name = "is_active")
     @Builder.Default
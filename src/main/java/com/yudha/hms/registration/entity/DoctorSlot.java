@@ -0,0 +1,61 @@
+package com.yudha.hms.registration.entity;
+
+import com.yudha.hms.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Doctor Slot Entity.
+ *
+ * One appointment time slot of a doctor slot day.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "doctor_slot", schema = "registration_schema",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_doctor_slot", columnNames = {"doctor_id", "slot_date", "start_time"})
+    },
+    indexes = {
+        @Index(name = "idx_doctor_slot_day", columnList = "day_id")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Comment("Appointment time slots of a doctor slot day")
+public class DoctorSlot extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "day_id", nullable = false)
+    private DoctorSlotDay day;
+
+    @Column(name = "doctor_id", nullable = false)
+    private UUID doctorId;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "capacity", nullable = false)
+    @Builder.Default
+    private Integer capacity = 1;
+
+    @Column(name = "booked_count", nullable = false)
+    @Builder.Default
+    private Integer bookedCount = 0;
+}
@@ -0,0 +1,79 @@
+package com.yudha.hms.registration.entity;
+
+import com.yudha.hms.shared.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Comment;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Doctor Slot Day Entity.
+ *
+ * Daily patient capacity of a doctor at a polyclinic, materialized from the doctor
+ * schedule valid on that date. Appointments and walk-ins both count against it.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Entity
+@Table(name = "doctor_slot_day", schema = "registration_schema",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_doctor_slot_day", columnNames = {"doctor_id", "polyclinic_id", "slot_date"})
+    },
+    indexes = {
+        @Index(name = "idx_doctor_slot_day_polyclinic_date", columnList = "polyclinic_id, slot_date"),
+        @Index(name = "idx_doctor_slot_day_date", columnList = "slot_date")
+    }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Comment("Daily patient capacity of a doctor at a polyclinic, materialized from doctor_schedule")
+public class DoctorSlotDay extends BaseEntity {
+
+    // ========== References ==========
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "polyclinic_id", nullable = false)
+    private Polyclinic polyclinic;
+
+    @Column(name = "schedule_id")
+    private UUID scheduleId;
+
+    // ========== Timing ==========
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    @Column(name = "slot_duration_minutes", nullable = false)
+    private Integer slotDurationMinutes;
+
+    // ========== Capacity ==========
+    @Column(name = "max_patients", nullable = false)
+    private Integer maxPatients;
+
+    @Column(name = "booked_count", nullable = false)
+    @Builder.Default
+    private Integer bookedCount = 0;
+
+    /**
+     * Check if the day still has capacity.
+     */
+    public boolean hasCapacity() {
+        return bookedCount < maxPatients;
+    }
+}
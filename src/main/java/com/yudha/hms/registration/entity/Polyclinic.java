@@ -54,6 +54,9 @@ public class Polyclinic extends AuditableEntity {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
+    @Column(name = "bpjs_poli_code", length = 10)
+    private String bpjsPoliCode; // BPJS Antrean RS poli code: INT, ANA, etc.
+
     // ========== Location ==========
     @Column(name = "floor_location", length = 50)
     private String floorLocation; // Lantai 1, Lantai 2, etc.
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -103,4 +104,15 @@ public interface BedRepository extends JpaRepository<Bed, UUID> {
      */
     @Query("SELECT COUNT(b) FROM Bed b WHERE b.room.id = :roomId AND b.isOccupied = true")
     long countOccupiedByRoomId(@Param("roomId") UUID roomId);
+
+    /**
+     * Count active and available beds per room.
+     *
+     * @param roomIds room IDs
+     * @return rows of [roomId, activeBeds, availableBeds]
+     */
+    @Query("SELECT b.room.id, COUNT(b), " +
+           "SUM(CASE WHEN b.isOccupied = false AND b.isMaintenance = false THEN 1 ELSE 0 END) " +
+           "FROM Bed b WHERE b.room.id IN :roomIds AND b.isActive = true GROUP BY b.room.id")
+    List<Object[]> countBedsByRoomIds(@Param("roomIds") Collection<UUID> roomIds);
 }
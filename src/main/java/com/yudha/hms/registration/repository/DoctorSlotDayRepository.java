@@ -0,0 +1,82 @@
+package com.yudha.hms.registration.repository;
+
+import com.yudha.hms.registration.entity.DoctorSlotDay;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for DoctorSlotDay entities.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface DoctorSlotDayRepository extends JpaRepository<DoctorSlotDay, UUID> {
+
+    /**
+     * Find slot days of a date.
+     */
+    List<DoctorSlotDay> findBySlotDate(LocalDate slotDate);
+
+    /**
+     * Find and lock slot days of a date, so concurrent claims wait until materialization commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DoctorSlotDay d WHERE d.slotDate = :date ORDER BY d.id")
+    List<DoctorSlotDay> findBySlotDateForUpdate(@Param("date") LocalDate date);
+
+    /**
+     * Find the slot day of a doctor at a polyclinic.
+     */
+    Optional<DoctorSlotDay> findByDoctorIdAndPolyclinicIdAndSlotDate(
+        UUID doctorId,
+        UUID polyclinicId,
+        LocalDate slotDate
+    );
+
+    /**
+     * Find slot days of a polyclinic with doctor and polyclinic loaded.
+     */
+    @Query("SELECT d FROM DoctorSlotDay d JOIN FETCH d.doctor JOIN FETCH d.polyclinic " +
+           "WHERE d.polyclinic.id = :polyclinicId AND d.slotDate = :date " +
+           "ORDER BY d.startTime ASC")
+    List<DoctorSlotDay> findGridDays(
+        @Param("polyclinicId") UUID polyclinicId,
+        @Param("date") LocalDate date
+    );
+
+    /**
+     * Claim one patient of the day's capacity.
+     *
+     * @return 1 if claimed, 0 if the day is full
+     */
+    @Modifying
+    @Query("UPDATE DoctorSlotDay d SET d.bookedCount = d.bookedCount + 1 " +
+           "WHERE d.id = :id AND d.bookedCount < d.maxPatients")
+    int claim(@Param("id") UUID id);
+
+    /**
+     * Give back one patient of the day's capacity.
+     */
+    @Modifying
+    @Query("UPDATE DoctorSlotDay d SET d.bookedCount = d.bookedCount - 1 " +
+           "WHERE d.id = :id AND d.bookedCount > 0")
+    int release(@Param("id") UUID id);
+
+    /**
+     * Serialize slot materialization of one date across nodes (transaction-scoped).
+     */
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:key)) l", nativeQuery = true)
+    int lockForMaterialization(@Param("key") long key);
+}
@@ -0,0 +1,64 @@
+package com.yudha.hms.registration.repository;
+
+import com.yudha.hms.registration.entity.DoctorSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for DoctorSlot entities.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Repository
+public interface DoctorSlotRepository extends JpaRepository<DoctorSlot, UUID> {
+
+    /**
+     * Find the slot of a doctor starting at a time.
+     */
+    Optional<DoctorSlot> findByDoctorIdAndSlotDateAndStartTime(UUID doctorId, LocalDate slotDate, LocalTime startTime);
+
+    /**
+     * Find slots of slot days, in time order.
+     */
+    @Query("SELECT s FROM DoctorSlot s WHERE s.day.id IN :dayIds ORDER BY s.startTime ASC")
+    List<DoctorSlot> findByDayIds(@Param("dayIds") Collection<UUID> dayIds);
+
+    /**
+     * Find and lock slots of slot days, so concurrent claims wait until materialization commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM DoctorSlot s WHERE s.day.id IN :dayIds ORDER BY s.id")
+    List<DoctorSlot> findByDayIdsForUpdate(@Param("dayIds") Collection<UUID> dayIds);
+
+    /**
+     * Claim one booking of a slot.
+     *
+     * @return 1 if claimed, 0 if the slot is full
+     */
+    @Modifying
+    @Query("UPDATE DoctorSlot s SET s.bookedCount = s.bookedCount + 1 " +
+           "WHERE s.id = :id AND s.bookedCount < s.capacity")
+    int claim(@Param("id") UUID id);
+
+    /**
+     * Give back one booking of a slot.
+     */
+    @Modifying
+    @Query("UPDATE DoctorSlot s SET s.bookedCount = s.bookedCount - 1 " +
+           "WHERE s.id = :id AND s.bookedCount > 0")
+    int release(@Param("id") UUID id);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -194,4 +195,17 @@ public interface EmergencyInterventionRepository extends JpaRepository<Emergency
     List<EmergencyIntervention> findPendingCriticalInterventions(
         @Param("emergencyRegistrationId") UUID emergencyRegistrationId
     );
+
+    /**
+     * Count interventions and find the latest intervention time per emergency registration.
+     *
+     * @return rows of [emergencyRegistrationId, count, latestInterventionTime]
+     */
+    @Query("SELECT ei.emergencyRegistration.id, COUNT(ei), MAX(ei.interventionTime) " +
+           "FROM EmergencyIntervention ei " +
+           "WHERE ei.emergencyRegistration.id IN :emergencyRegistrationIds " +
+           "GROUP BY ei.emergencyRegistration.id")
+    List<Object[]> summarizeByEmergencyRegistrationIds(
+        @Param("emergencyRegistrationIds") Collection<UUID> emergencyRegistrationIds
+    );
 }
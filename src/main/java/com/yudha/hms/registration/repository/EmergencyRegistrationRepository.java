@@ -9,6 +9,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -120,4 +121,9 @@ public interface EmergencyRegistrationRepository extends JpaRepository<Emergency
      */
     @Query("SELECT e.emergencyNumber FROM EmergencyRegistration e WHERE e.emergencyNumber LIKE :prefix% ORDER BY e.emergencyNumber DESC LIMIT 1")
     Optional<String> findLatestEmergencyNumberWithPrefix(@Param("prefix") String prefix);
+
+    /**
+     * Find registrations in the given statuses (tracking board load).
+     */
+    List<EmergencyRegistration> findByStatusInAndDeletedAtIsNull(Collection<EmergencyStatus> statuses);
 }
@@ -103,6 +103,20 @@ public interface OutpatientRegistrationRepository extends JpaRepository<Outpatie
         @Param("date") LocalDate date
     );
 
+    /**
+     * Count walk-ins of a doctor at a polyclinic on a date (excluding cancelled).
+     */
+    @Query("SELECT COUNT(r) FROM OutpatientRegistration r WHERE r.doctor.id = :doctorId " +
+           "AND r.polyclinic.id = :polyclinicId " +
+           "AND r.registrationDate = :date " +
+           "AND r.registrationType = 'WALK_IN' " +
+           "AND r.status != 'CANCELLED'")
+    long countWalkIns(
+        @Param("doctorId") UUID doctorId,
+        @Param("polyclinicId") UUID polyclinicId,
+        @Param("date") LocalDate date
+    );
+
     /**
      * Check if appointment time slot is available.
      */
@@ -170,6 +184,16 @@ public interface OutpatientRegistrationRepository extends JpaRepository<Outpatie
      */
     boolean existsByRegistrationNumber(String registrationNumber);
 
+    /**
+     * Check if patient has any previous outpatient registration.
+     */
+    boolean existsByPatientId(UUID patientId);
+
+    /**
+     * Check if patient has registrations other than the given one.
+     */
+    boolean existsByPatientIdAndIdNot(UUID patientId, UUID id);
+
     /**
      * Find registrations by payment method.
      */
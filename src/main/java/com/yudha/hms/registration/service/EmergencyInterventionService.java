@@ -38,6 +38,7 @@ public class EmergencyInterventionService {
     private final EmergencyInterventionRepository interventionRepository;
     private final EmergencyRegistrationRepository emergencyRepository;
     private final EncounterRepository encounterRepository;
+    private final EmergencyTrackingBoard trackingBoard;
 
     /**
      * Record a new emergency intervention.
@@ -68,6 +69,8 @@ public class EmergencyInterventionService {
         intervention = interventionRepository.save(intervention);
 
         log.info("Intervention recorded: {} - {}", intervention.getInterventionType(), intervention.getInterventionName());
+        trackingBoard.recordIntervention(emergencyRegistrationId,
+            intervention.getInterventionName(), intervention.getInterventionTime());
 
         return mapToResponse(intervention);
     }
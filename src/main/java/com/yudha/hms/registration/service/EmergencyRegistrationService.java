@@ -43,6 +43,7 @@ public class EmergencyRegistrationService {
     private final PatientRepository patientRepository;
     private final InpatientAdmissionService inpatientAdmissionService;
     private final EncounterService encounterService;
+    private final EmergencyTrackingBoard trackingBoard;
 
     /**
      * Register emergency patient with fast-track support.
@@ -116,6 +117,7 @@ public class EmergencyRegistrationService {
             emergencyNumber,
             saved.isPatientIdentified() ? "Patient ID: " + saved.getPatientId() : saved.getTemporaryName());
 
+        trackingBoard.publish(saved);
         return convertToResponse(saved);
     }
 
@@ -236,6 +238,7 @@ public class EmergencyRegistrationService {
         log.info("Emergency patient {} converted to inpatient admission: {}",
             emergency.getEmergencyNumber(), admissionResponse.getAdmissionNumber());
 
+        trackingBoard.publish(emergency);
         return convertToResponse(emergency);
     }
 
@@ -260,6 +263,7 @@ public class EmergencyRegistrationService {
         log.info("Patient discharged from ER: {} with disposition: {}",
             emergency.getEmergencyNumber(), disposition);
 
+        trackingBoard.publish(emergency);
         return convertToResponse(emergency);
     }
 
@@ -298,6 +302,7 @@ public class EmergencyRegistrationService {
         log.info("Unknown patient {} linked to patient ID: {} and encounter created: {}",
             saved.getUnknownPatientIdentifier(), patientId, encounter.getId());
 
+        trackingBoard.publish(saved);
         return convertToResponse(saved);
     }
 
@@ -313,6 +318,7 @@ public class EmergencyRegistrationService {
         emergency.setErBedNumber(bedNumber);
         emergencyRepository.save(emergency);
 
+        trackingBoard.publish(emergency);
         return convertToResponse(emergency);
     }
 
@@ -427,6 +433,7 @@ public class EmergencyRegistrationService {
         }
 
         emergencyRepository.save(emergency);
+        trackingBoard.publish(emergency);
         return convertToResponse(emergency);
     }
 
@@ -441,6 +448,7 @@ public class EmergencyRegistrationService {
             .orElseThrow(() -> new ResourceNotFoundException("Emergency Registration", "ID", emergencyId));
 
         emergencyRepository.delete(emergency);
+        trackingBoard.remove(emergencyId);
     }
 
     // ========== Private Helper Methods ==========
@@ -0,0 +1,471 @@
+package com.yudha.hms.registration.service;
+
+import com.yudha.hms.patient.entity.Patient;
+import com.yudha.hms.patient.repository.PatientRepository;
+import com.yudha.hms.registration.config.EmergencyBoardProperties;
+import com.yudha.hms.registration.dto.ErBoardEntry;
+import com.yudha.hms.registration.entity.EmergencyRegistration;
+import com.yudha.hms.registration.entity.EmergencyStatus;
+import com.yudha.hms.registration.repository.EmergencyInterventionRepository;
+import com.yudha.hms.registration.repository.EmergencyRegistrationRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * In-memory Emergency Department tracking board.
+ *
+ * Holds one entry per patient currently in the ER (triage level, zone/bed, staff, key
+ * timestamps and intervention summary) so ER screens are served without database queries.
+ * The registration, triage and intervention services publish their changes here; changes
+ * are applied after the surrounding transaction commits, so rolled-back work never shows.
+ * Door-to-triage, door-to-doctor and time-in-ER timers are computed when entries are read.
+ *
+ * Screens subscribe over Server-Sent Events: a subscriber receives the board once
+ * ("snapshot") and then only changed entries ("upsert") and departures ("remove"), plus a
+ * periodic "heartbeat" carrying the server time so clients can tick timers locally.
+ *
+ * The board is loaded on startup and reloaded periodically; a reload pushes only the
+ * differences, which also picks up changes made on other nodes.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmergencyTrackingBoard {
+
+    private static final Set<EmergencyStatus> ACTIVE_STATUSES = EnumSet.of(
+        EmergencyStatus.REGISTERED,
+        EmergencyStatus.ARRIVED,
+        EmergencyStatus.TRIAGED,
+        EmergencyStatus.IN_TREATMENT,
+        EmergencyStatus.WAITING_RESULTS
+    );
+
+    private static final Comparator<ErBoardEntry> BOARD_ORDER = Comparator
+        .comparing((ErBoardEntry e) -> !Boolean.TRUE.equals(e.getIsCritical()))
+        .thenComparing(ErBoardEntry::getTriagePriority, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(ErBoardEntry::getArrivalTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<ErBoardEntry> ARRIVAL_ORDER =
+        Comparator.comparing(ErBoardEntry::getArrivalTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final EmergencyRegistrationRepository emergencyRepository;
+    private final EmergencyInterventionRepository interventionRepository;
+    private final PatientRepository patientRepository;
+    private final EmergencyBoardProperties properties;
+
+    private final Map<UUID, ErBoardEntry> entries = new ConcurrentHashMap<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService pushExecutor =
+        Executors.newSingleThreadExecutor(Thread.ofVirtual().name("er-board-push").factory());
+
+    // ========== Change Publication ==========
+
+    /**
+     * Publish the current state of an emergency registration.
+     * Entries leave the board once the registration is no longer active.
+     *
+     * @param emergency emergency registration (as saved by the caller)
+     */
+    public void publish(EmergencyRegistration emergency) {
+        if (!properties.isEnabled() || emergency == null || emergency.getId() == null) {
+            return;
+        }
+        ErBoardEntry entry = toEntry(emergency, entries.get(emergency.getId()));
+        afterCommit(() -> apply(entry));
+    }
+
+    /**
+     * Remove a registration from the board (deleted registrations).
+     *
+     * @param emergencyId emergency registration ID
+     */
+    public void remove(UUID emergencyId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> {
+            if (entries.remove(emergencyId) != null) {
+                broadcastRemove(emergencyId);
+            }
+        });
+    }
+
+    /**
+     * Record an intervention on a board entry.
+     *
+     * @param emergencyId emergency registration ID
+     * @param interventionName intervention name
+     * @param interventionTime intervention time
+     */
+    public void recordIntervention(UUID emergencyId, String interventionName, LocalDateTime interventionTime) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() -> {
+            ErBoardEntry updated = entries.computeIfPresent(emergencyId, (id, entry) -> {
+                boolean latest = entry.getLastInterventionTime() == null
+                    || (interventionTime != null && !interventionTime.isBefore(entry.getLastInterventionTime()));
+                return entry.toBuilder()
+                    .interventionCount(Objects.requireNonNullElse(entry.getInterventionCount(), 0) + 1)
+                    .lastInterventionTime(latest ? interventionTime : entry.getLastInterventionTime())
+                    .lastInterventionName(latest ? interventionName : entry.getLastInterventionName())
+                    .build();
+            });
+            if (updated != null) {
+                broadcastUpsert(updated);
+            }
+        });
+    }
+
+    // ========== Board Queries ==========
+
+    /**
+     * Get all patients on the board, critical first, then by triage priority and arrival.
+     *
+     * @param zone ER zone filter, or null for all zones
+     * @return board entries with current timers
+     */
+    public List<ErBoardEntry> getBoard(String zone) {
+        return query(entry -> zone == null || zone.equals(entry.getErZone()), BOARD_ORDER);
+    }
+
+    /**
+     * Get critical patients on the board.
+     *
+     * @return board entries with current timers
+     */
+    public List<ErBoardEntry> getCritical() {
+        return query(entry -> Boolean.TRUE.equals(entry.getIsCritical()), BOARD_ORDER);
+    }
+
+    /**
+     * Get patients still waiting for triage, longest waiting first.
+     *
+     * @return board entries with current timers
+     */
+    public List<ErBoardEntry> getWaitingForTriage() {
+        return query(entry -> entry.getTriageTime() == null, ARRIVAL_ORDER);
+    }
+
+    /**
+     * Get one board entry.
+     *
+     * @param emergencyId emergency registration ID
+     * @return entry with current timers, or null if the patient is not on the board
+     */
+    public ErBoardEntry getEntry(UUID emergencyId) {
+        ErBoardEntry entry = entries.get(emergencyId);
+        return entry != null ? withTimers(entry, LocalDateTime.now()) : null;
+    }
+
+    /**
+     * Number of patients on the board.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // ========== Live Push ==========
+
+    /**
+     * Subscribe to board changes.
+     *
+     * @param zone ER zone filter, or null for all zones
+     * @return SSE emitter receiving the snapshot followed by changes
+     */
+    public SseEmitter subscribe(String zone) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new BusinessException("Too many tracking board subscribers, please retry later");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSubscriptionTimeoutMs());
+        Subscriber subscriber = new Subscriber(emitter, zone);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        // Snapshot and later changes go through the same executor, so they arrive in order
+        pushExecutor.execute(() -> {
+            subscribers.add(subscriber);
+            send(subscriber, "snapshot", getBoard(zone));
+        });
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${hms.emergency.board.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        pushExecutor.execute(() -> subscribers.forEach(subscriber -> send(subscriber, "heartbeat", now)));
+    }
+
+    // ========== Load / Resync ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            resync();
+        } catch (Exception e) {
+            log.error("Failed to load emergency tracking board", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hms.emergency.board.resync-interval-ms:300000}",
+               initialDelayString = "${hms.emergency.board.resync-interval-ms:300000}")
+    public void scheduledResync() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            resync();
+        } catch (Exception e) {
+            log.error("Emergency tracking board resync failed", e);
+        }
+    }
+
+    /**
+     * Reload the board from the database and push the differences.
+     *
+     * @return number of entries added, changed or removed
+     */
+    public int resync() {
+        List<EmergencyRegistration> active = emergencyRepository.findByStatusInAndDeletedAtIsNull(ACTIVE_STATUSES);
+        Map<UUID, ErBoardEntry> loaded = new HashMap<>();
+        if (!active.isEmpty()) {
+            Map<UUID, Patient> patients = new HashMap<>();
+            List<UUID> patientIds = active.stream()
+                .map(EmergencyRegistration::getPatientId).filter(Objects::nonNull).distinct().toList();
+            patientRepository.findAllById(patientIds).forEach(patient -> patients.put(patient.getId(), patient));
+
+            for (EmergencyRegistration emergency : active) {
+                Patient patient = emergency.getPatientId() != null ? patients.get(emergency.getPatientId()) : null;
+                loaded.put(emergency.getId(), baseEntry(emergency, patient).interventionCount(0).build());
+            }
+
+            for (Object[] row : interventionRepository.summarizeByEmergencyRegistrationIds(loaded.keySet())) {
+                loaded.computeIfPresent((UUID) row[0], (id, entry) -> entry.toBuilder()
+                    .interventionCount(((Number) row[1]).intValue())
+                    .lastInterventionTime((LocalDateTime) row[2])
+                    .lastInterventionName(interventionName(entry, (LocalDateTime) row[2]))
+                    .build());
+            }
+        }
+
+        int changed = 0;
+        for (ErBoardEntry entry : loaded.values()) {
+            ErBoardEntry previous = entries.put(entry.getId(), entry);
+            if (!entry.equals(previous)) {
+                broadcastUpsert(entry);
+                changed++;
+            }
+        }
+        for (UUID id : List.copyOf(entries.keySet())) {
+            if (!loaded.containsKey(id) && entries.remove(id) != null) {
+                broadcastRemove(id);
+                changed++;
+            }
+        }
+
+        if (changed > 0) {
+            log.info("Emergency tracking board resynced: {} patients, {} changes", entries.size(), changed);
+        }
+        return changed;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter().complete());
+        subscribers.clear();
+        pushExecutor.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void apply(ErBoardEntry entry) {
+        if (entry.getStatus() != null && ACTIVE_STATUSES.contains(entry.getStatus())) {
+            entries.put(entry.getId(), entry);
+            broadcastUpsert(entry);
+        } else if (entries.remove(entry.getId()) != null) {
+            broadcastRemove(entry.getId());
+        }
+    }
+
+    private List<ErBoardEntry> query(Predicate<ErBoardEntry> filter, Comparator<ErBoardEntry> order) {
+        LocalDateTime now = LocalDateTime.now();
+        return entries.values().stream()
+            .filter(filter)
+            .sorted(order)
+            .map(entry -> withTimers(entry, now))
+            .toList();
+    }
+
+    private void broadcastUpsert(ErBoardEntry entry) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pushExecutor.execute(() -> {
+            ErBoardEntry payload = withTimers(entry, LocalDateTime.now());
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.zone() == null || subscriber.zone().equals(entry.getErZone())) {
+                    send(subscriber, "upsert", payload);
+                } else {
+                    // The patient may have moved out of this subscriber's zone
+                    send(subscriber, "remove", entry.getId());
+                }
+            }
+        });
+    }
+
+    private void broadcastRemove(UUID emergencyId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        pushExecutor.execute(() -> subscribers.forEach(subscriber -> send(subscriber, "remove", emergencyId)));
+    }
+
+    private void send(Subscriber subscriber, String event, Object data) {
+        try {
+            subscriber.emitter().send(SseEmitter.event().name(event).data(data));
+        } catch (Exception e) {
+            log.debug("Dropping tracking board subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter().completeWithError(e);
+        }
+    }
+
+    private ErBoardEntry toEntry(EmergencyRegistration emergency, ErBoardEntry previous) {
+        Patient patient = null;
+        boolean samePatient = previous != null && Objects.equals(previous.getPatientId(), emergency.getPatientId());
+        if (emergency.getPatientId() != null && !samePatient) {
+            patient = patientRepository.findById(emergency.getPatientId()).orElse(null);
+        }
+        ErBoardEntry.ErBoardEntryBuilder builder = baseEntry(emergency, patient);
+        if (samePatient) {
+            builder.patientName(previous.getPatientName()).patientMrn(previous.getPatientMrn());
+        }
+        if (previous != null) {
+            builder.interventionCount(previous.getInterventionCount())
+                .lastInterventionTime(previous.getLastInterventionTime())
+                .lastInterventionName(previous.getLastInterventionName());
+        } else {
+            builder.interventionCount(0);
+        }
+        return builder.build();
+    }
+
+    private static ErBoardEntry.ErBoardEntryBuilder baseEntry(EmergencyRegistration emergency, Patient patient) {
+        return ErBoardEntry.builder()
+            .id(emergency.getId())
+            .emergencyNumber(emergency.getEmergencyNumber())
+            .patientId(emergency.getPatientId())
+            .patientName(patient != null ? patient.getFullName() : emergency.getPatientDisplayName())
+            .patientMrn(patient != null ? patient.getMrn() : null)
+            .isUnknownPatient(emergency.getIsUnknownPatient())
+            .estimatedGender(emergency.getEstimatedGender())
+            .estimatedAge(emergency.getEstimatedAge())
+            .chiefComplaint(emergency.getChiefComplaint())
+            .triageLevel(emergency.getTriageLevel())
+            .triagePriority(emergency.getTriagePriority())
+            .isCritical(emergency.isCriticalCase())
+            .requiresIsolation(emergency.getRequiresIsolation())
+            .status(emergency.getDeletedAt() != null ? null : emergency.getStatus())
+            .erZone(emergency.getErZone())
+            .erBedNumber(emergency.getErBedNumber())
+            .attendingDoctorName(emergency.getAttendingDoctorName())
+            .assignedNurseName(emergency.getAssignedNurseName())
+            .arrivalTime(emergency.getArrivalTime())
+            .triageTime(emergency.getTriageTime())
+            .treatmentStartTime(emergency.getTreatmentStartTime());
+    }
+
+    /**
+     * The grouped summary does not carry the name; keep the known one if it is still the latest.
+     */
+    private String interventionName(ErBoardEntry loaded, LocalDateTime latestTime) {
+        ErBoardEntry current = entries.get(loaded.getId());
+        return current != null && Objects.equals(current.getLastInterventionTime(), latestTime)
+            ? current.getLastInterventionName()
+            : null;
+    }
+
+    private ErBoardEntry withTimers(ErBoardEntry entry, LocalDateTime now) {
+        LocalDateTime arrival = entry.getArrivalTime();
+        if (arrival == null) {
+            return entry;
+        }
+        long doorToTriage = minutesBetween(arrival, entry.getTriageTime() != null ? entry.getTriageTime() : now);
+        long doorToDoctor = minutesBetween(arrival,
+            entry.getTreatmentStartTime() != null ? entry.getTreatmentStartTime() : now);
+        return entry.toBuilder()
+            .doorToTriageMinutes(doorToTriage)
+            .doorToDoctorMinutes(doorToDoctor)
+            .minutesInEr(minutesBetween(arrival, now))
+            .doorToTriageOverdue(doorToTriage > properties.getDoorToTriageTargetMinutes())
+            .doorToDoctorOverdue(doorToDoctor > properties.getDoorToDoctorTargetMinutes())
+            .build();
+    }
+
+    private static long minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return Math.max(0, Duration.between(from, to).toMinutes());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runSafely(action);
+                }
+            });
+        } else {
+            runSafely(action);
+        }
+    }
+
+    private static void runSafely(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("Emergency tracking board update failed, next resync corrects it: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Live board subscriber with optional zone filter.
+     */
+    private record Subscriber(SseEmitter emitter, String zone) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.yudha.hms.registration.service;
 
+import com.yudha.hms.integration.bpjs.service.AplicaresBedSync;
 import com.yudha.hms.patient.entity.Patient;
 import com.yudha.hms.patient.repository.PatientRepository;
 import com.yudha.hms.registration.dto.AdmissionRequest;
@@ -43,6 +44,7 @@ public class InpatientAdmissionService {
     private final BedAssignmentRepository bedAssignmentRepository;
     private final AdmissionDiagnosisRepository diagnosisRepository;
     private final BarcodeService barcodeService;
+    private final AplicaresBedSync aplicaresBedSync;
 
     /**
      * Create a new inpatient admission.
@@ -206,6 +208,9 @@ public class InpatientAdmissionService {
         // Save admission
         admission = admissionRepository.save(admission);
         log.info("Patient discharged from admission: {}", admission.getAdmissionNumber());
+        if (admission.getRoom() != null) {
+            aplicaresBedSync.markChanged(admission.getRoom().getId());
+        }
 
         return convertToResponse(admission, patient);
     }
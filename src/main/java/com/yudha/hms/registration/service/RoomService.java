@@ -1,5 +1,6 @@
 package com.yudha.hms.registration.service;
 
+import com.yudha.hms.integration.bpjs.service.AplicaresBedSync;
 import com.yudha.hms.registration.dto.RoomAvailabilityDto;
 import com.yudha.hms.registration.entity.Bed;
 import com.yudha.hms.registration.entity.Room;
@@ -33,6 +34,7 @@ public class RoomService {
 
     private final RoomRepository roomRepository;
     private final BedRepository bedRepository;
+    private final AplicaresBedSync aplicaresBedSync;
 
     /**
      * Get all available rooms with bed information.
@@ -204,6 +206,7 @@ public class RoomService {
         room.occupyBed();
         roomRepository.save(room);
         log.info("Bed occupied in room: {}. Available beds: {}", room.getRoomNumber(), room.getAvailableBeds());
+        aplicaresBedSync.markChanged(roomId);
     }
 
     /**
@@ -217,6 +220,7 @@ public class RoomService {
         room.releaseBed();
         roomRepository.save(room);
         log.info("Bed released in room: {}. Available beds: {}", room.getRoomNumber(), room.getAvailableBeds());
+        aplicaresBedSync.markChanged(roomId);
     }
 
     /**
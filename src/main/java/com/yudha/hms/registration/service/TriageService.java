@@ -39,6 +39,7 @@ public class TriageService {
 
     private final TriageAssessmentRepository triageRepository;
     private final EmergencyRegistrationRepository emergencyRepository;
+    private final EmergencyTrackingBoard trackingBoard;
 
     /**
      * Perform triage assessment for emergency patient.
@@ -105,6 +106,7 @@ public class TriageService {
 
         // Calculate door-to-triage time
         emergency.calculateDoorToTriageTime();
+        trackingBoard.publish(emergency);
 
         log.info("Triage completed: ESI Level {}, Triage Level {}, Zone {}",
             assessment.getEsiLevel(), triageLevel, assessment.getRecommendedZone());
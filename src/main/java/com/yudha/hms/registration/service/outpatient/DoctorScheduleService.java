@@ -3,11 +3,9 @@ package com.yudha.hms.registration.service.outpatient;
 import com.yudha.hms.registration.dto.outpatient.DoctorAvailabilityResponse;
 import com.yudha.hms.registration.entity.Doctor;
 import com.yudha.hms.registration.entity.DoctorSchedule;
-import com.yudha.hms.registration.entity.OutpatientRegistration;
 import com.yudha.hms.registration.entity.Polyclinic;
 import com.yudha.hms.registration.repository.DoctorRepository;
 import com.yudha.hms.registration.repository.DoctorScheduleRepository;
-import com.yudha.hms.registration.repository.OutpatientRegistrationRepository;
 import com.yudha.hms.registration.repository.PolyclinicRepository;
 import com.yudha.hms.shared.exception.BusinessException;
 import com.yudha.hms.shared.exception.ResourceNotFoundException;
@@ -27,7 +25,8 @@ import java.util.stream.Collectors;
 
 /**
  * Service for doctor schedule management and availability checking.
- * Handles schedule validation, time slot generation, and availability queries.
+ * Handles schedule validation and availability queries; slot availability is read
+ * from the {@link DoctorSlotInventory}.
  *
  * @author HMS Development Team
  * @version 1.0.0
@@ -42,10 +41,11 @@ public class DoctorScheduleService {
     private final DoctorScheduleRepository scheduleRepository;
     private final DoctorRepository doctorRepository;
     private final PolyclinicRepository polyclinicRepository;
-    private final OutpatientRegistrationRepository registrationRepository;
+    private final DoctorSlotInventory slotInventory;
 
     /**
      * Check if a doctor is available at a specific polyclinic on a given date and time.
+     * The time must be the start of one of the doctor's slots.
      *
      * @param doctorId doctor ID
      * @param polyclinicId polyclinic ID
@@ -57,48 +57,37 @@ public class DoctorScheduleService {
         log.debug("Checking doctor availability: doctor={}, polyclinic={}, date={}, time={}",
             doctorId, polyclinicId, date, time);
 
-        // Check if doctor exists and is active
-        Doctor doctor = doctorRepository.findById(doctorId)
-            .orElseThrow(() -> new ResourceNotFoundException("Doctor", "ID", doctorId));
-
-        if (!doctor.canPractice()) {
-            log.warn("Doctor {} cannot practice (inactive or invalid license)", doctorId);
-            return false;
-        }
-
-        // Get doctor schedule for the date
-        String dayOfWeek = date.getDayOfWeek().name();
-        Optional<DoctorSchedule> scheduleOpt = scheduleRepository.findScheduleForDate(
-            doctorId, polyclinicId, dayOfWeek, date
-        );
-
-        if (scheduleOpt.isEmpty()) {
+        DoctorSlotInventory.DoctorDay day = slotInventory.getDoctorDay(doctorId, polyclinicId, date);
+        if (day == null) {
+            // Check if doctor exists
+            if (!doctorRepository.existsById(doctorId)) {
+                throw new ResourceNotFoundException("Doctor", "ID", doctorId);
+            }
             log.debug("No schedule found for doctor {} on {}", doctorId, date);
             return false;
         }
 
-        DoctorSchedule schedule = scheduleOpt.get();
-
-        // Check if time is within schedule hours
-        if (!schedule.isTimeWithinSchedule(time)) {
-            log.debug("Time {} is outside schedule hours ({} - {})",
-                time, schedule.getStartTime(), schedule.getEndTime());
+        if (!day.canPractice()) {
+            log.warn("Doctor {} cannot practice (inactive or invalid license)", doctorId);
             return false;
         }
 
         // Check if capacity is reached
-        long registrationCount = registrationRepository.countByDoctorIdAndRegistrationDate(doctorId, date);
-        if (registrationCount >= schedule.getMaxPatients()) {
+        if (!day.hasCapacity()) {
             log.debug("Doctor {} has reached maximum capacity ({}) for {}",
-                doctorId, schedule.getMaxPatients(), date);
+                doctorId, day.maxPatients(), date);
             return false;
         }
 
-        // Check if specific time slot is already booked
-        LocalTime endTime = time.plusMinutes(schedule.getAppointmentDurationMinutes());
-        boolean isBooked = registrationRepository.isTimeSlotBooked(doctorId, date, time, endTime);
-        if (isBooked) {
-            log.debug("Time slot {} - {} is already booked", time, endTime);
+        // Check if the time starts a free slot
+        DoctorSlotInventory.Slot slot = day.slotAt(time);
+        if (slot == null) {
+            log.debug("Time {} is not a slot start within schedule hours ({} - {})",
+                time, day.startTime(), day.endTime());
+            return false;
+        }
+        if (slot.remaining() == 0) {
+            log.debug("Time slot {} - {} is already booked", slot.startTime(), slot.endTime());
             return false;
         }
 
@@ -117,6 +106,11 @@ public class DoctorScheduleService {
         log.info("Getting doctor availability: doctor={}, polyclinic={}, date={}",
             doctorId, polyclinicId, date);
 
+        DoctorSlotInventory.DoctorDay day = slotInventory.getDoctorDay(doctorId, polyclinicId, date);
+        if (day != null) {
+            return toAvailability(day, date);
+        }
+
         // Validate doctor and polyclinic
         Doctor doctor = doctorRepository.findById(doctorId)
             .orElseThrow(() -> new ResourceNotFoundException("Doctor", "ID", doctorId));
@@ -124,47 +118,8 @@ public class DoctorScheduleService {
         Polyclinic polyclinic = polyclinicRepository.findById(polyclinicId)
             .orElseThrow(() -> new ResourceNotFoundException("Polyclinic", "ID", polyclinicId));
 
-        // Get schedule for the date
-        String dayOfWeek = date.getDayOfWeek().name();
-        Optional<DoctorSchedule> scheduleOpt = scheduleRepository.findScheduleForDate(
-            doctorId, polyclinicId, dayOfWeek, date
-        );
-
-        if (scheduleOpt.isEmpty()) {
-            log.info("No schedule found for doctor {} at polyclinic {} on {}",
-                doctorId, polyclinicId, date);
-
-            return DoctorAvailabilityResponse.builder()
-                .doctorId(doctorId)
-                .doctorName(doctor.getFullName())
-                .doctorTitle(doctor.getTitle())
-                .specialization(doctor.getSpecialization())
-                .polyclinicId(polyclinicId)
-                .polyclinicName(polyclinic.getName())
-                .date(date)
-                .dayOfWeek(dayOfWeek)
-                .isAvailable(false)
-                .totalSlots(0)
-                .availableSlots(0)
-                .bookedSlots(0)
-                .timeSlots(new ArrayList<>())
-                .build();
-        }
-
-        DoctorSchedule schedule = scheduleOpt.get();
-
-        // Generate time slots
-        List<DoctorAvailabilityResponse.TimeSlotInfo> timeSlots = generateTimeSlots(
-            schedule, doctorId, date
-        );
-
-        // Calculate availability
-        long bookedSlots = timeSlots.stream()
-            .filter(slot -> !slot.getIsAvailable())
-            .count();
-
-        int totalSlots = timeSlots.size();
-        int availableSlots = totalSlots - (int) bookedSlots;
+        log.info("No schedule found for doctor {} at polyclinic {} on {}",
+            doctorId, polyclinicId, date);
 
         return DoctorAvailabilityResponse.builder()
             .doctorId(doctorId)
@@ -173,16 +128,13 @@ public class DoctorScheduleService {
             .specialization(doctor.getSpecialization())
             .polyclinicId(polyclinicId)
             .polyclinicName(polyclinic.getName())
-            .scheduleId(schedule.getId())
             .date(date)
-            .dayOfWeek(dayOfWeek)
-            .startTime(schedule.getStartTime())
-            .endTime(schedule.getEndTime())
-            .isAvailable(availableSlots > 0)
-            .totalSlots(totalSlots)
-            .availableSlots(availableSlots)
-            .bookedSlots((int) bookedSlots)
-            .timeSlots(timeSlots)
+            .dayOfWeek(date.getDayOfWeek().name())
+            .isAvailable(false)
+            .totalSlots(0)
+            .availableSlots(0)
+            .bookedSlots(0)
+            .timeSlots(new ArrayList<>())
             .build();
     }
 
@@ -196,19 +148,9 @@ public class DoctorScheduleService {
     public List<DoctorAvailabilityResponse> getAvailableDoctorsAtPolyclinic(UUID polyclinicId, LocalDate date) {
         log.info("Getting available doctors at polyclinic {} on {}", polyclinicId, date);
 
-        String dayOfWeek = date.getDayOfWeek().name();
-
-        // Get all schedules for the polyclinic on this day
-        List<DoctorSchedule> schedules = scheduleRepository.findValidSchedulesForDate(dayOfWeek, date);
-
-        return schedules.stream()
-            .filter(schedule -> schedule.getPolyclinic().getId().equals(polyclinicId))
-            .filter(schedule -> schedule.getDoctor().canPractice())
-            .map(schedule -> getDoctorAvailability(
-                schedule.getDoctor().getId(),
-                polyclinicId,
-                date
-            ))
+        return slotInventory.getGrid(polyclinicId, date).doctors().values().stream()
+            .filter(DoctorSlotInventory.DoctorDay::canPractice)
+            .map(day -> toAvailability(day, date))
             .filter(availability -> Boolean.TRUE.equals(availability.getIsAvailable()))
             .collect(Collectors.toList());
     }
@@ -271,56 +213,51 @@ public class DoctorScheduleService {
     // ========== Private Helper Methods ==========
 
     /**
-     * Generate time slots for a doctor schedule.
+     * Build the availability response of a doctor day from the slot inventory.
      *
-     * @param schedule doctor schedule
-     * @param doctorId doctor ID
+     * @param day doctor slot day
      * @param date appointment date
-     * @return list of time slot info
+     * @return doctor availability response with time slots
      */
-    private List<DoctorAvailabilityResponse.TimeSlotInfo> generateTimeSlots(
-        DoctorSchedule schedule,
-        UUID doctorId,
-        LocalDate date
-    ) {
-        List<DoctorAvailabilityResponse.TimeSlotInfo> slots = new ArrayList<>();
-
-        LocalTime currentTime = schedule.getStartTime();
-        int duration = schedule.getAppointmentDurationMinutes();
-
-        // Get all appointments for this doctor on this date
-        List<OutpatientRegistration> appointments = registrationRepository
-            .findAppointmentsByDoctorAndDate(doctorId, date);
-
-        while (currentTime.isBefore(schedule.getEndTime())) {
-            LocalTime slotEndTime = currentTime.plusMinutes(duration);
-
-            // Don't create slot if it goes beyond end time
-            if (slotEndTime.isAfter(schedule.getEndTime())) {
-                break;
-            }
-
-            // Check if this slot is booked
-            final LocalTime finalCurrentTime = currentTime;
-            boolean isBooked = appointments.stream()
-                .anyMatch(apt ->
-                    !apt.getAppointmentTime().isAfter(finalCurrentTime) &&
-                    !apt.getAppointmentEndTime().isBefore(slotEndTime)
-                );
-
-            DoctorAvailabilityResponse.TimeSlotInfo slotInfo = DoctorAvailabilityResponse.TimeSlotInfo.builder()
-                .startTime(currentTime)
-                .endTime(slotEndTime)
-                .isAvailable(!isBooked)
-                .slotsRemaining(isBooked ? 0 : 1)
-                .status(isBooked ? "Booked" : "Available")
-                .build();
-
-            slots.add(slotInfo);
+    private DoctorAvailabilityResponse toAvailability(DoctorSlotInventory.DoctorDay day, LocalDate date) {
+        boolean dayFull = !day.hasCapacity();
+
+        List<DoctorAvailabilityResponse.TimeSlotInfo> timeSlots = day.slots().stream()
+            .map(slot -> {
+                boolean isBooked = slot.remaining() == 0;
+                boolean isAvailable = !isBooked && !dayFull;
+                return DoctorAvailabilityResponse.TimeSlotInfo.builder()
+                    .startTime(slot.startTime())
+                    .endTime(slot.endTime())
+                    .isAvailable(isAvailable)
+                    .slotsRemaining(isAvailable ? slot.remaining() : 0)
+                    .status(isBooked ? "Booked" : dayFull ? "Full" : "Available")
+                    .build();
+            })
+            .collect(Collectors.toList());
 
-            currentTime = slotEndTime;
-        }
+        int totalSlots = timeSlots.size();
+        int availableSlots = (int) timeSlots.stream()
+            .filter(DoctorAvailabilityResponse.TimeSlotInfo::getIsAvailable)
+            .count();
 
-        return slots;
+        return DoctorAvailabilityResponse.builder()
+            .doctorId(day.doctorId())
+            .doctorName(day.doctorName())
+            .doctorTitle(day.doctorTitle())
+            .specialization(day.specialization())
+            .polyclinicId(day.polyclinicId())
+            .polyclinicName(day.polyclinicName())
+            .scheduleId(day.scheduleId())
+            .date(date)
+            .dayOfWeek(date.getDayOfWeek().name())
+            .startTime(day.startTime())
+            .endTime(day.endTime())
+            .isAvailable(availableSlots > 0)
+            .totalSlots(totalSlots)
+            .availableSlots(availableSlots)
+            .bookedSlots((int) day.slots().stream().filter(slot -> slot.remaining() == 0).count())
+            .timeSlots(timeSlots)
+            .build();
     }
-}
\ No newline at end of file
+}
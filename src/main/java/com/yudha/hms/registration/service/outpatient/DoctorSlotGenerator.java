@@ -0,0 +1,272 @@
+package com.yudha.hms.registration.service.outpatient;
+
+import com.yudha.hms.registration.entity.DoctorSchedule;
+import com.yudha.hms.registration.entity.DoctorSlot;
+import com.yudha.hms.registration.entity.DoctorSlotDay;
+import com.yudha.hms.registration.entity.OutpatientRegistration;
+import com.yudha.hms.registration.repository.DoctorScheduleRepository;
+import com.yudha.hms.registration.repository.DoctorSlotDayRepository;
+import com.yudha.hms.registration.repository.DoctorSlotRepository;
+import com.yudha.hms.registration.repository.OutpatientRegistrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Materializes the appointment slot inventory of a date from doctor schedules.
+ *
+ * Creates a slot day (daily capacity) and its time slots for every schedule valid on the
+ * date. New days start with the bookings already registered for them. Running it again
+ * applies schedule changes: capacity and hours are updated, slots that no longer fit the
+ * schedule are removed unless booked, and days whose schedule is gone are closed to new
+ * bookings while keeping existing ones.
+ *
+ * Existing days and slots are read with row locks, so the booked counts they are written
+ * back with and the "not booked" checks before deleting are current: a concurrent claim
+ * waits for materialization to commit instead of being overwritten.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSlotGenerator {
+
+    /**
+     * Advisory lock key base; the epoch day of the date is added
+     */
+    private static final long LOCK_KEY_BASE = 0x534C4F54L << 24; // "SLOT"
+
+    private static final int DEFAULT_DURATION_MINUTES = 15;
+    private static final int DEFAULT_MAX_PATIENTS = 20;
+
+    private final DoctorScheduleRepository scheduleRepository;
+    private final DoctorSlotDayRepository slotDayRepository;
+    private final DoctorSlotRepository slotRepository;
+    private final OutpatientRegistrationRepository registrationRepository;
+
+    /**
+     * Materialize or refresh the slot inventory of a date.
+     * Runs in its own transaction, so it can be triggered from read-only availability queries.
+     *
+     * @param date date
+     * @return number of slot days created, changed or closed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int materialize(LocalDate date) {
+        slotDayRepository.lockForMaterialization(LOCK_KEY_BASE + date.toEpochDay());
+
+        List<DoctorSchedule> schedules = scheduleRepository.findValidSchedulesForDate(date.getDayOfWeek().name(), date);
+        Map<String, DoctorSlotDay> existingDays = new HashMap<>();
+        for (DoctorSlotDay day : slotDayRepository.findBySlotDateForUpdate(date)) {
+            existingDays.put(key(day.getDoctor().getId(), day.getPolyclinic().getId()), day);
+        }
+        Map<UUID, List<DoctorSlot>> existingSlots = new HashMap<>();
+        if (!existingDays.isEmpty()) {
+            List<UUID> dayIds = existingDays.values().stream().map(DoctorSlotDay::getId).toList();
+            for (DoctorSlot slot : slotRepository.findByDayIdsForUpdate(dayIds)) {
+                existingSlots.computeIfAbsent(slot.getDay().getId(), id -> new ArrayList<>()).add(slot);
+            }
+        }
+
+        // A doctor cannot hold two slots at the same time, even at different polyclinics
+        Set<String> doctorSlotStarts = new HashSet<>();
+        existingSlots.values().forEach(slots -> slots.forEach(slot ->
+            doctorSlotStarts.add(slot.getDoctorId() + "/" + slot.getStartTime())));
+
+        int changes = 0;
+        Set<String> scheduled = new HashSet<>();
+        for (DoctorSchedule schedule : schedules) {
+            UUID doctorId = schedule.getDoctor().getId();
+            String key = key(doctorId, schedule.getPolyclinic().getId());
+            if (!scheduled.add(key)) {
+                log.warn("Doctor {} has more than one schedule at polyclinic {} on {}, using the first",
+                    doctorId, schedule.getPolyclinic().getId(), date);
+                continue;
+            }
+
+            DoctorSlotDay day = existingDays.get(key);
+            if (day == null) {
+                createDay(schedule, date, doctorSlotStarts);
+                changes++;
+            } else if (updateDay(day, schedule, existingSlots.getOrDefault(day.getId(), List.of()), doctorSlotStarts)) {
+                changes++;
+            }
+        }
+
+        for (Map.Entry<String, DoctorSlotDay> entry : existingDays.entrySet()) {
+            if (!scheduled.contains(entry.getKey())) {
+                closeDay(entry.getValue(), existingSlots.getOrDefault(entry.getValue().getId(), List.of()));
+                changes++;
+            }
+        }
+
+        if (changes > 0) {
+            log.info("Slot inventory for {} materialized: {} doctor days created, changed or closed", date, changes);
+        }
+        return changes;
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void createDay(DoctorSchedule schedule, LocalDate date, Set<String> doctorSlotStarts) {
+        UUID doctorId = schedule.getDoctor().getId();
+        UUID polyclinicId = schedule.getPolyclinic().getId();
+
+        List<OutpatientRegistration> appointments = registrationRepository
+            .findAppointmentsByDoctorAndDate(doctorId, date).stream()
+            .filter(registration -> polyclinicId.equals(registration.getPolyclinic().getId()))
+            .toList();
+        long walkIns = registrationRepository.countWalkIns(doctorId, polyclinicId, date);
+
+        DoctorSlotDay day = slotDayRepository.save(DoctorSlotDay.builder()
+            .doctor(schedule.getDoctor())
+            .polyclinic(schedule.getPolyclinic())
+            .scheduleId(schedule.getId())
+            .slotDate(date)
+            .startTime(schedule.getStartTime())
+            .endTime(schedule.getEndTime())
+            .slotDurationMinutes(durationOf(schedule))
+            .maxPatients(maxPatientsOf(schedule))
+            .bookedCount(appointments.size() + (int) walkIns)
+            .build());
+
+        List<DoctorSlot> slots = new ArrayList<>();
+        for (LocalTime[] times : slotTimes(schedule)) {
+            if (!doctorSlotStarts.add(doctorId + "/" + times[0])) {
+                continue;
+            }
+            int booked = (int) appointments.stream()
+                .filter(registration -> registration.getAppointmentTime() != null
+                    && !registration.getAppointmentTime().isBefore(times[0])
+                    && registration.getAppointmentTime().isBefore(times[1]))
+                .count();
+            slots.add(newSlot(day, times, booked));
+        }
+        slotRepository.saveAll(slots);
+    }
+
+    private boolean updateDay(DoctorSlotDay day, DoctorSchedule schedule, List<DoctorSlot> slots,
+                              Set<String> doctorSlotStarts) {
+        boolean changed = !Objects.equals(day.getScheduleId(), schedule.getId())
+            || !Objects.equals(day.getStartTime(), schedule.getStartTime())
+            || !Objects.equals(day.getEndTime(), schedule.getEndTime())
+            || day.getSlotDurationMinutes() != durationOf(schedule)
+            || day.getMaxPatients() != maxPatientsOf(schedule);
+        if (changed) {
+            day.setScheduleId(schedule.getId());
+            day.setStartTime(schedule.getStartTime());
+            day.setEndTime(schedule.getEndTime());
+            day.setSlotDurationMinutes(durationOf(schedule));
+            day.setMaxPatients(maxPatientsOf(schedule));
+            slotDayRepository.save(day);
+        }
+
+        Map<LocalTime, LocalTime> expected = new LinkedHashMap<>();
+        slotTimes(schedule).forEach(times -> expected.put(times[0], times[1]));
+
+        List<DoctorSlot> obsolete = new ArrayList<>();
+        Set<LocalTime> present = new HashSet<>();
+        for (DoctorSlot slot : slots) {
+            boolean fits = slot.getEndTime().equals(expected.get(slot.getStartTime()));
+            if (fits || slot.getBookedCount() > 0) {
+                present.add(slot.getStartTime());
+            } else {
+                obsolete.add(slot);
+            }
+        }
+        if (!obsolete.isEmpty()) {
+            slotRepository.deleteAll(obsolete);
+            slotRepository.flush();
+            obsolete.forEach(slot -> doctorSlotStarts.remove(slot.getDoctorId() + "/" + slot.getStartTime()));
+            changed = true;
+        }
+
+        List<DoctorSlot> added = new ArrayList<>();
+        UUID doctorId = day.getDoctor().getId();
+        expected.forEach((start, end) -> {
+            if (!present.contains(start) && doctorSlotStarts.add(doctorId + "/" + start)) {
+                added.add(newSlot(day, new LocalTime[] {start, end}, 0));
+            }
+        });
+        if (!added.isEmpty()) {
+            slotRepository.saveAll(added);
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * The schedule is gone: drop the day if nothing is booked, otherwise stop new bookings.
+     */
+    private void closeDay(DoctorSlotDay day, List<DoctorSlot> slots) {
+        if (day.getBookedCount() == 0) {
+            slotRepository.deleteAll(slots);
+            slotDayRepository.delete(day);
+            return;
+        }
+        slotRepository.deleteAll(slots.stream().filter(slot -> slot.getBookedCount() == 0).toList());
+        day.setScheduleId(null);
+        day.setMaxPatients(day.getBookedCount());
+        slotDayRepository.save(day);
+    }
+
+    private static DoctorSlot newSlot(DoctorSlotDay day, LocalTime[] times, int booked) {
+        return DoctorSlot.builder()
+            .day(day)
+            .doctorId(day.getDoctor().getId())
+            .slotDate(day.getSlotDate())
+            .startTime(times[0])
+            .endTime(times[1])
+            .capacity(1)
+            .bookedCount(booked)
+            .build();
+    }
+
+    /**
+     * Slot start/end times of a schedule; a slot never runs past the schedule end.
+     */
+    private static List<LocalTime[]> slotTimes(DoctorSchedule schedule) {
+        List<LocalTime[]> times = new ArrayList<>();
+        int duration = durationOf(schedule);
+        LocalTime start = schedule.getStartTime();
+        while (start.isBefore(schedule.getEndTime())) {
+            LocalTime end = start.plusMinutes(duration);
+            if (end.isAfter(schedule.getEndTime()) || !end.isAfter(start)) {
+                break;
+            }
+            times.add(new LocalTime[] {start, end});
+            start = end;
+        }
+        return times;
+    }
+
+    private static int durationOf(DoctorSchedule schedule) {
+        Integer duration = schedule.getAppointmentDurationMinutes();
+        return duration != null && duration > 0 ? duration : DEFAULT_DURATION_MINUTES;
+    }
+
+    private static int maxPatientsOf(DoctorSchedule schedule) {
+        return schedule.getMaxPatients() != null ? schedule.getMaxPatients() : DEFAULT_MAX_PATIENTS;
+    }
+
+    private static String key(UUID doctorId, UUID polyclinicId) {
+        return doctorId + "/" + polyclinicId;
+    }
+}
@@ -0,0 +1,338 @@
+package com.yudha.hms.registration.service.outpatient;
+
+import com.yudha.hms.registration.config.SlotInventoryProperties;
+import com.yudha.hms.registration.entity.Doctor;
+import com.yudha.hms.registration.entity.DoctorSlot;
+import com.yudha.hms.registration.entity.DoctorSlotDay;
+import com.yudha.hms.registration.repository.DoctorSlotDayRepository;
+import com.yudha.hms.registration.repository.DoctorSlotRepository;
+import com.yudha.hms.shared.exception.BusinessException;
+import com.yudha.hms.shared.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Appointment slot inventory of doctors per polyclinic and date.
+ *
+ * Availability is read from a cached grid per polyclinic and date, so a full polyclinic
+ * grid costs one cache read (two queries on a miss). Bookings and walk-ins claim capacity
+ * with conditional updates on the materialized slot rows inside the registration
+ * transaction, so a slot or a doctor's day can never be overbooked, whatever the cache
+ * shows. After commit the affected grid is dropped from the cache, so this node shows the
+ * booking on the next read; other nodes show it once their cached grid expires.
+ *
+ * Dates up to the configured horizon are materialized on startup and re-materialized
+ * periodically to pick up schedule changes; later dates are materialized on first use.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+@Service
+@Slf4j
+public class DoctorSlotInventory {
+
+    private final DoctorSlotGenerator slotGenerator;
+    private final DoctorSlotDayRepository slotDayRepository;
+    private final DoctorSlotRepository slotRepository;
+    private final SlotInventoryProperties properties;
+
+    private final ExpiringCache<GridKey, Grid> grids;
+    private final Set<LocalDate> materializedDates = ConcurrentHashMap.newKeySet();
+
+    public DoctorSlotInventory(DoctorSlotGenerator slotGenerator,
+                               DoctorSlotDayRepository slotDayRepository,
+                               DoctorSlotRepository slotRepository,
+                               SlotInventoryProperties properties) {
+        this.slotGenerator = slotGenerator;
+        this.slotDayRepository = slotDayRepository;
+        this.slotRepository = slotRepository;
+        this.properties = properties;
+        this.grids = new ExpiringCache<>("outpatient.slot-grid",
+            Duration.ofSeconds(properties.getGridTtlSeconds()), Duration.ZERO, properties.getMaxCachedGrids());
+    }
+
+    // ========== Availability ==========
+
+    /**
+     * Get the availability grid of a polyclinic on a date.
+     *
+     * @param polyclinicId polyclinic ID
+     * @param date date
+     * @return grid with one entry per scheduled doctor
+     */
+    public Grid getGrid(UUID polyclinicId, LocalDate date) {
+        return grids.get(new GridKey(polyclinicId, date), this::loadGrid);
+    }
+
+    /**
+     * Get the slot day of one doctor from the polyclinic grid.
+     *
+     * @return doctor day, or null if the doctor has no schedule there on that date
+     */
+    public DoctorDay getDoctorDay(UUID doctorId, UUID polyclinicId, LocalDate date) {
+        return getGrid(polyclinicId, date).doctors().get(doctorId);
+    }
+
+    // ========== Reservation ==========
+
+    /**
+     * Claim the appointment slot starting at a time, and one patient of the doctor's day.
+     * Must run inside the booking transaction; the claim is undone if it rolls back.
+     *
+     * @throws BusinessException if there is no such slot, or the slot or the day is full
+     */
+    @Transactional
+    public void reserveAppointment(UUID doctorId, UUID polyclinicId, LocalDate date, LocalTime time) {
+        DoctorSlotDay day = findDay(doctorId, polyclinicId, date)
+            .orElseThrow(() -> new BusinessException("Doctor does not have a schedule on " + date + " at this polyclinic"));
+        DoctorSlot slot = slotRepository.findByDoctorIdAndSlotDateAndStartTime(doctorId, date, time)
+            .filter(found -> found.getDay().getId().equals(day.getId()))
+            .orElseThrow(() -> new BusinessException(
+                "Appointment time " + time + " does not match a slot start of this doctor's schedule"));
+
+        if (slotDayRepository.claim(day.getId()) == 0) {
+            throw new BusinessException("Doctor has reached maximum patient capacity for " + date);
+        }
+        if (slotRepository.claim(slot.getId()) == 0) {
+            throw new BusinessException("Time slot " + time + " is already booked");
+        }
+        afterCommit(() -> evictGrid(polyclinicId, date));
+    }
+
+    /**
+     * Give back an appointment slot and one patient of the doctor's day.
+     */
+    @Transactional
+    public void releaseAppointment(UUID doctorId, UUID polyclinicId, LocalDate date, LocalTime time) {
+        findDay(doctorId, polyclinicId, date).ifPresent(day -> {
+            slotDayRepository.release(day.getId());
+            if (time != null) {
+                slotRepository.findByDoctorIdAndSlotDateAndStartTime(doctorId, date, time)
+                    .filter(slot -> slot.getDay().getId().equals(day.getId()))
+                    .ifPresent(slot -> slotRepository.release(slot.getId()));
+            }
+            afterCommit(() -> evictGrid(polyclinicId, date));
+        });
+    }
+
+    /**
+     * Claim one patient of the doctor's day for a walk-in.
+     *
+     * @throws BusinessException if the doctor has no schedule or the day is full
+     */
+    @Transactional
+    public void reserveWalkIn(UUID doctorId, UUID polyclinicId, LocalDate date) {
+        DoctorSlotDay day = findDay(doctorId, polyclinicId, date)
+            .orElseThrow(() -> new BusinessException("Doctor does not have a schedule today at this polyclinic"));
+        if (slotDayRepository.claim(day.getId()) == 0) {
+            throw new BusinessException("Doctor has reached maximum patient capacity for today");
+        }
+        afterCommit(() -> evictGrid(polyclinicId, date));
+    }
+
+    /**
+     * Give back one patient of the doctor's day.
+     */
+    @Transactional
+    public void releaseWalkIn(UUID doctorId, UUID polyclinicId, LocalDate date) {
+        releaseAppointment(doctorId, polyclinicId, date, null);
+    }
+
+    // ========== Materialization ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        materializeHorizon();
+    }
+
+    @Scheduled(fixedDelayString = "${hms.outpatient.slot-inventory.reconcile-interval-ms:3600000}",
+               initialDelayString = "${hms.outpatient.slot-inventory.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        materializeHorizon();
+    }
+
+    /**
+     * Materialize today up to the horizon; grids of changed dates are dropped from the cache.
+     */
+    public void materializeHorizon() {
+        LocalDate today = LocalDate.now();
+        materializedDates.removeIf(date -> date.isBefore(today));
+        for (int i = 0; i <= properties.getHorizonDays(); i++) {
+            LocalDate date = today.plusDays(i);
+            try {
+                if (slotGenerator.materialize(date) > 0) {
+                    grids.invalidateIf((key, grid) -> key.date().equals(date));
+                }
+                materializedDates.add(date);
+            } catch (Exception e) {
+                log.error("Failed to materialize slot inventory for {}", date, e);
+            }
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private Optional<DoctorSlotDay> findDay(UUID doctorId, UUID polyclinicId, LocalDate date) {
+        ensureMaterialized(date);
+        return slotDayRepository.findByDoctorIdAndPolyclinicIdAndSlotDate(doctorId, polyclinicId, date);
+    }
+
+    private void ensureMaterialized(LocalDate date) {
+        if (date.isBefore(LocalDate.now()) || materializedDates.contains(date)) {
+            return;
+        }
+        slotGenerator.materialize(date);
+        materializedDates.add(date);
+    }
+
+    private Grid loadGrid(GridKey key) {
+        ensureMaterialized(key.date());
+        List<DoctorSlotDay> days = slotDayRepository.findGridDays(key.polyclinicId(), key.date());
+        Map<UUID, List<Slot>> slotsByDay = slotsOf(days.stream().map(DoctorSlotDay::getId).toList());
+
+        Map<UUID, DoctorDay> doctors = new LinkedHashMap<>();
+        for (DoctorSlotDay day : days) {
+            doctors.put(day.getDoctor().getId(), toDoctorDay(day, slotsByDay.getOrDefault(day.getId(), List.of())));
+        }
+        return new Grid(key.polyclinicId(), key.date(), Collections.unmodifiableMap(doctors));
+    }
+
+    /**
+     * Drop the grid of a committed booking change; the next read loads the committed state.
+     * Runs after commit, where the booking's persistence context is still bound and would
+     * serve the counts it read before the claim.
+     */
+    private void evictGrid(UUID polyclinicId, LocalDate date) {
+        grids.invalidate(new GridKey(polyclinicId, date));
+    }
+
+    private Map<UUID, List<Slot>> slotsOf(List<UUID> dayIds) {
+        Map<UUID, List<Slot>> slotsByDay = new HashMap<>();
+        if (dayIds.isEmpty()) {
+            return slotsByDay;
+        }
+        for (DoctorSlot slot : slotRepository.findByDayIds(dayIds)) {
+            slotsByDay.computeIfAbsent(slot.getDay().getId(), id -> new ArrayList<>())
+                .add(new Slot(slot.getStartTime(), slot.getEndTime(), slot.getCapacity(), slot.getBookedCount()));
+        }
+        return slotsByDay;
+    }
+
+    private static DoctorDay toDoctorDay(DoctorSlotDay day, List<Slot> slots) {
+        Doctor doctor = day.getDoctor();
+        return new DoctorDay(
+            day.getId(),
+            doctor.getId(),
+            doctor.getFullName(),
+            doctor.getTitle(),
+            doctor.getSpecialization(),
+            doctor.canPractice(),
+            day.getPolyclinic().getId(),
+            day.getPolyclinic().getName(),
+            day.getScheduleId(),
+            day.getStartTime(),
+            day.getEndTime(),
+            day.getMaxPatients(),
+            day.getBookedCount(),
+            List.copyOf(slots)
+        );
+    }
+
+    private static void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("Slot grid eviction failed, cache expiry corrects it: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+        } else {
+            safe.run();
+        }
+    }
+
+    // ========== Grid Types ==========
+
+    private record GridKey(UUID polyclinicId, LocalDate date) {
+    }
+
+    /**
+     * Availability of a polyclinic on a date.
+     *
+     * @param doctors doctor days by doctor ID, in schedule start order
+     */
+    public record Grid(UUID polyclinicId, LocalDate date, Map<UUID, DoctorDay> doctors) {
+    }
+
+    /**
+     * Slot day of one doctor.
+     */
+    public record DoctorDay(
+        UUID dayId,
+        UUID doctorId,
+        String doctorName,
+        String doctorTitle,
+        String specialization,
+        boolean canPractice,
+        UUID polyclinicId,
+        String polyclinicName,
+        UUID scheduleId,
+        LocalTime startTime,
+        LocalTime endTime,
+        int maxPatients,
+        int bookedCount,
+        List<Slot> slots
+    ) {
+
+        public boolean hasCapacity() {
+            return bookedCount < maxPatients;
+        }
+
+        /**
+         * Slot starting exactly at a time.
+         *
+         * @return slot, or null
+         */
+        public Slot slotAt(LocalTime time) {
+            return slots.stream().filter(slot -> slot.startTime().equals(time)).findFirst().orElse(null);
+        }
+    }
+
+    /**
+     * One appointment time slot.
+     */
+    public record Slot(LocalTime startTime, LocalTime endTime, int capacity, int bookedCount) {
+
+        public int remaining() {
+            return Math.max(0, capacity - bookedCount);
+        }
+    }
+}
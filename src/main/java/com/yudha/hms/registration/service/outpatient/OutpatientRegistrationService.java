@@ -4,6 +4,10 @@ import com.yudha.hms.clinical.dto.EncounterRequest;
 import com.yudha.hms.clinical.dto.EncounterResponse;
 import com.yudha.hms.clinical.entity.*;
 import com.yudha.hms.clinical.service.EncounterService;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.AntreanOperationResponse;
+import com.yudha.hms.integration.bpjs.dto.antreanrs.TaskId;
+import com.yudha.hms.integration.bpjs.service.AntreanTaskTimeOutbox;
+import com.yudha.hms.integration.bpjs.service.BpjsRegistrationOrchestrator;
 import com.yudha.hms.patient.entity.Patient;
 import com.yudha.hms.patient.repository.PatientRepository;
 import com.yudha.hms.registration.dto.outpatient.OutpatientRegistrationRequest;
@@ -15,7 +19,9 @@ import com.yudha.hms.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -47,33 +53,58 @@ public class OutpatientRegistrationService {
     private final DoctorScheduleRepository scheduleRepository;
     private final QueueService queueService;
     private final DoctorScheduleService doctorScheduleService;
+    private final DoctorSlotInventory slotInventory;
     private final EncounterService encounterService;
+    private final BpjsRegistrationOrchestrator bpjsRegistrationOrchestrator;
+    private final AntreanTaskTimeOutbox antreanTaskTimeOutbox;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Register walk-in patient.
      * For same-day visits without appointment.
      *
+     * BPJS lookups run before the registration transaction and the Antrean RS queue is
+     * added after it commits, so no database connection is held while BPJS answers.
+     *
      * @param request registration request
      * @return registration response
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OutpatientRegistrationResponse registerWalkIn(OutpatientRegistrationRequest request) {
         log.info("Processing walk-in registration for patient {}", request.getPatientId());
 
         // Validate request
         validateWalkInRequest(request);
 
-        // Validate patient, polyclinic, and doctor
-        Patient patient = validatePatient(request.getPatientId());
+        // Reject walk-ins the polyclinic cannot take before calling BPJS
         Polyclinic polyclinic = validatePolyclinic(request.getPolyclinicId());
         Doctor doctor = validateDoctor(request.getDoctorId());
-
-        // Validate polyclinic is open and allows walk-in
         validatePolyclinicForWalkIn(polyclinic);
 
+        // Verify BPJS eligibility and fetch referral and schedule in parallel
+        BpjsRegistrationOrchestrator.Context bpjsContext =
+            prepareBpjsWorkflow(request, polyclinic, doctor, LocalDate.now());
+
+        SavedRegistration saved = transactionTemplate.execute(status -> saveWalkIn(request, polyclinic, doctor));
+
+        OutpatientRegistrationResponse response = saved.response();
+        if (bpjsContext != null) {
+            BpjsRegistrationOrchestrator.StepResult<AntreanOperationResponse> queueResult =
+                bpjsRegistrationOrchestrator.addQueue(bpjsContext, saved.queueEntry());
+            applyBpjsContext(response, bpjsContext);
+            response.setBpjsQueueRegistered(queueResult.isSuccess());
+        }
+        return response;
+    }
+
+    private SavedRegistration saveWalkIn(OutpatientRegistrationRequest request, Polyclinic polyclinic, Doctor doctor) {
+        Patient patient = validatePatient(request.getPatientId());
+
         // Validate doctor is available today
         validateDoctorForWalkIn(doctor.getId(), polyclinic.getId());
 
+        boolean newPatient = !registrationRepository.existsByPatientId(patient.getId());
+
         // Generate registration number
         String registrationNumber = generateRegistrationNumber();
 
@@ -122,16 +153,20 @@ public class OutpatientRegistrationService {
 
         log.info("Encounter auto-created: {} for registration: {}", encounter.getEncounterNumber(), registrationNumber);
 
-        return convertToResponse(saved, patient);
+        return new SavedRegistration(convertToResponse(saved, patient),
+            toBpjsQueueEntry(saved, patient, newPatient), null);
     }
 
     /**
      * Book appointment for future visit.
      *
+     * BPJS eligibility is verified before the booking transaction, so the slot row locks
+     * taken by the reservation are not held while BPJS answers.
+     *
      * @param request registration request
      * @return registration response
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OutpatientRegistrationResponse bookAppointment(OutpatientRegistrationRequest request) {
         log.info("Processing appointment booking for patient {} on {} at {}",
             request.getPatientId(), request.getAppointmentDate(), request.getAppointmentTime());
@@ -139,8 +174,7 @@ public class OutpatientRegistrationService {
         // Validate request
         validateAppointmentRequest(request);
 
-        // Validate patient, polyclinic, and doctor
-        Patient patient = validatePatient(request.getPatientId());
+        // Validate polyclinic and doctor
         Polyclinic polyclinic = validatePolyclinic(request.getPolyclinicId());
         Doctor doctor = validateDoctor(request.getDoctorId());
 
@@ -157,6 +191,27 @@ public class OutpatientRegistrationService {
             request.getAppointmentTime()
         );
 
+        // Verify BPJS eligibility for the appointment date; the Antrean RS queue
+        // is added at check-in, when the queue number is assigned
+        BpjsRegistrationOrchestrator.Context bpjsContext =
+            prepareBpjsWorkflow(request, polyclinic, doctor, request.getAppointmentDate());
+
+        OutpatientRegistrationResponse response =
+            transactionTemplate.execute(status -> saveAppointment(request, polyclinic, doctor));
+
+        if (bpjsContext != null) {
+            applyBpjsContext(response, bpjsContext);
+        }
+        return response;
+    }
+
+    private OutpatientRegistrationResponse saveAppointment(
+        OutpatientRegistrationRequest request,
+        Polyclinic polyclinic,
+        Doctor doctor
+    ) {
+        Patient patient = validatePatient(request.getPatientId());
+
         // Get doctor schedule
         DoctorSchedule schedule = scheduleRepository.findScheduleForDate(
             doctor.getId(),
@@ -165,6 +220,14 @@ public class OutpatientRegistrationService {
             request.getAppointmentDate()
         ).orElseThrow(() -> new BusinessException("Doctor schedule not found"));
 
+        // Claim the time slot; a concurrent booking of the same slot fails here
+        slotInventory.reserveAppointment(
+            doctor.getId(),
+            polyclinic.getId(),
+            request.getAppointmentDate(),
+            request.getAppointmentTime()
+        );
+
         // Calculate appointment end time
         LocalTime appointmentEndTime = request.getAppointmentTime()
             .plusMinutes(schedule.getAppointmentDurationMinutes());
@@ -215,11 +278,24 @@ public class OutpatientRegistrationService {
     /**
      * Check-in patient (assign queue number for appointments).
      *
+     * A BPJS appointment gets its queue number here, so it is added to Antrean RS
+     * after the check-in commits.
+     *
      * @param registrationId registration ID
      * @return updated registration
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OutpatientRegistrationResponse checkInPatient(UUID registrationId) {
+        SavedRegistration checkedIn = transactionTemplate.execute(status -> saveCheckIn(registrationId));
+
+        OutpatientRegistrationResponse response = checkedIn.response();
+        if (checkedIn.bpjsInput() != null) {
+            addBpjsQueueAfterCheckIn(response, checkedIn.bpjsInput(), checkedIn.queueEntry());
+        }
+        return response;
+    }
+
+    private SavedRegistration saveCheckIn(UUID registrationId) {
         log.info("Checking in patient: {}", registrationId);
 
         OutpatientRegistration registration = registrationRepository.findById(registrationId)
@@ -253,6 +329,12 @@ public class OutpatientRegistrationService {
 
         log.info("Patient checked in with queue: {}", registration.getQueueCode());
 
+        // Antrean RS task 3: start of poly waiting
+        if (registration.isBpjsPatient()) {
+            antreanTaskTimeOutbox.record(registration.getRegistrationNumber(),
+                TaskId.POLY_WAITING, registration.getCheckInTime());
+        }
+
         // Auto-create encounter if not already created
         if (registration.getEncounterId() == null) {
             UUID patientId = registration.getPatientId();
@@ -274,7 +356,48 @@ public class OutpatientRegistrationService {
         }
 
         Patient patient = patientRepository.findById(registration.getPatientId()).orElse(null);
-        return convertToResponse(registration, patient);
+        OutpatientRegistrationResponse response = convertToResponse(registration, patient);
+
+        // Appointments are added to Antrean RS now that they have a queue number;
+        // walk-ins were added at registration
+        if (registration.isAppointment() && registration.isBpjsPatient() && patient != null
+                && registration.getBpjsCardNumber() != null && bpjsRegistrationOrchestrator.isEnabled()) {
+            boolean newPatient = !registrationRepository.existsByPatientIdAndIdNot(patient.getId(), registration.getId());
+            return new SavedRegistration(response,
+                toBpjsQueueEntry(registration, patient, newPatient),
+                new BpjsRegistrationOrchestrator.Input(
+                    registration.getBpjsCardNumber().trim(),
+                    registration.getAppointmentDate(),
+                    registration.getReferralLetterNumber(),
+                    registration.getPolyclinic().getBpjsPoliCode(),
+                    registration.getPolyclinic().getName(),
+                    registration.getDoctor().getBpjsDoctorCode(),
+                    registration.getDoctor().getFullName()
+                ));
+        }
+        return new SavedRegistration(response, null, null);
+    }
+
+    /**
+     * Add a checked-in BPJS appointment to Antrean RS. The check-in has committed,
+     * so BPJS failures are reported in the response instead of failing it.
+     */
+    private void addBpjsQueueAfterCheckIn(
+        OutpatientRegistrationResponse response,
+        BpjsRegistrationOrchestrator.Input input,
+        BpjsRegistrationOrchestrator.QueueEntry queueEntry
+    ) {
+        try {
+            BpjsRegistrationOrchestrator.Context context = bpjsRegistrationOrchestrator.prepare(input);
+            BpjsRegistrationOrchestrator.StepResult<AntreanOperationResponse> queueResult =
+                bpjsRegistrationOrchestrator.addQueue(context, queueEntry);
+            applyBpjsContext(response, context);
+            response.setBpjsQueueRegistered(queueResult.isSuccess());
+        } catch (Exception e) {
+            log.warn("Could not add booking {} to Antrean RS at check-in: {}",
+                queueEntry.bookingCode(), e.getMessage());
+            response.setBpjsQueueRegistered(false);
+        }
     }
 
     /**
@@ -348,6 +471,11 @@ public class OutpatientRegistrationService {
 
         registration.cancel(reason, cancelledBy);
         registrationRepository.save(registration);
+        releaseCapacity(registration);
+
+        if (registration.isBpjsPatient()) {
+            antreanTaskTimeOutbox.record(registration.getRegistrationNumber(), TaskId.CANCELED, LocalDateTime.now());
+        }
 
         log.info("Registration cancelled: {}", registration.getRegistrationNumber());
 
@@ -357,6 +485,88 @@ public class OutpatientRegistrationService {
 
     // ========== Private Helper Methods ==========
 
+    /**
+     * Run the BPJS lookups for a BPJS registration and merge the referral into the request.
+     *
+     * @return lookup results, or null if this is not a BPJS registration or the workflow is disabled
+     */
+    private BpjsRegistrationOrchestrator.Context prepareBpjsWorkflow(
+        OutpatientRegistrationRequest request,
+        Polyclinic polyclinic,
+        Doctor doctor,
+        LocalDate serviceDate
+    ) {
+        if (!Boolean.TRUE.equals(request.getIsBpjs()) || !bpjsRegistrationOrchestrator.isEnabled()) {
+            return null;
+        }
+
+        BpjsRegistrationOrchestrator.Context context = bpjsRegistrationOrchestrator.prepare(
+            new BpjsRegistrationOrchestrator.Input(
+                request.getBpjsCardNumber().trim(),
+                serviceDate,
+                request.getReferralLetterNumber(),
+                polyclinic.getBpjsPoliCode(),
+                polyclinic.getName(),
+                doctor.getBpjsDoctorCode(),
+                doctor.getFullName()
+            ));
+
+        if (!context.isEligibilityVerified()) {
+            if (bpjsRegistrationOrchestrator.isEligibilityRequired()) {
+                throw new BusinessException("BPJS eligibility could not be verified: " +
+                    context.eligibility().error());
+            }
+            log.warn("Continuing registration without BPJS eligibility for card {}: {}",
+                request.getBpjsCardNumber(), context.eligibility().error());
+        } else if (!context.isEligible()) {
+            throw new BusinessException("BPJS participant is not active: " + context.participantStatus());
+        }
+
+        if (request.getReferralLetterNumber() == null) {
+            request.setReferralLetterNumber(context.referralNumber());
+        }
+        if (request.getReferralFrom() == null) {
+            request.setReferralFrom(context.referringProvider());
+        }
+        return context;
+    }
+
+    private BpjsRegistrationOrchestrator.QueueEntry toBpjsQueueEntry(
+        OutpatientRegistration registration,
+        Patient patient,
+        boolean newPatient
+    ) {
+        Integer queueNumber = registration.getQueueNumber();
+        // Appointments are served at their slot; walk-ins are estimated at
+        // 15 minutes per patient ahead, as in the queue display
+        LocalDateTime estimatedServiceTime;
+        if (registration.isAppointment() && registration.getAppointmentTime() != null) {
+            estimatedServiceTime = LocalDateTime.of(registration.getAppointmentDate(), registration.getAppointmentTime());
+        } else {
+            estimatedServiceTime = queueNumber != null ?
+                registration.getRegistrationTime().plusMinutes((queueNumber - 1) * 15L) : null;
+        }
+
+        return new BpjsRegistrationOrchestrator.QueueEntry(
+            registration.getRegistrationNumber(),
+            patient.getMrn(),
+            patient.getNik(),
+            patient.getPhonePrimary(),
+            newPatient,
+            registration.getQueueCode(),
+            queueNumber,
+            estimatedServiceTime
+        );
+    }
+
+    private void applyBpjsContext(
+        OutpatientRegistrationResponse response,
+        BpjsRegistrationOrchestrator.Context context
+    ) {
+        response.setBpjsClassEntitlement(context.classEntitlement());
+        response.setBpjsStepLatenciesMs(context.stepLatenciesMs());
+    }
+
     private void validateWalkInRequest(OutpatientRegistrationRequest request) {
         if (request.getRegistrationType() != RegistrationType.WALK_IN) {
             throw new BusinessException("Invalid registration type for walk-in");
@@ -425,29 +635,21 @@ public class OutpatientRegistrationService {
         }
     }
 
-    private void validateDoctorForWalkIn(UUID doctorId, UUID polyclinicId) {
-        // Check if doctor has schedule today
-        String today = LocalDate.now().getDayOfWeek().name();
-        var schedule = scheduleRepository.findScheduleForDate(
-            doctorId,
-            polyclinicId,
-            today,
-            LocalDate.now()
-        );
-
-        if (schedule.isEmpty()) {
-            throw new BusinessException("Doctor does not have a schedule today at this polyclinic");
+    private void releaseCapacity(OutpatientRegistration registration) {
+        UUID doctorId = registration.getDoctor().getId();
+        UUID polyclinicId = registration.getPolyclinic().getId();
+        if (registration.getRegistrationType() == RegistrationType.APPOINTMENT) {
+            slotInventory.releaseAppointment(doctorId, polyclinicId,
+                registration.getAppointmentDate(), registration.getAppointmentTime());
+        } else {
+            slotInventory.releaseWalkIn(doctorId, polyclinicId, registration.getRegistrationDate());
         }
+    }
 
-        // Check if doctor has reached capacity
-        long todayCount = registrationRepository.countByDoctorIdAndRegistrationDate(
-            doctorId,
-            LocalDate.now()
-        );
-
-        if (todayCount >= schedule.get().getMaxPatients()) {
-            throw new BusinessException("Doctor has reached maximum patient capacity for today");
-        }
+    private void validateDoctorForWalkIn(UUID doctorId, UUID polyclinicId) {
+        // Claim one patient of the doctor's capacity today; fails if there is no schedule
+        // or the doctor is full, and is undone if the registration rolls back
+        slotInventory.reserveWalkIn(doctorId, polyclinicId, LocalDate.now());
     }
 
     private String generateRegistrationNumber() {
@@ -564,4 +766,18 @@ public class OutpatientRegistrationService {
             .createdBy(registration.getCreatedBy())
             .build();
     }
+
+    /**
+     * Committed registration with the Antrean RS data needed after commit.
+     *
+     * @param response registration response
+     * @param queueEntry local queue data for Antrean RS, or null
+     * @param bpjsInput BPJS lookups to run before adding the queue, or null if none are needed
+     */
+    private record SavedRegistration(
+        OutpatientRegistrationResponse response,
+        BpjsRegistrationOrchestrator.QueueEntry queueEntry,
+        BpjsRegistrationOrchestrator.Input bpjsInput
+    ) {
+    }
 }
@@ -1,5 +1,7 @@
 package com.yudha.hms.registration.service.outpatient;
 
+import com.yudha.hms.integration.bpjs.dto.antreanrs.TaskId;
+import com.yudha.hms.integration.bpjs.service.AntreanTaskTimeOutbox;
 import com.yudha.hms.registration.entity.*;
 import com.yudha.hms.registration.repository.OutpatientRegistrationRepository;
 import com.yudha.hms.registration.repository.QueueCallHistoryRepository;
@@ -31,6 +33,7 @@ public class QueueCallingService {
 
     private final OutpatientRegistrationRepository registrationRepository;
     private final QueueCallHistoryRepository callHistoryRepository;
+    private final AntreanTaskTimeOutbox antreanTaskTimeOutbox;
 
     /**
      * Call next patient from queue for a specific polyclinic.
@@ -179,6 +182,12 @@ public class QueueCallingService {
         registration.startServing();
         registrationRepository.save(registration);
 
+        // Antrean RS task 4: end of poly waiting, start of poly service
+        if (registration.isBpjsPatient()) {
+            antreanTaskTimeOutbox.record(registration.getRegistrationNumber(),
+                TaskId.POLY_SERVICE, registration.getQueueServingStartedAt());
+        }
+
         // Update latest call history as responded
         callHistoryRepository.findFirstByOutpatientRegistrationIdOrderByCalledAtDesc(registrationId)
             .ifPresent(call -> {
@@ -209,6 +218,12 @@ public class QueueCallingService {
         registration.completeQueue();
         registrationRepository.save(registration);
 
+        // Antrean RS task 5: end of poly service, start of pharmacy waiting
+        if (registration.isBpjsPatient()) {
+            antreanTaskTimeOutbox.record(registration.getRegistrationNumber(),
+                TaskId.PHARMACY_WAITING, registration.getQueueServingEndedAt());
+        }
+
         log.info("Queue service completed: {} - Queue: {}",
             registration.getRegistrationNumber(), registration.getQueueCode());
 
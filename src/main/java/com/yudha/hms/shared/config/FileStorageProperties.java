@@ -70,6 +70,49 @@ public class FileStorageProperties {
      */
     private String defaultAvatarUrl = "/api/files/default-avatar.png";
 
+    /**
+     * Content-addressed document store directory (claim documents)
+     * Default: ./uploads/documents
+     */
+    private String documentsDir = "./uploads/documents";
+
+    /**
+     * Maximum document size in bytes; uploads are streamed, not buffered
+     * Default: 100MB (104857600 bytes)
+     */
+    private long maxDocumentSize = 104857600L; // 100MB
+
+    /**
+     * Hours unreferenced document content is kept before it is purged
+     * Default: 24
+     */
+    private int documentPurgeGraceHours = 24;
+
+    /**
+     * Maximum unreferenced document contents purged per run
+     * Default: 500
+     */
+    private int documentPurgeBatchSize = 500;
+
+    /**
+     * Delay between purges of unreferenced document content (milliseconds)
+     * Default: 3600000 (1 hour)
+     */
+    private long documentPurgeIntervalMs = 3600000L;
+
+    /**
+     * Delay between sweeps for stored document files without content rows, e.g. left by
+     * a rolled back upload (milliseconds)
+     * Default: 86400000 (1 day)
+     */
+    private long documentOrphanSweepIntervalMs = 86400000L;
+
+    /**
+     * Allowed document MIME types (comma-separated)
+     * Default: application/pdf,image/jpeg,image/png
+     */
+    private String allowedDocumentTypes = "application/pdf,image/jpeg,image/png";
+
     /**
      * Get list of allowed extensions
      *
@@ -88,4 +131,16 @@ public class FileStorageProperties {
     public boolean isAllowedExtension(String extension) {
         return getAllowedExtensionsList().contains(extension.toLowerCase());
     }
+
+    /**
+     * Check if document MIME type is allowed
+     *
+     * @param mimeType MIME type without parameters, e.g. application/pdf
+     * @return true if allowed, false otherwise
+     */
+    public boolean isAllowedDocumentType(String mimeType) {
+        return mimeType != null && Arrays.stream(allowedDocumentTypes.split(","))
+            .map(String::trim)
+            .anyMatch(type -> type.equalsIgnoreCase(mimeType));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.yudha.hms.shared.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson Configuration.
+ * Modules declared here are registered on the application ObjectMapper by Spring Boot,
+ * and on the copies derived from it (such as the SATUSEHAT FHIR codec).
+ *
+ * Blackbird replaces reflective getter/setter/constructor calls with generated
+ * lambdas, which speeds up (de)serialization of large payloads.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
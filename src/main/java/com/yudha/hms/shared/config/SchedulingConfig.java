@@ -0,0 +1,21 @@
+package com.yudha.hms.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling Configuration.
+ * Enables Spring's @Scheduled support for background jobs.
+ *
+ * Background jobs are expected to be lightweight "tick" methods that work
+ * off in-memory state and only touch the database when there is work to do.
+ * The scheduler runs on virtual threads when spring.threads.virtual.enabled is set.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,52 @@
+package com.yudha.hms.shared.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Document Content Entity.
+ *
+ * Content of an uploaded document, stored once per SHA-256 hash. Documents that
+ * reference the content (e.g. claim documents) count as references; content
+ * without references is purged after a grace period. Reference counts are only
+ * changed by the atomic updates in DocumentContentRepository.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Entity
+@Table(name = "document_content", schema = "billing_schema",
+    uniqueConstraints = @UniqueConstraint(name = "uk_document_content_hash", columnNames = "content_hash"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentContent extends BaseEntity {
+
+    /**
+     * SHA-256 of the content (lowercase hex)
+     */
+    @Column(name = "content_hash", length = 64, nullable = false, updatable = false)
+    private String contentHash;
+
+    @Column(name = "size_bytes", nullable = false, updatable = false)
+    private Long sizeBytes;
+
+    /**
+     * MIME type of the first upload
+     */
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    /**
+     * Path relative to the document storage directory
+     */
+    @Column(name = "storage_path", length = 200, nullable = false, updatable = false)
+    private String storagePath;
+
+    @Column(name = "reference_count", nullable = false)
+    @Builder.Default
+    private Integer referenceCount = 0;
+}
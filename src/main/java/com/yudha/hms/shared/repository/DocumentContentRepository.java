@@ -0,0 +1,92 @@
+package com.yudha.hms.shared.repository;
+
+import com.yudha.hms.shared.entity.DocumentContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Document Content Repository.
+ *
+ * Reference counts are changed with single atomic statements so concurrent
+ * uploads of the same content and concurrent releases never lose an update.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Repository
+public interface DocumentContentRepository extends JpaRepository<DocumentContent, UUID> {
+
+    Optional<DocumentContent> findByContentHash(String contentHash);
+
+    /**
+     * Add a reference to content, creating its row on first upload.
+     *
+     * @return Number of rows inserted or updated
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO billing_schema.document_content
+            (id, content_hash, size_bytes, mime_type, storage_path, reference_count, created_at, updated_at)
+        VALUES (gen_random_uuid(), :contentHash, :sizeBytes, :mimeType, :storagePath, 1, :now, :now)
+        ON CONFLICT (content_hash) DO UPDATE
+            SET reference_count = document_content.reference_count + 1,
+                updated_at = EXCLUDED.updated_at
+        """, nativeQuery = true)
+    int addReference(
+        @Param("contentHash") String contentHash,
+        @Param("sizeBytes") long sizeBytes,
+        @Param("mimeType") String mimeType,
+        @Param("storagePath") String storagePath,
+        @Param("now") LocalDateTime now
+    );
+
+    /**
+     * Add a reference to existing content.
+     *
+     * @return Number of rows updated (0 if the content does not exist)
+     */
+    @Modifying
+    @Query("UPDATE DocumentContent c SET c.referenceCount = c.referenceCount + 1, c.updatedAt = :now " +
+           "WHERE c.contentHash = :contentHash")
+    int retain(@Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Remove a reference from content.
+     *
+     * @return Number of rows updated
+     */
+    @Modifying
+    @Query("UPDATE DocumentContent c SET c.referenceCount = c.referenceCount - 1, c.updatedAt = :now " +
+           "WHERE c.contentHash = :contentHash AND c.referenceCount > 0")
+    int release(@Param("contentHash") String contentHash, @Param("now") LocalDateTime now);
+
+    /**
+     * Lock unreferenced content released before the cutoff for purging. A concurrent
+     * upload of the same content waits for the purge to commit and then stores it again.
+     */
+    @Query(value = """
+        SELECT * FROM billing_schema.document_content
+        WHERE reference_count = 0
+          AND updated_at < :cutoff
+        ORDER BY updated_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<DocumentContent> lockUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * Which of the given hashes have stored content rows
+     */
+    @Query("SELECT c.contentHash FROM DocumentContent c WHERE c.contentHash IN :contentHashes")
+    List<String> findExistingHashes(@Param("contentHashes") Collection<String> contentHashes);
+}
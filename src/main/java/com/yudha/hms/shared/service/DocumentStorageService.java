@@ -0,0 +1,424 @@
+package com.yudha.hms.shared.service;
+
+import com.yudha.hms.shared.config.FileStorageProperties;
+import com.yudha.hms.shared.entity.DocumentContent;
+import com.yudha.hms.shared.exception.FileStorageException;
+import com.yudha.hms.shared.exception.ResourceNotFoundException;
+import com.yudha.hms.shared.repository.DocumentContentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Document Storage Service.
+ *
+ * Content-addressed store for uploaded documents (claim documents such as
+ * resume medis, lab results and SEP scans).
+ *
+ * Features:
+ * - Uploads are staged: streamed to a temporary file while their SHA-256 is computed,
+ *   outside any transaction, so no upload is held in memory and no database
+ *   connection waits for a slow client
+ * - Only allowed MIME types (hms.file-storage.allowed-document-types) are stored
+ * - Content is stored once under its hash (objects/ab/cd/abcd...); uploading the
+ *   same file again only adds a reference
+ * - Reference counting: documents retain and release content; copying a document
+ *   retains the same content instead of copying bytes
+ * - Unreferenced content is purged after a grace period; stored files without a
+ *   content row (an upload whose transaction rolled back) are swept after it
+ * - Content is served as a file resource, so Spring MVC answers Range requests
+ *
+ * Reference changes join the caller's transaction: if the document row that
+ * references the content is rolled back, so is the reference.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentStorageService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern CONTENT_HASH = Pattern.compile("^[0-9a-f]{64}$");
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final FileStorageProperties fileStorageProperties;
+    private final DocumentContentRepository contentRepository;
+
+    private Path objectsLocation;
+    private Path tempLocation;
+
+    /**
+     * Initialize storage directories and remove temporary files of interrupted uploads
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            Path documentsLocation = Paths.get(fileStorageProperties.getDocumentsDir())
+                .toAbsolutePath().normalize();
+            this.objectsLocation = documentsLocation.resolve("objects");
+            this.tempLocation = documentsLocation.resolve("tmp");
+
+            Files.createDirectories(this.objectsLocation);
+            Files.createDirectories(this.tempLocation);
+
+            int removed = removeStaleTempFiles();
+            log.info("Document storage initialized: {} ({} stale temporary files removed)", documentsLocation, removed);
+
+        } catch (IOException ex) {
+            throw new FileStorageException("Could not create document storage directories", ex);
+        }
+    }
+
+    /**
+     * Stage an upload: stream it to a temporary file and compute its hash. Call this
+     * before opening the transaction that stores it; close the result when done.
+     *
+     * @param input content stream; read to the end, not closed
+     * @param contentType MIME type of the upload
+     * @return staged content
+     * @throws FileStorageException if the type is not allowed, or the content is empty,
+     *         too large or cannot be written
+     */
+    public StagedDocument stage(InputStream input, String contentType) {
+        String mimeType = validateMimeType(contentType);
+        Path temp = tempLocation.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size = copyAndHash(input, temp, digest);
+            if (size == 0) {
+                throw new FileStorageException("Cannot store empty file");
+            }
+            return new StagedDocument(temp, HexFormat.of().formatHex(digest.digest()), size, mimeType);
+
+        } catch (IOException ex) {
+            deleteQuietly(temp);
+            throw new FileStorageException("Failed to store document", ex);
+        } catch (RuntimeException ex) {
+            deleteQuietly(temp);
+            throw ex;
+        }
+    }
+
+    /**
+     * Store staged content and add a reference to it, in the caller's transaction.
+     *
+     * @param staged content from {@link #stage}
+     * @return stored content
+     * @throws FileStorageException if the content cannot be moved into the store
+     */
+    @Transactional
+    public StoredDocument store(StagedDocument staged) {
+        String contentHash = staged.contentHash();
+        String storagePath = storagePathOf(contentHash);
+        try {
+            contentRepository.addReference(contentHash, staged.sizeBytes(), staged.mimeType(), storagePath,
+                LocalDateTime.now());
+
+            Path target = objectsLocation.resolve(storagePath);
+            boolean deduplicated = Files.exists(target);
+            if (deduplicated) {
+                // Keeps the orphan sweep off content that is referenced again
+                Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(staged.file(), target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException concurrentUpload) {
+                    deduplicated = true;
+                }
+            }
+
+            log.info("Document content {} stored ({} bytes{})", contentHash, staged.sizeBytes(),
+                deduplicated ? ", already present" : "");
+            return new StoredDocument(contentHash, staged.sizeBytes(), staged.mimeType(), deduplicated);
+
+        } catch (IOException ex) {
+            throw new FileStorageException("Failed to store document", ex);
+        }
+    }
+
+    /**
+     * Add a reference to stored content (e.g. the same document attached to another claim).
+     *
+     * @param contentHash content SHA-256
+     * @throws ResourceNotFoundException if the content is not stored
+     */
+    @Transactional
+    public void retain(String contentHash) {
+        validateHash(contentHash);
+        if (contentRepository.retain(contentHash, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Document content", "contentHash", contentHash);
+        }
+    }
+
+    /**
+     * Remove a reference from stored content. Content without references is purged
+     * after the grace period.
+     *
+     * @param contentHash content SHA-256
+     */
+    @Transactional
+    public void release(String contentHash) {
+        if (contentHash == null) {
+            return;
+        }
+        if (contentRepository.release(contentHash, LocalDateTime.now()) == 0) {
+            log.warn("Released document content {} that has no references", contentHash);
+        }
+    }
+
+    /**
+     * Load stored content as a file resource. Returned from a controller, it supports
+     * HTTP Range requests.
+     *
+     * @param contentHash content SHA-256
+     * @return file resource
+     * @throws ResourceNotFoundException if the content is not stored
+     */
+    public Resource loadAsResource(String contentHash) {
+        validateHash(contentHash);
+        Path file = objectsLocation.resolve(storagePathOf(contentHash));
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("Document content", "contentHash", contentHash);
+        }
+        return new FileSystemResource(file);
+    }
+
+    /**
+     * Delete content that has had no references for the grace period.
+     */
+    @Scheduled(fixedDelayString = "${hms.file-storage.document-purge-interval-ms:3600000}",
+               initialDelayString = "${hms.file-storage.document-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(fileStorageProperties.getDocumentPurgeGraceHours());
+        List<DocumentContent> purgeable = contentRepository.lockUnreferencedBefore(
+            cutoff, fileStorageProperties.getDocumentPurgeBatchSize());
+
+        for (DocumentContent content : purgeable) {
+            deleteQuietly(objectsLocation.resolve(content.getStoragePath()));
+        }
+        contentRepository.deleteAllInBatch(purgeable);
+
+        if (!purgeable.isEmpty()) {
+            log.info("Purged {} unreferenced document contents", purgeable.size());
+        }
+        removeStaleTempFiles();
+    }
+
+    /**
+     * Delete stored files that have no content row and were not written or referenced
+     * during the grace period. Such files are left when the transaction that stored
+     * them rolled back after the file was moved into the store.
+     */
+    @Scheduled(fixedDelayString = "${hms.file-storage.document-orphan-sweep-interval-ms:86400000}",
+               initialDelayString = "${hms.file-storage.document-orphan-sweep-interval-ms:86400000}")
+    public void sweepOrphanFiles() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(
+            fileStorageProperties.getDocumentPurgeGraceHours(), ChronoUnit.HOURS));
+        List<Path> candidates = new ArrayList<>();
+        int removed = 0;
+
+        try (Stream<Path> files = Files.walk(objectsLocation)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (CONTENT_HASH.matcher(file.getFileName().toString()).matches()
+                        && Files.isRegularFile(file) && isOlderThan(file, cutoff)) {
+                    candidates.add(file);
+                }
+                if (candidates.size() >= SWEEP_BATCH_SIZE) {
+                    removed += removeOrphans(candidates, cutoff);
+                    candidates.clear();
+                }
+            }
+            removed += removeOrphans(candidates, cutoff);
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Could not sweep document storage for orphan files: {}", ex.getMessage());
+        }
+
+        if (removed > 0) {
+            log.info("Removed {} stored document files without content rows", removed);
+        }
+    }
+
+    private int removeOrphans(List<Path> files, FileTime cutoff) {
+        if (files.isEmpty()) {
+            return 0;
+        }
+        Set<String> known = new HashSet<>(contentRepository.findExistingHashes(
+            files.stream().map(file -> file.getFileName().toString()).toList()));
+        int removed = 0;
+        for (Path file : files) {
+            if (!known.contains(file.getFileName().toString()) && isOlderThan(file, cutoff)) {
+                deleteQuietly(file);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private static boolean isOlderThan(Path file, FileTime cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(cutoff) < 0;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Normalize a MIME type to type/subtype and check it is allowed
+     */
+    private String validateMimeType(String contentType) {
+        String mimeType = null;
+        if (StringUtils.hasText(contentType)) {
+            try {
+                MimeType parsed = MimeTypeUtils.parseMimeType(contentType);
+                mimeType = (parsed.getType() + "/" + parsed.getSubtype()).toLowerCase(Locale.ROOT);
+            } catch (InvalidMimeTypeException ex) {
+                mimeType = null;
+            }
+        }
+        if (!fileStorageProperties.isAllowedDocumentType(mimeType)) {
+            throw new FileStorageException(
+                String.format("File type '%s' is not allowed. Allowed types: %s",
+                    contentType, fileStorageProperties.getAllowedDocumentTypes()));
+        }
+        return mimeType;
+    }
+
+    /**
+     * Copy a stream to a file while computing its digest, enforcing the maximum document size
+     */
+    private long copyAndHash(InputStream input, Path target, MessageDigest digest) throws IOException {
+        long maxSize = fileStorageProperties.getMaxDocumentSize();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        try (OutputStream output = Files.newOutputStream(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize) {
+                    throw new FileStorageException(
+                        String.format("Document size exceeds maximum allowed size of %d bytes", maxSize));
+                }
+                digest.update(buffer, 0, read);
+                output.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Remove temporary files older than a day (interrupted uploads)
+     */
+    private int removeStaleTempFiles() {
+        FileTime cutoff = FileTime.from(Instant.now().minus(1, ChronoUnit.DAYS));
+        int removed = 0;
+        try (Stream<Path> files = Files.list(tempLocation)) {
+            for (Path file : files.toList()) {
+                if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0 && Files.deleteIfExists(file)) {
+                    removed++;
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not clean document storage temporary files: {}", ex.getMessage());
+        }
+        return removed;
+    }
+
+    private static String storagePathOf(String contentHash) {
+        return contentHash.substring(0, 2) + "/" + contentHash.substring(2, 4) + "/" + contentHash;
+    }
+
+    private static void validateHash(String contentHash) {
+        if (contentHash == null || !CONTENT_HASH.matcher(contentHash).matches()) {
+            throw new FileStorageException("Invalid document content hash: " + contentHash);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * Upload written to a temporary file, ready to be stored. Closing it deletes the
+     * temporary file if it was not moved into the store.
+     *
+     * @param file temporary file
+     * @param contentHash SHA-256 of the content (lowercase hex)
+     * @param sizeBytes content size
+     * @param mimeType normalized MIME type
+     */
+    public record StagedDocument(Path file, String contentHash, long sizeBytes, String mimeType)
+            implements AutoCloseable {
+
+        @Override
+        public void close() {
+            deleteQuietly(file);
+        }
+    }
+
+    /**
+     * Result of storing document content.
+     *
+     * @param contentHash SHA-256 of the content (lowercase hex)
+     * @param sizeBytes content size
+     * @param mimeType MIME type
+     * @param deduplicated true if the content was already stored
+     */
+    public record StoredDocument(String contentHash, long sizeBytes, String mimeType, boolean deduplicated) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.yudha.hms.shared.util;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Keyed, time-bounded in-memory cache with single-flight loading.
+ *
+ * - Entries are fresh for {@code ttl}; a fresh entry is returned without calling the loader
+ * - Concurrent misses for the same key share one loader call
+ * - When {@code maxStale} is non-zero and the loader fails, the last value is returned
+ *   if it expired less than {@code maxStale} ago (stale-on-error); with a
+ *   {@code staleRetry} interval the stale value is then served without calling the
+ *   loader again until that interval has passed
+ * - Null results are not cached
+ * - Hit, miss, coalesced, stale and failure counts are kept for monitoring
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-20
+ */
+public class ExpiringCache<K, V> {
+
+    private final String name;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final long staleRetryNanos;
+    private final int maxEntries;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    /**
+     * @param name Cache name used in statistics
+     * @param ttl Time an entry stays fresh
+     * @param maxStale How long after expiry an entry may still be served when loading fails (zero = never)
+     * @param maxEntries Upper bound on cached entries
+     */
+    public ExpiringCache(String name, Duration ttl, Duration maxStale, int maxEntries) {
+        this(name, ttl, maxStale, Duration.ZERO, maxEntries);
+    }
+
+    /**
+     * @param name Cache name used in statistics
+     * @param ttl Time an entry stays fresh
+     * @param maxStale How long after expiry an entry may still be served when loading fails (zero = never)
+     * @param staleRetry After a failed load served a stale entry, how long to keep serving it before
+     *                   calling the loader again (zero = retry on every call)
+     * @param maxEntries Upper bound on cached entries
+     */
+    public ExpiringCache(String name, Duration ttl, Duration maxStale, Duration staleRetry, int maxEntries) {
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.staleRetryNanos = staleRetry.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Get a value, loading it when missing or expired.
+     *
+     * @param key Cache key
+     * @param loader Loads the value; exceptions propagate unless a stale value can be served
+     * @return Cached or loaded value (may be null if the loader returned null)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, loader, e -> true);
+    }
+
+    /**
+     * Get a value, loading it when missing or expired. A stale value is only served
+     * for loader failures accepted by {@code serveStaleOn}.
+     *
+     * @param key Cache key
+     * @param loader Loads the value
+     * @param serveStaleOn Failures for which a stale value may be returned instead
+     * @return Cached or loaded value (may be null if the loader returned null)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader, Predicate<? super RuntimeException> serveStaleOn) {
+        long now = System.nanoTime();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && cached.isFresh(now, ttlNanos)) {
+            hits.increment();
+            return cached.value();
+        }
+        if (cached != null && cached.isRetryDeferred(now) && cached.isUsableStale(now, ttlNanos, maxStaleNanos)) {
+            staleHits.increment();
+            return cached.value();
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        misses.increment();
+        try {
+            V value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            Entry<V> stale = entries.get(key);
+            if (stale != null && maxStaleNanos > 0 && serveStaleOn.test(e)
+                    && stale.isUsableStale(System.nanoTime(), ttlNanos, maxStaleNanos)) {
+                staleHits.increment();
+                if (staleRetryNanos > 0) {
+                    entries.replace(key, stale, stale.deferRetry(System.nanoTime() + staleRetryNanos));
+                }
+                load.complete(stale.value());
+                return stale.value();
+            }
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Get a fresh cached value without loading.
+     *
+     * @param key Cache key
+     * @return Cached value, or null if missing or expired
+     */
+    public V getIfPresent(K key) {
+        Entry<V> cached = entries.get(key);
+        return cached != null && cached.isFresh(System.nanoTime(), ttlNanos) ? cached.value() : null;
+    }
+
+    /**
+     * Get the cached value regardless of its age, e.g. to revalidate it.
+     *
+     * @param key Cache key
+     * @return Cached value, or null if missing
+     */
+    public V peek(K key) {
+        Entry<V> cached = entries.get(key);
+        return cached != null ? cached.value() : null;
+    }
+
+    /**
+     * Store a value.
+     *
+     * @param key Cache key
+     * @param value Value (ignored if null)
+     */
+    public void put(K key, V value) {
+        if (value == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        entries.put(key, new Entry<>(value, now, now));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * Remove one key.
+     *
+     * @param key Cache key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all entries matching a condition on key and value.
+     *
+     * @param condition Removal condition
+     * @return Number of entries removed
+     */
+    public int invalidateIf(BiPredicate<? super K, ? super V> condition) {
+        int removed = 0;
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (condition.test(entry.getKey(), entry.getValue().value())
+                    && entries.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Visit every cached entry, fresh or not.
+     *
+     * @param action Called with each key and value
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        entries.forEach((key, entry) -> action.accept(key, entry.value()));
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Drop entries that can no longer be served, not even as stale values.
+     *
+     * @return Number of entries removed
+     */
+    public int purgeExpired() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (!entry.getValue().isUsableStale(now, ttlNanos, maxStaleNanos)
+                    && entries.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Get cache statistics since creation.
+     *
+     * @return Statistics snapshot
+     */
+    public Stats stats() {
+        return new Stats(name, entries.size(), hits.sum(), misses.sum(), coalesced.sum(),
+                staleHits.sum(), loadFailures.sum());
+    }
+
+    private void evict() {
+        purgeExpired();
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        // Over capacity with live entries: drop the oldest tenth in one pass
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().loadedAt()))
+                .limit(Math.max(excess, maxEntries / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAt, long retryAt) {
+
+        boolean isFresh(long now, long ttlNanos) {
+            return now - loadedAt < ttlNanos;
+        }
+
+        boolean isUsableStale(long now, long ttlNanos, long maxStaleNanos) {
+            return now - loadedAt < ttlNanos + maxStaleNanos;
+        }
+
+        boolean isRetryDeferred(long now) {
+            return now - retryAt < 0;
+        }
+
+        Entry<V> deferRetry(long until) {
+            return new Entry<>(value, loadedAt, until);
+        }
+    }
+
+    /**
+     * Cache statistics snapshot.
+     */
+    public record Stats(
+            String name,
+            int size,
+            long hits,
+            long misses,
+            long coalesced,
+            long staleHits,
+            long loadFailures
+    ) {
+        /**
+         * Share of lookups answered without a loader call of their own.
+         */
+        @JsonProperty("hitRatio")
+        public double hitRatio() {
+            long total = hits + misses + coalesced;
+            return total == 0 ? 0.0 : (double) (hits + coalesced) / total;
+        }
+    }
+}
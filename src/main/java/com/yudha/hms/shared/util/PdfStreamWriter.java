@@ -0,0 +1,465 @@
+package com.yudha.hms.shared.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal streaming PDF 1.4 writer for text documents (invoices, receipts, slips).
+ *
+ * Pages are written to the output as soon as they are finished, so memory use is bounded
+ * by one page however long the document is; only object offsets are kept until the
+ * cross-reference table is written at the end.
+ *
+ * Text uses the standard Helvetica fonts with WinAnsi encoding. These fonts are built into
+ * every PDF reader, so nothing is embedded and the glyph width tables used for alignment
+ * are static.
+ *
+ * Static page content (letterhead, labels, table headers) can be compiled once into a
+ * {@link Canvas} and placed on every page as a form XObject; a compiled form is written
+ * once per document however many pages use it.
+ *
+ * Not thread-safe: one writer per document.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-01-21
+ */
+public final class PdfStreamWriter {
+
+    /** A4 portrait in points */
+    public static final float A4_WIDTH = 595.28f;
+    public static final float A4_HEIGHT = 841.89f;
+
+    /** A5 portrait in points */
+    public static final float A5_WIDTH = 419.53f;
+    public static final float A5_HEIGHT = 595.28f;
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FONT_REGULAR = 3;
+    private static final int FONT_BOLD = 4;
+
+    private static final byte[] HEADER = "%PDF-1.4\n%\u00e2\u00e3\u00cf\u00d3\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final CountingOutputStream out;
+    private final float pageWidth;
+    private final float pageHeight;
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> pageIds = new ArrayList<>();
+    private final Map<byte[], Integer> formIds = new IdentityHashMap<>();
+    private final Canvas page = new Canvas();
+    private boolean pageOpen;
+    private boolean finished;
+
+    public PdfStreamWriter(OutputStream out, float pageWidth, float pageHeight) throws IOException {
+        this.out = new CountingOutputStream(out);
+        this.pageWidth = pageWidth;
+        this.pageHeight = pageHeight;
+        // Reserved objects: catalog, page tree, fonts
+        offsets.addAll(Arrays.asList(null, null, null, null));
+        this.out.write(HEADER);
+        writeFont(FONT_REGULAR, Font.REGULAR);
+        writeFont(FONT_BOLD, Font.BOLD);
+    }
+
+    public float getPageWidth() {
+        return pageWidth;
+    }
+
+    public float getPageHeight() {
+        return pageHeight;
+    }
+
+    /**
+     * Start a page; its content is drawn on the returned canvas until {@link #endPage()}.
+     */
+    public Canvas beginPage() {
+        if (pageOpen) {
+            throw new IllegalStateException("Page already open");
+        }
+        pageOpen = true;
+        page.reset();
+        return page;
+    }
+
+    /**
+     * Place a compiled form (see {@link Canvas#compile()}) on the current page.
+     * Forms are identified by array identity, so keep compiled templates in constants.
+     */
+    public void drawForm(byte[] compiledForm) throws IOException {
+        if (!pageOpen) {
+            throw new IllegalStateException("No open page");
+        }
+        Integer id = formIds.get(compiledForm);
+        if (id == null) {
+            id = nextId();
+            startObject(id);
+            write("<< /Type /XObject /Subtype /Form /BBox [0 0 " + num(pageWidth) + " " + num(pageHeight) + "]"
+                + " /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >> /Length " + compiledForm.length + " >>\nstream\n");
+            out.write(compiledForm);
+            write("\nendstream\nendobj\n");
+            formIds.put(compiledForm, id);
+        }
+        page.raw("q /Fm" + id + " Do Q\n");
+    }
+
+    /**
+     * Write the current page to the output.
+     */
+    public void endPage() throws IOException {
+        if (!pageOpen) {
+            throw new IllegalStateException("No open page");
+        }
+        int contentId = nextId();
+        startObject(contentId);
+        write("<< /Length " + page.size() + " >>\nstream\n");
+        page.writeTo(out);
+        write("\nendstream\nendobj\n");
+
+        int pageId = nextId();
+        startObject(pageId);
+        StringBuilder dict = new StringBuilder("<< /Type /Page /Parent 2 0 R /MediaBox [0 0 ")
+            .append(num(pageWidth)).append(' ').append(num(pageHeight))
+            .append("] /Resources << /Font << /F1 3 0 R /F2 4 0 R >>");
+        if (!formIds.isEmpty()) {
+            dict.append(" /XObject <<");
+            for (Integer formId : formIds.values()) {
+                dict.append(" /Fm").append(formId).append(' ').append(formId).append(" 0 R");
+            }
+            dict.append(" >>");
+        }
+        dict.append(" >> /Contents ").append(contentId).append(" 0 R >>\nendobj\n");
+        write(dict.toString());
+        pageIds.add(pageId);
+        pageOpen = false;
+        out.flush();
+    }
+
+    /**
+     * Write the page tree, catalog and cross-reference table. Does not close the
+     * underlying stream.
+     */
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        if (pageOpen) {
+            endPage();
+        }
+        if (pageIds.isEmpty()) {
+            beginPage();
+            endPage();
+        }
+        StringBuilder kids = new StringBuilder();
+        for (Integer pageId : pageIds) {
+            kids.append(pageId).append(" 0 R ");
+        }
+        startObject(PAGES);
+        write("<< /Type /Pages /Kids [" + kids + "] /Count " + pageIds.size() + " >>\nendobj\n");
+        startObject(CATALOG);
+        write("<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+
+        long xref = out.count;
+        StringBuilder table = new StringBuilder(offsets.size() * 20 + 64)
+            .append("xref\n0 ").append(offsets.size() + 1).append("\n0000000000 65535 f \n");
+        for (Long offset : offsets) {
+            String digits = Long.toString(offset);
+            table.append("0".repeat(10 - digits.length())).append(digits).append(" 00000 n \n");
+        }
+        table.append("trailer\n<< /Size ").append(offsets.size() + 1).append(" /Root 1 0 R >>\nstartxref\n")
+            .append(xref).append("\n%%EOF\n");
+        write(table.toString());
+        out.flush();
+        finished = true;
+    }
+
+    public int getPageCount() {
+        return pageIds.size() + (pageOpen ? 1 : 0);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void writeFont(int id, Font font) throws IOException {
+        startObject(id);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /" + font.baseFont + " /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    private int nextId() {
+        offsets.add(null);
+        return offsets.size();
+    }
+
+    private void startObject(int id) throws IOException {
+        offsets.set(id - 1, out.count);
+        write(id + " 0 obj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String num(float value) {
+        StringBuilder sb = new StringBuilder(12);
+        appendNumber(sb, value);
+        return sb.toString();
+    }
+
+    /**
+     * Append a coordinate with at most two decimals, without going through String.format.
+     */
+    private static void appendNumber(StringBuilder sb, float value) {
+        long hundredths = Math.round(value * 100.0);
+        if (hundredths < 0) {
+            sb.append('-');
+            hundredths = -hundredths;
+        }
+        sb.append(hundredths / 100);
+        long fraction = hundredths % 100;
+        if (fraction != 0) {
+            sb.append('.');
+            if (fraction < 10) {
+                sb.append('0');
+            }
+            sb.append(fraction % 10 == 0 ? fraction / 10 : fraction);
+        }
+    }
+
+    /**
+     * Standard fonts with their WinAnsi glyph widths (1/1000 em) for characters 32-126.
+     */
+    public enum Font {
+        REGULAR("Helvetica", "F1", new short[]{
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584}),
+        BOLD("Helvetica-Bold", "F2", new short[]{
+            278, 333, 474, 556, 556, 889, 722, 238, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 333, 333, 584, 584, 584, 611,
+            975, 722, 722, 722, 722, 667, 611, 778, 722, 278, 556, 722, 611, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 333, 278, 333, 584, 556,
+            333, 556, 611, 556, 611, 556, 333, 611, 611, 278, 278, 556, 278, 889, 611, 611,
+            611, 611, 389, 556, 333, 611, 556, 778, 556, 556, 500, 389, 280, 389, 584});
+
+        private static final int DEFAULT_WIDTH = 556;
+
+        private final String baseFont;
+        private final String resourceName;
+        private final short[] widths;
+
+        Font(String baseFont, String resourceName, short[] widths) {
+            this.baseFont = baseFont;
+            this.resourceName = resourceName;
+            this.widths = widths;
+        }
+
+        /**
+         * Width of a text in points.
+         */
+        public float width(String text, float size) {
+            if (text == null) {
+                return 0f;
+            }
+            int units = 0;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                units += c >= 32 && c <= 126 ? widths[c - 32] : DEFAULT_WIDTH;
+            }
+            return units * size / 1000f;
+        }
+
+        /**
+         * Cut a text to fit a width, ending it with "..." when cut.
+         */
+        public String fit(String text, float size, float maxWidth) {
+            if (text == null || width(text, size) <= maxWidth) {
+                return text;
+            }
+            float budget = maxWidth - width("...", size);
+            int units = 0;
+            int end = 0;
+            while (end < text.length()) {
+                char c = text.charAt(end);
+                int w = c >= 32 && c <= 126 ? widths[c - 32] : DEFAULT_WIDTH;
+                if ((units + w) * size / 1000f > budget) {
+                    break;
+                }
+                units += w;
+                end++;
+            }
+            return text.substring(0, end) + "...";
+        }
+    }
+
+    /**
+     * Content stream of a page or of a reusable form.
+     */
+    public static final class Canvas {
+
+        private final StringBuilder content = new StringBuilder(4096);
+
+        /**
+         * Draw text with its baseline starting at (x, y).
+         */
+        public Canvas text(Font font, float size, float x, float y, String text) {
+            if (text == null || text.isEmpty()) {
+                return this;
+            }
+            content.append("BT /").append(font.resourceName).append(' ');
+            appendNumber(content, size);
+            content.append(" Tf ");
+            appendNumber(content, x);
+            content.append(' ');
+            appendNumber(content, y);
+            content.append(" Td (");
+            appendEscaped(text);
+            content.append(") Tj ET\n");
+            return this;
+        }
+
+        /**
+         * Draw text ending at x (right-aligned).
+         */
+        public Canvas textRight(Font font, float size, float x, float y, String text) {
+            return text(font, size, x - font.width(text, size), y, text);
+        }
+
+        /**
+         * Draw text centered on x.
+         */
+        public Canvas textCenter(Font font, float size, float x, float y, String text) {
+            return text(font, size, x - font.width(text, size) / 2f, y, text);
+        }
+
+        /**
+         * Draw a line.
+         */
+        public Canvas line(float x1, float y1, float x2, float y2, float lineWidth) {
+            appendNumber(content, lineWidth);
+            content.append(" w ");
+            appendNumber(content, x1);
+            content.append(' ');
+            appendNumber(content, y1);
+            content.append(" m ");
+            appendNumber(content, x2);
+            content.append(' ');
+            appendNumber(content, y2);
+            content.append(" l S\n");
+            return this;
+        }
+
+        /**
+         * Fill a rectangle with a gray level (0 black, 1 white).
+         */
+        public Canvas fillRect(float x, float y, float width, float height, float gray) {
+            content.append("q ");
+            appendNumber(content, gray);
+            content.append(" g ");
+            appendNumber(content, x);
+            content.append(' ');
+            appendNumber(content, y);
+            content.append(' ');
+            appendNumber(content, width);
+            content.append(' ');
+            appendNumber(content, height);
+            content.append(" re f Q\n");
+            return this;
+        }
+
+        /**
+         * Compile this canvas into a form for {@link PdfStreamWriter#drawForm(byte[])}.
+         */
+        public byte[] compile() {
+            return content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        }
+
+        Canvas raw(String operators) {
+            content.append(operators);
+            return this;
+        }
+
+        void reset() {
+            content.setLength(0);
+        }
+
+        int size() {
+            // Content is ISO-8859-1: one byte per char
+            return content.length();
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            out.write(content.toString().getBytes(StandardCharsets.ISO_8859_1));
+        }
+
+        /**
+         * Append a WinAnsi string literal; characters outside the encoding print as '?'.
+         */
+        private void appendEscaped(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '(' || c == ')' || c == '\\') {
+                    content.append('\\').append(c);
+                } else if (c >= 32 && c <= 126 || c >= 160 && c <= 255) {
+                    content.append(c);
+                } else if (c < 32) {
+                    content.append(' ');
+                } else {
+                    content.append(winAnsi(c));
+                }
+            }
+        }
+
+        private static char winAnsi(char c) {
+            return switch (c) {
+                case '\u20ac' -> (char) 0x80;
+                case '\u2026' -> (char) 0x85;
+                case '\u2018' -> (char) 0x91;
+                case '\u2019' -> (char) 0x92;
+                case '\u201c' -> (char) 0x93;
+                case '\u201d' -> (char) 0x94;
+                case '\u2022' -> (char) 0x95;
+                case '\u2013' -> (char) 0x96;
+                case '\u2014' -> (char) 0x97;
+                default -> '?';
+            };
+        }
+    }
+
+    /**
+     * Tracks the byte offset of the output for the cross-reference table.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
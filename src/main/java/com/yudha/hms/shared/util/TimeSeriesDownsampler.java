@@ -0,0 +1,170 @@
+package com.yudha.hms.shared.util;
+
+import java.util.Arrays;
+
+/**
+ * Downsampling of time-ordered numeric series for charting.
+ *
+ * - {@link #lttb} (Largest-Triangle-Three-Buckets) keeps the points that preserve the
+ *   visual shape of the line
+ * - {@link #minMax} splits the time range into equal buckets and keeps the lowest and
+ *   highest point of each, so no spike or dip disappears
+ *
+ * Every output point carries the low/high envelope of the input it stands for, so a
+ * chart can draw the range behind the line. Inputs that are already pre-aggregated pass
+ * their own envelope in; raw inputs use the value itself.
+ *
+ * @author HMS Development Team
+ * @version 1.0.0
+ * @since 2025-11-20
+ */
+public final class TimeSeriesDownsampler {
+
+    private TimeSeriesDownsampler() {
+    }
+
+    /**
+     * Time-ordered series in columnar form.
+     *
+     * @param t Sample times (epoch milliseconds, ascending)
+     * @param v Values
+     * @param lo Lowest value represented by each point
+     * @param hi Highest value represented by each point
+     */
+    public record Series(long[] t, double[] v, double[] lo, double[] hi) {
+
+        public static Series of(long[] t, double[] v) {
+            return new Series(t, v, v, v);
+        }
+
+        public int size() {
+            return t.length;
+        }
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets downsampling.
+     *
+     * @param in Input series
+     * @param threshold Number of points to keep (at least 3)
+     * @return Downsampled series, or the input if it is already small enough
+     */
+    public static Series lttb(Series in, int threshold) {
+        int n = in.size();
+        if (threshold >= n || threshold < 3) {
+            return in;
+        }
+
+        long[] t = new long[threshold];
+        double[] v = new double[threshold];
+        double[] lo = new double[threshold];
+        double[] hi = new double[threshold];
+
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        int out = 0;
+        emit(in, a, a, a + 1, t, v, lo, hi, out++);
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Average of the next bucket is the third triangle vertex
+            int nextStart = (int) Math.floor((i + 1) * every) + 1;
+            int nextEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = nextStart; j < nextEnd; j++) {
+                avgX += in.t[j];
+                avgY += in.v[j];
+            }
+            int nextCount = Math.max(1, nextEnd - nextStart);
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double ax = in.t[a];
+            double ay = in.v[a];
+            double maxArea = -1;
+            int selected = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (in.v[j] - ay) - (ax - in.t[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    selected = j;
+                }
+            }
+
+            emit(in, selected, rangeStart, rangeEnd, t, v, lo, hi, out++);
+            a = selected;
+        }
+
+        emit(in, n - 1, n - 1, n, t, v, lo, hi, out);
+        return new Series(t, v, lo, hi);
+    }
+
+    /**
+     * Min/max bucket downsampling over equal time buckets.
+     *
+     * @param in Input series
+     * @param points Maximum number of points to keep (two per bucket)
+     * @return Downsampled series, or the input if it is already small enough
+     */
+    public static Series minMax(Series in, int points) {
+        int n = in.size();
+        if (points >= n || points < 2) {
+            return in;
+        }
+
+        int buckets = points / 2;
+        long start = in.t[0];
+        double width = Math.max(1.0, (double) (in.t[n - 1] - start + 1) / buckets);
+
+        long[] t = new long[points];
+        double[] v = new double[points];
+        double[] lo = new double[points];
+        double[] hi = new double[points];
+        int out = 0;
+
+        int i = 0;
+        while (i < n) {
+            long bucket = (long) ((in.t[i] - start) / width);
+            int first = i;
+            int minIdx = i;
+            int maxIdx = i;
+            while (i < n && (long) ((in.t[i] - start) / width) == bucket) {
+                if (in.v[i] < in.v[minIdx]) {
+                    minIdx = i;
+                }
+                if (in.v[i] > in.v[maxIdx]) {
+                    maxIdx = i;
+                }
+                i++;
+            }
+            int lower = Math.min(minIdx, maxIdx);
+            int upper = Math.max(minIdx, maxIdx);
+            emit(in, lower, first, i, t, v, lo, hi, out++);
+            if (upper != lower) {
+                emit(in, upper, first, i, t, v, lo, hi, out++);
+            }
+        }
+
+        return new Series(Arrays.copyOf(t, out), Arrays.copyOf(v, out),
+            Arrays.copyOf(lo, out), Arrays.copyOf(hi, out));
+    }
+
+    /**
+     * Copy point {@code idx} with the envelope of input range [from, to).
+     */
+    private static void emit(Series in, int idx, int from, int to,
+                             long[] t, double[] v, double[] lo, double[] hi, int out) {
+        double min = in.lo[from];
+        double max = in.hi[from];
+        for (int j = from + 1; j < to; j++) {
+            min = Math.min(min, in.lo[j]);
+            max = Math.max(max, in.hi[j]);
+        }
+        t[out] = in.t[idx];
+        v[out] = in.v[idx];
+        lo[out] = min;
+        hi[out] = max;
+    }
+}
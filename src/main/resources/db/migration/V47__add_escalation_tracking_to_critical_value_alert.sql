@@ -0,0 +1,32 @@
+-- V47: Add escalation tracking to critical_value_alert
+-- The escalation scheduler keeps acknowledgment deadlines in memory and rebuilds them
+-- from next_escalation_at on startup, so the deadline must be persisted with the alert.
+
+ALTER TABLE laboratory_schema.critical_value_alert
+ADD COLUMN IF NOT EXISTS escalation_level INTEGER NOT NULL DEFAULT 0,
+ADD COLUMN IF NOT EXISTS last_escalated_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS next_escalation_at TIMESTAMP;
+
+-- Recent open alerts get a fresh acknowledgment deadline (default severity timeouts)
+-- counted from now, so the first scheduler run after deploy does not escalate all of
+-- them at once. Older open alerts are left out of escalation.
+UPDATE laboratory_schema.critical_value_alert
+SET next_escalation_at = CURRENT_TIMESTAMP + CASE severity
+        WHEN 'CRITICAL' THEN INTERVAL '15 minutes'
+        WHEN 'HIGH' THEN INTERVAL '30 minutes'
+        WHEN 'LOW' THEN INTERVAL '120 minutes'
+        ELSE INTERVAL '60 minutes'
+    END
+WHERE acknowledged IS NOT TRUE
+  AND resolved IS NOT TRUE
+  AND notified_at >= CURRENT_TIMESTAMP - INTERVAL '24 hours';
+
+-- Only open deadlines are read on startup
+CREATE INDEX IF NOT EXISTS idx_critical_value_alert_next_escalation
+    ON laboratory_schema.critical_value_alert(next_escalation_at)
+    WHERE next_escalation_at IS NOT NULL;
+
+-- Add comments
+COMMENT ON COLUMN laboratory_schema.critical_value_alert.escalation_level IS 'Current escalation level (0 = not escalated)';
+COMMENT ON COLUMN laboratory_schema.critical_value_alert.last_escalated_at IS 'Timestamp of the last escalation step';
+COMMENT ON COLUMN laboratory_schema.critical_value_alert.next_escalation_at IS 'Acknowledgment deadline that triggers the next escalation step';
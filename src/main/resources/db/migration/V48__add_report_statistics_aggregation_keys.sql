@@ -0,0 +1,21 @@
+-- V48: Prepare report_statistics for set-based aggregation upserts
+-- Each statistics row is identified by its period and a single dimension
+-- (overall, radiologist, department or modality). NULL dimensions must compare
+-- equal so ON CONFLICT can target the overall and per-dimension rows.
+
+ALTER TABLE radiology_schema.report_statistics
+DROP CONSTRAINT IF EXISTS uk_statistics_period;
+
+ALTER TABLE radiology_schema.report_statistics
+ADD CONSTRAINT uk_statistics_dimension UNIQUE NULLS NOT DISTINCT
+    (period_type, period_start_date, radiologist_id, department_id, modality_code);
+
+-- Change detection for incremental refresh
+CREATE INDEX IF NOT EXISTS idx_radiology_report_updated_at ON radiology_schema.radiology_report(updated_at);
+CREATE INDEX IF NOT EXISTS idx_radiology_report_reported_at ON radiology_schema.radiology_report(reported_at);
+CREATE INDEX IF NOT EXISTS idx_report_amendment_updated_at ON radiology_schema.report_amendment(updated_at);
+CREATE INDEX IF NOT EXISTS idx_report_distribution_updated_at ON radiology_schema.report_distribution(updated_at);
+CREATE INDEX IF NOT EXISTS idx_critical_finding_notification_updated_at ON radiology_schema.critical_finding_notification(updated_at);
+CREATE INDEX IF NOT EXISTS idx_statistics_computed_at ON radiology_schema.report_statistics(computed_at DESC);
+
+COMMENT ON CONSTRAINT uk_statistics_dimension ON radiology_schema.report_statistics IS 'One row per period and dimension (overall, radiologist, department, modality)';
@@ -0,0 +1,47 @@
+-- V49: Dispatch queue columns for report distribution and critical finding notifications
+-- Rows are claimed by application nodes with SELECT ... FOR UPDATE SKIP LOCKED and a
+-- time-limited lease (claimed_by/claimed_until) so several nodes never send the same row.
+
+ALTER TABLE radiology_schema.report_distribution
+ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100),
+ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+
+ALTER TABLE radiology_schema.critical_finding_notification
+ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS last_attempt_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS dispatch_failure_count INTEGER DEFAULT 0,
+ADD COLUMN IF NOT EXISTS last_dispatch_error TEXT,
+ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(100),
+ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+
+-- Backfill: rows created before the dispatcher existed are only claimed once next_attempt_at is set
+UPDATE radiology_schema.critical_finding_notification
+SET next_attempt_at = notified_at + INTERVAL '10 minutes'
+WHERE next_attempt_at IS NULL
+  AND acknowledged = false
+  AND deleted_at IS NULL
+  AND COALESCE(notification_attempts, 1) < 5;
+
+UPDATE radiology_schema.report_distribution
+SET next_attempt_at = COALESCE(last_retry_at, CURRENT_TIMESTAMP)
+WHERE next_attempt_at IS NULL
+  AND distribution_status = 'FAILED'
+  AND COALESCE(retry_count, 0) < COALESCE(max_retries, 3)
+  AND deleted_at IS NULL;
+
+-- Claim queries
+CREATE INDEX IF NOT EXISTS idx_distribution_retry_due
+    ON radiology_schema.report_distribution(next_attempt_at)
+    WHERE distribution_status = 'FAILED' AND deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_critical_next_attempt
+    ON radiology_schema.critical_finding_notification(next_attempt_at)
+    WHERE acknowledged = false AND deleted_at IS NULL;
+
+-- Add comments
+COMMENT ON COLUMN radiology_schema.report_distribution.next_attempt_at IS 'Earliest time of the next retry after a failed send';
+COMMENT ON COLUMN radiology_schema.report_distribution.claimed_by IS 'Dispatcher node currently sending this distribution';
+COMMENT ON COLUMN radiology_schema.report_distribution.claimed_until IS 'Lease expiry of the dispatcher claim';
+COMMENT ON COLUMN radiology_schema.critical_finding_notification.next_attempt_at IS 'Time of the next reminder while unacknowledged';
+COMMENT ON COLUMN radiology_schema.critical_finding_notification.claimed_until IS 'Lease expiry of the dispatcher claim';
@@ -0,0 +1,19 @@
+-- V50: Export packaging progress for CD/DVD burning requests
+-- The export packager stages the disc layout (DICOMDIR, DICOM files, viewer) under the
+-- export directory, writes a SHA-256 manifest, and streams the staged files into a ZIP image.
+
+ALTER TABLE radiology_schema.cd_burning_request
+ADD COLUMN IF NOT EXISTS export_path VARCHAR(500),
+ADD COLUMN IF NOT EXISTS export_checksum VARCHAR(64),
+ADD COLUMN IF NOT EXISTS export_total_files INTEGER,
+ADD COLUMN IF NOT EXISTS export_files_written INTEGER DEFAULT 0,
+ADD COLUMN IF NOT EXISTS export_total_bytes BIGINT,
+ADD COLUMN IF NOT EXISTS export_bytes_written BIGINT DEFAULT 0,
+ADD COLUMN IF NOT EXISTS export_started_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS export_completed_at TIMESTAMP;
+
+-- Add comments
+COMMENT ON COLUMN radiology_schema.cd_burning_request.export_path IS 'Path of the packaged disc image (ZIP) or staged disc directory';
+COMMENT ON COLUMN radiology_schema.cd_burning_request.export_checksum IS 'SHA-256 of the packaged disc image';
+COMMENT ON COLUMN radiology_schema.cd_burning_request.export_files_written IS 'Files staged so far (export progress)';
+COMMENT ON COLUMN radiology_schema.cd_burning_request.export_bytes_written IS 'Bytes staged so far (export progress)';
@@ -0,0 +1,14 @@
+-- V51: BPJS reference codes for polyclinics and doctors
+-- Antrean RS identifies a clinic by its BPJS poli code (ref/poli) and a doctor by the
+-- BPJS doctor code (ref/dokter); both are needed to look up the doctor schedule and
+-- to register the visit queue during BPJS outpatient registration.
+
+ALTER TABLE registration_schema.polyclinic
+ADD COLUMN IF NOT EXISTS bpjs_poli_code VARCHAR(10);
+
+ALTER TABLE registration_schema.doctor
+ADD COLUMN IF NOT EXISTS bpjs_doctor_code INTEGER;
+
+-- Add comments
+COMMENT ON COLUMN registration_schema.polyclinic.bpjs_poli_code IS 'BPJS Antrean RS poli code (e.g. INT, ANA)';
+COMMENT ON COLUMN registration_schema.doctor.bpjs_doctor_code IS 'BPJS Antrean RS doctor code (kodedokter)';
@@ -0,0 +1,44 @@
+-- =============================================================================
+-- BPJS Antrean RS Task-Time Outbox
+-- Description: Task timestamps (check-in, called, served, pharmacy) are recorded
+--              here in the same transaction as the clinical action and delivered
+--              to Antrean RS asynchronously, in order per booking code.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS bpjs_antrean_task_events (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    booking_code VARCHAR(50) NOT NULL,
+    task_id INTEGER NOT NULL,
+    task_time_ms BIGINT NOT NULL,
+    prescription_type VARCHAR(20),
+
+    -- Delivery state
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    sent_at TIMESTAMP,
+    confirmed_at TIMESTAMP,
+    claimed_by VARCHAR(100),
+    claimed_until TIMESTAMP,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    -- One event per task of a booking; repeated recordings are coalesced into it
+    CONSTRAINT uk_antrean_task_event UNIQUE (booking_code, task_id)
+);
+
+COMMENT ON TABLE bpjs_antrean_task_events IS 'Outbox of Antrean RS task timestamps awaiting delivery to BPJS';
+COMMENT ON COLUMN bpjs_antrean_task_events.task_id IS 'Antrean RS task ID (1-7, 99)';
+COMMENT ON COLUMN bpjs_antrean_task_events.task_time_ms IS 'Moment the task happened (epoch milliseconds, as sent to BPJS)';
+COMMENT ON COLUMN bpjs_antrean_task_events.status IS 'PENDING, SENT, CONFIRMED, SUPERSEDED, FAILED';
+COMMENT ON COLUMN bpjs_antrean_task_events.claimed_until IS 'Lease expiry of the dispatcher claim';
+
+-- Dispatcher claim query (oldest due pending event per booking)
+CREATE INDEX IF NOT EXISTS idx_antrean_task_event_due
+    ON bpjs_antrean_task_events(next_attempt_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_antrean_task_event_booking
+    ON bpjs_antrean_task_events(booking_code, task_time_ms);
@@ -0,0 +1,26 @@
+-- =============================================================================
+-- BPJS iCare JKN History Access Sessions
+-- Description: Write-through store of iCare history access tokens so sessions
+--              survive restarts and are visible to every application node.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS bpjs_icare_sessions (
+    token VARCHAR(255) PRIMARY KEY,
+    card_number VARCHAR(20) NOT NULL,
+    patient_name VARCHAR(200),
+    doctor_code INTEGER,
+    doctor_name VARCHAR(200),
+    history_url TEXT NOT NULL,
+    accessed_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    requested_by VARCHAR(100),
+    ip_address VARCHAR(50),
+    access_purpose VARCHAR(100)
+);
+
+COMMENT ON TABLE bpjs_icare_sessions IS 'Active iCare JKN history access tokens (write-through session store)';
+COMMENT ON COLUMN bpjs_icare_sessions.expires_at IS 'Token expiry; expired rows are purged by the session sweeper';
+
+CREATE INDEX IF NOT EXISTS idx_icare_session_card ON bpjs_icare_sessions(card_number, accessed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_icare_session_doctor ON bpjs_icare_sessions(doctor_code, accessed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_icare_session_expiry ON bpjs_icare_sessions(expires_at);
@@ -0,0 +1,89 @@
+-- =============================================================================
+-- Vital Sign Time Series
+-- Description: One row per metric reading, range-partitioned by month. Filled by
+--              nursing vital sign records and by bedside monitor gateways (bulk
+--              ingest); read by the downsampled charting endpoint.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS clinical_schema.vital_sign_samples (
+    encounter_id UUID NOT NULL,
+    metric VARCHAR(30) NOT NULL,
+    sample_time TIMESTAMP NOT NULL,
+    value DOUBLE PRECISION NOT NULL,
+    patient_id UUID,
+    source VARCHAR(50) NOT NULL,       -- MANUAL or monitor gateway identifier
+    source_ref UUID,                   -- vital_signs.id for MANUAL samples
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Resent gateway batches are ignored; partition key must be part of the key
+    CONSTRAINT pk_vital_sign_samples PRIMARY KEY (encounter_id, metric, sample_time)
+) PARTITION BY RANGE (sample_time);
+
+CREATE INDEX IF NOT EXISTS idx_vital_sign_samples_source_ref
+    ON clinical_schema.vital_sign_samples (source_ref)
+    WHERE source_ref IS NOT NULL;
+
+COMMENT ON TABLE clinical_schema.vital_sign_samples IS 'Vital sign time series, one row per metric reading, partitioned by month';
+COMMENT ON COLUMN clinical_schema.vital_sign_samples.metric IS 'VitalMetric name (HEART_RATE, SPO2, SYSTOLIC_BP, ...)';
+COMMENT ON COLUMN clinical_schema.vital_sign_samples.source IS 'MANUAL for nursing records, otherwise the monitor gateway identifier';
+
+-- -----------------------------------------------------------------------------
+-- Monthly partition management
+-- -----------------------------------------------------------------------------
+CREATE OR REPLACE FUNCTION clinical_schema.ensure_vital_sign_sample_partition(p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_start DATE := date_trunc('month', p_month)::DATE;
+    v_end DATE := (date_trunc('month', p_month) + INTERVAL '1 month')::DATE;
+    v_name TEXT := 'vital_sign_samples_' || to_char(v_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format(
+        'CREATE TABLE IF NOT EXISTS clinical_schema.%I PARTITION OF clinical_schema.vital_sign_samples '
+        'FOR VALUES FROM (%L) TO (%L)',
+        v_name, v_start, v_end);
+    RETURN v_name;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION clinical_schema.ensure_vital_sign_sample_partition IS
+    'Create the vital_sign_samples partition of the month containing the given date, if missing';
+
+-- Partitions for existing vital signs up to two months ahead
+DO $$
+DECLARE
+    v_month DATE;
+BEGIN
+    FOR v_month IN
+        SELECT generate_series(
+            date_trunc('month', COALESCE((SELECT MIN(measurement_time) FROM clinical_schema.vital_signs), CURRENT_DATE)),
+            date_trunc('month', CURRENT_DATE) + INTERVAL '2 months',
+            INTERVAL '1 month')::DATE
+    LOOP
+        PERFORM clinical_schema.ensure_vital_sign_sample_partition(v_month);
+    END LOOP;
+END;
+$$;
+
+-- -----------------------------------------------------------------------------
+-- Backfill from nursing vital sign records
+-- -----------------------------------------------------------------------------
+INSERT INTO clinical_schema.vital_sign_samples
+    (encounter_id, metric, sample_time, value, patient_id, source, source_ref)
+SELECT vs.encounter_id, m.metric, vs.measurement_time, m.value, vs.patient_id, 'MANUAL', vs.id
+FROM clinical_schema.vital_signs vs
+CROSS JOIN LATERAL (VALUES
+    ('SYSTOLIC_BP', vs.systolic_bp::DOUBLE PRECISION),
+    ('DIASTOLIC_BP', vs.diastolic_bp::DOUBLE PRECISION),
+    ('MEAN_ARTERIAL_PRESSURE', vs.mean_arterial_pressure::DOUBLE PRECISION),
+    ('HEART_RATE', vs.heart_rate::DOUBLE PRECISION),
+    ('RESPIRATORY_RATE', vs.respiratory_rate::DOUBLE PRECISION),
+    ('TEMPERATURE', vs.temperature::DOUBLE PRECISION),
+    ('SPO2', vs.spo2::DOUBLE PRECISION),
+    ('PAIN_SCORE', vs.pain_score::DOUBLE PRECISION),
+    ('GCS_TOTAL', vs.gcs_total::DOUBLE PRECISION),
+    ('BLOOD_GLUCOSE', vs.blood_glucose::DOUBLE PRECISION)
+) AS m(metric, value)
+WHERE vs.measurement_time IS NOT NULL
+  AND vs.encounter_id IS NOT NULL
+  AND m.value IS NOT NULL
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,13 @@
+-- =============================================================================
+-- Ward Medication Administration Schedule
+-- Description: Indexes for the ward MAR timeline (pending doses by scheduled
+--              time) and standing order expansion (latest dose per order).
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_mar_pending_schedule
+    ON clinical_schema.medication_administration(scheduled_date_time)
+    WHERE administration_status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_mar_order_schedule
+    ON clinical_schema.medication_administration(encounter_id, medication_order_id, scheduled_date_time)
+    WHERE medication_order_id IS NOT NULL;
@@ -0,0 +1,64 @@
+-- =============================================================================
+-- Doctor Appointment Slot Inventory
+-- Description: Slots materialized from doctor schedules per doctor, polyclinic
+--              and date. Bookings and walk-ins claim capacity with conditional
+--              updates on booked_count, so a slot or a day cannot be overbooked.
+-- =============================================================================
+
+-- ============================================================================
+-- DOCTOR SLOT DAY TABLE (daily capacity per doctor and polyclinic)
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS registration_schema.doctor_slot_day (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    doctor_id UUID NOT NULL REFERENCES registration_schema.doctor(id) ON DELETE CASCADE,
+    polyclinic_id UUID NOT NULL REFERENCES registration_schema.polyclinic(id) ON DELETE CASCADE,
+    schedule_id UUID REFERENCES registration_schema.doctor_schedule(id) ON DELETE SET NULL,
+
+    slot_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    slot_duration_minutes INTEGER NOT NULL,
+
+    -- Capacity (appointments and walk-ins)
+    max_patients INTEGER NOT NULL,
+    booked_count INTEGER NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_doctor_slot_day UNIQUE (doctor_id, polyclinic_id, slot_date),
+    CONSTRAINT chk_doctor_slot_day_booked CHECK (booked_count >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_doctor_slot_day_polyclinic_date
+    ON registration_schema.doctor_slot_day(polyclinic_id, slot_date);
+CREATE INDEX IF NOT EXISTS idx_doctor_slot_day_date
+    ON registration_schema.doctor_slot_day(slot_date);
+
+COMMENT ON TABLE registration_schema.doctor_slot_day IS 'Daily patient capacity of a doctor at a polyclinic, materialized from doctor_schedule';
+
+-- ============================================================================
+-- DOCTOR SLOT TABLE (appointment time slots)
+-- ============================================================================
+CREATE TABLE IF NOT EXISTS registration_schema.doctor_slot (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    day_id UUID NOT NULL REFERENCES registration_schema.doctor_slot_day(id) ON DELETE CASCADE,
+    doctor_id UUID NOT NULL,
+
+    slot_date DATE NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+
+    capacity INTEGER NOT NULL DEFAULT 1,
+    booked_count INTEGER NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_doctor_slot UNIQUE (doctor_id, slot_date, start_time),
+    CONSTRAINT chk_doctor_slot_booked CHECK (booked_count >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_doctor_slot_day ON registration_schema.doctor_slot(day_id);
+
+COMMENT ON TABLE registration_schema.doctor_slot IS 'Appointment time slots of a doctor slot day';
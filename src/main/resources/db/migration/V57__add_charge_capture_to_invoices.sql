@@ -0,0 +1,27 @@
+-- =============================================================================
+-- Incremental Charge Capture
+-- Description: Running bill per encounter, fed by billable events from clinical
+--              modules. Each captured charge carries an idempotency key, so an
+--              event delivered twice is billed once.
+-- =============================================================================
+
+-- Running bill flag: the open (DRAFT) bill charges are appended to
+ALTER TABLE billing_schema.invoice
+    ADD COLUMN IF NOT EXISTS running_bill BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- At most one open running bill per encounter
+CREATE UNIQUE INDEX IF NOT EXISTS uk_invoice_running_bill_encounter
+    ON billing_schema.invoice(encounter_id)
+    WHERE running_bill = TRUE AND status = 'DRAFT' AND deleted_at IS NULL;
+
+-- Idempotency key of a captured charge, e.g. LAB:<order item id>.
+-- Unique including reversed (soft-deleted) charges, so a replayed event does not re-bill.
+ALTER TABLE billing_schema.invoice_item
+    ADD COLUMN IF NOT EXISTS charge_key VARCHAR(200);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_invoice_item_charge_key
+    ON billing_schema.invoice_item(charge_key)
+    WHERE charge_key IS NOT NULL;
+
+COMMENT ON COLUMN billing_schema.invoice.running_bill IS 'Open bill of an encounter that captured charges are appended to';
+COMMENT ON COLUMN billing_schema.invoice_item.charge_key IS 'Idempotency key of a captured charge (source type and source ID)';
@@ -0,0 +1,121 @@
+-- =============================================================================
+-- Daily Revenue Rollup
+-- Description: Revenue per day, payment method, department and payer type,
+--              maintained incrementally on payment confirm, refund and invoice
+--              void. Daily and month-end revenue screens read this table instead
+--              of scanning payments and invoices.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS billing_schema.revenue_daily_rollup (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+    -- Rollup key
+    revenue_date DATE NOT NULL,
+    payment_method VARCHAR(30) NOT NULL,
+    department VARCHAR(200) NOT NULL DEFAULT 'UNASSIGNED',
+    payer_type VARCHAR(50) NOT NULL DEFAULT 'CASH',
+
+    -- Totals
+    payment_count INTEGER NOT NULL DEFAULT 0,
+    collected_amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+    refund_count INTEGER NOT NULL DEFAULT 0,
+    refund_amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+    voided_amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+    net_amount NUMERIC(15,2) NOT NULL DEFAULT 0,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_revenue_daily_rollup UNIQUE (revenue_date, payment_method, department, payer_type)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revenue_rollup_department
+    ON billing_schema.revenue_daily_rollup(department, revenue_date);
+
+COMMENT ON TABLE billing_schema.revenue_daily_rollup IS 'Daily revenue per payment method, department and payer type';
+COMMENT ON COLUMN billing_schema.revenue_daily_rollup.department IS 'Invoice item department; amounts are allocated pro rata to item totals';
+COMMENT ON COLUMN billing_schema.revenue_daily_rollup.voided_amount IS 'Net collected amount of invoices voided on this day';
+
+-- =============================================================================
+-- Backfill from existing payments and voided invoices
+-- =============================================================================
+
+WITH movement AS (
+    -- Collected payments (refunded originals still count as collected on their own day)
+    SELECT p.id AS movement_id, p.invoice_id, CAST(p.payment_date AS DATE) AS revenue_date,
+           p.payment_method, 'COLLECTED' AS kind, p.amount
+    FROM billing_schema.payment p
+    WHERE p.deleted_at IS NULL
+      AND p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED')
+      AND p.amount >= 0
+    UNION ALL
+    -- Refund records (negative amount)
+    SELECT p.id, p.invoice_id, CAST(p.payment_date AS DATE),
+           p.payment_method, 'REFUND', ABS(p.amount)
+    FROM billing_schema.payment p
+    WHERE p.deleted_at IS NULL
+      AND p.status = 'COMPLETED'
+      AND p.amount < 0
+    UNION ALL
+    -- Net collected amount of voided invoices
+    SELECT p.id, p.invoice_id, CAST(i.voided_date AS DATE),
+           p.payment_method, 'VOIDED', p.amount - COALESCE(p.refund_amount, 0)
+    FROM billing_schema.payment p
+    JOIN billing_schema.invoice i ON i.id = p.invoice_id
+    WHERE p.deleted_at IS NULL
+      AND i.is_voided = TRUE
+      AND i.voided_date IS NOT NULL
+      AND p.status IN ('COMPLETED', 'PARTIALLY_REFUNDED')
+      AND p.amount - COALESCE(p.refund_amount, 0) > 0
+),
+item_share AS (
+    SELECT ii.invoice_id,
+           COALESCE(NULLIF(TRIM(ii.department_name), ''), 'UNASSIGNED') AS department,
+           SUM(ii.total_price) AS base
+    FROM billing_schema.invoice_item ii
+    WHERE ii.deleted_at IS NULL
+      AND ii.total_price > 0
+    GROUP BY ii.invoice_id, COALESCE(NULLIF(TRIM(ii.department_name), ''), 'UNASSIGNED')
+),
+shares AS (
+    SELECT m.movement_id, m.kind, m.revenue_date, m.payment_method, m.amount,
+           COALESCE(s.department, 'UNASSIGNED') AS department,
+           COALESCE(NULLIF(UPPER(TRIM(i.payment_type)), ''), 'CASH') AS payer_type,
+           s.base,
+           SUM(s.base) OVER (PARTITION BY m.kind, m.movement_id) AS total_base,
+           ROW_NUMBER() OVER (PARTITION BY m.kind, m.movement_id
+                              ORDER BY s.base DESC NULLS LAST, s.department) AS rn
+    FROM movement m
+    JOIN billing_schema.invoice i ON i.id = m.invoice_id
+    LEFT JOIN item_share s ON s.invoice_id = m.invoice_id
+),
+rounded AS (
+    SELECT sh.*,
+           CASE WHEN sh.total_base IS NULL OR sh.total_base = 0 THEN sh.amount
+                ELSE ROUND(sh.amount * sh.base / sh.total_base, 2) END AS share
+    FROM shares sh
+),
+allocation AS (
+    -- The largest department takes the rounding remainder and the count
+    SELECT r.revenue_date, r.payment_method, r.department, r.payer_type, r.kind,
+           CASE WHEN r.rn = 1
+                THEN r.amount - (SUM(r.share) OVER (PARTITION BY r.kind, r.movement_id) - r.share)
+                ELSE r.share END AS amount,
+           CASE WHEN r.rn = 1 THEN 1 ELSE 0 END AS cnt
+    FROM rounded r
+)
+INSERT INTO billing_schema.revenue_daily_rollup (
+    revenue_date, payment_method, department, payer_type,
+    payment_count, collected_amount, refund_count, refund_amount, voided_amount, net_amount
+)
+SELECT a.revenue_date, a.payment_method, a.department, a.payer_type,
+       COALESCE(SUM(a.cnt) FILTER (WHERE a.kind = 'COLLECTED'), 0),
+       COALESCE(SUM(a.amount) FILTER (WHERE a.kind = 'COLLECTED'), 0),
+       COALESCE(SUM(a.cnt) FILTER (WHERE a.kind = 'REFUND'), 0),
+       COALESCE(SUM(a.amount) FILTER (WHERE a.kind = 'REFUND'), 0),
+       COALESCE(SUM(a.amount) FILTER (WHERE a.kind = 'VOIDED'), 0),
+       COALESCE(SUM(CASE WHEN a.kind = 'COLLECTED' THEN a.amount ELSE -a.amount END), 0)
+FROM allocation a
+GROUP BY a.revenue_date, a.payment_method, a.department, a.payer_type
+ON CONFLICT (revenue_date, payment_method, department, payer_type) DO NOTHING;
@@ -0,0 +1,92 @@
+-- =============================================================================
+-- E-Klaim Claim Batches
+-- Description: Month-end bulk claim jobs. A batch selects eligible BPJS
+--              encounters of a period and runs each claim through the E-Klaim
+--              steps (new_claim, set_claim_data, diagnosa_set, procedure_set,
+--              grouper_1, grouper_2). Every item checkpoints the last completed
+--              step and is claimed with a lease, so a batch resumes after a
+--              restart without repeating finished steps.
+-- =============================================================================
+
+-- -----------------------------------------------------------------------------
+-- 1. Batches
+-- -----------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS eklaim_claim_batches (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    batch_number VARCHAR(50) NOT NULL UNIQUE,
+    hospital_code VARCHAR(20) NOT NULL,
+
+    -- Selection: encounters discharged within the period
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    encounter_type VARCHAR(20),
+
+    -- RUNNING, PAUSED, COMPLETED, COMPLETED_WITH_ERRORS, CANCELLED
+    status VARCHAR(30) NOT NULL DEFAULT 'RUNNING',
+    total_items INTEGER NOT NULL DEFAULT 0,
+
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+
+    -- Audit fields
+    created_by UUID NOT NULL,
+    updated_by UUID,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_eklaim_batch_status ON eklaim_claim_batches(status);
+CREATE INDEX IF NOT EXISTS idx_eklaim_batch_period ON eklaim_claim_batches(period_start, period_end);
+
+COMMENT ON TABLE eklaim_claim_batches IS 'Bulk E-Klaim claim jobs over the BPJS encounters of a period';
+
+-- -----------------------------------------------------------------------------
+-- 2. Batch items (one per SEP)
+-- -----------------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS eklaim_claim_batch_items (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    batch_id UUID NOT NULL REFERENCES eklaim_claim_batches(id) ON DELETE CASCADE,
+    encounter_id UUID NOT NULL,
+    patient_id UUID NOT NULL,
+    nomor_sep VARCHAR(50) NOT NULL,
+    claim_number VARCHAR(50),
+
+    -- Last completed E-Klaim step: SELECTED, CLAIM_CREATED, DATA_SET,
+    -- DIAGNOSES_SET, PROCEDURES_SET, IDRG_GROUPED, INACBG_GROUPED
+    step VARCHAR(30) NOT NULL DEFAULT 'SELECTED',
+    -- PENDING, IN_PROGRESS, COMPLETED, FAILED, SKIPPED
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP,
+    last_error TEXT,
+
+    -- Processing lease
+    lease_owner VARCHAR(100),
+    lease_until TIMESTAMP,
+
+    -- Grouping result
+    cbg_code VARCHAR(50),
+    total_tariff DECIMAL(15,2),
+
+    completed_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_eklaim_batch_item_sep UNIQUE (batch_id, nomor_sep)
+);
+
+CREATE INDEX IF NOT EXISTS idx_eklaim_batch_item_due
+    ON eklaim_claim_batch_items(status, next_attempt_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+CREATE INDEX IF NOT EXISTS idx_eklaim_batch_item_batch ON eklaim_claim_batch_items(batch_id, status);
+CREATE INDEX IF NOT EXISTS idx_eklaim_batch_item_sep ON eklaim_claim_batch_items(nomor_sep);
+
+COMMENT ON TABLE eklaim_claim_batch_items IS 'Per-SEP progress of an E-Klaim claim batch';
+COMMENT ON COLUMN eklaim_claim_batch_items.step IS 'Last E-Klaim step completed for the claim (checkpoint)';
+COMMENT ON COLUMN eklaim_claim_batch_items.lease_until IS 'Processing lease; an expired lease makes the item claimable again';
+
+-- Encounters are selected by discharge (or end) time
+CREATE INDEX IF NOT EXISTS idx_encounter_bpjs_discharge
+    ON clinical_schema.encounter((COALESCE(discharge_date, encounter_end)))
+    WHERE is_bpjs = TRUE AND sep_number IS NOT NULL;
@@ -0,0 +1,47 @@
+-- =============================================================================
+-- Content-Addressed Document Store
+-- Description: Uploaded document content stored once per SHA-256 hash with a
+--              reference count. Claim documents point to their content by hash,
+--              so a lab report or SEP scan attached to several claims is stored
+--              once and copying a document to another claim copies no bytes.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS billing_schema.document_content (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+    -- Content
+    content_hash VARCHAR(64) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    mime_type VARCHAR(100),
+    storage_path VARCHAR(200) NOT NULL,
+
+    -- Number of documents referencing the content; 0 = purged after the grace period
+    reference_count INTEGER NOT NULL DEFAULT 0,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_document_content_hash UNIQUE (content_hash),
+    CONSTRAINT chk_document_content_size CHECK (size_bytes >= 0),
+    CONSTRAINT chk_document_content_refs CHECK (reference_count >= 0)
+);
+
+CREATE INDEX IF NOT EXISTS idx_document_content_unreferenced
+    ON billing_schema.document_content(updated_at)
+    WHERE reference_count = 0;
+
+COMMENT ON TABLE billing_schema.document_content IS 'Uploaded document content, stored once per SHA-256 hash';
+COMMENT ON COLUMN billing_schema.document_content.storage_path IS 'Path relative to the document storage directory';
+
+-- =============================================================================
+-- Claim documents reference stored content
+-- =============================================================================
+
+ALTER TABLE billing_schema.claim_document
+    ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_claim_document_content
+    ON billing_schema.claim_document(content_hash);
+
+COMMENT ON COLUMN billing_schema.claim_document.content_hash IS 'SHA-256 of the document content in billing_schema.document_content';
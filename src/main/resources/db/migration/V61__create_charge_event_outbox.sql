@@ -0,0 +1,59 @@
+-- =============================================================================
+-- Charge Event Outbox
+-- Description: Billable events published by clinical modules are written here in
+--              the transaction of the clinical action and captured into running
+--              bills afterwards, with retries. A charge is no longer lost when
+--              capture fails or the node stops after the action commits.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS billing_schema.charge_event_outbox (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+    -- Charge
+    action VARCHAR(10) NOT NULL,
+    charge_key VARCHAR(200) NOT NULL,
+    encounter_id UUID,
+    tariff_code VARCHAR(100),
+    item_type VARCHAR(50),
+    item_name VARCHAR(500),
+    quantity INTEGER NOT NULL DEFAULT 1,
+    source_unit_price DECIMAL(15,2),
+    service_date DATE,
+    source_reference_type VARCHAR(50),
+    source_reference_id UUID,
+    department_name VARCHAR(200),
+    practitioner_id UUID,
+    practitioner_name VARCHAR(200),
+    reason TEXT,
+
+    -- Delivery
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    result VARCHAR(20),
+    attempt_count INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    claimed_by VARCHAR(100),
+    claimed_until TIMESTAMP,
+    processed_at TIMESTAMP,
+
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_charge_event_action CHECK (action IN ('CAPTURE', 'REVERSE')),
+    CONSTRAINT chk_charge_event_status CHECK (status IN ('PENDING', 'PROCESSED', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_charge_event_outbox_due
+    ON billing_schema.charge_event_outbox(next_attempt_at)
+    WHERE status = 'PENDING';
+
+CREATE INDEX IF NOT EXISTS idx_charge_event_outbox_key
+    ON billing_schema.charge_event_outbox(charge_key, created_at);
+
+CREATE INDEX IF NOT EXISTS idx_charge_event_outbox_failed
+    ON billing_schema.charge_event_outbox(updated_at)
+    WHERE status = 'FAILED';
+
+COMMENT ON TABLE billing_schema.charge_event_outbox IS 'Outbox of billable events awaiting capture into running bills';
+COMMENT ON COLUMN billing_schema.charge_event_outbox.result IS 'Capture result: CAPTURED, DUPLICATE, REVERSED, NOT_FOUND or NOT_REVERSIBLE';
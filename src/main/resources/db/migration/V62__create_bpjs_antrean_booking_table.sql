@@ -0,0 +1,23 @@
+-- =============================================================================
+-- BPJS Antrean RS Registered Bookings
+-- Description: Booking codes that were added to Antrean RS. Task timestamps are
+--              only delivered for these bookings; task events of bookings that
+--              were never added are parked instead of failing against BPJS.
+-- =============================================================================
+
+CREATE TABLE IF NOT EXISTS bpjs_antrean_bookings (
+    booking_code VARCHAR(50) PRIMARY KEY,
+    registered_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+COMMENT ON TABLE bpjs_antrean_bookings IS 'Booking codes added to Antrean RS (task times are delivered only for these)';
+
+-- Bookings that already have delivered task times were added before this table existed
+INSERT INTO bpjs_antrean_bookings (booking_code, registered_at)
+SELECT booking_code, MIN(created_at)
+FROM bpjs_antrean_task_events
+WHERE status IN ('SENT', 'CONFIRMED')
+GROUP BY booking_code
+ON CONFLICT (booking_code) DO NOTHING;
+
+COMMENT ON COLUMN bpjs_antrean_task_events.status IS 'PENDING, SENT, CONFIRMED, SUPERSEDED, PARKED, FAILED';
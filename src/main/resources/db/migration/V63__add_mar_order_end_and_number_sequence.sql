@@ -0,0 +1,20 @@
+-- =============================================================================
+-- MAR standing order end and MAR number sequence
+-- Description: Standing orders are expanded only up to their end (explicit, or
+--              first dose + duration days), so doses are no longer generated after
+--              an order has run its course. MAR numbers come from a sequence
+--              instead of a row count, which collided under concurrent inserts.
+-- =============================================================================
+
+ALTER TABLE clinical_schema.medication_administration
+    ADD COLUMN IF NOT EXISTS order_end_date_time TIMESTAMP;
+
+COMMENT ON COLUMN clinical_schema.medication_administration.order_end_date_time IS 'End of the standing order; doses are generated only before it';
+
+CREATE SEQUENCE IF NOT EXISTS clinical_schema.mar_number_sequence START WITH 1;
+
+-- Continue after the highest number issued so far
+SELECT setval('clinical_schema.mar_number_sequence',
+    COALESCE((SELECT MAX(CAST(SUBSTRING(mar_number FROM '([0-9]+)$') AS BIGINT))
+              FROM clinical_schema.medication_administration), 0) + 1,
+    false);